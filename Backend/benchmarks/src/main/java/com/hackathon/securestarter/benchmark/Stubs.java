@@ -0,0 +1,39 @@
+package com.hackathon.securestarter.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+
+/**
+ * Repository stubs for benchmarking service code without a database: each method returns a fixed
+ * value by name, so the measured cost is the service's own work (plus one proxy dispatch per call).
+ */
+public final class Stubs {
+
+    private Stubs() {
+    }
+
+    /**
+     * Stub implementation of a repository interface
+     * @param type repository interface
+     * @param results value returned by each stubbed method, by method name
+     * @return proxy returning those values; other methods throw UnsupportedOperationException
+     */
+    public static <T> T repository(Class<T> type, Map<String, Object> results) {
+        Object stub = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "toString":
+                    return type.getSimpleName() + " stub";
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                default:
+                    if (!results.containsKey(method.getName())) {
+                        throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName() + " is not stubbed");
+                    }
+                    return results.get(method.getName());
+            }
+        });
+        return type.cast(stub);
+    }
+}
@@ -0,0 +1,140 @@
+package com.hackathon.securestarter.dto.response;
+
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of a full DashboardSummaryResponse, the body of GET /api/dashboard/summary:
+ * every summary, the skill profile detail, and external API data with 5 recommended courses,
+ * 3 projects and 4 predicted skills.
+ * Run with: java -jar target/benchmarks.jar DashboardSummaryResponseSerializationBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DashboardSummaryResponseSerializationBenchmark {
+
+    private JsonMapper jsonMapper;
+    private DashboardSummaryResponse response;
+
+    @Setup
+    public void setUp() {
+        jsonMapper = JsonMapper.builder().build();
+
+        List<MLRecommendationResponse.RecommendedCourse> courses = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            courses.add(MLRecommendationResponse.RecommendedCourse.builder()
+                    .courseId("c" + i)
+                    .title("Clinical Data Analytics " + i)
+                    .domain("healthcare_technology")
+                    .difficulty("intermediate")
+                    .durationWeeks(6)
+                    .skillsCovered(List.of("HL7/FHIR Standards", "Electronic Health Records (EHR)", "SQL"))
+                    .explanation("Builds on your EHR experience towards the target role")
+                    .youtubeLink("https://www.youtube.com/watch?v=video" + i)
+                    .build());
+        }
+        List<MLRecommendationResponse.RecommendedProject> projects = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            projects.add(MLRecommendationResponse.RecommendedProject.builder()
+                    .projectId("p" + i)
+                    .title("Patient Readmission Model " + i)
+                    .domain("healthcare_technology")
+                    .difficulty("intermediate")
+                    .complexity("medium")
+                    .durationWeeks(4)
+                    .skillsRequired(List.of("Python", "Clinical Data"))
+                    .explanation("Applies predictive modelling to hospital data")
+                    .youtubeLink("https://www.youtube.com/watch?v=project" + i)
+                    .build());
+        }
+        List<SkillPredictResponse.RecommendedSkill> predictedSkills = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            predictedSkills.add(SkillPredictResponse.RecommendedSkill.builder()
+                    .skill("Skill " + i)
+                    .confidence(0.9 - i * 0.1)
+                    .build());
+        }
+
+        response = DashboardSummaryResponse.builder()
+                .firstName("Bench")
+                .lastName("Student")
+                .email("student@example.com")
+                .onboardingCompleted(true)
+                .onboardingCompletedAt(LocalDateTime.of(2025, 3, 14, 9, 30))
+                .academicSummary(DashboardSummaryResponse.AcademicSummary.builder()
+                        .educationLevel("Undergraduate")
+                        .cgpaPercentage(78.5f)
+                        .fieldOfStudy("Computer Science")
+                        .institution("State University")
+                        .build())
+                .careerSummary(DashboardSummaryResponse.CareerSummary.builder()
+                        .industrySector("Healthcare")
+                        .targetJobRole("Clinical Data Analyst")
+                        .careerGoals("Build analytics for rural clinics")
+                        .build())
+                .skillsSummary(DashboardSummaryResponse.SkillsSummary.builder()
+                        .totalSkillsCount(7)
+                        .healthcareSkillsCount(3)
+                        .agricultureSkillsCount(0)
+                        .urbanSkillsCount(1)
+                        .softSkillsCount(3)
+                        .relevantSkillsForSector(3)
+                        .build())
+                .skillProfile(DashboardSummaryResponse.SkillProfileDetail.builder()
+                        .hasEhr(true).hasHl7Fhir(true).hasMedicalImaging(true).hasHealthcareSecurity(false)
+                        .hasTelemedicine(false).hasIotSensors(false).hasDroneOps(false).hasPrecisionAg(false)
+                        .hasCropModeling(false).hasSoilAnalysis(false).hasGis(true).hasSmartGrid(false)
+                        .hasTrafficMgmt(false).hasUrbanIot(false).hasBuildingAuto(false).hasCommunication(true)
+                        .hasTeamwork(true).hasProblemSolving(true).hasLeadership(false)
+                        .build())
+                .learningProgress(DashboardSummaryResponse.LearningProgressSummary.builder()
+                        .totalCourses(8)
+                        .averageGrade(74.0)
+                        .coursePerformanceLevel("Good")
+                        .totalProjects(4)
+                        .averageComplexity(2.0)
+                        .projectExperienceLevel("Intermediate")
+                        .totalCertifications(3)
+                        .activeCertifications(3)
+                        .build())
+                .overallReadinessScore(58)
+                .readinessLevel(DashboardSummaryResponse.calculateReadinessLevel(58))
+                .externalApiData(ExternalApiResponse.builder()
+                        .recommendations(MLRecommendationResponse.builder()
+                                .userId("user")
+                                .targetRole("clinical_data_specialist")
+                                .targetSector("healthcare_technology")
+                                .recommendedCourses(courses)
+                                .recommendedProjects(projects)
+                                .reasoning("Strong EHR background; close the interoperability and analytics gaps")
+                                .generatedAt("2025-03-14T09:30:00Z")
+                                .build())
+                        .skillPrediction(SkillPredictResponse.builder()
+                                .skillGapScore(0.42)
+                                .timeToReadyMonths(6.5)
+                                .recommendedSkills(predictedSkills)
+                                .status("ok")
+                                .build())
+                        .status(ExternalApiResponse.ApiCallStatus.builder()
+                                .recommendationsSuccess(true)
+                                .skillPredictSuccess(true)
+                                .youtubeEnrichmentSuccess(true)
+                                .build())
+                        .build())
+                .build();
+    }
+
+    @Benchmark
+    public byte[] writeValueAsBytes() {
+        return jsonMapper.writeValueAsBytes(response);
+    }
+}
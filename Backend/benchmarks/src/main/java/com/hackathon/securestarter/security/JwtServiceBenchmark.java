@@ -0,0 +1,92 @@
+package com.hackathon.securestarter.security;
+
+import com.hackathon.securestarter.entity.User;
+import com.hackathon.securestarter.enums.AuthProvider;
+import com.hackathon.securestarter.enums.Role;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtService token issue and verification costs.
+ * - generateToken: signing a token at login
+ * - parseToken: one uncached parse through the service (getUserIdFromToken)
+ * Per-request CPU cost of JWT verification in the authentication filter:
+ * - previousFilterPath: what the filter did before, a freshly built parser per call and two
+ *   full parses (validateToken, then getEmailFromToken)
+ * - sharedParserSingleParse: one verification with the shared parser (every new token)
+ * - cachedClaims: a repeat request with a token already verified (the common case)
+ * Run with: java -jar target/benchmarks.jar JwtServiceBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-benchmark-secret";
+
+    private JwtService jwtService;
+    private SecretKey secretKey;
+    private JwtParser sharedParser;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpirationMs", 3_600_000L);
+        ReflectionTestUtils.setField(jwtService, "claimsCacheMaxEntries", 10_000L);
+        ReflectionTestUtils.setField(jwtService, "claimsCacheMaxTtlSeconds", 900L);
+        jwtService.init();
+
+        secretKey = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        sharedParser = Jwts.parser().verifyWith(secretKey).build();
+        user = User.builder()
+                .id(UUID.randomUUID())
+                .email("student@example.com")
+                .role(Role.USER)
+                .authProvider(AuthProvider.MANUAL)
+                .isVerified(true)
+                .build();
+        token = jwtService.generateToken(user);
+        jwtService.getValidClaims(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public UUID parseToken() {
+        return jwtService.getUserIdFromToken(token);
+    }
+
+    @Benchmark
+    public String previousFilterPath() {
+        Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token);
+        return Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload().getSubject();
+    }
+
+    @Benchmark
+    public Claims sharedParserSingleParse() {
+        return sharedParser.parseSignedClaims(token).getPayload();
+    }
+
+    @Benchmark
+    public Claims cachedClaims() {
+        return jwtService.getValidClaims(token);
+    }
+}
@@ -0,0 +1,71 @@
+package com.hackathon.securestarter.service;
+
+import com.hackathon.securestarter.benchmark.Stubs;
+import com.hackathon.securestarter.dto.response.CareerPathwayResponse;
+import com.hackathon.securestarter.dto.response.SkillGapAnalysisResponse;
+import com.hackathon.securestarter.entity.CareerProfile;
+import com.hackathon.securestarter.entity.SkillProfile;
+import com.hackathon.securestarter.repository.CareerProfileRepository;
+import com.hackathon.securestarter.repository.SkillProfileRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AnalyticsService report generation from loaded profiles, with repositories stubbed in memory.
+ * - analyzeSkillGaps: skill gap analysis, priority skills and learning path
+ * - generateCareerPathway: milestones, estimated time and key actions
+ * For a role listed in the required-skills table and one falling back to the sector defaults.
+ * Run with: java -jar target/benchmarks.jar AnalyticsServiceBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AnalyticsServiceBenchmark {
+
+    @Param({"Clinical Data Analyst", "Hospital Operations Lead"})
+    public String targetRole;
+
+    private AnalyticsService analyticsService;
+    private CareerProfile careerProfile;
+    private SkillProfile skillProfile;
+    private UUID userId;
+
+    @Setup
+    public void setUp() {
+        userId = UUID.randomUUID();
+        careerProfile = CareerProfile.builder()
+                .industrySector("Healthcare")
+                .targetJobRole(targetRole)
+                .careerGoals("Build analytics for rural clinics")
+                .build();
+        skillProfile = SkillProfile.builder()
+                .hasEhr(true)
+                .hasHl7Fhir(true)
+                .hasMedicalImaging(true)
+                .hasCommunication(true)
+                .hasTeamwork(true)
+                .build();
+
+        analyticsService = new AnalyticsService(
+                Stubs.repository(CareerProfileRepository.class, Map.of("findByUserId", Optional.of(careerProfile))),
+                Stubs.repository(SkillProfileRepository.class, Map.of("findByUserId", Optional.of(skillProfile))),
+                new SkillProfileService(null, null, null, null));
+    }
+
+    @Benchmark
+    public SkillGapAnalysisResponse analyzeSkillGaps() {
+        return analyticsService.analyzeSkillGaps(careerProfile, skillProfile);
+    }
+
+    @Benchmark
+    public CareerPathwayResponse generateCareerPathway() {
+        return analyticsService.generateCareerPathway(userId);
+    }
+}
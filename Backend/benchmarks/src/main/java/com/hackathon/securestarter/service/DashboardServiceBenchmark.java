@@ -0,0 +1,78 @@
+package com.hackathon.securestarter.service;
+
+import com.hackathon.securestarter.dto.response.DashboardSummaryResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DashboardService.calculateReadinessScore, run per dashboard and per user in batched snapshots.
+ * - fullProfile: every summary present
+ * - emptyProfile: a user who has only signed up (no academic, skills or career summary)
+ * Run with: java -jar target/benchmarks.jar DashboardServiceBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DashboardServiceBenchmark {
+
+    private DashboardService dashboardService;
+    private DashboardSummaryResponse.AcademicSummary academic;
+    private DashboardSummaryResponse.SkillsSummary skills;
+    private DashboardSummaryResponse.LearningProgressSummary learning;
+    private DashboardSummaryResponse.LearningProgressSummary noLearning;
+    private DashboardSummaryResponse.CareerSummary career;
+
+    @Setup
+    public void setUp() {
+        // The score is computed from the summaries alone, so no collaborator is needed
+        dashboardService = new DashboardService(null, null, null, null, null, null, null, null, null, null, null, null, null);
+        academic = DashboardSummaryResponse.AcademicSummary.builder()
+                .educationLevel("Undergraduate")
+                .cgpaPercentage(78.5f)
+                .fieldOfStudy("Computer Science")
+                .institution("State University")
+                .build();
+        skills = DashboardSummaryResponse.SkillsSummary.builder()
+                .totalSkillsCount(7)
+                .healthcareSkillsCount(3)
+                .agricultureSkillsCount(0)
+                .urbanSkillsCount(1)
+                .softSkillsCount(3)
+                .relevantSkillsForSector(3)
+                .build();
+        learning = DashboardSummaryResponse.LearningProgressSummary.builder()
+                .totalCourses(8)
+                .averageGrade(74.0)
+                .totalProjects(4)
+                .averageComplexity(2.0)
+                .totalCertifications(3)
+                .activeCertifications(3)
+                .build();
+        noLearning = DashboardSummaryResponse.LearningProgressSummary.builder()
+                .totalCourses(0)
+                .averageGrade(0.0)
+                .totalProjects(0)
+                .averageComplexity(0.0)
+                .totalCertifications(0)
+                .activeCertifications(0)
+                .build();
+        career = DashboardSummaryResponse.CareerSummary.builder()
+                .industrySector("Healthcare")
+                .targetJobRole("Clinical Data Analyst")
+                .build();
+    }
+
+    @Benchmark
+    public Integer fullProfile() {
+        return dashboardService.calculateReadinessScore(academic, skills, learning, career);
+    }
+
+    @Benchmark
+    public Integer emptyProfile() {
+        return dashboardService.calculateReadinessScore(null, null, noLearning, null);
+    }
+}
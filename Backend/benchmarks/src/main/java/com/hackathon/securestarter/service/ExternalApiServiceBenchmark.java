@@ -0,0 +1,121 @@
+package com.hackathon.securestarter.service;
+
+import com.hackathon.securestarter.benchmark.Stubs;
+import com.hackathon.securestarter.dto.request.MLRecommendationRequest;
+import com.hackathon.securestarter.entity.AcademicProfile;
+import com.hackathon.securestarter.entity.CareerProfile;
+import com.hackathon.securestarter.entity.Certification;
+import com.hackathon.securestarter.entity.Course;
+import com.hackathon.securestarter.entity.Project;
+import com.hackathon.securestarter.entity.SkillProfile;
+import com.hackathon.securestarter.entity.User;
+import com.hackathon.securestarter.enums.AuthProvider;
+import com.hackathon.securestarter.enums.Role;
+import com.hackathon.securestarter.repository.AcademicProfileRepository;
+import com.hackathon.securestarter.repository.CareerProfileRepository;
+import com.hackathon.securestarter.repository.CertificationRepository;
+import com.hackathon.securestarter.repository.CourseRepository;
+import com.hackathon.securestarter.repository.ProjectRepository;
+import com.hackathon.securestarter.repository.SkillProfileRepository;
+import com.hackathon.securestarter.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.web.client.RestClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ExternalApiService request assembly, the CPU work done before each dashboard's upstream calls.
+ * - buildMLRecommendationRequest: feature assembly from a profile with 8 courses, 4 projects and
+ *   3 certifications, with repositories stubbed in memory
+ * The role parameter is the profile's target role, which buildMLRecommendationRequest resolves to
+ * an ML role id: one matched by an early synonym, one by a late synonym, and one matching none.
+ * Run with: java -jar target/benchmarks.jar ExternalApiServiceBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExternalApiServiceBenchmark {
+
+    @Param({"Health Data Analyst", "Building Automation Engineer", "Quantum Farming Consultant"})
+    public String role;
+
+    private ExternalApiService externalApiService;
+    private UUID userId;
+
+    @Setup
+    public void setUp() {
+        userId = UUID.randomUUID();
+        User user = User.builder()
+                .id(userId)
+                .email("student@example.com")
+                .firstName("Bench")
+                .lastName("Student")
+                .role(Role.USER)
+                .authProvider(AuthProvider.MANUAL)
+                .isVerified(true)
+                .build();
+        AcademicProfile academic = AcademicProfile.builder()
+                .user(user)
+                .educationLevel(2)
+                .cgpaPercentage(78.5f)
+                .fieldOfStudy("Computer Science")
+                .institution("State University")
+                .build();
+        CareerProfile career = CareerProfile.builder()
+                .user(user)
+                .industrySector("Healthcare")
+                .targetJobRole(role)
+                .careerGoals("Build analytics for rural clinics")
+                .build();
+        SkillProfile skills = SkillProfile.builder()
+                .user(user)
+                .hasEhr(true)
+                .hasHl7Fhir(true)
+                .hasGis(true)
+                .hasCommunication(true)
+                .hasProblemSolving(true)
+                .build();
+
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            courses.add(Course.builder().user(user).courseName("Course " + i).grade(60f + 4 * i).build());
+        }
+        List<Project> projects = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            projects.add(Project.builder().user(user).projectTitle("Project " + i).complexityLevel(1 + i % 3).build());
+        }
+        List<Certification> certifications = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            certifications.add(Certification.builder().user(user).certificationName("Certification " + i).build());
+        }
+
+        externalApiService = new ExternalApiService(
+                RestClient.create(),
+                RestClient.create(),
+                RestClient.create(),
+                Stubs.repository(UserRepository.class, Map.of("findById", Optional.of(user))),
+                Stubs.repository(AcademicProfileRepository.class, Map.of("findByUserId", Optional.of(academic))),
+                Stubs.repository(CareerProfileRepository.class, Map.of("findByUserId", Optional.of(career))),
+                Stubs.repository(SkillProfileRepository.class, Map.of("findByUserId", Optional.of(skills))),
+                Stubs.repository(CourseRepository.class, Map.of("findByUserId", courses)),
+                Stubs.repository(ProjectRepository.class, Map.of("findByUserId", projects)),
+                Stubs.repository(CertificationRepository.class, Map.of("findByUserId", certifications)),
+                new RoleNormalizer(10_000, RoleNormalizer.RoleEncoding.DENSE),
+                Runnable::run,
+                50,
+                200);
+    }
+
+    @Benchmark
+    public MLRecommendationRequest buildMLRecommendationRequest() {
+        return externalApiService.buildMLRecommendationRequest(userId);
+    }
+}
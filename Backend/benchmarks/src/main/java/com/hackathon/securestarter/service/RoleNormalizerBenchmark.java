@@ -0,0 +1,92 @@
+package com.hackathon.securestarter.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Target role to ML role id, run for both ML requests of every dashboard.
+ * - previousContainsChain: what ExternalApiService did before, lowercasing the role and then
+ *   up to 40 contains() checks in order
+ * - resolve: one pass of the compiled synonym matcher (a role seen for the first time)
+ * - cachedRoleId / cachedRoleCode: a role already resolved (the common case)
+ * For a role matched by an early synonym, one matched by a late synonym, and one matching none.
+ * Run with: java -jar target/benchmarks.jar RoleNormalizerBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RoleNormalizerBenchmark {
+
+    // The removed contains() chain: {role id, phrases...} entries tried in order
+    private static final String[][] PREVIOUS_CHAIN = {
+            {"health_data_analyst", "health data analyst", "healthcare data analyst"},
+            {"healthcare_ml_engineer", "medical ai", "healthcare ml", "biomedical data"},
+            {"healthcare_it_manager", "healthcare it", "health systems"},
+            {"clinical_informatics_specialist", "clinical informatics"},
+            {"telemedicine_systems_engineer", "telemedicine", "telehealth"},
+            {"healthcare_it_manager", "digital health product", "health product manager"},
+            {"medical_imaging_specialist", "medical imaging"},
+            {"healthcare_security_analyst", "healthcare security", "health security"},
+            {"clinical_data_specialist", "clinical data"},
+            {"population_health_analyst", "population health"},
+            {"agritech_product_manager", "agritech", "agri tech", "agri-tech"},
+            {"precision_agriculture_specialist", "precision farm", "precision agriculture"},
+            {"agricultural_data_scientist", "agricultural data", "agri data"},
+            {"farm_automation_engineer", "drone", "uav", "smart farm", "farm automation"},
+            {"agricultural_iot_specialist", "iot agriculture", "agricultural iot"},
+            {"crop_analytics_specialist", "crop analytics", "crop analysis"},
+            {"soil_health_data_analyst", "sustainable agriculture", "soil"},
+            {"smart_irrigation_engineer", "irrigation", "water"},
+            {"agricultural_robotics_engineer", "agricultural robot", "agri robot"},
+            {"smart_city_solutions_architect", "smart city architect", "city solutions"},
+            {"iot_infrastructure_engineer", "iot solutions", "iot infrastructure"},
+            {"urban_data_analyst", "urban systems", "urban data", "urban analyst"},
+            {"smart_grid_engineer", "smart grid", "energy"},
+            {"traffic_management_systems_engineer", "traffic"},
+            {"urban_gis_specialist", "gis analyst", "geospatial"},
+            {"building_automation_engineer", "building automation", "smart building"}
+    };
+
+    @Param({"Health Data Analyst", "Building Automation Engineer", "Quantum Farming Consultant"})
+    public String role;
+
+    private RoleNormalizer roleNormalizer;
+
+    @Setup
+    public void setUp() {
+        roleNormalizer = new RoleNormalizer(10_000, RoleNormalizer.RoleEncoding.DENSE);
+        roleNormalizer.toRoleId(role);
+    }
+
+    @Benchmark
+    public String previousContainsChain() {
+        String lowerRole = role.toLowerCase().trim();
+        for (String[] entry : PREVIOUS_CHAIN) {
+            for (int i = 1; i < entry.length; i++) {
+                if (lowerRole.contains(entry[i])) {
+                    return entry[0];
+                }
+            }
+        }
+        return lowerRole.replace(" ", "_");
+    }
+
+    @Benchmark
+    public RoleNormalizer.NormalizedRole resolve() {
+        return RoleNormalizer.resolve(role);
+    }
+
+    @Benchmark
+    public String cachedRoleId() {
+        return roleNormalizer.toRoleId(role);
+    }
+
+    @Benchmark
+    public int cachedRoleCode() {
+        return roleNormalizer.toRoleCode(role);
+    }
+}
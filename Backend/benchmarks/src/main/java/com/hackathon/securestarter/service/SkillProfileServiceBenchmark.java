@@ -0,0 +1,59 @@
+package com.hackathon.securestarter.service;
+
+import com.hackathon.securestarter.entity.SkillProfile;
+import com.hackathon.securestarter.enums.Skill;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SkillProfileService reads of a loaded profile, run once or more per dashboard and analytics request.
+ * - getAllCurrentSkills: display names of every owned skill
+ * - categoryCounts: the four per-category counts of the skills summary
+ * For a profile owning a few skills and one owning all of them.
+ * Run with: java -jar target/benchmarks.jar SkillProfileServiceBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SkillProfileServiceBenchmark {
+
+    @Param({"few", "all"})
+    public String skills;
+
+    private SkillProfileService skillProfileService;
+    private SkillProfile profile;
+
+    @Setup
+    public void setUp() {
+        // Neither method touches the repositories or the event publisher
+        skillProfileService = new SkillProfileService(null, null, null, null);
+        SkillProfile.SkillProfileBuilder builder = SkillProfile.builder();
+        if (skills.equals("all")) {
+            for (Skill skill : Skill.values()) {
+                builder.skill(skill, true);
+            }
+        } else {
+            builder.hasEhr(true).hasGis(true).hasDroneOps(true).hasCommunication(true);
+        }
+        profile = builder.build();
+    }
+
+    @Benchmark
+    public List<String> getAllCurrentSkills() {
+        return skillProfileService.getAllCurrentSkills(profile);
+    }
+
+    @Benchmark
+    public void categoryCounts(Blackhole blackhole) {
+        blackhole.consume(skillProfileService.countHealthcareSkills(profile));
+        blackhole.consume(skillProfileService.countAgricultureSkills(profile));
+        blackhole.consume(skillProfileService.countUrbanSkills(profile));
+        blackhole.consume(skillProfileService.countSoftSkills(profile));
+    }
+}
@@ -0,0 +1,108 @@
+-- ===========================================
+-- Insert benchmark: random UUIDv4 vs time-ordered UUIDv7 primary keys
+-- ===========================================
+-- Loads the same number of course-like rows into two InnoDB tables that differ only in how the
+-- BINARY(16) id is generated, then reports insert time, rows/second, index sizes and page splits.
+-- Run against a scratch schema on the same MySQL 8 version and buffer pool size as production;
+-- the gap grows once the table outgrows the buffer pool, so use a few million rows.
+--
+-- Usage: mysql -u <user> -p scratch_schema < uuidv7-insert-benchmark.sql
+-- Row count: edit @bench_rows below (default 3,000,000; inserted 1,000 rows per statement).
+
+SET @bench_rows = 3000000;
+
+DROP TABLE IF EXISTS bench_seq, bench_courses_v4, bench_courses_v7, bench_results;
+DROP PROCEDURE IF EXISTS bench_load;
+
+-- 0..999, joined against to insert 1,000 rows per statement
+CREATE TABLE bench_seq (n INT NOT NULL PRIMARY KEY) ENGINE = InnoDB;
+INSERT INTO bench_seq (n)
+WITH RECURSIVE seq (n) AS (SELECT 0 UNION ALL SELECT n + 1 FROM seq WHERE n < 999)
+SELECT n FROM seq;
+
+-- Same shape and indexes as the courses table
+CREATE TABLE bench_courses_v4 (
+    id BINARY(16) NOT NULL PRIMARY KEY,
+    user_id BINARY(16) NOT NULL,
+    course_name VARCHAR(300) NOT NULL,
+    grade FLOAT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    INDEX idx_course_user_created (user_id, created_at, id)
+) ENGINE = InnoDB;
+CREATE TABLE bench_courses_v7 LIKE bench_courses_v4;
+
+CREATE TABLE bench_results (
+    id_version VARCHAR(10) NOT NULL PRIMARY KEY,
+    row_count BIGINT NOT NULL,
+    seconds DECIMAL(12, 3) NOT NULL,
+    page_splits BIGINT NULL
+) ENGINE = InnoDB;
+
+-- Page split counter (reset per run); harmless if already enabled
+SET GLOBAL innodb_monitor_enable = 'index_page_splits';
+
+DELIMITER //
+
+CREATE PROCEDURE bench_load(IN id_version VARCHAR(10), IN total BIGINT)
+BEGIN
+    DECLARE loaded BIGINT DEFAULT 0;
+    DECLARE base_ms BIGINT DEFAULT FLOOR(UNIX_TIMESTAMP(NOW(3)) * 1000);
+    DECLARE started DATETIME(6);
+    DECLARE splits_before BIGINT;
+
+    SELECT COUNT INTO splits_before FROM information_schema.INNODB_METRICS WHERE NAME = 'index_page_splits';
+    SET started = SYSDATE(6);
+
+    WHILE loaded < total DO
+        IF id_version = 'v4' THEN
+            -- Random 122 bits with version 4 and variant 10, like UUID.randomUUID()
+            INSERT INTO bench_courses_v4 (id, user_id, course_name, grade, created_at)
+            SELECT CONCAT(SUBSTRING(r, 1, 6),
+                          CHAR(0x40 | (ASCII(SUBSTRING(r, 7, 1)) & 0x0F)), SUBSTRING(r, 8, 1),
+                          CHAR(0x80 | (ASCII(SUBSTRING(r, 9, 1)) & 0x3F)), SUBSTRING(r, 10, 7)),
+                   UNHEX(LPAD(HEX((loaded + n) % 50000), 32, '0')),
+                   CONCAT('Course ', loaded + n), 60 + (loaded + n) % 40, NOW(6)
+            FROM (SELECT n, RANDOM_BYTES(16) AS r FROM bench_seq) s;
+        ELSE
+            -- 48-bit milliseconds (10 rows per ms), then a 12-bit counter keeping ids monotonic
+            -- within the millisecond as Hibernate's VERSION_7 strategy does, then random bits
+            INSERT INTO bench_courses_v7 (id, user_id, course_name, grade, created_at)
+            SELECT CONCAT(UNHEX(LPAD(HEX(base_ms + (loaded + n) DIV 10), 12, '0')),
+                          UNHEX(LPAD(HEX(0x7000 | ((loaded + n) % 10)), 4, '0')),
+                          CHAR(0x80 | (ASCII(SUBSTRING(r, 1, 1)) & 0x3F)), SUBSTRING(r, 2, 7)),
+                   UNHEX(LPAD(HEX((loaded + n) % 50000), 32, '0')),
+                   CONCAT('Course ', loaded + n), 60 + (loaded + n) % 40, NOW(6)
+            FROM (SELECT n, RANDOM_BYTES(8) AS r FROM bench_seq) s;
+        END IF;
+        SET loaded = loaded + 1000;
+    END WHILE;
+
+    INSERT INTO bench_results (id_version, row_count, seconds, page_splits)
+    SELECT id_version, loaded, TIMESTAMPDIFF(MICROSECOND, started, SYSDATE(6)) / 1000000,
+           COUNT - splits_before
+    FROM information_schema.INNODB_METRICS WHERE NAME = 'index_page_splits';
+END //
+
+DELIMITER ;
+
+CALL bench_load('v4', @bench_rows);
+CALL bench_load('v7', @bench_rows);
+
+ANALYZE TABLE bench_courses_v4, bench_courses_v7;
+
+SELECT r.id_version,
+       r.row_count,
+       r.seconds,
+       ROUND(r.row_count / r.seconds) AS rows_per_second,
+       r.page_splits,
+       ROUND(t.DATA_LENGTH / 1024 / 1024, 1) AS clustered_index_mb,
+       ROUND(t.INDEX_LENGTH / 1024 / 1024, 1) AS secondary_index_mb,
+       ROUND(t.DATA_FREE / 1024 / 1024, 1) AS free_mb
+FROM bench_results r
+JOIN information_schema.TABLES t
+  ON t.TABLE_SCHEMA = DATABASE() AND t.TABLE_NAME = CONCAT('bench_courses_', r.id_version)
+ORDER BY r.id_version;
+
+DROP PROCEDURE bench_load;
+-- Tables are kept for inspection; drop them with:
+-- DROP TABLE bench_seq, bench_courses_v4, bench_courses_v7, bench_results;
@@ -0,0 +1,87 @@
+-- ===========================================
+-- Rewrite existing random (v4) primary keys as time-ordered UUIDv7
+-- ===========================================
+-- New rows already get UUIDv7 ids from Hibernate (@UuidGenerator VERSION_7), stored as BINARY(16)
+-- by the MySQL dialect, so this script is optional: without it old rows keep their random ids and
+-- only new inserts are append-only. Running it gives every existing row an id derived from its
+-- created_at, so the whole clustered index is in insertion order, then rebuilds the tables.
+--
+-- * Take a backup and stop the application first (ids change; the in-memory search indexes and
+--   second-level cache are rebuilt on startup).
+-- * Every remapped user is logged out: issued JWTs carry the old user id in their userId claim, which
+--   no longer resolves. The users' token_version is bumped in the same transaction so the logout is
+--   explicit rather than a side effect; tell users to expect a forced re-login.
+-- * Rows that already have a v7 id are left alone, so the script can be re-run.
+-- * With binary logging enabled, creating the function needs log_bin_trust_function_creators=1.
+--
+-- Usage: mysql -u <user> -p Career_Saarthi < uuidv7-migrate-existing-ids.sql
+
+DELIMITER //
+
+-- UUIDv7 for a timestamp: 48-bit Unix milliseconds, version 7, 12 random bits, variant 10, 62 random bits
+CREATE FUNCTION uuid_v7_at(ts DATETIME(6)) RETURNS BINARY(16) NOT DETERMINISTIC NO SQL
+BEGIN
+    DECLARE rnd BINARY(10) DEFAULT RANDOM_BYTES(10);
+    RETURN CONCAT(
+            UNHEX(LPAD(HEX(FLOOR(UNIX_TIMESTAMP(ts) * 1000)), 12, '0')),
+            CHAR(0x70 | (ASCII(SUBSTRING(rnd, 1, 1)) & 0x0F)), SUBSTRING(rnd, 2, 1),
+            CHAR(0x80 | (ASCII(SUBSTRING(rnd, 3, 1)) & 0x3F)), SUBSTRING(rnd, 4, 7));
+END //
+
+-- Version nibble of a BINARY(16) UUID
+CREATE FUNCTION uuid_version(id BINARY(16)) RETURNS INT DETERMINISTIC NO SQL
+BEGIN
+    RETURN ASCII(SUBSTRING(id, 7, 1)) >> 4;
+END //
+
+DELIMITER ;
+
+-- Users are referenced by every other table: remap through a lookup table
+-- (created before the transaction, since DDL would commit it implicitly)
+CREATE TABLE uuid_v7_user_map (
+    old_id BINARY(16) NOT NULL PRIMARY KEY,
+    new_id BINARY(16) NOT NULL
+) ENGINE = InnoDB;
+
+INSERT INTO uuid_v7_user_map (old_id, new_id)
+SELECT id, uuid_v7_at(created_at) FROM users WHERE uuid_version(id) <> 7;
+
+SET FOREIGN_KEY_CHECKS = 0;
+START TRANSACTION;
+
+UPDATE users t JOIN uuid_v7_user_map m ON t.id = m.old_id
+SET t.id = m.new_id, t.token_version = t.token_version + 1;
+UPDATE academic_profiles t JOIN uuid_v7_user_map m ON t.user_id = m.old_id SET t.user_id = m.new_id;
+UPDATE career_profiles t JOIN uuid_v7_user_map m ON t.user_id = m.old_id SET t.user_id = m.new_id;
+UPDATE skill_profiles t JOIN uuid_v7_user_map m ON t.user_id = m.old_id SET t.user_id = m.new_id;
+UPDATE courses t JOIN uuid_v7_user_map m ON t.user_id = m.old_id SET t.user_id = m.new_id;
+UPDATE projects t JOIN uuid_v7_user_map m ON t.user_id = m.old_id SET t.user_id = m.new_id;
+UPDATE certifications t JOIN uuid_v7_user_map m ON t.user_id = m.old_id SET t.user_id = m.new_id;
+UPDATE verification_tokens t JOIN uuid_v7_user_map m ON t.user_id = m.old_id SET t.user_id = m.new_id;
+UPDATE password_reset_tokens t JOIN uuid_v7_user_map m ON t.user_id = m.old_id SET t.user_id = m.new_id;
+UPDATE user_profile_stats t JOIN uuid_v7_user_map m ON t.user_id = m.old_id SET t.user_id = m.new_id;
+UPDATE user_digests t JOIN uuid_v7_user_map m ON t.user_id = m.old_id SET t.user_id = m.new_id;
+-- Cursor of a digest run in progress. Ids are reordered, so run the script between digest runs:
+-- a run resumed across it may skip or repeat users (user_digests still prevents duplicate emails)
+UPDATE digest_runs t JOIN uuid_v7_user_map m ON t.last_user_id = m.old_id SET t.last_user_id = m.new_id;
+
+-- Nothing references the other tables' ids, so they are rewritten in place
+UPDATE academic_profiles SET id = uuid_v7_at(created_at) WHERE uuid_version(id) <> 7;
+UPDATE career_profiles SET id = uuid_v7_at(created_at) WHERE uuid_version(id) <> 7;
+UPDATE skill_profiles SET id = uuid_v7_at(created_at) WHERE uuid_version(id) <> 7;
+UPDATE courses SET id = uuid_v7_at(created_at) WHERE uuid_version(id) <> 7;
+UPDATE projects SET id = uuid_v7_at(created_at) WHERE uuid_version(id) <> 7;
+UPDATE certifications SET id = uuid_v7_at(created_at) WHERE uuid_version(id) <> 7;
+UPDATE verification_tokens SET id = uuid_v7_at(created_at) WHERE uuid_version(id) <> 7;
+UPDATE password_reset_tokens SET id = uuid_v7_at(created_at) WHERE uuid_version(id) <> 7;
+
+COMMIT;
+SET FOREIGN_KEY_CHECKS = 1;
+
+DROP TABLE uuid_v7_user_map;
+DROP FUNCTION uuid_v7_at;
+DROP FUNCTION uuid_version;
+
+-- Rebuild clustered and secondary indexes in the new key order
+OPTIMIZE TABLE users, academic_profiles, career_profiles, skill_profiles, courses, projects,
+    certifications, verification_tokens, password_reset_tokens;
@@ -0,0 +1,115 @@
+package com.hackathon.securestarter.admission;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit that adapts to observed latency (additive increase, multiplicative decrease).
+ * While requests finish within the latency target and the limit is actually being used, it grows
+ * by about one per limit's worth of completions; a slow or failed (5xx) completion cuts it by
+ * BACKOFF_RATIO, at most once per latency target so one burst of slow responses counts once.
+ * When the limit is reached a few requests may wait briefly for a slot; the rest are refused.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyTargetNanos;
+    private final int maxQueued;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition slotReleased = lock.newCondition();
+
+    private volatile double limit;
+    private volatile int inFlight;
+    private volatile int queued;
+    private long lastDecreaseNanos;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit,
+                                    long latencyTargetMs, int maxQueued) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit = Math.clamp(initialLimit, this.minLimit, this.maxLimit);
+        this.latencyTargetNanos = TimeUnit.MILLISECONDS.toNanos(latencyTargetMs);
+        this.maxQueued = maxQueued;
+        this.lastDecreaseNanos = System.nanoTime() - latencyTargetNanos;
+    }
+
+    /**
+     * Take a slot, waiting up to maxWaitNanos if the limit is reached and the wait queue has room
+     * @param maxWaitNanos longest time to wait for a slot
+     * @return true if a slot was taken; release it with release()
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean tryAcquire(long maxWaitNanos) throws InterruptedException {
+        lock.lock();
+        try {
+            if (inFlight < (int) limit) {
+                inFlight++;
+                return true;
+            }
+            if (maxWaitNanos <= 0 || queued >= maxQueued) {
+                return false;
+            }
+
+            queued++;
+            try {
+                long remaining = maxWaitNanos;
+                while (inFlight >= (int) limit) {
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    remaining = slotReleased.awaitNanos(remaining);
+                }
+                inFlight++;
+                return true;
+            } finally {
+                queued--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Give back a slot and adjust the limit from how the request went
+     * @param latencyNanos time the request held the slot
+     * @param failed whether it ended in a server error
+     */
+    public void release(long latencyNanos, boolean failed) {
+        lock.lock();
+        try {
+            int wasInFlight = inFlight;
+            inFlight = wasInFlight - 1;
+
+            long now = System.nanoTime();
+            if (failed || latencyNanos > latencyTargetNanos) {
+                if (now - lastDecreaseNanos >= latencyTargetNanos) {
+                    limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+                    lastDecreaseNanos = now;
+                }
+            } else if (wasInFlight * 2 >= limit) {
+                // Only grow when at least half the limit is in use, otherwise it drifts up unchecked
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+            slotReleased.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    public int getQueued() {
+        return queued;
+    }
+}
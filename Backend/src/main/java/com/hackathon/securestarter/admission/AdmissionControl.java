@@ -0,0 +1,192 @@
+package com.hackathon.securestarter.admission;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admission control per endpoint tier: an adaptive concurrency limit for each tier, plus
+ * per-user token buckets on tiers that configure a user-burst (HEAVY by default).
+ * Requests over a tier's limit are refused with 503 after at most a short wait; users over
+ * their rate get 429. Both carry Retry-After. Exported as admission.* metrics tagged by tier.
+ * Per-tier settings (app.admission.&lt;tier&gt;.*): initial-limit, min-limit, max-limit,
+ * latency-target-ms, max-queued, max-wait-ms, user-burst, user-rate-per-second.
+ */
+@Component
+@Slf4j
+public class AdmissionControl implements MeterBinder {
+
+    private final boolean enabled;
+    private final long retryAfterSeconds;
+    private final Map<EndpointTier, TierState> tiers = new EnumMap<>(EndpointTier.class);
+
+    public AdmissionControl(Environment environment,
+                            @Value("${app.admission.enabled:true}") boolean enabled,
+                            @Value("${app.admission.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.enabled = enabled;
+        this.retryAfterSeconds = retryAfterSeconds;
+        for (EndpointTier tier : EndpointTier.values()) {
+            tiers.put(tier, new TierState(tier, environment));
+        }
+    }
+
+    /**
+     * Outcome of admitting a request: either a slot to release when the request completes,
+     * or the status and Retry-After seconds to refuse it with
+     */
+    public record Decision(EndpointTier tier, AdaptiveConcurrencyLimit slot,
+                           HttpStatus rejectedWith, long retryAfterSeconds) {
+
+        public boolean admitted() {
+            return rejectedWith == null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Admit a request of the given tier, waiting briefly for a slot if the tier is at its limit
+     * @param tier endpoint tier of the request
+     * @param userId authenticated user, or null for anonymous requests (not rate limited)
+     * @return Decision; if admitted, pass it to complete() when the request ends
+     */
+    public Decision admit(EndpointTier tier, UUID userId) {
+        TierState state = tiers.get(tier);
+
+        if (userId != null && state.userBuckets != null) {
+            long waitNanos = state.userBuckets.get(userId, id -> new TokenBucket(state.userBurst, state.userRate))
+                    .tryConsume();
+            if (waitNanos > 0) {
+                state.throttled.incrementAndGet();
+                return new Decision(tier, null, HttpStatus.TOO_MANY_REQUESTS,
+                        Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999)));
+            }
+        }
+
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = state.limit.tryAcquire(state.maxWaitNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        Timer queueWait = state.queueWait;
+        if (queueWait != null) {
+            queueWait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        if (!acquired) {
+            state.rejected.incrementAndGet();
+            log.debug("Rejected {} request: tier at its limit of {}", tier, state.limit.getLimit());
+            return new Decision(tier, null, HttpStatus.SERVICE_UNAVAILABLE, retryAfterSeconds);
+        }
+        state.admitted.incrementAndGet();
+        return new Decision(tier, state.limit, null, 0);
+    }
+
+    /**
+     * Release an admitted request's slot and feed its latency to the tier's limit
+     * @param decision the admitted Decision
+     * @param latencyNanos time from admission to completion
+     * @param failed whether the request ended in a server error
+     */
+    public void complete(Decision decision, long latencyNanos, boolean failed) {
+        decision.slot().release(latencyNanos, failed);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (TierState state : tiers.values()) {
+            String tier = state.tier.name().toLowerCase();
+            Gauge.builder("admission.limit", state.limit, AdaptiveConcurrencyLimit::getLimit)
+                    .description("Current concurrency limit of the endpoint tier")
+                    .tag("tier", tier)
+                    .register(registry);
+            Gauge.builder("admission.inflight", state.limit, AdaptiveConcurrencyLimit::getInFlight)
+                    .description("Requests of the tier currently being served")
+                    .tag("tier", tier)
+                    .register(registry);
+            Gauge.builder("admission.queued", state.limit, AdaptiveConcurrencyLimit::getQueued)
+                    .description("Requests of the tier waiting for a slot")
+                    .tag("tier", tier)
+                    .register(registry);
+            FunctionCounter.builder("admission.requests", state.admitted, AtomicLong::get)
+                    .tag("tier", tier)
+                    .tag("outcome", "admitted")
+                    .register(registry);
+            FunctionCounter.builder("admission.requests", state.rejected, AtomicLong::get)
+                    .description("Requests refused with 503 because the tier was at its limit")
+                    .tag("tier", tier)
+                    .tag("outcome", "rejected")
+                    .register(registry);
+            FunctionCounter.builder("admission.requests", state.throttled, AtomicLong::get)
+                    .description("Requests refused with 429 by the per-user rate limit")
+                    .tag("tier", tier)
+                    .tag("outcome", "throttled")
+                    .register(registry);
+            state.queueWait = Timer.builder("admission.queue.wait")
+                    .description("Time spent waiting for a slot, including rejected requests")
+                    .tag("tier", tier)
+                    .register(registry);
+        }
+    }
+
+    private static final class TierState {
+
+        private final EndpointTier tier;
+        private final AdaptiveConcurrencyLimit limit;
+        private final long maxWaitNanos;
+        private final double userBurst;
+        private final double userRate;
+        private final Cache<UUID, TokenBucket> userBuckets;
+
+        private final AtomicLong admitted = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicLong throttled = new AtomicLong();
+        private volatile Timer queueWait;
+
+        private TierState(EndpointTier tier, Environment environment) {
+            String prefix = tier.propertyPrefix();
+            this.tier = tier;
+            this.limit = new AdaptiveConcurrencyLimit(
+                    environment.getProperty(prefix + ".initial-limit", Integer.class, tier.getInitialLimit()),
+                    environment.getProperty(prefix + ".min-limit", Integer.class, tier.getMinLimit()),
+                    environment.getProperty(prefix + ".max-limit", Integer.class, tier.getMaxLimit()),
+                    environment.getProperty(prefix + ".latency-target-ms", Long.class, tier.getLatencyTargetMs()),
+                    environment.getProperty(prefix + ".max-queued", Integer.class, 10));
+            this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(
+                    environment.getProperty(prefix + ".max-wait-ms", Long.class, 50L));
+
+            // Per-user buckets: HEAVY allows a burst of 20 and then one request every two seconds
+            this.userBurst = environment.getProperty(prefix + ".user-burst", Double.class,
+                    tier == EndpointTier.HEAVY ? 20.0 : 0.0);
+            this.userRate = environment.getProperty(prefix + ".user-rate-per-second", Double.class, 0.5);
+            this.userBuckets = userBurst > 0 && userRate > 0
+                    ? Caffeine.newBuilder()
+                            .maximumSize(100_000)
+                            // A bucket idle this long has refilled completely, so dropping it changes nothing
+                            .expireAfterAccess(Duration.ofSeconds((long) Math.ceil(userBurst / userRate) + 1))
+                            .build()
+                    : null;
+        }
+    }
+}
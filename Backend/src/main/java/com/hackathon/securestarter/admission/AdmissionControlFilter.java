@@ -0,0 +1,135 @@
+package com.hackathon.securestarter.admission;
+
+import com.hackathon.securestarter.dto.response.ErrorResponse;
+import com.hackathon.securestarter.security.AuthenticatedUser;
+import com.hackathon.securestarter.util.Constants;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Applies AdmissionControl to API requests. Runs in the security filter chain right after JWT
+ * authentication, so per-user rate limits know the caller, and before any controller work.
+ * Not a @Component: registered as a servlet filter it would run before authentication.
+ */
+@RequiredArgsConstructor
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private final AdmissionControl admissionControl;
+    private final JsonMapper jsonMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !admissionControl.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        EndpointTier tier = EndpointTier.of(request.getRequestURI().substring(request.getContextPath().length()));
+        if (tier == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        AdmissionControl.Decision decision = admissionControl.admit(tier, currentUserId());
+        if (!decision.admitted()) {
+            reject(request, response, decision);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            failed = response.getStatus() >= HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+            if (request.isAsyncStarted()) {
+                // Streaming responses (the NDJSON exports) keep working after this thread returns:
+                // the slot is held, and the latency measured, until the async request completes
+                request.getAsyncContext().addListener(new CompletionListener(decision, start));
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                admissionControl.complete(decision, System.nanoTime() - start, failed);
+            }
+        }
+    }
+
+    /**
+     * Completes an admitted async request when the container finishes it
+     */
+    @RequiredArgsConstructor
+    private class CompletionListener implements AsyncListener {
+
+        private final AdmissionControl.Decision decision;
+        private final long start;
+        private boolean failed;
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            boolean serverError = event.getSuppliedResponse() instanceof HttpServletResponse response
+                    && response.getStatus() >= HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+            admissionControl.complete(decision, System.nanoTime() - start, failed || serverError);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            failed = true;
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            failed = true;
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Listeners are dropped when async processing restarts
+            event.getAsyncContext().addListener(this);
+        }
+    }
+
+    private static UUID currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user.getId();
+        }
+        return null;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response,
+                        AdmissionControl.Decision decision) throws IOException {
+        HttpStatus status = decision.rejectedWith();
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(decision.retryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message(status == HttpStatus.TOO_MANY_REQUESTS ? Constants.TOO_MANY_REQUESTS : Constants.SERVER_BUSY)
+                .path(request.getRequestURI())
+                .build();
+
+        jsonMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+}
@@ -0,0 +1,94 @@
+package com.hackathon.securestarter.admission;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Cost classes of API endpoints. Each tier gets its own concurrency limit, so a surge on one
+ * (say, dashboards) cannot take the threads and connections the others need.
+ * The defaults here can be overridden per tier with app.admission.&lt;tier&gt;.* properties.
+ */
+public enum EndpointTier {
+
+    /**
+     * Login, signup and token flows. Kept separate so users can always sign in
+     */
+    AUTH(50, 10, 200, 500,
+            "/api/auth/**", "/api/oauth2/**", "/oauth2/**", "/login/**"),
+
+    /**
+     * Database plus upstream ML/skill APIs, or whole-profile computations
+     */
+    HEAVY(20, 4, 100, 1500,
+            "/api/dashboard/**", "/api/analytics/**", "/api/recommendations/**", "/api/career/pathway"),
+
+    /**
+     * Admin reporting, search and imports
+     */
+    ADMIN(10, 2, 40, 2000,
+            "/api/admin/**"),
+
+    /**
+     * Everything else under /api: single-profile reads and writes
+     */
+    LIGHT(100, 20, 400, 250,
+            "/api/**");
+
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyTargetMs;
+    private final List<PathPattern> patterns;
+
+    EndpointTier(int initialLimit, int minLimit, int maxLimit, long latencyTargetMs, String... patterns) {
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTargetMs = latencyTargetMs;
+        this.patterns = Arrays.stream(patterns).map(PathPatternParser.defaultInstance::parse).toList();
+    }
+
+    /**
+     * Get the tier of a request path (without the context path)
+     * @param path request path
+     * @return the first tier with a matching pattern, or null for paths that are not limited (e.g. /actuator)
+     */
+    public static EndpointTier of(String path) {
+        PathContainer container = PathContainer.parsePath(path);
+        for (EndpointTier tier : values()) {
+            for (PathPattern pattern : tier.patterns) {
+                if (pattern.matches(container)) {
+                    return tier;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Property prefix of this tier, e.g. app.admission.heavy
+     */
+    public String propertyPrefix() {
+        return "app.admission." + name().toLowerCase();
+    }
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public long getLatencyTargetMs() {
+        return latencyTargetMs;
+    }
+}
@@ -0,0 +1,117 @@
+package com.hackathon.securestarter.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.hackathon.securestarter.entity.CacheRegions;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Hibernate second-level cache for the profile entities, backed by in-process Caffeine via JCache.
+ * Regions are created here rather than on demand so that every one is size-bounded, and the
+ * cache manager is handed to Hibernate directly. Entries also expire after a TTL, which bounds
+ * how stale a node's cache can be when another instance updates the same profile.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    @Value("${app.cache.profiles.max-entries:10000}")
+    private long maxEntries;
+
+    @Value("${app.cache.profiles.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    @Value("${app.cache.statistics-enabled:true}")
+    private boolean statisticsEnabled;
+
+    /**
+     * JCache manager holding one bounded Caffeine cache per profile region.
+     * The provider's default manager is shared JVM-wide, so each application context gets
+     * its own (devtools restarts and test contexts would otherwise collide on region names).
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+
+        for (String region : CacheRegions.PROFILE_REGIONS) {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>()
+                    .setStoreByValue(false)
+                    .setMaximumSize(OptionalLong.of(maxEntries))
+                    .setExpireAfterWrite(OptionalLong.of(Duration.ofSeconds(ttlSeconds).toNanos()));
+            cacheManager.createCache(region, configuration);
+        }
+        return cacheManager;
+    }
+
+    /**
+     * Point Hibernate at the cache manager above and fail fast on any unconfigured region
+     */
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            properties.put(AvailableSettings.GENERATE_STATISTICS, statisticsEnabled);
+        };
+    }
+
+    /**
+     * Per-region hit, miss and hit-ratio meters (needs app.cache.statistics-enabled)
+     */
+    @Bean
+    public MeterBinder profileCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+            for (String region : CacheRegions.PROFILE_REGIONS) {
+                FunctionCounter.builder("hibernate.cache.hits", statistics, regionCount(region, CacheRegionStatistics::getHitCount))
+                        .tag("region", region)
+                        .register(registry);
+                FunctionCounter.builder("hibernate.cache.misses", statistics, regionCount(region, CacheRegionStatistics::getMissCount))
+                        .tag("region", region)
+                        .register(registry);
+                Gauge.builder("hibernate.cache.hit.ratio", statistics, stats -> hitRatio(stats.getDomainDataRegionStatistics(region)))
+                        .tag("region", region)
+                        .register(registry);
+            }
+        };
+    }
+
+    private static ToDoubleFunction<Statistics> regionCount(String region, ToLongFunction<CacheRegionStatistics> count) {
+        return stats -> {
+            CacheRegionStatistics regionStats = stats.getDomainDataRegionStatistics(region);
+            return regionStats != null ? count.applyAsLong(regionStats) : 0;
+        };
+    }
+
+    private static double hitRatio(CacheRegionStatistics regionStats) {
+        if (regionStats == null) {
+            return 0.0;
+        }
+        long requests = regionStats.getHitCount() + regionStats.getMissCount();
+        return requests == 0 ? 0.0 : (double) regionStats.getHitCount() / requests;
+    }
+}
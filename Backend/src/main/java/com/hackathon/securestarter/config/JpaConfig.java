@@ -0,0 +1,58 @@
+package com.hackathon.securestarter.config;
+
+import com.hackathon.securestarter.migration.SkillMaskMigration;
+import com.hackathon.securestarter.repository.NaturalIdRepositoryImpl;
+import com.hackathon.securestarter.repository.UserRepository;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.boot.jpa.autoconfigure.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * Spring Data JPA repositories, using NaturalIdRepositoryImpl as the base class
+ * so repositories extending NaturalIdRepository get cached natural-id lookups.
+ */
+@Configuration
+@EnableJpaRepositories(basePackageClasses = UserRepository.class, repositoryBaseClass = NaturalIdRepositoryImpl.class)
+public class JpaConfig {
+
+    private static final int DEFAULT_BATCH_SIZE = 50;
+
+    /**
+     * Run the skill_profiles migration before the entity manager factory starts
+     */
+    @Bean
+    public static EntityManagerFactoryDependsOnPostProcessor skillMaskMigrationDependsOn() {
+        return new EntityManagerFactoryDependsOnPostProcessor(SkillMaskMigration.class);
+    }
+
+    /**
+     * JDBC batching defaults; any spring.jpa.properties.hibernate.* value set explicitly wins.
+     * Entity ids are UUIDs generated by Hibernate before insert, so inserts can be batched
+     * (with MySQL, add rewriteBatchedStatements=true to the JDBC URL for multi-row statements).
+     */
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchingCustomizer() {
+        return properties -> {
+            properties.putIfAbsent(AvailableSettings.STATEMENT_BATCH_SIZE, DEFAULT_BATCH_SIZE);
+            properties.putIfAbsent(AvailableSettings.ORDER_INSERTS, true);
+            properties.putIfAbsent(AvailableSettings.ORDER_UPDATES, true);
+        };
+    }
+
+    /**
+     * Give the JDBC connection back to the pool after every transaction instead of holding it until
+     * open-in-view closes the session at the end of the request. Otherwise a dashboard request keeps
+     * a connection while it waits on the external APIs, and the pool size rather than the request
+     * threads caps throughput. With read replicas it also stops a request from keeping whichever pool
+     * its first transaction picked, sending later writes to a replica.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer connectionReleaseCustomizer() {
+        return properties -> properties.putIfAbsent(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
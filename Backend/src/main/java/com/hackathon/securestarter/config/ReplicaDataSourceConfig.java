@@ -0,0 +1,141 @@
+package com.hackathon.securestarter.config;
+
+import com.hackathon.securestarter.datasource.*;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read/write splitting, enabled by setting app.datasource.replica.urls.
+ * Read-only transactions (@Transactional(readOnly = true), including Spring Data's default
+ * repository reads) go to the replicas; everything else goes to the primary from spring.datasource.
+ * The lazy connection proxy defers choosing a pool until the first statement, when the
+ * transaction's read-only flag is known; connections go back to their pool after each
+ * transaction (see JpaConfig), so every transaction routes afresh.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.urls")
+public class ReplicaDataSourceConfig {
+
+    @Value("${app.datasource.replica.urls}")
+    private List<String> replicaUrls;
+
+    @Value("${app.datasource.replica.username:}")
+    private String replicaUsername;
+
+    @Value("${app.datasource.replica.password:}")
+    private String replicaPassword;
+
+    @Value("${app.datasource.replica.maximum-pool-size:10}")
+    private int replicaPoolSize;
+
+    @Value("${app.datasource.replica.lag-query:}")
+    private String lagQuery;
+
+    @Value("${app.datasource.replica.max-lag-seconds:5}")
+    private double maxLagSeconds;
+
+    @Value("${app.datasource.replica.read-your-writes-ms:10000}")
+    private long readYourWritesMs;
+
+    /**
+     * Primary and replica Hikari pools, with per-pool hikaricp.* metrics
+     */
+    @Bean(destroyMethod = "close")
+    public DataSourcePools dataSourcePools(DataSourceProperties properties, Environment environment,
+                                           MeterRegistry meterRegistry) {
+        MicrometerMetricsTrackerFactory metrics = new MicrometerMetricsTrackerFactory(meterRegistry);
+
+        HikariDataSource primary = createPool(environment, "primary", properties.determineUrl(),
+                properties.determineUsername(), properties.determinePassword(), properties.determineDriverClassName());
+        primary.setMetricsTrackerFactory(metrics);
+
+        List<ReplicaPool> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            String name = "replica-" + (i + 1);
+            HikariDataSource pool = createPool(environment, name, replicaUrls.get(i).trim(),
+                    replicaUsername.isEmpty() ? properties.determineUsername() : replicaUsername,
+                    replicaUsername.isEmpty() ? properties.determinePassword() : replicaPassword,
+                    properties.determineDriverClassName());
+            pool.setMaximumPoolSize(replicaPoolSize);
+            pool.setReadOnly(true);
+            pool.setMetricsTrackerFactory(metrics);
+            replicas.add(new ReplicaPool(name, pool));
+        }
+        return new DataSourcePools(primary, replicas);
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker() {
+        return new ReadYourWritesTracker(Duration.ofMillis(readYourWritesMs));
+    }
+
+    /**
+     * The application DataSource: primary for read-write work, replicas for read-only transactions
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourcePools pools, ReadYourWritesTracker tracker, MeterRegistry meterRegistry) {
+        LazyConnectionDataSourceProxy dataSource =
+                new LazyConnectionDataSourceProxy(new WriteTrackingDataSource(pools.primary(), tracker));
+        dataSource.setReadOnlyDataSource(
+                new ReplicaRoutingDataSource(pools.primary(), pools.replicas(), tracker, meterRegistry));
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(DataSourcePools pools) {
+        return new ReplicaLagMonitor(pools.replicas(), lagQuery, maxLagSeconds);
+    }
+
+    /**
+     * Per-replica availability and lag gauges
+     */
+    @Bean
+    public MeterBinder replicaMetrics(DataSourcePools pools) {
+        return registry -> {
+            for (ReplicaPool replica : pools.replicas()) {
+                Gauge.builder("datasource.replica.available", replica, r -> r.isAvailable() ? 1 : 0)
+                        .tag("pool", replica.getName())
+                        .register(registry);
+                Gauge.builder("datasource.replica.lag.seconds", replica, ReplicaPool::getLagSeconds)
+                        .tag("pool", replica.getName())
+                        .register(registry);
+            }
+        };
+    }
+
+    /**
+     * Hikari pool using the spring.datasource.hikari.* settings
+     */
+    private static HikariDataSource createPool(Environment environment, String name, String url,
+                                               String username, String password, String driverClassName) {
+        HikariDataSource pool = new HikariDataSource();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        pool.setJdbcUrl(url);
+        pool.setUsername(username);
+        pool.setPassword(password);
+        if (driverClassName != null) {
+            pool.setDriverClassName(driverClassName);
+        }
+        return pool;
+    }
+}
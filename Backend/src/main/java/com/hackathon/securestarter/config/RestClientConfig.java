@@ -1,17 +1,27 @@
 package com.hackathon.securestarter.config;
 
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
 
 import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Configuration for RestClient beans used for external API calls.
  */
 @Configuration
+@Slf4j
 public class RestClientConfig {
 
     @Value("${external.api.ml-recommendations.base-url:http://localhost:8000}")
@@ -26,6 +36,12 @@ public class RestClientConfig {
     @Value("${external.api.timeout-seconds:3}")
     private int timeoutSeconds;
 
+    @Value("${external.api.async-threads:200}")
+    private int asyncThreads;
+
+    @Value("${external.api.async-queue-capacity:100}")
+    private int asyncQueueCapacity;
+
     /**
      * RestClient for ML Recommendations API
      */
@@ -59,6 +75,32 @@ public class RestClientConfig {
                 .build();
     }
 
+    /**
+     * Executor for the concurrent external API calls: a virtual thread per call when
+     * spring.threads.virtual.enabled is set, otherwise a bounded pool of platform threads
+     * (when it is full the caller makes the call itself)
+     */
+    @Bean(name = "externalApiExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService externalApiExecutor(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            log.info("External API calls run on virtual threads");
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("external-api-", 1).factory());
+        }
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(asyncThreads, asyncThreads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(asyncQueueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "external-api-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        log.info("External API calls run on {} platform threads", asyncThreads);
+        return executor;
+    }
+
     /**
      * Create request factory with timeout settings
      */
@@ -0,0 +1,12 @@
+package com.hackathon.securestarter.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background jobs (e.g. talent search index refresh).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
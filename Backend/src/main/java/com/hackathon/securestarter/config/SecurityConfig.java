@@ -1,26 +1,32 @@
 package com.hackathon.securestarter.config;
 
+import com.hackathon.securestarter.admission.AdmissionControl;
+import com.hackathon.securestarter.admission.AdmissionControlFilter;
+import com.hackathon.securestarter.security.BCryptStrength;
+import com.hackathon.securestarter.security.HttpCookieOAuth2AuthorizationRequestRepository;
 import com.hackathon.securestarter.security.JwtAuthenticationEntryPoint;
 import com.hackathon.securestarter.security.JwtAuthenticationFilter;
 import com.hackathon.securestarter.security.OAuth2AuthenticationFailureHandler;
 import com.hackathon.securestarter.security.OAuth2AuthenticationSuccessHandler;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.ProviderManager;
-import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfigurationSource;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.Map;
 
 @Configuration
 @EnableWebSecurity
@@ -28,12 +34,14 @@ import org.springframework.web.cors.CorsConfigurationSource;
 @RequiredArgsConstructor
 public class SecurityConfig {
 
-    private final UserDetailsService userDetailsService;
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final OAuth2AuthenticationSuccessHandler oAuth2AuthenticationSuccessHandler;
     private final OAuth2AuthenticationFailureHandler oAuth2AuthenticationFailureHandler;
+    private final HttpCookieOAuth2AuthorizationRequestRepository authorizationRequestRepository;
     private final CorsConfigurationSource corsConfigurationSource;
+    private final AdmissionControl admissionControl;
+    private final JsonMapper jsonMapper;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -54,9 +62,14 @@ public class SecurityConfig {
 
                 // Authorization rules
                 .authorizeHttpRequests(auth -> auth
+                        // Second dispatch of async responses (the NDJSON exports): the request was
+                        // authorized on its first dispatch, and the JWT filter does not run again
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // Public endpoints - No authentication required
                         .requestMatchers(
                                 "/api/auth/**",
+                                "/api/email/unsubscribe",
 //                                "/api/auth/signup",
 //                                "/api/auth/login",
 //                                "/api/auth/verify",
@@ -78,14 +91,21 @@ public class SecurityConfig {
                         // Admin-only endpoints
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
 
+                        // Health probes - public, details are shown to admins only
+                        .requestMatchers("/actuator/health/**").permitAll()
+
+                        // Operational endpoints (metrics) - admins only
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+
                         // All other requests require authentication
                         .anyRequest().authenticated()
                 )
 
-                // OAuth2 login configuration
+                // OAuth2 login configuration (pending authorization request kept in a cookie, not the session)
                 .oauth2Login(oauth2 -> oauth2
-                        .authorizationEndpoint(authorization ->
-                                authorization.baseUri("/oauth2/authorization"))
+                        .authorizationEndpoint(authorization -> authorization
+                                .baseUri("/oauth2/authorization")
+                                .authorizationRequestRepository(authorizationRequestRepository))
                         .redirectionEndpoint(redirection ->
                                 redirection.baseUri("/oauth2/callback/*"))
                         .successHandler(oAuth2AuthenticationSuccessHandler)
@@ -95,23 +115,27 @@ public class SecurityConfig {
         // Add JWT filter before UsernamePasswordAuthenticationFilter
         http.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
-        return http.build();
-    }
+        // Per-tier concurrency limits and per-user rate limits, once the caller is known
+        http.addFilterAfter(new AdmissionControlFilter(admissionControl, jsonMapper), JwtAuthenticationFilter.class);
 
-    @Bean
-    public DaoAuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
-        DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder);
-        return authProvider;
-    }
-
-    @Bean
-    public AuthenticationManager authenticationManager(DaoAuthenticationProvider authenticationProvider) {
-        return new ProviderManager(authenticationProvider);
+        return http.build();
     }
 
+    /**
+     * BCrypt behind a DelegatingPasswordEncoder: new hashes are stored as {bcrypt}... at a cost tuned
+     * to app.security.password.target-hash-ms (or the fixed bcrypt-strength), and older unprefixed
+     * or lower-cost hashes still match and are reported by upgradeEncoding for rehash on login.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${app.security.password.bcrypt-strength:0}") int bcryptStrength,
+            @Value("${app.security.password.target-hash-ms:100}") long targetHashMs) {
+        int strength = bcryptStrength > 0 ? bcryptStrength : BCryptStrength.calibrate(targetHashMs);
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        // Hashes stored before the {id} prefix was used are plain BCrypt
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
     }
 }
\ No newline at end of file
@@ -2,7 +2,7 @@ package com.hackathon.securestarter.controller;
 
 import com.hackathon.securestarter.dto.request.AcademicProfileRequest;
 import com.hackathon.securestarter.dto.response.AcademicProfileResponse;
-import com.hackathon.securestarter.entity.User;
+import com.hackathon.securestarter.security.AuthenticatedUser;
 import com.hackathon.securestarter.service.AcademicProfileService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -31,7 +31,7 @@ public class AcademicProfileController {
      */
     @GetMapping("/me")
     public ResponseEntity<AcademicProfileResponse> getAcademicProfile(
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         log.info("Get academic profile for user: {}", currentUser.getEmail());
         AcademicProfileResponse response = academicProfileService.getAcademicProfile(currentUser.getId());
@@ -48,7 +48,7 @@ public class AcademicProfileController {
     @PutMapping("/me")
     public ResponseEntity<AcademicProfileResponse> updateAcademicProfile(
             @Valid @RequestBody AcademicProfileRequest request,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         log.info("Update academic profile for user: {}", currentUser.getEmail());
         AcademicProfileResponse response = academicProfileService.createOrUpdateAcademicProfile(
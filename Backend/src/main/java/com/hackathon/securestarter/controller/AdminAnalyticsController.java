@@ -0,0 +1,46 @@
+package com.hackathon.securestarter.controller;
+
+import com.hackathon.securestarter.dto.response.CohortAnalyticsResponse;
+import com.hackathon.securestarter.service.CohortAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST Controller for admin cohort analytics.
+ * Sector- and role-level skill coverage, readiness and grade distributions.
+ * Restricted to ADMIN by SecurityConfig.
+ */
+@RestController
+@RequestMapping("/api/admin/analytics")
+@RequiredArgsConstructor
+@Slf4j
+public class AdminAnalyticsController {
+
+    private final CohortAnalyticsService cohortAnalyticsService;
+
+    /**
+     * Get cached cohort analytics
+     * GET /api/admin/analytics
+     * @return CohortAnalyticsResponse
+     */
+    @GetMapping
+    public ResponseEntity<CohortAnalyticsResponse> getCohortAnalytics() {
+        return ResponseEntity.ok(cohortAnalyticsService.getCohortAnalytics());
+    }
+
+    /**
+     * Recompute cohort analytics now instead of waiting for the scheduled refresh
+     * POST /api/admin/analytics/refresh
+     * @return the fresh CohortAnalyticsResponse
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<CohortAnalyticsResponse> refreshCohortAnalytics() {
+        log.info("Manual cohort analytics refresh requested");
+        return ResponseEntity.ok(cohortAnalyticsService.refresh());
+    }
+}
@@ -0,0 +1,54 @@
+package com.hackathon.securestarter.controller;
+
+import com.hackathon.securestarter.dto.response.StudentImportStatusResponse;
+import com.hackathon.securestarter.service.StudentImportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.UUID;
+
+/**
+ * REST Controller for admin bulk student imports.
+ * Uploads run as background jobs; poll the job for progress and per-row errors.
+ * Restricted to ADMIN by SecurityConfig.
+ */
+@RestController
+@RequestMapping("/api/admin/students/import")
+@RequiredArgsConstructor
+@Slf4j
+public class AdminStudentImportController {
+
+    private final StudentImportService studentImportService;
+
+    /**
+     * Start a bulk import of students
+     * POST /api/admin/students/import
+     * @param file CSV (with header line) or NDJSON file, one student per line
+     * @param format "csv" or "ndjson"; inferred from the file name when omitted
+     * @param updateExisting replace onboarding data of students that already exist instead of rejecting them
+     * @return StudentImportStatusResponse of the queued job
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<StudentImportStatusResponse> startImport(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "format", required = false) String format,
+            @RequestParam(value = "updateExisting", defaultValue = "false") boolean updateExisting) {
+        log.info("Student import requested: {} ({} bytes)", file.getOriginalFilename(), file.getSize());
+        return ResponseEntity.accepted().body(studentImportService.startImport(file, format, updateExisting));
+    }
+
+    /**
+     * Get progress and errors of an import job
+     * GET /api/admin/students/import/{jobId}
+     * @param jobId the job's UUID
+     * @return StudentImportStatusResponse
+     */
+    @GetMapping("/{jobId}")
+    public ResponseEntity<StudentImportStatusResponse> getImportStatus(@PathVariable UUID jobId) {
+        return ResponseEntity.ok(studentImportService.getImportStatus(jobId));
+    }
+}
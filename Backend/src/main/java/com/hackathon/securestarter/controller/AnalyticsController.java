@@ -1,7 +1,7 @@
 package com.hackathon.securestarter.controller;
 
 import com.hackathon.securestarter.dto.response.SkillGapAnalysisResponse;
-import com.hackathon.securestarter.entity.User;
+import com.hackathon.securestarter.security.AuthenticatedUser;
 import com.hackathon.securestarter.service.AnalyticsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -31,7 +31,7 @@ public class AnalyticsController {
      */
     @GetMapping("/skill-gaps")
     public ResponseEntity<SkillGapAnalysisResponse> getSkillGapAnalysis(
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         log.info("Get skill gap analysis for user: {}", currentUser.getEmail());
         SkillGapAnalysisResponse response = analyticsService.analyzeSkillGaps(currentUser.getId());
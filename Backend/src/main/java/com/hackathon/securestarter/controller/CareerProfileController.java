@@ -3,7 +3,7 @@ package com.hackathon.securestarter.controller;
 import com.hackathon.securestarter.dto.request.CareerProfileRequest;
 import com.hackathon.securestarter.dto.response.CareerPathwayResponse;
 import com.hackathon.securestarter.dto.response.CareerProfileResponse;
-import com.hackathon.securestarter.entity.User;
+import com.hackathon.securestarter.security.AuthenticatedUser;
 import com.hackathon.securestarter.service.AnalyticsService;
 import com.hackathon.securestarter.service.CareerProfileService;
 import jakarta.validation.Valid;
@@ -34,7 +34,7 @@ public class CareerProfileController {
      */
     @GetMapping("/me")
     public ResponseEntity<CareerProfileResponse> getCareerProfile(
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         log.info("Get career profile for user: {}", currentUser.getEmail());
         CareerProfileResponse response = careerProfileService.getCareerProfile(currentUser.getId());
@@ -51,7 +51,7 @@ public class CareerProfileController {
     @PutMapping("/me")
     public ResponseEntity<CareerProfileResponse> updateCareerProfile(
             @Valid @RequestBody CareerProfileRequest request,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         log.info("Update career profile for user: {}", currentUser.getEmail());
         CareerProfileResponse response = careerProfileService.createOrUpdateCareerProfile(
@@ -67,7 +67,7 @@ public class CareerProfileController {
      */
     @GetMapping("/pathway")
     public ResponseEntity<CareerPathwayResponse> getCareerPathway(
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         log.info("Get career pathway for user: {}", currentUser.getEmail());
         CareerPathwayResponse response = analyticsService.generateCareerPathway(currentUser.getId());
@@ -3,9 +3,11 @@ package com.hackathon.securestarter.controller;
 import com.hackathon.securestarter.dto.request.CertificationRequest;
 import com.hackathon.securestarter.dto.response.CertificationListResponse;
 import com.hackathon.securestarter.dto.response.CertificationResponse;
+import com.hackathon.securestarter.dto.response.CursorPageResponse;
 import com.hackathon.securestarter.dto.response.MessageResponse;
-import com.hackathon.securestarter.entity.User;
+import com.hackathon.securestarter.security.AuthenticatedUser;
 import com.hackathon.securestarter.service.CertificationService;
+import com.hackathon.securestarter.util.NdjsonStreams;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,6 +15,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.json.JsonMapper;
 
 import java.util.UUID;
 
@@ -27,6 +31,7 @@ import java.util.UUID;
 public class CertificationController {
 
     private final CertificationService certificationService;
+    private final JsonMapper jsonMapper;
 
     /**
      * Get all certifications for current user with statistics
@@ -36,13 +41,47 @@ public class CertificationController {
      */
     @GetMapping("/me")
     public ResponseEntity<CertificationListResponse> getUserCertifications(
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         log.info("Get certifications for user: {}", currentUser.getEmail());
         CertificationListResponse response = certificationService.getUserCertifications(currentUser.getId());
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Get one page of current user's certifications, newest first
+     * GET /api/certifications/me/page?cursor=...&size=20
+     * @param currentUser authenticated user
+     * @param cursor nextCursor from the previous page (omit for the first page)
+     * @param size page size (max 100)
+     * @return CursorPageResponse of CertificationResponse
+     */
+    @GetMapping("/me/page")
+    public ResponseEntity<CursorPageResponse<CertificationResponse>> getUserCertificationsPage(
+            @AuthenticationPrincipal AuthenticatedUser currentUser,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size) {
+
+        CursorPageResponse<CertificationResponse> response = certificationService.getUserCertificationsPage(currentUser.getId(), cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Export all of current user's certifications as newline-delimited JSON
+     * GET /api/certifications/me/export
+     * @param currentUser authenticated user
+     * @return streamed application/x-ndjson body, one CertificationResponse per line
+     */
+    @GetMapping("/me/export")
+    public ResponseEntity<StreamingResponseBody> exportUserCertifications(
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+
+        log.info("Export certifications for user: {}", currentUser.getEmail());
+        UUID userId = currentUser.getId();
+        return NdjsonStreams.attachment(jsonMapper, "certifications.ndjson",
+                sink -> certificationService.exportUserCertifications(userId, sink));
+    }
+
     /**
      * Add a new certification
      * POST /api/certifications
@@ -53,7 +92,7 @@ public class CertificationController {
     @PostMapping
     public ResponseEntity<CertificationResponse> addCertification(
             @Valid @RequestBody CertificationRequest request,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         log.info("Add certification for user: {} - {}", currentUser.getEmail(), request.getCertificationName());
         CertificationResponse response = certificationService.addCertification(currentUser.getId(), request);
@@ -70,7 +109,7 @@ public class CertificationController {
     @DeleteMapping("/{id}")
     public ResponseEntity<MessageResponse> deleteCertification(
             @PathVariable UUID id,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         log.info("Delete certification {} for user: {}", id, currentUser.getEmail());
         certificationService.deleteCertification(currentUser.getId(), id);
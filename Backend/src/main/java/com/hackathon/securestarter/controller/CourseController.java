@@ -3,9 +3,11 @@ package com.hackathon.securestarter.controller;
 import com.hackathon.securestarter.dto.request.CourseRequest;
 import com.hackathon.securestarter.dto.response.CourseListResponse;
 import com.hackathon.securestarter.dto.response.CourseResponse;
+import com.hackathon.securestarter.dto.response.CursorPageResponse;
 import com.hackathon.securestarter.dto.response.MessageResponse;
-import com.hackathon.securestarter.entity.User;
+import com.hackathon.securestarter.security.AuthenticatedUser;
 import com.hackathon.securestarter.service.CourseService;
+import com.hackathon.securestarter.util.NdjsonStreams;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,6 +15,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.json.JsonMapper;
 
 import java.util.UUID;
 
@@ -27,6 +31,7 @@ import java.util.UUID;
 public class CourseController {
 
     private final CourseService courseService;
+    private final JsonMapper jsonMapper;
 
     /**
      * Get all courses for current user with statistics
@@ -36,13 +41,47 @@ public class CourseController {
      */
     @GetMapping("/me")
     public ResponseEntity<CourseListResponse> getUserCourses(
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         log.info("Get courses for user: {}", currentUser.getEmail());
         CourseListResponse response = courseService.getUserCourses(currentUser.getId());
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Get one page of current user's courses, newest first
+     * GET /api/courses/me/page?cursor=...&size=20
+     * @param currentUser authenticated user
+     * @param cursor nextCursor from the previous page (omit for the first page)
+     * @param size page size (max 100)
+     * @return CursorPageResponse of CourseResponse
+     */
+    @GetMapping("/me/page")
+    public ResponseEntity<CursorPageResponse<CourseResponse>> getUserCoursesPage(
+            @AuthenticationPrincipal AuthenticatedUser currentUser,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size) {
+
+        CursorPageResponse<CourseResponse> response = courseService.getUserCoursesPage(currentUser.getId(), cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Export all of current user's courses as newline-delimited JSON
+     * GET /api/courses/me/export
+     * @param currentUser authenticated user
+     * @return streamed application/x-ndjson body, one CourseResponse per line
+     */
+    @GetMapping("/me/export")
+    public ResponseEntity<StreamingResponseBody> exportUserCourses(
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+
+        log.info("Export courses for user: {}", currentUser.getEmail());
+        UUID userId = currentUser.getId();
+        return NdjsonStreams.attachment(jsonMapper, "courses.ndjson",
+                sink -> courseService.exportUserCourses(userId, sink));
+    }
+
     /**
      * Add a new course
      * POST /api/courses
@@ -53,7 +92,7 @@ public class CourseController {
     @PostMapping
     public ResponseEntity<CourseResponse> addCourse(
             @Valid @RequestBody CourseRequest request,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         log.info("Add course for user: {} - {}", currentUser.getEmail(), request.getCourseName());
         CourseResponse response = courseService.addCourse(currentUser.getId(), request);
@@ -72,7 +111,7 @@ public class CourseController {
     public ResponseEntity<CourseResponse> updateCourse(
             @PathVariable UUID id,
             @Valid @RequestBody CourseRequest request,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         log.info("Update course {} for user: {}", id, currentUser.getEmail());
         CourseResponse response = courseService.updateCourse(currentUser.getId(), id, request);
@@ -89,7 +128,7 @@ public class CourseController {
     @DeleteMapping("/{id}")
     public ResponseEntity<MessageResponse> deleteCourse(
             @PathVariable UUID id,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         log.info("Delete course {} for user: {}", id, currentUser.getEmail());
         courseService.deleteCourse(currentUser.getId(), id);
@@ -1,7 +1,7 @@
 package com.hackathon.securestarter.controller;
 
 import com.hackathon.securestarter.dto.response.DashboardSummaryResponse;
-import com.hackathon.securestarter.entity.User;
+import com.hackathon.securestarter.security.AuthenticatedUser;
 import com.hackathon.securestarter.service.DashboardService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -31,7 +31,7 @@ public class DashboardController {
      */
     @GetMapping("/summary")
     public ResponseEntity<DashboardSummaryResponse> getDashboardSummary(
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         log.info("Get dashboard summary for user: {}", currentUser.getEmail());
         DashboardSummaryResponse response = dashboardService.getDashboardSummary(currentUser.getId());
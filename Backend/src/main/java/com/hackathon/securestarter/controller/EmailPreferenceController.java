@@ -0,0 +1,74 @@
+package com.hackathon.securestarter.controller;
+
+import com.hackathon.securestarter.service.DigestUnsubscribeService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.UUID;
+
+/**
+ * Unsubscribe link of the weekly digest email. Public: the link's token identifies the user.
+ * Answers with small HTML pages, since it is opened from an email rather than by the frontend.
+ */
+@RestController
+@RequestMapping("/api/email")
+@RequiredArgsConstructor
+@Slf4j
+public class EmailPreferenceController {
+
+    private final DigestUnsubscribeService digestUnsubscribeService;
+
+    /**
+     * Confirmation page with an unsubscribe button. Unsubscribing takes a POST, so link
+     * scanners that open every URL in an email do not unsubscribe the user.
+     * GET /api/email/unsubscribe?user=...&token=...
+     */
+    @GetMapping(value = "/unsubscribe", produces = MediaType.TEXT_HTML_VALUE)
+    public ResponseEntity<String> confirmUnsubscribe(@RequestParam UUID user, @RequestParam String token) {
+        if (!digestUnsubscribeService.isValid(user, token)) {
+            return invalidLink();
+        }
+        return ResponseEntity.ok(page("Unsubscribe from the weekly digest?", """
+                <form method="post" action="/api/email/unsubscribe?user=%s&amp;token=%s">
+                    <button type="submit">Unsubscribe</button>
+                </form>
+                """.formatted(user, HtmlUtils.htmlEscape(token))));
+    }
+
+    /**
+     * Unsubscribe, from the confirmation page or the mail client's one-click unsubscribe
+     * (List-Unsubscribe-Post, whose body is ignored)
+     * POST /api/email/unsubscribe?user=...&token=...
+     */
+    @PostMapping(value = "/unsubscribe", produces = MediaType.TEXT_HTML_VALUE)
+    public ResponseEntity<String> unsubscribe(@RequestParam UUID user, @RequestParam String token) {
+        if (!digestUnsubscribeService.unsubscribe(user, token)) {
+            return invalidLink();
+        }
+        log.info("Weekly digest unsubscribe for user: {}", user);
+        return ResponseEntity.ok(page("You are unsubscribed",
+                "<p>You will no longer receive the weekly progress digest. You can turn it back on in your settings.</p>"));
+    }
+
+    private static ResponseEntity<String> invalidLink() {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .contentType(MediaType.TEXT_HTML)
+                .body(page("Invalid unsubscribe link", "<p>This link is invalid. Open it again from the email.</p>"));
+    }
+
+    private static String page(String title, String content) {
+        return """
+                <!DOCTYPE html>
+                <html lang="en"><head><meta charset="UTF-8"><title>Career Saarthi</title></head>
+                <body style="font-family: sans-serif; max-width: 480px; margin: 60px auto;">
+                <h2>%s</h2>
+                %s
+                </body></html>
+                """.formatted(title, content);
+    }
+}
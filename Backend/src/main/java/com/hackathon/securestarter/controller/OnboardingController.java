@@ -3,7 +3,7 @@ package com.hackathon.securestarter.controller;
 import com.hackathon.securestarter.dto.request.OnboardingSubmitRequest;
 import com.hackathon.securestarter.dto.response.MessageResponse;
 import com.hackathon.securestarter.dto.response.OnboardingStatusResponse;
-import com.hackathon.securestarter.entity.User;
+import com.hackathon.securestarter.security.AuthenticatedUser;
 import com.hackathon.securestarter.service.OnboardingService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -33,7 +33,7 @@ public class OnboardingController {
      */
     @GetMapping("/status")
     public ResponseEntity<OnboardingStatusResponse> getOnboardingStatus(
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         log.info("Onboarding status check for user: {}", currentUser.getEmail());
         OnboardingStatusResponse response = onboardingService.getOnboardingStatus(currentUser.getId());
@@ -50,7 +50,7 @@ public class OnboardingController {
     @PostMapping("/submit")
     public ResponseEntity<MessageResponse> submitOnboarding(
             @Valid @RequestBody OnboardingSubmitRequest request,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         log.info("Onboarding submission for user: {}", currentUser.getEmail());
         MessageResponse response = onboardingService.submitOnboarding(currentUser.getId(), request);
@@ -1,11 +1,13 @@
 package com.hackathon.securestarter.controller;
 
 import com.hackathon.securestarter.dto.request.ProjectRequest;
+import com.hackathon.securestarter.dto.response.CursorPageResponse;
 import com.hackathon.securestarter.dto.response.MessageResponse;
 import com.hackathon.securestarter.dto.response.ProjectListResponse;
 import com.hackathon.securestarter.dto.response.ProjectResponse;
-import com.hackathon.securestarter.entity.User;
+import com.hackathon.securestarter.security.AuthenticatedUser;
 import com.hackathon.securestarter.service.ProjectService;
+import com.hackathon.securestarter.util.NdjsonStreams;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,6 +15,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.json.JsonMapper;
 
 import java.util.UUID;
 
@@ -27,6 +31,7 @@ import java.util.UUID;
 public class ProjectController {
 
     private final ProjectService projectService;
+    private final JsonMapper jsonMapper;
 
     /**
      * Get all projects for current user with statistics
@@ -36,13 +41,47 @@ public class ProjectController {
      */
     @GetMapping("/me")
     public ResponseEntity<ProjectListResponse> getUserProjects(
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         log.info("Get projects for user: {}", currentUser.getEmail());
         ProjectListResponse response = projectService.getUserProjects(currentUser.getId());
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Get one page of current user's projects, newest first
+     * GET /api/projects/me/page?cursor=...&size=20
+     * @param currentUser authenticated user
+     * @param cursor nextCursor from the previous page (omit for the first page)
+     * @param size page size (max 100)
+     * @return CursorPageResponse of ProjectResponse
+     */
+    @GetMapping("/me/page")
+    public ResponseEntity<CursorPageResponse<ProjectResponse>> getUserProjectsPage(
+            @AuthenticationPrincipal AuthenticatedUser currentUser,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size) {
+
+        CursorPageResponse<ProjectResponse> response = projectService.getUserProjectsPage(currentUser.getId(), cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Export all of current user's projects as newline-delimited JSON
+     * GET /api/projects/me/export
+     * @param currentUser authenticated user
+     * @return streamed application/x-ndjson body, one ProjectResponse per line
+     */
+    @GetMapping("/me/export")
+    public ResponseEntity<StreamingResponseBody> exportUserProjects(
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+
+        log.info("Export projects for user: {}", currentUser.getEmail());
+        UUID userId = currentUser.getId();
+        return NdjsonStreams.attachment(jsonMapper, "projects.ndjson",
+                sink -> projectService.exportUserProjects(userId, sink));
+    }
+
     /**
      * Add a new project
      * POST /api/projects
@@ -53,7 +92,7 @@ public class ProjectController {
     @PostMapping
     public ResponseEntity<ProjectResponse> addProject(
             @Valid @RequestBody ProjectRequest request,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         log.info("Add project for user: {} - {}", currentUser.getEmail(), request.getProjectTitle());
         ProjectResponse response = projectService.addProject(currentUser.getId(), request);
@@ -72,7 +111,7 @@ public class ProjectController {
     public ResponseEntity<ProjectResponse> updateProject(
             @PathVariable UUID id,
             @Valid @RequestBody ProjectRequest request,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         log.info("Update project {} for user: {}", id, currentUser.getEmail());
         ProjectResponse response = projectService.updateProject(currentUser.getId(), id, request);
@@ -89,7 +128,7 @@ public class ProjectController {
     @DeleteMapping("/{id}")
     public ResponseEntity<MessageResponse> deleteProject(
             @PathVariable UUID id,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         log.info("Delete project {} for user: {}", id, currentUser.getEmail());
         projectService.deleteProject(currentUser.getId(), id);
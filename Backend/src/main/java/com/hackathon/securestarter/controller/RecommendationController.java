@@ -1,15 +1,19 @@
 package com.hackathon.securestarter.controller;
 
+import com.hackathon.securestarter.dto.response.AllRecommendationsResponse;
 import com.hackathon.securestarter.dto.response.CourseRecommendationResponse;
 import com.hackathon.securestarter.dto.response.ProjectRecommendationResponse;
-import com.hackathon.securestarter.entity.User;
+import com.hackathon.securestarter.dto.response.SimilarStudentsResponse;
+import com.hackathon.securestarter.security.AuthenticatedUser;
 import com.hackathon.securestarter.service.RecommendationService;
+import com.hackathon.securestarter.service.SimilarStudentsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
@@ -23,6 +27,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class RecommendationController {
 
     private final RecommendationService recommendationService;
+    private final SimilarStudentsService similarStudentsService;
 
     /**
      * Get personalized course recommendations for current user
@@ -32,7 +37,7 @@ public class RecommendationController {
      */
     @GetMapping("/courses")
     public ResponseEntity<CourseRecommendationResponse> getCourseRecommendations(
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         log.info("Get course recommendations for user: {}", currentUser.getEmail());
         CourseRecommendationResponse response = recommendationService.getCourseRecommendations(currentUser.getId());
@@ -47,10 +52,42 @@ public class RecommendationController {
      */
     @GetMapping("/projects")
     public ResponseEntity<ProjectRecommendationResponse> getProjectRecommendations(
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         log.info("Get project recommendations for user: {}", currentUser.getEmail());
         ProjectRecommendationResponse response = recommendationService.getProjectRecommendations(currentUser.getId());
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Get course recommendations, project recommendations and skill gap analysis together
+     * GET /api/recommendations/all
+     * @param currentUser authenticated user
+     * @return AllRecommendationsResponse
+     */
+    @GetMapping("/all")
+    public ResponseEntity<AllRecommendationsResponse> getAllRecommendations(
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        
+        log.info("Get all recommendations for user: {}", currentUser.getEmail());
+        AllRecommendationsResponse response = recommendationService.getAllRecommendations(currentUser.getId());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Get students with similar profiles and the courses/certifications they took
+     * GET /api/recommendations/similar-students?limit=20
+     * @param currentUser authenticated user
+     * @param limit number of peers to consider (max 100)
+     * @return SimilarStudentsResponse
+     */
+    @GetMapping("/similar-students")
+    public ResponseEntity<SimilarStudentsResponse> getSimilarStudents(
+            @AuthenticationPrincipal AuthenticatedUser currentUser,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+
+        log.info("Get similar students for user: {}", currentUser.getEmail());
+        SimilarStudentsResponse response = similarStudentsService.getSimilarStudents(currentUser.getId(), limit);
+        return ResponseEntity.ok(response);
+    }
 }
@@ -2,7 +2,7 @@ package com.hackathon.securestarter.controller;
 
 import com.hackathon.securestarter.dto.request.SkillProfileRequest;
 import com.hackathon.securestarter.dto.response.SkillProfileResponse;
-import com.hackathon.securestarter.entity.User;
+import com.hackathon.securestarter.security.AuthenticatedUser;
 import com.hackathon.securestarter.service.SkillProfileService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -31,7 +31,7 @@ public class SkillProfileController {
      */
     @GetMapping("/me")
     public ResponseEntity<SkillProfileResponse> getSkillProfile(
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         log.info("Get skill profile for user: {}", currentUser.getEmail());
         SkillProfileResponse response = skillProfileService.getSkillProfile(currentUser.getId());
@@ -48,7 +48,7 @@ public class SkillProfileController {
     @PutMapping("/me")
     public ResponseEntity<SkillProfileResponse> updateSkillProfile(
             @Valid @RequestBody SkillProfileRequest request,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         log.info("Update skill profile for user: {}", currentUser.getEmail());
         SkillProfileResponse response = skillProfileService.createOrUpdateSkillProfile(
@@ -0,0 +1,40 @@
+package com.hackathon.securestarter.controller;
+
+import com.hackathon.securestarter.dto.request.TalentSearchRequest;
+import com.hackathon.securestarter.dto.response.TalentSearchResponse;
+import com.hackathon.securestarter.service.TalentSearchService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST Controller for the admin talent search.
+ * Lets placement staff filter the student cohort by skills, sector, education,
+ * readiness and project experience. Restricted to ADMIN by SecurityConfig.
+ */
+@RestController
+@RequestMapping("/api/admin/talent-search")
+@RequiredArgsConstructor
+@Slf4j
+public class TalentSearchController {
+
+    private final TalentSearchService talentSearchService;
+
+    /**
+     * Search students
+     * GET /api/admin/talent-search?sector=Urban&skills=GIS,URBAN_IOT&minReadiness=60&projectComplexity=3&minProjects=2
+     * @param request search filters and page (page is 0-based)
+     * @return TalentSearchResponse ordered by readiness score descending
+     */
+    @GetMapping
+    public ResponseEntity<TalentSearchResponse> search(@Valid @ModelAttribute TalentSearchRequest request) {
+        log.info("Talent search: {}", request);
+        TalentSearchResponse response = talentSearchService.search(request);
+        return ResponseEntity.ok(response);
+    }
+}
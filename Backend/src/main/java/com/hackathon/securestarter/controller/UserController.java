@@ -5,7 +5,7 @@ import com.hackathon.securestarter.dto.request.SetPasswordRequest;
 import com.hackathon.securestarter.dto.request.UpdateProfileRequest;
 import com.hackathon.securestarter.dto.response.MessageResponse;
 import com.hackathon.securestarter.dto.response.UserResponse;
-import com.hackathon.securestarter.entity.User;
+import com.hackathon.securestarter.security.AuthenticatedUser;
 import com.hackathon.securestarter.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -28,7 +28,7 @@ public class UserController {
      * Requires: JWT token in Authorization header
      */
     @GetMapping("/me")
-    public ResponseEntity<UserResponse> getCurrentUser(@AuthenticationPrincipal User currentUser) {
+    public ResponseEntity<UserResponse> getCurrentUser(@AuthenticationPrincipal AuthenticatedUser currentUser) {
         log.info("Get profile request for user: {}", currentUser.getEmail());
         UserResponse response = userService.getCurrentUserProfile(currentUser.getId());
         return ResponseEntity.ok(response);
@@ -41,7 +41,7 @@ public class UserController {
      */
     @PutMapping("/update-profile")
     public ResponseEntity<UserResponse> updateProfile(
-            @AuthenticationPrincipal User currentUser,
+            @AuthenticationPrincipal AuthenticatedUser currentUser,
             @Valid @RequestBody UpdateProfileRequest request) {
 
         log.info("Update profile request for user: {}", currentUser.getEmail());
@@ -56,7 +56,7 @@ public class UserController {
      */
     @PostMapping("/change-password")
     public ResponseEntity<MessageResponse> changePassword(
-            @AuthenticationPrincipal User currentUser,
+            @AuthenticationPrincipal AuthenticatedUser currentUser,
             @Valid @RequestBody ChangePasswordRequest request) {
 
         log.info("Change password request for user: {}", currentUser.getEmail());
@@ -65,7 +65,7 @@ public class UserController {
     }
 
     @PostMapping("/set-password")
-    public ResponseEntity<MessageResponse> setPassword(@AuthenticationPrincipal User currentUser,
+    public ResponseEntity<MessageResponse> setPassword(@AuthenticationPrincipal AuthenticatedUser currentUser,
             @Valid @RequestBody SetPasswordRequest request) {
 
         log.info("Set password request for Google user: {}", currentUser.getEmail());
@@ -73,4 +73,28 @@ public class UserController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Turn the weekly progress digest email off or back on
+     * PUT /api/users/weekly-digest?enabled=false
+     * Requires: JWT token in Authorization header
+     */
+    @PutMapping("/weekly-digest")
+    public ResponseEntity<MessageResponse> setWeeklyDigest(@AuthenticationPrincipal AuthenticatedUser currentUser,
+            @RequestParam boolean enabled) {
+        userService.setDigestOptOut(currentUser.getId(), !enabled);
+        return ResponseEntity.ok(MessageResponse.success(enabled ? "Weekly digest enabled" : "Weekly digest disabled"));
+    }
+
+    /**
+     * Sign out on every device by revoking all tokens issued so far (including this one)
+     * POST /api/users/logout-all
+     * Requires: JWT token in Authorization header
+     */
+    @PostMapping("/logout-all")
+    public ResponseEntity<MessageResponse> logoutAll(@AuthenticationPrincipal AuthenticatedUser currentUser) {
+        log.info("Logout-all request for user: {}", currentUser.getEmail());
+        userService.revokeTokens(currentUser.getId());
+        return ResponseEntity.ok(MessageResponse.success("Signed out on all devices"));
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.hackathon.securestarter.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.util.List;
+
+/**
+ * The primary pool and the read replica pools behind the routing DataSource.
+ * Closing it closes every pool.
+ */
+public record DataSourcePools(HikariDataSource primary, List<ReplicaPool> replicas) implements AutoCloseable {
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.getDataSource().close());
+        primary.close();
+    }
+}
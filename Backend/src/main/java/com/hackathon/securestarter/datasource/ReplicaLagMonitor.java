@@ -0,0 +1,78 @@
+package com.hackathon.securestarter.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Periodically checks every replica and takes it out of read rotation while it is
+ * unreachable or its replication lag exceeds the limit.
+ * The lag query may be MySQL's SHOW REPLICA STATUS (its Seconds_Behind_Source column is used)
+ * or any query returning the lag in seconds as its first column; when blank only
+ * connectivity is checked.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private static final List<String> LAG_COLUMNS = List.of("Seconds_Behind_Source", "Seconds_Behind_Master");
+
+    private final List<ReplicaPool> replicas;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+
+    public ReplicaLagMonitor(List<ReplicaPool> replicas, String lagQuery, double maxLagSeconds) {
+        this.replicas = replicas;
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLagSeconds;
+    }
+
+    @Scheduled(initialDelayString = "${app.datasource.replica.check-interval-ms:5000}",
+            fixedDelayString = "${app.datasource.replica.check-interval-ms:5000}")
+    public void checkReplicas() {
+        for (ReplicaPool replica : replicas) {
+            boolean wasAvailable = replica.isAvailable();
+            try (Connection connection = replica.getDataSource().getConnection()) {
+                double lag = lagQuery == null || lagQuery.isBlank() ? 0.0 : queryLag(connection);
+                replica.update(lag <= maxLagSeconds, lag);
+            } catch (SQLException e) {
+                replica.update(false, Double.POSITIVE_INFINITY);
+                log.warn("Replica {} check failed: {}", replica.getName(), e.getMessage());
+            }
+
+            if (wasAvailable != replica.isAvailable()) {
+                log.info("Replica {} is now {} (lag {}s)", replica.getName(),
+                        replica.isAvailable() ? "in rotation" : "out of rotation", replica.getLagSeconds());
+            }
+        }
+    }
+
+    private double queryLag(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            if (!resultSet.next()) {
+                // No replication status at all: not a replica, or replication never configured
+                return Double.POSITIVE_INFINITY;
+            }
+            double lag = resultSet.getDouble(lagColumn(resultSet.getMetaData()));
+            // NULL lag means the replication threads are stopped
+            return resultSet.wasNull() ? Double.POSITIVE_INFINITY : lag;
+        }
+    }
+
+    private static int lagColumn(ResultSetMetaData metaData) throws SQLException {
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            for (String name : LAG_COLUMNS) {
+                if (name.equalsIgnoreCase(metaData.getColumnLabel(i))) {
+                    return i;
+                }
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,45 @@
+package com.hackathon.securestarter.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * A read replica connection pool and its last observed health.
+ * Replicas that are unreachable or lag too far behind are skipped for reads.
+ */
+public class ReplicaPool {
+
+    private final String name;
+    private final HikariDataSource dataSource;
+
+    private volatile boolean available = true;
+    private volatile double lagSeconds;
+
+    public ReplicaPool(String name, HikariDataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public HikariDataSource getDataSource() {
+        return dataSource;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * Replication lag at the last check, or infinity if replication is not running
+     */
+    public double getLagSeconds() {
+        return lagSeconds;
+    }
+
+    void update(boolean available, double lagSeconds) {
+        this.available = available;
+        this.lagSeconds = lagSeconds;
+    }
+}
@@ -0,0 +1,90 @@
+package com.hackathon.securestarter.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DataSource for read-only transactions: picks the next available replica round-robin,
+ * falling back to the primary when the current user wrote recently or no replica is usable.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final List<ReplicaPool> replicas;
+    private final ReadYourWritesTracker tracker;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final Counter[] replicaReads;
+    private final Counter primaryReadsAfterWrite;
+    private final Counter primaryReadsNoReplica;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<ReplicaPool> replicas,
+                                    ReadYourWritesTracker tracker, MeterRegistry registry) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.tracker = tracker;
+
+        this.replicaReads = this.replicas.stream()
+                .map(replica -> readCounter(registry, replica.getName(), "replica"))
+                .toArray(Counter[]::new);
+        this.primaryReadsAfterWrite = readCounter(registry, "primary", "read-your-writes");
+        this.primaryReadsNoReplica = readCounter(registry, "primary", "no-replica");
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection route(ConnectionOpener opener) throws SQLException {
+        if (tracker.mustReadPrimary()) {
+            primaryReadsAfterWrite.increment();
+            return opener.open(primary);
+        }
+
+        int start = replicas.isEmpty() ? 0 : Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            int index = (start + i) % replicas.size();
+            ReplicaPool replica = replicas.get(index);
+            if (!replica.isAvailable()) {
+                continue;
+            }
+            try {
+                Connection connection = opener.open(replica.getDataSource());
+                replicaReads[index].increment();
+                return connection;
+            } catch (SQLException e) {
+                // Leave it for the health check to take out of rotation; try the next one
+                logger.warn("Replica " + replica.getName() + " refused a connection: " + e.getMessage());
+            }
+        }
+
+        primaryReadsNoReplica.increment();
+        return opener.open(primary);
+    }
+
+    private static Counter readCounter(MeterRegistry registry, String pool, String reason) {
+        return Counter.builder("datasource.routing.reads")
+                .description("Read-only transactions routed to each pool")
+                .tag("pool", pool)
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+    @FunctionalInterface
+    private interface ConnectionOpener {
+        Connection open(DataSource dataSource) throws SQLException;
+    }
+}
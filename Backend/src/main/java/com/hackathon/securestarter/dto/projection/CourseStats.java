@@ -0,0 +1,10 @@
+package com.hackathon.securestarter.dto.projection;
+
+/**
+ * Aggregate statistics over one user's courses, computed in a single query.
+ * @param courseCount number of courses
+ * @param averageGrade average grade, or null when there are no courses
+ * @param highGradeCount courses with grade >= 90
+ */
+public record CourseStats(long courseCount, Double averageGrade, long highGradeCount) {
+}
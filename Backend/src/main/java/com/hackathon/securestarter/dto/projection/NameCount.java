@@ -0,0 +1,11 @@
+package com.hackathon.securestarter.dto.projection;
+
+/**
+ * Projection of a name with the number of distinct users it occurs for.
+ */
+public interface NameCount {
+
+    String getName();
+
+    long getCount();
+}
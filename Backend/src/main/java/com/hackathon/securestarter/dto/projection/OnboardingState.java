@@ -0,0 +1,13 @@
+package com.hackathon.securestarter.dto.projection;
+
+import com.hackathon.securestarter.entity.UserProfileStats;
+
+import java.time.LocalDateTime;
+
+/**
+ * A user's onboarding flags with their profile stats, read in one query.
+ * stats is null when the user has no stats row yet.
+ */
+public record OnboardingState(Boolean onboardingCompleted, LocalDateTime onboardingCompletedAt,
+                              UserProfileStats stats) {
+}
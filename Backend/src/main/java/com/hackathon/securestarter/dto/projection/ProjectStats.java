@@ -0,0 +1,13 @@
+package com.hackathon.securestarter.dto.projection;
+
+/**
+ * Aggregate statistics over one user's projects, computed in a single query.
+ * @param projectCount number of projects
+ * @param averageComplexity average complexity level, or null when there are no projects
+ * @param beginnerCount projects at complexity level 1
+ * @param intermediateCount projects at complexity level 2
+ * @param advancedCount projects at complexity level 3
+ */
+public record ProjectStats(long projectCount, Double averageComplexity,
+                           long beginnerCount, long intermediateCount, long advancedCount) {
+}
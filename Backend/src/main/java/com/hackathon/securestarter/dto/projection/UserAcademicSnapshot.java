@@ -0,0 +1,15 @@
+package com.hackathon.securestarter.dto.projection;
+
+import java.util.UUID;
+
+/**
+ * Projection of the academic fields that feed the readiness score.
+ */
+public interface UserAcademicSnapshot {
+
+    UUID getUserId();
+
+    Integer getEducationLevel();
+
+    Float getCgpaPercentage();
+}
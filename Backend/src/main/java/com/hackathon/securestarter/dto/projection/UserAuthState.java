@@ -0,0 +1,11 @@
+package com.hackathon.securestarter.dto.projection;
+
+import com.hackathon.securestarter.enums.Role;
+
+import java.util.UUID;
+
+/**
+ * The parts of a user that JWT authentication checks on every request
+ */
+public record UserAuthState(UUID id, Role role, int tokenVersion) {
+}
@@ -0,0 +1,15 @@
+package com.hackathon.securestarter.dto.projection;
+
+import java.util.UUID;
+
+/**
+ * Projection of a user's target industry sector and job role.
+ */
+public interface UserCareerSnapshot {
+
+    UUID getUserId();
+
+    String getIndustrySector();
+
+    String getTargetJobRole();
+}
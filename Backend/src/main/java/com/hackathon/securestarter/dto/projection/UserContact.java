@@ -0,0 +1,10 @@
+package com.hackathon.securestarter.dto.projection;
+
+import java.util.UUID;
+
+/**
+ * A user's id, name and email, read without loading the User entity
+ * (whose profile associations would otherwise be fetched one select each).
+ */
+public record UserContact(UUID id, String firstName, String lastName, String email) {
+}
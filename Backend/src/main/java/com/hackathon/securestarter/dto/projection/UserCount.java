@@ -0,0 +1,13 @@
+package com.hackathon.securestarter.dto.projection;
+
+import java.util.UUID;
+
+/**
+ * Projection of a per-user row count.
+ */
+public interface UserCount {
+
+    UUID getUserId();
+
+    long getCount();
+}
@@ -0,0 +1,15 @@
+package com.hackathon.securestarter.dto.projection;
+
+import java.util.UUID;
+
+/**
+ * Projection of per-user course count and average grade.
+ */
+public interface UserCourseStats {
+
+    UUID getUserId();
+
+    long getCourseCount();
+
+    Double getAverageGrade();
+}
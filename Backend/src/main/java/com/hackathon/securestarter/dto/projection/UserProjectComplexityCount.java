@@ -0,0 +1,15 @@
+package com.hackathon.securestarter.dto.projection;
+
+import java.util.UUID;
+
+/**
+ * Projection of how many projects a user has at one complexity level.
+ */
+public interface UserProjectComplexityCount {
+
+    UUID getUserId();
+
+    Integer getComplexityLevel();
+
+    long getProjectCount();
+}
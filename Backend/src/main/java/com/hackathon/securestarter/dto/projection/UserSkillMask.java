@@ -0,0 +1,13 @@
+package com.hackathon.securestarter.dto.projection;
+
+import java.util.UUID;
+
+/**
+ * Projection of a user's skill bitmask (see Skill#bit).
+ */
+public interface UserSkillMask {
+
+    UUID getUserId();
+
+    long getSkillMask();
+}
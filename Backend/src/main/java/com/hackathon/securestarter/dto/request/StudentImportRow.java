@@ -0,0 +1,40 @@
+package com.hackathon.securestarter.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for one student in a bulk import file.
+ * Identity fields plus the same onboarding data a student submits themselves;
+ * in NDJSON the onboarding fields sit at the top level of each line.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StudentImportRow {
+
+    @NotBlank(message = "Email is required")
+    @Email(message = "Email should be valid")
+    @Size(max = 120, message = "Email cannot exceed 120 characters")
+    private String email;
+
+    @Size(max = 50, message = "First name cannot exceed 50 characters")
+    private String firstName;
+
+    @Size(max = 50, message = "Last name cannot exceed 50 characters")
+    private String lastName;
+
+    @NotNull(message = "Onboarding data is required")
+    @Valid
+    @JsonUnwrapped
+    private OnboardingSubmitRequest onboarding;
+}
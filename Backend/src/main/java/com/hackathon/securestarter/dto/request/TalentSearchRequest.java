@@ -0,0 +1,51 @@
+package com.hackathon.securestarter.dto.request;
+
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Query parameters for the admin talent search.
+ * Every filter is optional; supplied filters are combined with AND.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TalentSearchRequest {
+
+    private String sector; // Healthcare, Agriculture, Urban
+
+    private List<String> skills; // Skill enum names, e.g. GIS, URBAN_IOT - all must be present
+
+    @Min(value = 1, message = "Education level must be at least 1")
+    @Max(value = 4, message = "Education level must be at most 4")
+    private Integer educationLevel; // 1=High School, 2=Undergraduate, 3=Postgraduate, 4=PhD
+
+    @Min(value = 0, message = "Minimum readiness must be at least 0")
+    @Max(value = 100, message = "Minimum readiness must be at most 100")
+    private Integer minReadiness;
+
+    @Min(value = 0, message = "Maximum readiness must be at least 0")
+    @Max(value = 100, message = "Maximum readiness must be at most 100")
+    private Integer maxReadiness;
+
+    @Min(value = 1, message = "Project complexity must be at least 1")
+    @Max(value = 3, message = "Project complexity must be at most 3")
+    private Integer projectComplexity; // 1=Beginner, 2=Intermediate, 3=Advanced
+
+    @Min(value = 1, message = "Minimum projects must be at least 1")
+    private Integer minProjects; // applies to projectComplexity, defaults to 1
+
+    @Min(value = 0, message = "Page must not be negative")
+    @Max(value = 1_000_000, message = "Page must be at most 1000000") // keeps page * size within an int
+    private Integer page;
+
+    @Min(value = 1, message = "Size must be at least 1")
+    @Max(value = 100, message = "Size must be at most 100")
+    private Integer size;
+}
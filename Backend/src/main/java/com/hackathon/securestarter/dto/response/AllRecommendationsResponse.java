@@ -0,0 +1,21 @@
+package com.hackathon.securestarter.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for combined recommendations.
+ * Bundles course and project recommendations with the skill gap analysis they were derived from.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AllRecommendationsResponse {
+
+    private CourseRecommendationResponse courseRecommendations;
+    private ProjectRecommendationResponse projectRecommendations;
+    private SkillGapAnalysisResponse skillGapAnalysis;
+}
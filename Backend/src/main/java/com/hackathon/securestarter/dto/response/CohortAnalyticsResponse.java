@@ -0,0 +1,84 @@
+package com.hackathon.securestarter.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Response DTO for admin cohort analytics.
+ * Aggregate skill coverage, readiness and grade distributions per industry sector and target role.
+ * Served from a periodically refreshed snapshot; generatedAt tells how fresh it is.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CohortAnalyticsResponse {
+
+    private LocalDateTime generatedAt;
+    private Long computeTimeMs;
+    private CohortSummary overall;
+    private List<CohortSummary> sectors;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class CohortSummary {
+        private String name;
+        private Long studentCount;
+        private Long studentsWithSkillProfile;
+        private List<SkillCoverage> skillCoverage; // biggest gaps first
+        private Distribution readiness;
+        private List<HistogramBucket> averageGradeHistogram;
+        private List<RoleSummary> roles;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class SkillCoverage {
+        private String skill;
+        private Long studentsWithSkill;
+        private Double coveragePercentage;
+        private Double missingPercentage;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Distribution {
+        private Double average;
+        private Integer p25;
+        private Integer median;
+        private Integer p75;
+        private List<HistogramBucket> histogram;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class HistogramBucket {
+        private String range; // e.g. "60-69"
+        private Long count;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class RoleSummary {
+        private String targetJobRole;
+        private Long studentCount;
+        private Double averageReadiness;
+        private Long studentsWithAllRequiredSkills;
+        private List<SkillCoverage> requiredSkillCoverage; // biggest gaps first
+    }
+}
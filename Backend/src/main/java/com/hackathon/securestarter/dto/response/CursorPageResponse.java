@@ -0,0 +1,24 @@
+package com.hackathon.securestarter.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for one page of a keyset-paginated list.
+ * Pass nextCursor back as the cursor parameter to get the following page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPageResponse<T> {
+
+    private List<T> items;
+    private Integer size;
+    private Boolean hasMore;
+    private String nextCursor; // null on the last page
+}
@@ -0,0 +1,44 @@
+package com.hackathon.securestarter.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for "students like you".
+ * Peers are anonymous; only their similarity and what they studied is exposed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SimilarStudentsResponse {
+
+    private Integer peerCount;
+    private List<SimilarStudent> similarStudents;
+    private List<PopularItem> popularCourses; // courses you haven't taken, most common among peers first
+    private List<PopularItem> popularCertifications;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class SimilarStudent {
+        private Integer profileDistance; // Hamming distance between profile codes, 0 = identical
+        private Double skillSimilarity; // Jaccard similarity of skill sets (0-1)
+        private List<String> sharedSkills;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class PopularItem {
+        private String name;
+        private Integer peerCount;
+        private Double peerPercentage;
+    }
+}
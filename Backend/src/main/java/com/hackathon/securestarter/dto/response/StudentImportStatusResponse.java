@@ -0,0 +1,46 @@
+package com.hackathon.securestarter.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Response DTO for a bulk student import job.
+ * Counters grow while the job runs; poll until status is COMPLETED or FAILED.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StudentImportStatusResponse {
+
+    private UUID jobId;
+    private String status; // QUEUED, RUNNING, COMPLETED, FAILED
+    private String fileName;
+    private String format; // csv or ndjson
+    private Boolean updateExisting;
+    private Long rowsRead;
+    private Long imported;
+    private Long updated;
+    private Long failed;
+    private List<RowError> errors;
+    private Boolean errorsTruncated;
+    private String failureReason;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class RowError {
+        private Long row; // 1-based data row, header excluded
+        private String email;
+        private String message;
+    }
+}
@@ -0,0 +1,46 @@
+package com.hackathon.securestarter.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Response DTO for a page of talent search results.
+ * Results are ordered by readiness score, highest first.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TalentSearchResponse {
+
+    private List<TalentMatch> results;
+    private Integer page;
+    private Integer size;
+    private Integer totalMatches;
+    private Integer totalPages;
+    private Integer indexedUsers;
+    private Long queryTimeMicros; // index lookup only, excludes loading names/emails
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class TalentMatch {
+        private UUID userId;
+        private String firstName;
+        private String lastName;
+        private String email;
+        private String industrySector;
+        private String educationLevel;
+        private Integer readinessScore;
+        private List<String> skills;
+        private Integer beginnerProjects;
+        private Integer intermediateProjects;
+        private Integer advancedProjects;
+    }
+}
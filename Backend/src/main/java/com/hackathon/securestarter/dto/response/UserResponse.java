@@ -28,5 +28,6 @@ public class UserResponse {
     private Role role;
     private AuthProvider authProvider;
     private Boolean isVerified;
+    private Boolean digestOptOut;
     private LocalDateTime createdAt;
 }
\ No newline at end of file
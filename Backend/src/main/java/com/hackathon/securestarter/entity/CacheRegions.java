@@ -0,0 +1,24 @@
+package com.hackathon.securestarter.entity;
+
+/**
+ * Hibernate second-level cache region names.
+ * Each region is created up front with its own size bound (see HibernateCacheConfig).
+ */
+public final class CacheRegions {
+
+    public static final String ACADEMIC_PROFILES = "academicProfiles";
+    public static final String ACADEMIC_PROFILES_BY_USER = "academicProfilesByUser";
+    public static final String CAREER_PROFILES = "careerProfiles";
+    public static final String CAREER_PROFILES_BY_USER = "careerProfilesByUser";
+    public static final String SKILL_PROFILES = "skillProfiles";
+    public static final String SKILL_PROFILES_BY_USER = "skillProfilesByUser";
+
+    public static final String[] PROFILE_REGIONS = {
+            ACADEMIC_PROFILES, ACADEMIC_PROFILES_BY_USER,
+            CAREER_PROFILES, CAREER_PROFILES_BY_USER,
+            SKILL_PROFILES, SKILL_PROFILES_BY_USER
+    };
+
+    private CacheRegions() {
+    }
+}
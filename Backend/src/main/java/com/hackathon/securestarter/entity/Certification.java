@@ -4,13 +4,14 @@ import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
 @Table(name = "certifications", indexes = {
-        @Index(name = "idx_certification_user_id", columnList = "user_id")
+        @Index(name = "idx_certification_user_created", columnList = "user_id, created_at, id")
 })
 @Getter
 @Setter
@@ -20,7 +21,7 @@ import java.util.UUID;
 public class Certification {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(style = UuidGenerator.Style.VERSION_7)
     @Column(name = "id", updatable = false, nullable = false)
     private UUID id;
 
@@ -0,0 +1,38 @@
+package com.hackathon.securestarter.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Progress of one weekly digest run. The cursor is the last user whose page was committed, so a
+ * run interrupted by a crash or its time budget continues after it instead of starting over.
+ */
+@Entity
+@Table(name = "digest_runs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DigestRun {
+
+    // ISO week, e.g. 2026-W42
+    @Id
+    @Column(name = "period", length = 10, updatable = false, nullable = false)
+    private String period;
+
+    @Column(name = "last_user_id")
+    private UUID lastUserId;
+
+    @Column(name = "queued_count", nullable = false)
+    private int queuedCount;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,84 @@
+package com.hackathon.securestarter.entity;
+
+import com.hackathon.securestarter.enums.EmailStatus;
+import com.hackathon.securestarter.enums.EmailType;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UuidGenerator;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A rendered email waiting for delivery. Written in the same transaction as the change that
+ * triggers it, so an email is queued exactly when that change commits; EmailOutboxDispatcher
+ * sends it afterwards and retries failures with backoff until maxAttempts.
+ * Transactional emails (verification, password reset) go before bulk ones such as digests.
+ */
+@Entity
+@Table(name = "email_outbox", indexes = {
+        @Index(name = "idx_email_outbox_status_next", columnList = "status, priority, next_attempt_at"),
+        @Index(name = "idx_email_outbox_status_sent", columnList = "status, sent_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString(exclude = "body")
+public class EmailOutbox {
+
+    public static final int PRIORITY_TRANSACTIONAL = 0;
+    public static final int PRIORITY_BULK = 1;
+
+    @Id
+    @UuidGenerator(style = UuidGenerator.Style.VERSION_7)
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 30)
+    private EmailType type;
+
+    @Column(name = "recipient", nullable = false, length = 120)
+    private String recipient;
+
+    @Column(name = "subject", nullable = false, length = 200)
+    private String subject;
+
+    // HTML body; over the utf8mb4 VARCHAR limit, so MySQL gets a TEXT column
+    @Column(name = "body", nullable = false, length = 65535)
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    @Builder.Default
+    private EmailStatus status = EmailStatus.PENDING;
+
+    // Lower is sent first
+    @Column(name = "priority", nullable = false)
+    @Builder.Default
+    private int priority = PRIORITY_TRANSACTIONAL;
+
+    @Column(name = "attempts", nullable = false)
+    @Builder.Default
+    private int attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    // Unsubscribe URL for the List-Unsubscribe header of bulk emails, null for transactional ones
+    @Column(name = "list_unsubscribe", length = 500)
+    private String listUnsubscribe;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+}
@@ -3,13 +3,16 @@ package com.hackathon.securestarter.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
 @Table(name = "password_reset_tokens", indexes = {
-        @Index(name = "idx_password_reset_token", columnList = "token")
+        @Index(name = "idx_password_reset_token", columnList = "token"),
+        @Index(name = "idx_password_reset_expiry", columnList = "expiry_date"),
+        @Index(name = "idx_password_reset_used_created", columnList = "is_used, created_at")
 })
 @Getter
 @Setter
@@ -19,7 +22,7 @@ import java.util.UUID;
 public class PasswordResetToken {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(style = UuidGenerator.Style.VERSION_7)
     @Column(name = "id", updatable = false, nullable = false)
     private UUID id;
 
@@ -1,118 +1,167 @@
 package com.hackathon.securestarter.entity;
 
+import com.hackathon.securestarter.enums.Skill;
+import com.hackathon.securestarter.enums.SkillCategory;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
 @Table(name = "skill_profiles", indexes = {
-        @Index(name = "idx_skill_user_id", columnList = "user_id")
+        @Index(name = "idx_skill_user_id", columnList = "user_id"),
+        @Index(name = "idx_skill_mask_user", columnList = "skill_mask, user_id")
 })
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.SKILL_PROFILES)
+@NaturalIdCache(region = CacheRegions.SKILL_PROFILES_BY_USER)
 public class SkillProfile {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(style = UuidGenerator.Style.VERSION_7)
     @Column(name = "id", updatable = false, nullable = false)
     private UUID id;
 
+    @NaturalId
     @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false, unique = true)
     private User user;
 
-    // Healthcare Technology Skills
-    @Column(name = "has_ehr", nullable = false)
-    @Builder.Default
-    private Boolean hasEhr = false;
+    // One bit per skill, see Skill for the bit layout
+    @Column(name = "skill_mask", nullable = false)
+    private long skillMask;
 
-    @Column(name = "has_hl7_fhir", nullable = false)
-    @Builder.Default
-    private Boolean hasHl7Fhir = false;
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
 
-    @Column(name = "has_medical_imaging", nullable = false)
-    @Builder.Default
-    private Boolean hasMedicalImaging = false;
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
 
-    @Column(name = "has_healthcare_security", nullable = false)
-    @Builder.Default
-    private Boolean hasHealthcareSecurity = false;
+    public boolean hasSkill(Skill skill) {
+        return (skillMask & skill.bit()) != 0;
+    }
 
-    @Column(name = "has_telemedicine", nullable = false)
-    @Builder.Default
-    private Boolean hasTelemedicine = false;
+    public void setSkill(Skill skill, Boolean value) {
+        skillMask = Boolean.TRUE.equals(value) ? skillMask | skill.bit() : skillMask & ~skill.bit();
+    }
 
-    // Agricultural Technology Skills
-    @Column(name = "has_iot_sensors", nullable = false)
-    @Builder.Default
-    private Boolean hasIotSensors = false;
+    public int countSkills(SkillCategory category) {
+        return Long.bitCount(skillMask & Skill.maskOf(category));
+    }
 
-    @Column(name = "has_drone_ops", nullable = false)
-    @Builder.Default
-    private Boolean hasDroneOps = false;
+    public int countSkills() {
+        return Long.bitCount(skillMask);
+    }
 
-    @Column(name = "has_precision_ag", nullable = false)
-    @Builder.Default
-    private Boolean hasPrecisionAg = false;
+    // Per-skill accessors kept for callers written against the column-per-skill layout
 
-    @Column(name = "has_crop_modeling", nullable = false)
-    @Builder.Default
-    private Boolean hasCropModeling = false;
+    // Healthcare Technology Skills
+    public Boolean getHasEhr() { return hasSkill(Skill.EHR); }
+    public void setHasEhr(Boolean value) { setSkill(Skill.EHR, value); }
 
-    @Column(name = "has_soil_analysis", nullable = false)
-    @Builder.Default
-    private Boolean hasSoilAnalysis = false;
+    public Boolean getHasHl7Fhir() { return hasSkill(Skill.HL7_FHIR); }
+    public void setHasHl7Fhir(Boolean value) { setSkill(Skill.HL7_FHIR, value); }
 
-    // Smart City & Urban Systems Skills
-    @Column(name = "has_gis", nullable = false)
-    @Builder.Default
-    private Boolean hasGis = false;
+    public Boolean getHasMedicalImaging() { return hasSkill(Skill.MEDICAL_IMAGING); }
+    public void setHasMedicalImaging(Boolean value) { setSkill(Skill.MEDICAL_IMAGING, value); }
 
-    @Column(name = "has_smart_grid", nullable = false)
-    @Builder.Default
-    private Boolean hasSmartGrid = false;
+    public Boolean getHasHealthcareSecurity() { return hasSkill(Skill.HEALTHCARE_SECURITY); }
+    public void setHasHealthcareSecurity(Boolean value) { setSkill(Skill.HEALTHCARE_SECURITY, value); }
 
-    @Column(name = "has_traffic_mgmt", nullable = false)
-    @Builder.Default
-    private Boolean hasTrafficMgmt = false;
+    public Boolean getHasTelemedicine() { return hasSkill(Skill.TELEMEDICINE); }
+    public void setHasTelemedicine(Boolean value) { setSkill(Skill.TELEMEDICINE, value); }
 
-    @Column(name = "has_urban_iot", nullable = false)
-    @Builder.Default
-    private Boolean hasUrbanIot = false;
+    // Agricultural Technology Skills
+    public Boolean getHasIotSensors() { return hasSkill(Skill.IOT_SENSORS); }
+    public void setHasIotSensors(Boolean value) { setSkill(Skill.IOT_SENSORS, value); }
 
-    @Column(name = "has_building_auto", nullable = false)
-    @Builder.Default
-    private Boolean hasBuildingAuto = false;
+    public Boolean getHasDroneOps() { return hasSkill(Skill.DRONE_OPS); }
+    public void setHasDroneOps(Boolean value) { setSkill(Skill.DRONE_OPS, value); }
 
-    // Professional Soft Skills
-    @Column(name = "has_communication", nullable = false)
-    @Builder.Default
-    private Boolean hasCommunication = false;
+    public Boolean getHasPrecisionAg() { return hasSkill(Skill.PRECISION_AG); }
+    public void setHasPrecisionAg(Boolean value) { setSkill(Skill.PRECISION_AG, value); }
 
-    @Column(name = "has_teamwork", nullable = false)
-    @Builder.Default
-    private Boolean hasTeamwork = false;
+    public Boolean getHasCropModeling() { return hasSkill(Skill.CROP_MODELING); }
+    public void setHasCropModeling(Boolean value) { setSkill(Skill.CROP_MODELING, value); }
 
-    @Column(name = "has_problem_solving", nullable = false)
-    @Builder.Default
-    private Boolean hasProblemSolving = false;
+    public Boolean getHasSoilAnalysis() { return hasSkill(Skill.SOIL_ANALYSIS); }
+    public void setHasSoilAnalysis(Boolean value) { setSkill(Skill.SOIL_ANALYSIS, value); }
 
-    @Column(name = "has_leadership", nullable = false)
-    @Builder.Default
-    private Boolean hasLeadership = false;
+    // Smart City & Urban Systems Skills
+    public Boolean getHasGis() { return hasSkill(Skill.GIS); }
+    public void setHasGis(Boolean value) { setSkill(Skill.GIS, value); }
 
-    @UpdateTimestamp
-    @Column(name = "updated_at")
-    private LocalDateTime updatedAt;
+    public Boolean getHasSmartGrid() { return hasSkill(Skill.SMART_GRID); }
+    public void setHasSmartGrid(Boolean value) { setSkill(Skill.SMART_GRID, value); }
 
-    @CreationTimestamp
-    @Column(name = "created_at", nullable = false, updatable = false)
-    private LocalDateTime createdAt;
-}
\ No newline at end of file
+    public Boolean getHasTrafficMgmt() { return hasSkill(Skill.TRAFFIC_MGMT); }
+    public void setHasTrafficMgmt(Boolean value) { setSkill(Skill.TRAFFIC_MGMT, value); }
+
+    public Boolean getHasUrbanIot() { return hasSkill(Skill.URBAN_IOT); }
+    public void setHasUrbanIot(Boolean value) { setSkill(Skill.URBAN_IOT, value); }
+
+    public Boolean getHasBuildingAuto() { return hasSkill(Skill.BUILDING_AUTO); }
+    public void setHasBuildingAuto(Boolean value) { setSkill(Skill.BUILDING_AUTO, value); }
+
+    // Professional Soft Skills
+    public Boolean getHasCommunication() { return hasSkill(Skill.COMMUNICATION); }
+    public void setHasCommunication(Boolean value) { setSkill(Skill.COMMUNICATION, value); }
+
+    public Boolean getHasTeamwork() { return hasSkill(Skill.TEAMWORK); }
+    public void setHasTeamwork(Boolean value) { setSkill(Skill.TEAMWORK, value); }
+
+    public Boolean getHasProblemSolving() { return hasSkill(Skill.PROBLEM_SOLVING); }
+    public void setHasProblemSolving(Boolean value) { setSkill(Skill.PROBLEM_SOLVING, value); }
+
+    public Boolean getHasLeadership() { return hasSkill(Skill.LEADERSHIP); }
+    public void setHasLeadership(Boolean value) { setSkill(Skill.LEADERSHIP, value); }
+
+    public static class SkillProfileBuilder {
+
+        public SkillProfileBuilder skill(Skill skill, Boolean value) {
+            this.skillMask = Boolean.TRUE.equals(value) ? skillMask | skill.bit() : skillMask & ~skill.bit();
+            return this;
+        }
+
+        // Healthcare Technology Skills
+        public SkillProfileBuilder hasEhr(Boolean value) { return skill(Skill.EHR, value); }
+        public SkillProfileBuilder hasHl7Fhir(Boolean value) { return skill(Skill.HL7_FHIR, value); }
+        public SkillProfileBuilder hasMedicalImaging(Boolean value) { return skill(Skill.MEDICAL_IMAGING, value); }
+        public SkillProfileBuilder hasHealthcareSecurity(Boolean value) { return skill(Skill.HEALTHCARE_SECURITY, value); }
+        public SkillProfileBuilder hasTelemedicine(Boolean value) { return skill(Skill.TELEMEDICINE, value); }
+
+        // Agricultural Technology Skills
+        public SkillProfileBuilder hasIotSensors(Boolean value) { return skill(Skill.IOT_SENSORS, value); }
+        public SkillProfileBuilder hasDroneOps(Boolean value) { return skill(Skill.DRONE_OPS, value); }
+        public SkillProfileBuilder hasPrecisionAg(Boolean value) { return skill(Skill.PRECISION_AG, value); }
+        public SkillProfileBuilder hasCropModeling(Boolean value) { return skill(Skill.CROP_MODELING, value); }
+        public SkillProfileBuilder hasSoilAnalysis(Boolean value) { return skill(Skill.SOIL_ANALYSIS, value); }
+
+        // Smart City & Urban Systems Skills
+        public SkillProfileBuilder hasGis(Boolean value) { return skill(Skill.GIS, value); }
+        public SkillProfileBuilder hasSmartGrid(Boolean value) { return skill(Skill.SMART_GRID, value); }
+        public SkillProfileBuilder hasTrafficMgmt(Boolean value) { return skill(Skill.TRAFFIC_MGMT, value); }
+        public SkillProfileBuilder hasUrbanIot(Boolean value) { return skill(Skill.URBAN_IOT, value); }
+        public SkillProfileBuilder hasBuildingAuto(Boolean value) { return skill(Skill.BUILDING_AUTO, value); }
+
+        // Professional Soft Skills
+        public SkillProfileBuilder hasCommunication(Boolean value) { return skill(Skill.COMMUNICATION, value); }
+        public SkillProfileBuilder hasTeamwork(Boolean value) { return skill(Skill.TEAMWORK, value); }
+        public SkillProfileBuilder hasProblemSolving(Boolean value) { return skill(Skill.PROBLEM_SOLVING, value); }
+        public SkillProfileBuilder hasLeadership(Boolean value) { return skill(Skill.LEADERSHIP, value); }
+    }
+}
@@ -10,6 +10,7 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UuidGenerator;
 
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -29,11 +30,12 @@ import java.util.*;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@ToString(exclude = {"passwordHash"})
+@ToString(exclude = {"passwordHash", "academicProfile", "careerProfile", "skillProfile",
+        "courses", "projects", "certifications"})
 public class User implements UserDetails {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(style = UuidGenerator.Style.VERSION_7)
     @Column(name = "id", updatable = false, nullable = false)
     private UUID id;
 
@@ -80,6 +82,11 @@ public class User implements UserDetails {
     @Builder.Default
     private Boolean isVerified = false;
 
+    // Bumped to revoke every JWT issued before; tokens carry the version they were issued with
+    @Column(name = "token_version", nullable = false)
+    @Builder.Default
+    private int tokenVersion = 0;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -92,6 +99,11 @@ public class User implements UserDetails {
     @Column(name = "onboarding_completed_at")
     private LocalDateTime onboardingCompletedAt;
 
+    // Set from the weekly digest's unsubscribe link or the user's settings
+    @Column(name = "digest_opt_out", nullable = false)
+    @Builder.Default
+    private Boolean digestOptOut = false;
+
     // Relationships (add these)
     @OneToOne(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     private AcademicProfile academicProfile;
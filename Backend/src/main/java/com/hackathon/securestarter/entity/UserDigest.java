@@ -0,0 +1,38 @@
+package com.hackathon.securestarter.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * What the last weekly digest told a user, so the next one can show the readiness change and
+ * mark recommendations that are new, and so a user is never sent two digests for one week.
+ */
+@Entity
+@Table(name = "user_digests")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserDigest {
+
+    @Id
+    @Column(name = "user_id", updatable = false, nullable = false)
+    private UUID userId;
+
+    @Column(name = "last_period", nullable = false, length = 10)
+    private String lastPeriod;
+
+    @Column(name = "last_readiness_score", nullable = false)
+    private int lastReadinessScore;
+
+    // Recommendation titles of the last digest, newline separated
+    @Column(name = "last_recommendations", length = 2000)
+    private String lastRecommendations;
+
+    @Column(name = "last_queued_at", nullable = false)
+    private LocalDateTime lastQueuedAt;
+}
@@ -0,0 +1,50 @@
+package com.hackathon.securestarter.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.UUID;
+
+/**
+ * Per-user counters and profile-presence flags, kept next to the user so onboarding status
+ * and dashboard counts are a primary-key read instead of one COUNT/EXISTS per table.
+ * Maintained by the services that create and delete profiles and items, in the same transaction.
+ */
+@Entity
+@Table(name = "user_profile_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserProfileStats {
+
+    @Id
+    @Column(name = "user_id", updatable = false, nullable = false)
+    private UUID userId;
+
+    @Column(name = "has_academic_profile", nullable = false)
+    private boolean hasAcademicProfile;
+
+    @Column(name = "has_career_profile", nullable = false)
+    private boolean hasCareerProfile;
+
+    @Column(name = "has_skill_profile", nullable = false)
+    private boolean hasSkillProfile;
+
+    @Column(name = "courses_count", nullable = false)
+    private int coursesCount;
+
+    @Column(name = "projects_count", nullable = false)
+    private int projectsCount;
+
+    @Column(name = "certifications_count", nullable = false)
+    private int certificationsCount;
+
+    /**
+     * Stats of a user with no profiles or items yet
+     */
+    public static UserProfileStats empty(UUID userId) {
+        return UserProfileStats.builder().userId(userId).build();
+    }
+}
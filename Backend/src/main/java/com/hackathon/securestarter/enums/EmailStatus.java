@@ -0,0 +1,7 @@
+package com.hackathon.securestarter.enums;
+
+public enum EmailStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
@@ -0,0 +1,8 @@
+package com.hackathon.securestarter.enums;
+
+public enum EmailType {
+    VERIFICATION,
+    PASSWORD_RESET,
+    WELCOME,
+    WEEKLY_DIGEST
+}
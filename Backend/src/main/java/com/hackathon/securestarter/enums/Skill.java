@@ -0,0 +1,127 @@
+package com.hackathon.securestarter.enums;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Skills tracked in a user's skill profile.
+ * Each skill owns a fixed bit in SkillProfile.skillMask; bit positions are persisted,
+ * so new skills must take the next free bit and existing ones must never be renumbered.
+ */
+public enum Skill {
+
+    // Healthcare Technology Skills
+    EHR(0, SkillCategory.HEALTHCARE, "Electronic Health Records (EHR)"),
+    HL7_FHIR(1, SkillCategory.HEALTHCARE, "HL7/FHIR Standards"),
+    MEDICAL_IMAGING(2, SkillCategory.HEALTHCARE, "Medical Imaging"),
+    HEALTHCARE_SECURITY(3, SkillCategory.HEALTHCARE, "Healthcare Security (HIPAA)"),
+    TELEMEDICINE(4, SkillCategory.HEALTHCARE, "Telemedicine"),
+
+    // Agricultural Technology Skills
+    IOT_SENSORS(5, SkillCategory.AGRICULTURE, "IoT Sensors"),
+    DRONE_OPS(6, SkillCategory.AGRICULTURE, "Drone Operations"),
+    PRECISION_AG(7, SkillCategory.AGRICULTURE, "Precision Agriculture"),
+    CROP_MODELING(8, SkillCategory.AGRICULTURE, "Crop Modeling"),
+    SOIL_ANALYSIS(9, SkillCategory.AGRICULTURE, "Soil Analysis"),
+
+    // Smart City & Urban Systems Skills
+    GIS(10, SkillCategory.URBAN, "Geographic Information Systems (GIS)"),
+    SMART_GRID(11, SkillCategory.URBAN, "Smart Grid"),
+    TRAFFIC_MGMT(12, SkillCategory.URBAN, "Traffic Management"),
+    URBAN_IOT(13, SkillCategory.URBAN, "Urban IoT"),
+    BUILDING_AUTO(14, SkillCategory.URBAN, "Building Automation"),
+
+    // Professional Soft Skills
+    COMMUNICATION(15, SkillCategory.SOFT, "Communication"),
+    TEAMWORK(16, SkillCategory.SOFT, "Teamwork"),
+    PROBLEM_SOLVING(17, SkillCategory.SOFT, "Problem Solving"),
+    LEADERSHIP(18, SkillCategory.SOFT, "Leadership");
+
+    private static final Skill[] VALUES = values();
+    private static final Map<SkillCategory, Long> CATEGORY_MASKS = new EnumMap<>(SkillCategory.class);
+    private static final Map<String, Skill> BY_DISPLAY_NAME = new HashMap<>();
+
+    static {
+        for (Skill skill : VALUES) {
+            CATEGORY_MASKS.merge(skill.category, skill.bit(), (a, b) -> a | b);
+            BY_DISPLAY_NAME.put(skill.displayName, skill);
+        }
+    }
+
+    private final int bitIndex;
+    private final SkillCategory category;
+    private final String displayName;
+
+    Skill(int bitIndex, SkillCategory category, String displayName) {
+        this.bitIndex = bitIndex;
+        this.category = category;
+        this.displayName = displayName;
+    }
+
+    public int getBitIndex() {
+        return bitIndex;
+    }
+
+    public SkillCategory getCategory() {
+        return category;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public long bit() {
+        return 1L << bitIndex;
+    }
+
+    /**
+     * Mask with the bits of every skill in the given category
+     */
+    public static long maskOf(SkillCategory category) {
+        return CATEGORY_MASKS.getOrDefault(category, 0L);
+    }
+
+    /**
+     * Mask with the bits of all given skills
+     */
+    public static long maskOf(Iterable<Skill> skills) {
+        long mask = 0L;
+        for (Skill skill : skills) {
+            mask |= skill.bit();
+        }
+        return mask;
+    }
+
+    /**
+     * Mask of the skills relevant to an industry sector: its domain skills plus soft skills
+     */
+    public static long relevantMask(String industrySector) {
+        SkillCategory domain = SkillCategory.forSector(industrySector);
+        long mask = maskOf(SkillCategory.SOFT);
+        return domain != null ? mask | maskOf(domain) : mask;
+    }
+
+    /**
+     * Skill with the given display name
+     * @return the skill, or null if no skill has that name
+     */
+    public static Skill fromDisplayName(String displayName) {
+        return BY_DISPLAY_NAME.get(displayName);
+    }
+
+    /**
+     * Display names of the skills set in a mask, in declaration order
+     */
+    public static List<String> displayNames(long mask) {
+        List<String> names = new ArrayList<>(Long.bitCount(mask));
+        for (Skill skill : VALUES) {
+            if ((mask & skill.bit()) != 0) {
+                names.add(skill.displayName);
+            }
+        }
+        return names;
+    }
+}
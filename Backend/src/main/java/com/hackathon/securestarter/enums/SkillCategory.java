@@ -0,0 +1,25 @@
+package com.hackathon.securestarter.enums;
+
+public enum SkillCategory {
+    HEALTHCARE,
+    AGRICULTURE,
+    URBAN,
+    SOFT;
+
+    /**
+     * Domain category for a career profile's industry sector
+     * @param industrySector Healthcare, Agriculture or Urban
+     * @return the matching category, or null for unknown sectors
+     */
+    public static SkillCategory forSector(String industrySector) {
+        if (industrySector == null) {
+            return null;
+        }
+        return switch (industrySector) {
+            case "Healthcare" -> HEALTHCARE;
+            case "Agriculture" -> AGRICULTURE;
+            case "Urban" -> URBAN;
+            default -> null;
+        };
+    }
+}
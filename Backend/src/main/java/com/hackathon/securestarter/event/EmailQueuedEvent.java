@@ -0,0 +1,11 @@
+package com.hackathon.securestarter.event;
+
+import java.util.UUID;
+
+/**
+ * Published when an email is written to the outbox, so it is dispatched as soon as the
+ * transaction commits rather than at the next poll.
+ * @param emailId the outbox row's UUID
+ */
+public record EmailQueuedEvent(UUID emailId) {
+}
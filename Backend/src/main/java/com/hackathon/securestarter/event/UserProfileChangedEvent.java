@@ -0,0 +1,11 @@
+package com.hackathon.securestarter.event;
+
+import java.util.UUID;
+
+/**
+ * Published whenever any part of a user's profile (academic, career, skills,
+ * courses, projects, certifications) is created, updated or deleted.
+ * @param userId the user whose profile changed
+ */
+public record UserProfileChangedEvent(UUID userId) {
+}
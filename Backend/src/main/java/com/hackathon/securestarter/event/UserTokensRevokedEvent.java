@@ -0,0 +1,10 @@
+package com.hackathon.securestarter.event;
+
+import java.util.UUID;
+
+/**
+ * Published when a user's token version is bumped, revoking all JWTs issued before.
+ * @param userId the user whose tokens were revoked
+ */
+public record UserTokensRevokedEvent(UUID userId) {
+}
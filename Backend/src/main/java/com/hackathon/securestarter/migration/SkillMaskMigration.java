@@ -0,0 +1,109 @@
+package com.hackathon.securestarter.migration;
+
+import com.hackathon.securestarter.enums.Skill;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * One-time migration from the column-per-skill layout of skill_profiles to skill_mask.
+ * Adds skill_mask, folds the legacy has_* columns into it and then drops them. It is a no-op
+ * once the legacy columns are gone.
+ * The entity manager factory depends on this bean (see JpaConfig), so the migration finishes
+ * before Hibernate's schema update runs and before the web server takes requests: nothing
+ * inserts a profile while the NOT NULL legacy columns still exist or writes a mask the fold
+ * would overwrite.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SkillMaskMigration implements InitializingBean {
+
+    private static final String TABLE = "skill_profiles";
+
+    private static final Map<Skill, String> LEGACY_COLUMNS = new EnumMap<>(Skill.class);
+
+    static {
+        LEGACY_COLUMNS.put(Skill.EHR, "has_ehr");
+        LEGACY_COLUMNS.put(Skill.HL7_FHIR, "has_hl7_fhir");
+        LEGACY_COLUMNS.put(Skill.MEDICAL_IMAGING, "has_medical_imaging");
+        LEGACY_COLUMNS.put(Skill.HEALTHCARE_SECURITY, "has_healthcare_security");
+        LEGACY_COLUMNS.put(Skill.TELEMEDICINE, "has_telemedicine");
+        LEGACY_COLUMNS.put(Skill.IOT_SENSORS, "has_iot_sensors");
+        LEGACY_COLUMNS.put(Skill.DRONE_OPS, "has_drone_ops");
+        LEGACY_COLUMNS.put(Skill.PRECISION_AG, "has_precision_ag");
+        LEGACY_COLUMNS.put(Skill.CROP_MODELING, "has_crop_modeling");
+        LEGACY_COLUMNS.put(Skill.SOIL_ANALYSIS, "has_soil_analysis");
+        LEGACY_COLUMNS.put(Skill.GIS, "has_gis");
+        LEGACY_COLUMNS.put(Skill.SMART_GRID, "has_smart_grid");
+        LEGACY_COLUMNS.put(Skill.TRAFFIC_MGMT, "has_traffic_mgmt");
+        LEGACY_COLUMNS.put(Skill.URBAN_IOT, "has_urban_iot");
+        LEGACY_COLUMNS.put(Skill.BUILDING_AUTO, "has_building_auto");
+        LEGACY_COLUMNS.put(Skill.COMMUNICATION, "has_communication");
+        LEGACY_COLUMNS.put(Skill.TEAMWORK, "has_teamwork");
+        LEGACY_COLUMNS.put(Skill.PROBLEM_SOLVING, "has_problem_solving");
+        LEGACY_COLUMNS.put(Skill.LEADERSHIP, "has_leadership");
+    }
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterPropertiesSet() throws SQLException {
+        Set<String> columns = findColumns();
+        Set<String> legacyPresent = LEGACY_COLUMNS.values().stream()
+                .filter(columns::contains)
+                .collect(Collectors.toSet());
+
+        if (legacyPresent.isEmpty()) {
+            return;
+        }
+
+        if (!columns.contains("skill_mask")) {
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD COLUMN skill_mask BIGINT NOT NULL DEFAULT 0");
+        }
+
+        // Only fold the columns into the mask if none were dropped by an earlier partial run
+        if (legacyPresent.size() == LEGACY_COLUMNS.size()) {
+            String maskExpression = LEGACY_COLUMNS.entrySet().stream()
+                    .map(e -> "(CASE WHEN " + e.getValue() + " THEN " + e.getKey().bit() + " ELSE 0 END)")
+                    .collect(Collectors.joining(" + "));
+            int rows = jdbcTemplate.update("UPDATE " + TABLE + " SET skill_mask = " + maskExpression);
+            log.info("Migrated {} skill profiles to skill_mask", rows);
+        }
+
+        for (String column : legacyPresent) {
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP COLUMN " + column);
+        }
+        log.info("Dropped {} legacy skill columns from {}", legacyPresent.size(), TABLE);
+    }
+
+    private Set<String> findColumns() throws SQLException {
+        Set<String> columns = new HashSet<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (String table : new String[]{TABLE, TABLE.toUpperCase(Locale.ROOT)}) {
+                try (ResultSet rs = metaData.getColumns(connection.getCatalog(), null, table, null)) {
+                    while (rs.next()) {
+                        columns.add(rs.getString("COLUMN_NAME").toLowerCase(Locale.ROOT));
+                    }
+                }
+            }
+        }
+        return columns;
+    }
+}
@@ -1,10 +1,14 @@
 package com.hackathon.securestarter.repository;
 
+import com.hackathon.securestarter.dto.projection.UserAcademicSnapshot;
 import com.hackathon.securestarter.entity.AcademicProfile;
 import com.hackathon.securestarter.entity.User;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -13,7 +17,7 @@ import java.util.UUID;
  * Provides data access methods for academic profile management.
  */
 @Repository
-public interface AcademicProfileRepository extends JpaRepository<AcademicProfile, UUID> {
+public interface AcademicProfileRepository extends NaturalIdRepository<AcademicProfile, UUID> {
 
     /**
      * Find academic profile by user
@@ -23,11 +27,13 @@ public interface AcademicProfileRepository extends JpaRepository<AcademicProfile
     Optional<AcademicProfile> findByUser(User user);
 
     /**
-     * Find academic profile by user ID
+     * Find academic profile by user ID (natural id, served from the second-level cache when present)
      * @param userId the user's UUID
      * @return Optional containing the academic profile if found
      */
-    Optional<AcademicProfile> findByUserId(UUID userId);
+    default Optional<AcademicProfile> findByUserId(UUID userId) {
+        return findBySimpleNaturalId(userId);
+    }
 
     /**
      * Check if academic profile exists for user
@@ -36,6 +42,15 @@ public interface AcademicProfileRepository extends JpaRepository<AcademicProfile
      */
     boolean existsByUserId(UUID userId);
 
+    /**
+     * Fetch the readiness-relevant academic fields for a batch of users
+     * @param userIds the users' UUIDs
+     * @return one snapshot per user that has an academic profile
+     */
+    @Query("SELECT a.user.id AS userId, a.educationLevel AS educationLevel, a.cgpaPercentage AS cgpaPercentage " +
+            "FROM AcademicProfile a WHERE a.user.id IN :userIds")
+    List<UserAcademicSnapshot> findSnapshotsByUserIdIn(@Param("userIds") Collection<UUID> userIds);
+
     /**
      * Delete academic profile by user
      * @param user the user entity
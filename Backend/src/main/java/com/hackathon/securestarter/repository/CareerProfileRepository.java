@@ -1,10 +1,13 @@
 package com.hackathon.securestarter.repository;
 
+import com.hackathon.securestarter.dto.projection.UserCareerSnapshot;
 import com.hackathon.securestarter.entity.CareerProfile;
 import com.hackathon.securestarter.entity.User;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -14,7 +17,7 @@ import java.util.UUID;
  * Provides data access methods for career profile management.
  */
 @Repository
-public interface CareerProfileRepository extends JpaRepository<CareerProfile, UUID> {
+public interface CareerProfileRepository extends NaturalIdRepository<CareerProfile, UUID> {
 
     /**
      * Find career profile by user
@@ -24,11 +27,13 @@ public interface CareerProfileRepository extends JpaRepository<CareerProfile, UU
     Optional<CareerProfile> findByUser(User user);
 
     /**
-     * Find career profile by user ID
+     * Find career profile by user ID (natural id, served from the second-level cache when present)
      * @param userId the user's UUID
      * @return Optional containing the career profile if found
      */
-    Optional<CareerProfile> findByUserId(UUID userId);
+    default Optional<CareerProfile> findByUserId(UUID userId) {
+        return findBySimpleNaturalId(userId);
+    }
 
     /**
      * Check if career profile exists for user
@@ -44,6 +49,15 @@ public interface CareerProfileRepository extends JpaRepository<CareerProfile, UU
      */
     List<CareerProfile> findByIndustrySector(String industrySector);
 
+    /**
+     * Fetch the target industry sector and job role for a batch of users
+     * @param userIds the users' UUIDs
+     * @return one row per user that has a career profile
+     */
+    @Query("SELECT c.user.id AS userId, c.industrySector AS industrySector, c.targetJobRole AS targetJobRole " +
+            "FROM CareerProfile c WHERE c.user.id IN :userIds")
+    List<UserCareerSnapshot> findSnapshotsByUserIdIn(@Param("userIds") Collection<UUID> userIds);
+
     /**
      * Delete career profile by user
      * @param user the user entity
@@ -1,10 +1,18 @@
 package com.hackathon.securestarter.repository;
 
+import com.hackathon.securestarter.dto.projection.NameCount;
+import com.hackathon.securestarter.dto.projection.UserCount;
 import com.hackathon.securestarter.entity.Certification;
 import com.hackathon.securestarter.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -37,6 +45,31 @@ public interface CertificationRepository extends JpaRepository<Certification, UU
      */
     List<Certification> findByUserIdOrderByCreatedAtDesc(UUID userId);
 
+    /**
+     * First page of a user's certifications, newest first (keyset pagination)
+     * @param userId the user's UUID
+     * @param limit maximum number of rows
+     * @return List of certifications ordered by created date then id, descending
+     */
+    @Query("SELECT c FROM Certification c WHERE c.user.id = :userId ORDER BY c.createdAt DESC, c.id DESC")
+    List<Certification> findFirstPageByUserId(@Param("userId") UUID userId, Limit limit);
+
+    /**
+     * Next page of a user's certifications: rows strictly after the given (createdAt, id) position
+     * @param userId the user's UUID
+     * @param createdAt created date of the last row of the previous page
+     * @param id id of the last row of the previous page
+     * @param limit maximum number of rows
+     * @return List of certifications ordered by created date then id, descending
+     */
+    @Query("SELECT c FROM Certification c WHERE c.user.id = :userId " +
+            "AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) " +
+            "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Certification> findPageByUserIdAfter(@Param("userId") UUID userId,
+                                      @Param("createdAt") LocalDateTime createdAt,
+                                      @Param("id") UUID id,
+                                      Limit limit);
+
     /**
      * Count total certifications for a user
      * @param userId the user's UUID
@@ -44,6 +77,31 @@ public interface CertificationRepository extends JpaRepository<Certification, UU
      */
     long countByUserId(UUID userId);
 
+    /**
+     * Count certifications for a batch of users
+     * @param userIds the users' UUIDs
+     * @return one row per user that has at least one certification
+     */
+    @Query("SELECT c.user.id AS userId, COUNT(c) AS count FROM Certification c " +
+            "WHERE c.user.id IN :userIds GROUP BY c.user.id")
+    List<UserCount> countByUserIdIn(@Param("userIds") Collection<UUID> userIds);
+
+    /**
+     * Most common certifications among a group of users, excluding ones the given user already has.
+     * Names are compared case-insensitively.
+     * @param userId the user to exclude certifications for
+     * @param peerIds the group of users to aggregate over
+     * @param limit maximum number of certifications
+     * @return certification names with the number of peers who hold them, most common first
+     */
+    @Query("SELECT MIN(c.certificationName) AS name, COUNT(DISTINCT c.user.id) AS count FROM Certification c " +
+            "WHERE c.user.id IN :peerIds AND LOWER(TRIM(c.certificationName)) NOT IN " +
+            "(SELECT LOWER(TRIM(o.certificationName)) FROM Certification o WHERE o.user.id = :userId) " +
+            "GROUP BY LOWER(TRIM(c.certificationName)) ORDER BY COUNT(DISTINCT c.user.id) DESC")
+    List<NameCount> findPopularAmongPeers(@Param("userId") UUID userId,
+                                          @Param("peerIds") Collection<UUID> peerIds,
+                                          Limit limit);
+
     /**
      * Find certification by ID and user ID (for ownership verification)
      * @param id certification UUID
@@ -62,5 +120,7 @@ public interface CertificationRepository extends JpaRepository<Certification, UU
      * Delete all certifications by user ID
      * @param userId the user's UUID
      */
-    void deleteByUserId(UUID userId);
+    @Modifying
+    @Query("DELETE FROM Certification c WHERE c.user.id = :userId")
+    void deleteByUserId(@Param("userId") UUID userId);
 }
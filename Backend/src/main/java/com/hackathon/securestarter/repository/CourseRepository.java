@@ -1,12 +1,19 @@
 package com.hackathon.securestarter.repository;
 
+import com.hackathon.securestarter.dto.projection.CourseStats;
+import com.hackathon.securestarter.dto.projection.NameCount;
+import com.hackathon.securestarter.dto.projection.UserCourseStats;
 import com.hackathon.securestarter.entity.Course;
 import com.hackathon.securestarter.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -39,6 +46,31 @@ public interface CourseRepository extends JpaRepository<Course, UUID> {
      */
     List<Course> findByUserIdOrderByCreatedAtDesc(UUID userId);
 
+    /**
+     * First page of a user's courses, newest first (keyset pagination)
+     * @param userId the user's UUID
+     * @param limit maximum number of rows
+     * @return List of courses ordered by created date then id, descending
+     */
+    @Query("SELECT c FROM Course c WHERE c.user.id = :userId ORDER BY c.createdAt DESC, c.id DESC")
+    List<Course> findFirstPageByUserId(@Param("userId") UUID userId, Limit limit);
+
+    /**
+     * Next page of a user's courses: rows strictly after the given (createdAt, id) position
+     * @param userId the user's UUID
+     * @param createdAt created date of the last row of the previous page
+     * @param id id of the last row of the previous page
+     * @param limit maximum number of rows
+     * @return List of courses ordered by created date then id, descending
+     */
+    @Query("SELECT c FROM Course c WHERE c.user.id = :userId " +
+            "AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) " +
+            "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Course> findPageByUserIdAfter(@Param("userId") UUID userId,
+                                      @Param("createdAt") LocalDateTime createdAt,
+                                      @Param("id") UUID id,
+                                      Limit limit);
+
     /**
      * Count total courses for a user
      * @param userId the user's UUID
@@ -54,6 +86,41 @@ public interface CourseRepository extends JpaRepository<Course, UUID> {
     @Query("SELECT AVG(c.grade) FROM Course c WHERE c.user.id = :userId")
     Double findAverageGradeByUserId(@Param("userId") UUID userId);
 
+    /**
+     * Count, average grade and high-grade count for a user's courses in one query
+     * @param userId the user's UUID
+     * @return CourseStats (count 0 and null average when the user has no courses)
+     */
+    @Query("SELECT new com.hackathon.securestarter.dto.projection.CourseStats(" +
+            "COUNT(c), AVG(c.grade), COALESCE(SUM(CASE WHEN c.grade >= 90 THEN 1 ELSE 0 END), 0)) " +
+            "FROM Course c WHERE c.user.id = :userId")
+    CourseStats findStatsByUserId(@Param("userId") UUID userId);
+
+    /**
+     * Course count and average grade for a batch of users
+     * @param userIds the users' UUIDs
+     * @return one row per user that has at least one course
+     */
+    @Query("SELECT c.user.id AS userId, COUNT(c) AS courseCount, AVG(c.grade) AS averageGrade " +
+            "FROM Course c WHERE c.user.id IN :userIds GROUP BY c.user.id")
+    List<UserCourseStats> findCourseStatsByUserIdIn(@Param("userIds") Collection<UUID> userIds);
+
+    /**
+     * Most common courses among a group of users, excluding courses the given user already has.
+     * Names are compared case-insensitively.
+     * @param userId the user to exclude courses for
+     * @param peerIds the group of users to aggregate over
+     * @param limit maximum number of courses
+     * @return course names with the number of peers who took them, most common first
+     */
+    @Query("SELECT MIN(c.courseName) AS name, COUNT(DISTINCT c.user.id) AS count FROM Course c " +
+            "WHERE c.user.id IN :peerIds AND LOWER(TRIM(c.courseName)) NOT IN " +
+            "(SELECT LOWER(TRIM(o.courseName)) FROM Course o WHERE o.user.id = :userId) " +
+            "GROUP BY LOWER(TRIM(c.courseName)) ORDER BY COUNT(DISTINCT c.user.id) DESC")
+    List<NameCount> findPopularAmongPeers(@Param("userId") UUID userId,
+                                          @Param("peerIds") Collection<UUID> peerIds,
+                                          Limit limit);
+
     /**
      * Find course by ID and user ID (for ownership verification)
      * @param id course UUID
@@ -72,5 +139,7 @@ public interface CourseRepository extends JpaRepository<Course, UUID> {
      * Delete all courses by user ID
      * @param userId the user's UUID
      */
-    void deleteByUserId(UUID userId);
+    @Modifying
+    @Query("DELETE FROM Course c WHERE c.user.id = :userId")
+    void deleteByUserId(@Param("userId") UUID userId);
 }
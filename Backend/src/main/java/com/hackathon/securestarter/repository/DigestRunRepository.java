@@ -0,0 +1,9 @@
+package com.hackathon.securestarter.repository;
+
+import com.hackathon.securestarter.entity.DigestRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DigestRunRepository extends JpaRepository<DigestRun, String> {
+}
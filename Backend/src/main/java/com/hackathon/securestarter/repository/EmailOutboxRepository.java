@@ -0,0 +1,81 @@
+package com.hackathon.securestarter.repository;
+
+import com.hackathon.securestarter.entity.EmailOutbox;
+import com.hackathon.securestarter.enums.EmailStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, UUID> {
+
+    /**
+     * Find pending emails due for a delivery attempt: transactional before bulk, then longest waiting first
+     * @param now current time
+     * @param limit maximum number of emails
+     * @return due emails
+     */
+    @Query("SELECT e FROM EmailOutbox e WHERE e.status = com.hackathon.securestarter.enums.EmailStatus.PENDING " +
+            "AND e.nextAttemptAt <= :now ORDER BY e.priority, e.nextAttemptAt")
+    List<EmailOutbox> findDue(@Param("now") LocalDateTime now, Limit limit);
+
+    long countByStatus(EmailStatus status);
+
+    /**
+     * Mark emails as delivered
+     * @param ids outbox ids
+     * @param sentAt delivery time
+     * @return number of rows updated
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE EmailOutbox e SET e.status = com.hackathon.securestarter.enums.EmailStatus.SENT, " +
+            "e.sentAt = :sentAt, e.attempts = e.attempts + 1, e.lastError = null WHERE e.id IN :ids")
+    int markSent(@Param("ids") Collection<UUID> ids, @Param("sentAt") LocalDateTime sentAt);
+
+    /**
+     * Record a failed delivery attempt
+     * @param id outbox id
+     * @param status PENDING to retry at nextAttemptAt, FAILED to give up
+     * @param attempts attempts made so far
+     * @param nextAttemptAt time of the next attempt
+     * @param lastError reason of the failure
+     * @return number of rows updated
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE EmailOutbox e SET e.status = :status, e.attempts = :attempts, " +
+            "e.nextAttemptAt = :nextAttemptAt, e.lastError = :lastError WHERE e.id = :id")
+    int markAttemptFailed(@Param("id") UUID id, @Param("status") EmailStatus status,
+                          @Param("attempts") int attempts, @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                          @Param("lastError") String lastError);
+
+    /**
+     * Find ids of emails delivered before the cutoff, oldest first
+     * @param cutoff delivery cutoff
+     * @param limit maximum number of ids
+     * @return outbox ids
+     */
+    @Query("SELECT e.id FROM EmailOutbox e WHERE e.status = com.hackathon.securestarter.enums.EmailStatus.SENT " +
+            "AND e.sentAt < :cutoff ORDER BY e.sentAt")
+    List<UUID> findIdsSentBefore(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+    /**
+     * Delete outbox rows by id
+     * @param ids outbox ids
+     * @return number of rows deleted
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM EmailOutbox e WHERE e.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<UUID> ids);
+}
@@ -0,0 +1,57 @@
+package com.hackathon.securestarter.repository;
+
+import com.hackathon.securestarter.entity.JobLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface JobLockRepository extends JpaRepository<JobLock, String> {
+
+    /**
+     * Take over a lease that has expired
+     * @param name job name
+     * @param owner instance taking the lease
+     * @param now current time
+     * @param until new lease end
+     * @return 1 if the lease was taken, 0 if another instance still holds it
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE JobLock l SET l.lockedUntil = :until, l.lockedAt = :now, l.lockedBy = :owner "
+            + "WHERE l.name = :name AND l.lockedUntil <= :now")
+    int acquireExpired(@Param("name") String name, @Param("owner") String owner,
+                       @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+
+    /**
+     * Create a job's lease row, held by the given owner. A plain INSERT: save() would merge into a
+     * row another instance created in the meantime and take over its live lease
+     * @param name job name
+     * @param owner instance taking the lease
+     * @param now current time
+     * @param until lease end
+     * @throws org.springframework.dao.DataIntegrityViolationException if the row already exists
+     */
+    @Modifying
+    @Transactional
+    @Query("INSERT INTO JobLock (name, lockedUntil, lockedAt, lockedBy) VALUES (:name, :until, :now, :owner)")
+    void insert(@Param("name") String name, @Param("owner") String owner,
+                @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+
+    /**
+     * End a lease early, if still held by the given owner
+     * @param name job name
+     * @param owner instance holding the lease
+     * @param now current time
+     * @return 1 if released, 0 if the lease had already passed to another instance
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE JobLock l SET l.lockedUntil = :now WHERE l.name = :name AND l.lockedBy = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,22 @@
+package com.hackathon.securestarter.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.repository.NoRepositoryBean;
+
+import java.util.Optional;
+
+/**
+ * Repository base for entities with a single-attribute Hibernate natural id.
+ * Natural-id lookups go through the session, so they are served from the
+ * second-level natural-id cache when the entity is cached.
+ */
+@NoRepositoryBean
+public interface NaturalIdRepository<T, ID> extends JpaRepository<T, ID> {
+
+    /**
+     * Find entity by its natural id
+     * @param naturalId the natural id value (for a to-one natural id, the target's id)
+     * @return Optional containing the entity if found
+     */
+    Optional<T> findBySimpleNaturalId(Object naturalId);
+}
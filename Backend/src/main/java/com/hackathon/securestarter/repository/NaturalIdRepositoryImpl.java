@@ -0,0 +1,59 @@
+package com.hackathon.securestarter.repository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.mapping.NaturalIdMapping;
+import org.hibernate.metamodel.mapping.internal.ToOneAttributeMapping;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Base class for all repositories, adding natural-id lookups to SimpleJpaRepository.
+ * Registered through @EnableJpaRepositories(repositoryBaseClass = ...) in JpaConfig.
+ */
+public class NaturalIdRepositoryImpl<T, ID> extends SimpleJpaRepository<T, ID> implements NaturalIdRepository<T, ID> {
+
+    private final JpaEntityInformation<T, ?> entityInformation;
+    private final EntityManager entityManager;
+
+    // Target entity type when the natural id is a to-one association, otherwise null
+    private final Class<?> naturalIdTargetType;
+
+    public NaturalIdRepositoryImpl(JpaEntityInformation<T, ?> entityInformation, EntityManager entityManager) {
+        super(entityInformation, entityManager);
+        this.entityInformation = entityInformation;
+        this.entityManager = entityManager;
+        this.naturalIdTargetType = resolveNaturalIdTargetType();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<T> findBySimpleNaturalId(Object naturalId) {
+        Object value = naturalId;
+        if (naturalIdTargetType != null && !naturalIdTargetType.isInstance(naturalId)) {
+            // Hibernate expects the associated entity; a proxy carries the id without a select
+            value = entityManager.getReference(naturalIdTargetType, naturalId);
+        }
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(entityInformation.getJavaType())
+                .loadOptional(value);
+    }
+
+    private Class<?> resolveNaturalIdTargetType() {
+        NaturalIdMapping naturalIdMapping = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(entityInformation.getJavaType())
+                .getNaturalIdMapping();
+
+        if (naturalIdMapping != null && naturalIdMapping.getNaturalIdAttributes().size() == 1
+                && naturalIdMapping.getNaturalIdAttributes().get(0) instanceof ToOneAttributeMapping toOne) {
+            return toOne.getEntityMappingType().getJavaType().getJavaTypeClass();
+        }
+        return null;
+    }
+}
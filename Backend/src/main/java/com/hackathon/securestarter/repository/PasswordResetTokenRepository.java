@@ -2,10 +2,17 @@ package com.hackathon.securestarter.repository;
 
 import com.hackathon.securestarter.entity.PasswordResetToken;
 import com.hackathon.securestarter.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -20,4 +27,31 @@ public interface PasswordResetTokenRepository extends JpaRepository<PasswordRese
 
     void deleteByUser(User user);
 
+    /**
+     * Find ids of tokens that expired before the cutoff, oldest first
+     * @param cutoff expiry cutoff
+     * @param limit maximum number of ids
+     * @return token ids
+     */
+    @Query("SELECT p.id FROM PasswordResetToken p WHERE p.expiryDate < :cutoff ORDER BY p.expiryDate")
+    List<UUID> findIdsExpiredBefore(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+    /**
+     * Find ids of used tokens created before the cutoff, oldest first
+     * @param cutoff creation cutoff
+     * @param limit maximum number of ids
+     * @return token ids
+     */
+    @Query("SELECT p.id FROM PasswordResetToken p WHERE p.isUsed = true AND p.createdAt < :cutoff ORDER BY p.createdAt")
+    List<UUID> findIdsUsedBefore(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+    /**
+     * Delete tokens by id
+     * @param ids token ids
+     * @return number of rows deleted
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM PasswordResetToken p WHERE p.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<UUID> ids);
 }
\ No newline at end of file
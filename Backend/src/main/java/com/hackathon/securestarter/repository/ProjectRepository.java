@@ -1,12 +1,18 @@
 package com.hackathon.securestarter.repository;
 
+import com.hackathon.securestarter.dto.projection.ProjectStats;
+import com.hackathon.securestarter.dto.projection.UserProjectComplexityCount;
 import com.hackathon.securestarter.entity.Project;
 import com.hackathon.securestarter.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -39,6 +45,31 @@ public interface ProjectRepository extends JpaRepository<Project, UUID> {
      */
     List<Project> findByUserIdOrderByCreatedAtDesc(UUID userId);
 
+    /**
+     * First page of a user's projects, newest first (keyset pagination)
+     * @param userId the user's UUID
+     * @param limit maximum number of rows
+     * @return List of projects ordered by created date then id, descending
+     */
+    @Query("SELECT p FROM Project p WHERE p.user.id = :userId ORDER BY p.createdAt DESC, p.id DESC")
+    List<Project> findFirstPageByUserId(@Param("userId") UUID userId, Limit limit);
+
+    /**
+     * Next page of a user's projects: rows strictly after the given (createdAt, id) position
+     * @param userId the user's UUID
+     * @param createdAt created date of the last row of the previous page
+     * @param id id of the last row of the previous page
+     * @param limit maximum number of rows
+     * @return List of projects ordered by created date then id, descending
+     */
+    @Query("SELECT p FROM Project p WHERE p.user.id = :userId " +
+            "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Project> findPageByUserIdAfter(@Param("userId") UUID userId,
+                                      @Param("createdAt") LocalDateTime createdAt,
+                                      @Param("id") UUID id,
+                                      Limit limit);
+
     /**
      * Count total projects for a user
      * @param userId the user's UUID
@@ -54,6 +85,28 @@ public interface ProjectRepository extends JpaRepository<Project, UUID> {
     @Query("SELECT AVG(p.complexityLevel) FROM Project p WHERE p.user.id = :userId")
     Double findAverageComplexityByUserId(@Param("userId") UUID userId);
 
+    /**
+     * Count, average complexity and per-level counts for a user's projects in one query
+     * @param userId the user's UUID
+     * @return ProjectStats (count 0 and null average when the user has no projects)
+     */
+    @Query("SELECT new com.hackathon.securestarter.dto.projection.ProjectStats(" +
+            "COUNT(p), AVG(p.complexityLevel), " +
+            "COALESCE(SUM(CASE WHEN p.complexityLevel = 1 THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN p.complexityLevel = 2 THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN p.complexityLevel = 3 THEN 1 ELSE 0 END), 0)) " +
+            "FROM Project p WHERE p.user.id = :userId")
+    ProjectStats findStatsByUserId(@Param("userId") UUID userId);
+
+    /**
+     * Project counts per complexity level for a batch of users
+     * @param userIds the users' UUIDs
+     * @return one row per (user, complexity level) pair that has projects
+     */
+    @Query("SELECT p.user.id AS userId, p.complexityLevel AS complexityLevel, COUNT(p) AS projectCount " +
+            "FROM Project p WHERE p.user.id IN :userIds GROUP BY p.user.id, p.complexityLevel")
+    List<UserProjectComplexityCount> countByComplexityForUserIdIn(@Param("userIds") Collection<UUID> userIds);
+
     /**
      * Find project by ID and user ID (for ownership verification)
      * @param id project UUID
@@ -80,5 +133,7 @@ public interface ProjectRepository extends JpaRepository<Project, UUID> {
      * Delete all projects by user ID
      * @param userId the user's UUID
      */
-    void deleteByUserId(UUID userId);
+    @Modifying
+    @Query("DELETE FROM Project p WHERE p.user.id = :userId")
+    void deleteByUserId(@Param("userId") UUID userId);
 }
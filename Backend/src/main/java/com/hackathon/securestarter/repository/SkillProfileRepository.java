@@ -1,10 +1,14 @@
 package com.hackathon.securestarter.repository;
 
+import com.hackathon.securestarter.dto.projection.UserSkillMask;
 import com.hackathon.securestarter.entity.SkillProfile;
 import com.hackathon.securestarter.entity.User;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -13,7 +17,7 @@ import java.util.UUID;
  * Provides data access methods for skill profile management.
  */
 @Repository
-public interface SkillProfileRepository extends JpaRepository<SkillProfile, UUID> {
+public interface SkillProfileRepository extends NaturalIdRepository<SkillProfile, UUID> {
 
     /**
      * Find skill profile by user
@@ -23,11 +27,13 @@ public interface SkillProfileRepository extends JpaRepository<SkillProfile, UUID
     Optional<SkillProfile> findByUser(User user);
 
     /**
-     * Find skill profile by user ID
+     * Find skill profile by user ID (natural id, served from the second-level cache when present)
      * @param userId the user's UUID
      * @return Optional containing the skill profile if found
      */
-    Optional<SkillProfile> findByUserId(UUID userId);
+    default Optional<SkillProfile> findByUserId(UUID userId) {
+        return findBySimpleNaturalId(userId);
+    }
 
     /**
      * Check if skill profile exists for user
@@ -36,6 +42,22 @@ public interface SkillProfileRepository extends JpaRepository<SkillProfile, UUID
      */
     boolean existsByUserId(UUID userId);
 
+    /**
+     * Find users whose skill mask contains every skill in the given mask
+     * @param requiredMask mask of required skills (see Skill#bit and Skill#maskOf)
+     * @return List of matching user UUIDs
+     */
+    @Query("SELECT s.user.id FROM SkillProfile s WHERE bitand(s.skillMask, :requiredMask) = :requiredMask")
+    List<UUID> findUserIdsWithAllSkills(@Param("requiredMask") long requiredMask);
+
+    /**
+     * Fetch the skill mask for a batch of users
+     * @param userIds the users' UUIDs
+     * @return one row per user that has a skill profile
+     */
+    @Query("SELECT s.user.id AS userId, s.skillMask AS skillMask FROM SkillProfile s WHERE s.user.id IN :userIds")
+    List<UserSkillMask> findSkillMasksByUserIdIn(@Param("userIds") Collection<UUID> userIds);
+
     /**
      * Delete skill profile by user
      * @param user the user entity
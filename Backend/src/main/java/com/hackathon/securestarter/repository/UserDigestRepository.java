@@ -0,0 +1,11 @@
+package com.hackathon.securestarter.repository;
+
+import com.hackathon.securestarter.entity.UserDigest;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface UserDigestRepository extends JpaRepository<UserDigest, UUID> {
+}
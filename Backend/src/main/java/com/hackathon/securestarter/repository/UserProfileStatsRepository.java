@@ -0,0 +1,62 @@
+package com.hackathon.securestarter.repository;
+
+import com.hackathon.securestarter.dto.projection.OnboardingState;
+import com.hackathon.securestarter.entity.UserProfileStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface UserProfileStatsRepository extends JpaRepository<UserProfileStats, UUID> {
+
+    /**
+     * Read a user's onboarding flags and stats row by primary key
+     * @param userId the user's UUID
+     * @return Optional containing the state if the user exists
+     */
+    @Query("SELECT new com.hackathon.securestarter.dto.projection.OnboardingState("
+            + "u.onboardingCompleted, u.onboardingCompletedAt, s) "
+            + "FROM User u LEFT JOIN UserProfileStats s ON s.userId = u.id WHERE u.id = :userId")
+    Optional<OnboardingState> findOnboardingState(@Param("userId") UUID userId);
+
+    /**
+     * Insert a user's stats row unless one exists (a concurrent insert wins, no error)
+     */
+    @Modifying
+    @Query("INSERT INTO UserProfileStats (userId, hasAcademicProfile, hasCareerProfile, hasSkillProfile, "
+            + "coursesCount, projectsCount, certificationsCount) "
+            + "VALUES (:userId, :academic, :career, :skill, :courses, :projects, :certifications) "
+            + "ON CONFLICT DO NOTHING")
+    void insertIfAbsent(@Param("userId") UUID userId, @Param("academic") boolean academic,
+                        @Param("career") boolean career, @Param("skill") boolean skill,
+                        @Param("courses") int courses, @Param("projects") int projects,
+                        @Param("certifications") int certifications);
+
+    /**
+     * Add to a user's item counters
+     * @return number of rows updated (0 if the user has no stats row yet)
+     */
+    @Modifying
+    @Query("UPDATE UserProfileStats s SET s.coursesCount = s.coursesCount + :courses, "
+            + "s.projectsCount = s.projectsCount + :projects, "
+            + "s.certificationsCount = s.certificationsCount + :certifications WHERE s.userId = :userId")
+    int addCounts(@Param("userId") UUID userId, @Param("courses") int courses,
+                  @Param("projects") int projects, @Param("certifications") int certifications);
+
+    @Modifying
+    @Query("UPDATE UserProfileStats s SET s.hasAcademicProfile = :present WHERE s.userId = :userId")
+    int setHasAcademicProfile(@Param("userId") UUID userId, @Param("present") boolean present);
+
+    @Modifying
+    @Query("UPDATE UserProfileStats s SET s.hasCareerProfile = :present WHERE s.userId = :userId")
+    int setHasCareerProfile(@Param("userId") UUID userId, @Param("present") boolean present);
+
+    @Modifying
+    @Query("UPDATE UserProfileStats s SET s.hasSkillProfile = :present WHERE s.userId = :userId")
+    int setHasSkillProfile(@Param("userId") UUID userId, @Param("present") boolean present);
+}
@@ -1,10 +1,20 @@
 package com.hackathon.securestarter.repository;
 
+import com.hackathon.securestarter.dto.projection.UserAuthState;
+import com.hackathon.securestarter.dto.projection.UserContact;
 import com.hackathon.securestarter.entity.User;
 import com.hackathon.securestarter.enums.AuthProvider;
+import com.hackathon.securestarter.enums.Role;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -19,4 +29,42 @@ public interface UserRepository extends JpaRepository<User, UUID> {
 
     Optional<User> findByEmailAndAuthProvider(String email, AuthProvider authProvider);
 
+    List<User> findByEmailIn(Collection<String> emails);
+
+    @Query("SELECT u.id FROM User u WHERE u.role = :role AND (:after IS NULL OR u.id > :after) ORDER BY u.id")
+    List<UUID> findIdsByRoleAfter(@Param("role") Role role, @Param("after") UUID after, Limit limit);
+
+    @Query("SELECT new com.hackathon.securestarter.dto.projection.UserAuthState(u.id, u.role, u.tokenVersion) "
+            + "FROM User u WHERE u.id = :id")
+    Optional<UserAuthState> findAuthStateById(@Param("id") UUID id);
+
+    /**
+     * Replace a password hash, unless it changed since it was read (e.g. a reset committed meanwhile)
+     * @param id user id
+     * @param oldHash hash that was read
+     * @param passwordHash new hash of the same password
+     * @return 1 if replaced, 0 if the stored hash is no longer oldHash
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.passwordHash = :passwordHash WHERE u.id = :id AND u.passwordHash = :oldHash")
+    int updatePasswordHash(@Param("id") UUID id, @Param("oldHash") String oldHash,
+                           @Param("passwordHash") String passwordHash);
+
+    @Query("SELECT new com.hackathon.securestarter.dto.projection.UserContact(u.id, u.firstName, u.lastName, u.email) "
+            + "FROM User u WHERE u.id IN :ids")
+    List<UserContact> findContactsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Page through verified users of a role who completed onboarding and take the weekly digest, by id
+     * @param role user role
+     * @param after last id of the previous page, or null for the first page
+     * @param limit page size
+     * @return contacts in id order
+     */
+    @Query("SELECT new com.hackathon.securestarter.dto.projection.UserContact(u.id, u.firstName, u.lastName, u.email) "
+            + "FROM User u WHERE u.role = :role AND u.isVerified = true AND u.onboardingCompleted = true "
+            + "AND u.digestOptOut = false AND (:after IS NULL OR u.id > :after) ORDER BY u.id")
+    List<UserContact> findOnboardedContactsAfter(@Param("role") Role role, @Param("after") UUID after, Limit limit);
+
 }
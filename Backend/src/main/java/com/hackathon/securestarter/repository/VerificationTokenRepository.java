@@ -2,10 +2,17 @@ package com.hackathon.securestarter.repository;
 
 import com.hackathon.securestarter.entity.User;
 import com.hackathon.securestarter.entity.VerificationToken;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -20,4 +27,31 @@ public interface VerificationTokenRepository extends JpaRepository<VerificationT
 
     void deleteByUser(User user);
 
+    /**
+     * Find ids of tokens that expired before the cutoff, oldest first
+     * @param cutoff expiry cutoff
+     * @param limit maximum number of ids
+     * @return token ids
+     */
+    @Query("SELECT v.id FROM VerificationToken v WHERE v.expiryDate < :cutoff ORDER BY v.expiryDate")
+    List<UUID> findIdsExpiredBefore(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+    /**
+     * Find ids of used tokens created before the cutoff, oldest first
+     * @param cutoff creation cutoff
+     * @param limit maximum number of ids
+     * @return token ids
+     */
+    @Query("SELECT v.id FROM VerificationToken v WHERE v.isUsed = true AND v.createdAt < :cutoff ORDER BY v.createdAt")
+    List<UUID> findIdsUsedBefore(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+    /**
+     * Delete tokens by id
+     * @param ids token ids
+     * @return number of rows deleted
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM VerificationToken v WHERE v.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<UUID> ids);
 }
\ No newline at end of file
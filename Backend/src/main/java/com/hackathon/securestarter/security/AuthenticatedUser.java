@@ -0,0 +1,18 @@
+package com.hackathon.securestarter.security;
+
+import com.hackathon.securestarter.enums.Role;
+import lombok.Value;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * Principal of a JWT-authenticated request, built from the token's verified claims.
+ * Carries only what controllers need; services load the User entity when they need more.
+ */
+@Value
+public class AuthenticatedUser implements Serializable {
+    UUID id;
+    String email;
+    Role role;
+}
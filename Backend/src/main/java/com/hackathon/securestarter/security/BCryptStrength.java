@@ -0,0 +1,51 @@
+package com.hackathon.securestarter.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+/**
+ * Picks the BCrypt cost (log2 rounds) whose hash time on this machine stays within a target.
+ * Each extra round doubles the work, so a few cheap hashes at a low cost are enough to
+ * extrapolate. The result never goes below MIN_STRENGTH.
+ */
+@Slf4j
+public final class BCryptStrength {
+
+    public static final int MIN_STRENGTH = 10;
+    public static final int MAX_STRENGTH = 16;
+
+    private static final int PROBE_STRENGTH = 6;
+    private static final int PROBE_RUNS = 5;
+
+    private BCryptStrength() {
+    }
+
+    /**
+     * Highest cost whose single hash takes at most the target on this machine
+     * @param targetMillis target hash latency
+     * @return BCrypt strength between MIN_STRENGTH and MAX_STRENGTH
+     */
+    public static int calibrate(long targetMillis) {
+        String salt = BCrypt.gensalt(PROBE_STRENGTH);
+        // First run warms up the JIT and is not counted
+        BCrypt.hashpw("calibration-password", salt);
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < PROBE_RUNS; i++) {
+            long start = System.nanoTime();
+            BCrypt.hashpw("calibration-password", salt);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        int strength = PROBE_STRENGTH;
+        double estimateNanos = best;
+        while (strength < MAX_STRENGTH && estimateNanos * 2 <= targetMillis * 1_000_000.0) {
+            estimateNanos *= 2;
+            strength++;
+        }
+        int chosen = Math.max(MIN_STRENGTH, strength);
+        log.info("BCrypt strength {} chosen for a {} ms target (cost {} measured at {} µs)",
+                chosen, targetMillis, PROBE_STRENGTH, best / 1000);
+        return chosen;
+    }
+}
@@ -0,0 +1,209 @@
+package com.hackathon.securestarter.security;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.oauth2.client.web.AuthorizationRequestRepository;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+import org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.json.JsonMapper;
+
+import javax.crypto.AEADBadTagException;
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Keeps the pending OAuth2 authorization request in a short-lived cookie instead of the HTTP session,
+ * so the Google callback can be completed by any instance behind the load balancer.
+ * The cookie holds the request as JSON encrypted with AES-256-GCM: the GCM tag authenticates it, so a
+ * cookie that was altered, forged or issued under another key is simply treated as missing. The key is
+ * derived from app.security.oauth2.cookie-secret (default: jwt.secret), which every instance must share.
+ * The callback must still carry the state the request was issued with, and the cookie stops being
+ * accepted after cookie-max-age-seconds.
+ */
+@Component
+@Slf4j
+public class HttpCookieOAuth2AuthorizationRequestRepository
+        implements AuthorizationRequestRepository<OAuth2AuthorizationRequest> {
+
+    public static final String COOKIE_NAME = "oauth2_auth_request";
+
+    private static final String CIPHER = "AES/GCM/NoPadding";
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_BITS = 128;
+    private static final TypeReference<Map<String, Object>> PAYLOAD_TYPE = new TypeReference<>() {
+    };
+
+    private final JsonMapper jsonMapper;
+    private final SecretKeySpec key;
+    private final Duration maxAge;
+    private final boolean secure;
+    private final SecureRandom random = new SecureRandom();
+
+    public HttpCookieOAuth2AuthorizationRequestRepository(
+            JsonMapper jsonMapper,
+            @Value("${jwt.secret}") String jwtSecret,
+            @Value("${app.security.oauth2.cookie-secret:}") String cookieSecret,
+            @Value("${app.security.oauth2.cookie-max-age-seconds:300}") long maxAgeSeconds,
+            @Value("${app.security.oauth2.cookie-secure:true}") boolean secure) {
+        this.jsonMapper = jsonMapper;
+        this.key = deriveKey(StringUtils.hasText(cookieSecret) ? cookieSecret : jwtSecret);
+        this.maxAge = Duration.ofSeconds(maxAgeSeconds);
+        this.secure = secure;
+    }
+
+    @Override
+    public OAuth2AuthorizationRequest loadAuthorizationRequest(HttpServletRequest request) {
+        String state = request.getParameter(OAuth2ParameterNames.STATE);
+        if (state == null) {
+            return null;
+        }
+        OAuth2AuthorizationRequest authorizationRequest = readCookie(request);
+        if (authorizationRequest == null || !state.equals(authorizationRequest.getState())) {
+            return null;
+        }
+        return authorizationRequest;
+    }
+
+    @Override
+    public void saveAuthorizationRequest(OAuth2AuthorizationRequest authorizationRequest,
+                                         HttpServletRequest request, HttpServletResponse response) {
+        if (authorizationRequest == null) {
+            deleteCookie(response);
+            return;
+        }
+        ResponseCookie cookie = cookie(encrypt(authorizationRequest), maxAge);
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+
+    @Override
+    public OAuth2AuthorizationRequest removeAuthorizationRequest(HttpServletRequest request,
+                                                                 HttpServletResponse response) {
+        OAuth2AuthorizationRequest authorizationRequest = loadAuthorizationRequest(request);
+        if (authorizationRequest != null) {
+            deleteCookie(response);
+        }
+        return authorizationRequest;
+    }
+
+    private OAuth2AuthorizationRequest readCookie(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                return decrypt(cookie.getValue());
+            }
+        }
+        return null;
+    }
+
+    private void deleteCookie(HttpServletResponse response) {
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie("", Duration.ZERO).toString());
+    }
+
+    private ResponseCookie cookie(String value, Duration cookieMaxAge) {
+        // Lax: the cookie must come back on the top-level redirect from Google to the callback
+        return ResponseCookie.from(COOKIE_NAME, value)
+                .path("/")
+                .httpOnly(true)
+                .secure(secure)
+                .sameSite("Lax")
+                .maxAge(cookieMaxAge)
+                .build();
+    }
+
+    private String encrypt(OAuth2AuthorizationRequest authorizationRequest) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("expiresAt", Instant.now().plus(maxAge).getEpochSecond());
+        payload.put("authorizationUri", authorizationRequest.getAuthorizationUri());
+        payload.put("clientId", authorizationRequest.getClientId());
+        payload.put("redirectUri", authorizationRequest.getRedirectUri());
+        payload.put("scopes", authorizationRequest.getScopes());
+        payload.put("state", authorizationRequest.getState());
+        payload.put("additionalParameters", authorizationRequest.getAdditionalParameters());
+        payload.put("attributes", authorizationRequest.getAttributes());
+        payload.put("authorizationRequestUri", authorizationRequest.getAuthorizationRequestUri());
+
+        try {
+            byte[] iv = new byte[IV_LENGTH];
+            random.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance(CIPHER);
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+            cipher.updateAAD(COOKIE_NAME.getBytes(StandardCharsets.UTF_8));
+            byte[] encrypted = cipher.doFinal(jsonMapper.writeValueAsBytes(payload));
+
+            byte[] value = ByteBuffer.allocate(iv.length + encrypted.length).put(iv).put(encrypted).array();
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(value);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not encrypt OAuth2 authorization request", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private OAuth2AuthorizationRequest decrypt(String value) {
+        Map<String, Object> payload;
+        try {
+            byte[] bytes = Base64.getUrlDecoder().decode(value);
+            if (bytes.length <= IV_LENGTH) {
+                return null;
+            }
+            Cipher cipher = Cipher.getInstance(CIPHER);
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, bytes, 0, IV_LENGTH));
+            cipher.updateAAD(COOKIE_NAME.getBytes(StandardCharsets.UTF_8));
+            byte[] json = cipher.doFinal(bytes, IV_LENGTH, bytes.length - IV_LENGTH);
+            payload = jsonMapper.readValue(json, PAYLOAD_TYPE);
+        } catch (IllegalArgumentException | AEADBadTagException | JacksonException e) {
+            log.debug("Ignoring invalid OAuth2 authorization request cookie: {}", e.getMessage());
+            return null;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not decrypt OAuth2 authorization request", e);
+        }
+
+        if (((Number) payload.get("expiresAt")).longValue() < Instant.now().getEpochSecond()) {
+            log.debug("Ignoring expired OAuth2 authorization request cookie");
+            return null;
+        }
+
+        return OAuth2AuthorizationRequest.authorizationCode()
+                .authorizationUri((String) payload.get("authorizationUri"))
+                .clientId((String) payload.get("clientId"))
+                .redirectUri((String) payload.get("redirectUri"))
+                .scopes(new LinkedHashSet<>((List<String>) payload.get("scopes")))
+                .state((String) payload.get("state"))
+                .additionalParameters((Map<String, Object>) payload.get("additionalParameters"))
+                .attributes((Map<String, Object>) payload.get("attributes"))
+                .authorizationRequestUri((String) payload.get("authorizationRequestUri"))
+                .build();
+    }
+
+    private static SecretKeySpec deriveKey(String secret) {
+        try {
+            // Separate key from the JWT signing key even when both come from jwt.secret
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update("oauth2-authorization-request:".getBytes(StandardCharsets.UTF_8));
+            return new SecretKeySpec(digest.digest(secret.getBytes(StandardCharsets.UTF_8)), "AES");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.hackathon.securestarter.security;
 
+import com.hackathon.securestarter.dto.projection.UserAuthState;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -7,22 +9,31 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
+/**
+ * Authenticates requests carrying a Bearer JWT.
+ * The principal is an AuthenticatedUser built from the verified claims; the only per-user state
+ * checked is the role and token version from UserAuthCache, so a cache hit costs no query.
+ * Tokens issued before the user's current token version are rejected.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final CustomUserDetailsService userDetailsService;
+    private final UserAuthCache userAuthCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -30,23 +41,30 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     FilterChain filterChain) throws ServletException, IOException {
         try {
             String jwt = getJwtFromRequest(request);
+            Claims claims = StringUtils.hasText(jwt) ? jwtService.getValidClaims(jwt) : null;
 
-            if (StringUtils.hasText(jwt) && jwtService.validateToken(jwt)) {
-                String email = jwtService.getEmailFromToken(jwt);
+            if (claims != null) {
+                UUID userId = UUID.fromString(claims.get("userId", String.class));
+                Optional<UserAuthState> state = userAuthCache.get(userId);
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+                if (state.isEmpty()) {
+                    log.debug("Token for unknown user {} ignored", userId);
+                } else if (jwtService.getTokenVersion(claims) != state.get().tokenVersion()) {
+                    log.debug("Revoked token for user {} ignored", userId);
+                } else {
+                    AuthenticatedUser principal = new AuthenticatedUser(userId, claims.getSubject(), state.get().role());
+                    UsernamePasswordAuthenticationToken authentication =
+                            new UsernamePasswordAuthenticationToken(
+                                    principal,
+                                    null,
+                                    List.of(new SimpleGrantedAuthority("ROLE_" + principal.getRole().name()))
+                            );
 
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(
-                                userDetails,
-                                null,
-                                userDetails.getAuthorities()
-                        );
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-                log.debug("Set authentication for user: {}", email);
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                    log.debug("Set authentication for user: {}", principal.getEmail());
+                }
             }
         } catch (Exception ex) {
             log.error("Could not set user authentication in security context", ex);
@@ -67,4 +85,4 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         return null;
     }
-}
\ No newline at end of file
+}
@@ -1,22 +1,41 @@
 package com.hackathon.securestarter.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.hackathon.securestarter.entity.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
 import java.util.UUID;
-
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Issues and verifies JWTs.
+ * Verification uses one shared, thread-safe parser. Claims of tokens that verified are cached
+ * under the token's SHA-256 digest until the token expires (or the cache's TTL cap, whichever
+ * is first), so repeat requests with the same token skip Base64 decoding, JSON parsing and the
+ * HMAC check. Tokens that fail verification are never cached.
+ */
 @Service
 @Slf4j
-public class JwtService {
+public class JwtService implements MeterBinder {
+
+    static final String TOKEN_VERSION_CLAIM = "tokenVersion";
 
     @Value("${jwt.secret}")
     private String jwtSecret;
@@ -24,11 +43,27 @@ public class JwtService {
     @Value("${jwt.expiration-ms:86400000}") // Default: 24 hours
     private long jwtExpirationMs;
 
+    @Value("${app.security.jwt.claims-cache.max-entries:10000}")
+    private long claimsCacheMaxEntries;
+
+    @Value("${app.security.jwt.claims-cache.max-ttl-seconds:900}")
+    private long claimsCacheMaxTtlSeconds;
+
     private SecretKey secretKey;
+    private JwtParser jwtParser;
+    private Cache<ByteBuffer, Claims> verifiedClaims;
 
     @PostConstruct
     public void init() {
         this.secretKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parser()
+                .verifyWith(secretKey)
+                .build();
+        this.verifiedClaims = Caffeine.newBuilder()
+                .maximumSize(claimsCacheMaxEntries)
+                .expireAfter(new UntilTokenExpiry(TimeUnit.SECONDS.toNanos(claimsCacheMaxTtlSeconds)))
+                .recordStats()
+                .build();
         log.info("JWT Service initialized with expiration: {} ms", jwtExpirationMs);
     }
 
@@ -45,6 +80,7 @@ public class JwtService {
                 .claim("role", user.getRole().name())
                 .claim("authProvider", user.getAuthProvider().name())
                 .claim("isVerified", user.getIsVerified())
+                .claim(TOKEN_VERSION_CLAIM, user.getTokenVersion())
                 .issuedAt(now)
                 .expiration(expiryDate)
                 .signWith(secretKey, Jwts.SIG.HS512)
@@ -80,9 +116,26 @@ public class JwtService {
      * Validate JWT token
      */
     public boolean validateToken(String token) {
+        return getValidClaims(token) != null;
+    }
+
+    /**
+     * Verify a JWT token and return its claims, from the verified-claims cache when possible
+     * @return the claims, or null if the token is invalid or expired
+     */
+    public Claims getValidClaims(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        ByteBuffer digest = digest(token);
+        Claims cached = verifiedClaims.getIfPresent(digest);
+        if (cached != null && !isExpired(cached)) {
+            return cached;
+        }
         try {
-            parseToken(token);
-            return true;
+            Claims claims = parseToken(token);
+            verifiedClaims.put(digest, claims);
+            return claims;
         } catch (SignatureException ex) {
             log.error("Invalid JWT signature: {}", ex.getMessage());
         } catch (MalformedJwtException ex) {
@@ -94,7 +147,15 @@ public class JwtService {
         } catch (IllegalArgumentException ex) {
             log.error("JWT claims string is empty: {}", ex.getMessage());
         }
-        return false;
+        return null;
+    }
+
+    /**
+     * Token version a token was issued with (tokens issued before versioning count as version 0)
+     */
+    public int getTokenVersion(Claims claims) {
+        Integer version = claims.get(TOKEN_VERSION_CLAIM, Integer.class);
+        return version != null ? version : 0;
     }
 
     /**
@@ -117,15 +178,58 @@ public class JwtService {
         return claims.getExpiration();
     }
 
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, verifiedClaims, "jwt.claims");
+    }
+
     /**
      * Parse and extract claims from token
      */
     private Claims parseToken(String token) {
-        return Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return jwtParser.parseSignedClaims(token).getPayload();
+    }
+
+    private static boolean isExpired(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return expiration != null && expiration.getTime() <= System.currentTimeMillis();
+    }
+
+    /**
+     * Cache key: the token's SHA-256 digest, so raw tokens are not kept in memory as keys
+     */
+    private static ByteBuffer digest(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Cached claims live until their token expires, capped at the configured TTL
+     */
+    private record UntilTokenExpiry(long maxTtlNanos) implements Expiry<ByteBuffer, Claims> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return maxTtlNanos;
+            }
+            long remaining = TimeUnit.MILLISECONDS.toNanos(expiration.getTime() - System.currentTimeMillis());
+            return Math.max(0, Math.min(remaining, maxTtlNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 
 }
\ No newline at end of file
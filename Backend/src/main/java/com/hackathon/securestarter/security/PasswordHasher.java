@@ -0,0 +1,140 @@
+package com.hackathon.securestarter.security;
+
+import com.hackathon.securestarter.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs password hashing and verification on a small dedicated thread pool.
+ * BCrypt is deliberately CPU-heavy; running it on request threads lets a burst of logins take
+ * every core and stall all other endpoints. Here at most `threads` hashes run at once, up to
+ * `queue-capacity` more wait, and anything beyond that (or waiting longer than max-wait-ms)
+ * is refused with 503 instead of piling up. Queue depth and activity are exported as
+ * password.hashing executor metrics.
+ */
+@Component
+@Slf4j
+public class PasswordHasher implements MeterBinder {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long maxWaitMs;
+    private final AtomicLong rejected = new AtomicLong();
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          @Value("${app.security.password.threads:0}") int threads,
+                          @Value("${app.security.password.queue-capacity:200}") int queueCapacity,
+                          @Value("${app.security.password.max-wait-ms:5000}") long maxWaitMs) {
+        this.passwordEncoder = passwordEncoder;
+        this.maxWaitMs = maxWaitMs;
+
+        // Default: half the cores, so hashing can never take all of them
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        log.info("Password hashing pool: {} threads, queue capacity {}", poolSize, queueCapacity);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Check a raw password against a stored hash
+     * @param rawPassword password as entered
+     * @param encodedPassword stored hash (may be null for accounts without a password)
+     * @return true if the password matches
+     * @throws ServiceUnavailableException if the hashing pool is saturated
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        return run(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Hash a new password with the current algorithm and cost
+     * @param rawPassword password as entered
+     * @return encoded hash
+     * @throws ServiceUnavailableException if the hashing pool is saturated
+     */
+    public String encode(String rawPassword) {
+        return run(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Whether a stored hash uses an older algorithm or a lower cost than new hashes would (cheap, no hashing)
+     * @param encodedPassword stored hash
+     * @return true if it should be replaced after a successful login
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return encodedPassword != null && passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        new ExecutorServiceMetrics(executor, "password.hashing", Tags.empty()).bindTo(registry);
+        FunctionCounter.builder("password.hashing.rejected", rejected, AtomicLong::get)
+                .description("Password hash requests refused because the pool was saturated")
+                .register(registry);
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            throw new ServiceUnavailableException("Too many sign-in attempts in progress, please try again shortly");
+        }
+
+        try {
+            return future.get(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            abandon(future);
+            rejected.incrementAndGet();
+            throw new ServiceUnavailableException("Too many sign-in attempts in progress, please try again shortly");
+        } catch (InterruptedException e) {
+            abandon(future);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Password check interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    /**
+     * Drop a task whose caller stopped waiting. A task still queued is removed, so it neither runs
+     * nor holds a queue slot. One already hashing runs to completion: BCrypt never checks for
+     * interrupts, so cancel(true) cannot stop it and its thread stays busy until the hash is done.
+     */
+    private void abandon(Future<?> future) {
+        future.cancel(true);
+        if (future instanceof Runnable queued) {
+            executor.remove(queued);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.hackathon.securestarter.security;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hackathon.securestarter.dto.projection.UserAuthState;
+import com.hackathon.securestarter.event.UserTokensRevokedEvent;
+import com.hackathon.securestarter.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Short-lived cache of the per-user state JWT authentication checks (role and token version),
+ * so most authenticated requests make no database query. Revocations on this instance evict the
+ * entry once committed; other instances notice within the TTL, which bounds how long a revoked
+ * token or changed role can still be used.
+ */
+@Component
+@Slf4j
+public class UserAuthCache implements MeterBinder {
+
+    private final UserRepository userRepository;
+    private final AsyncCache<UUID, Optional<UserAuthState>> cache;
+
+    public UserAuthCache(UserRepository userRepository,
+                         @Value("${app.security.user-cache.max-entries:10000}") long maxEntries,
+                         @Value("${app.security.user-cache.ttl-seconds:30}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .buildAsync();
+    }
+
+    /**
+     * Get a user's authentication state, loading it on a miss
+     * @param userId the user's UUID
+     * @return Optional containing the state, empty if the user no longer exists
+     */
+    public Optional<UserAuthState> get(UUID userId) {
+        // The query runs after the placeholder is in the cache, not inside the cache's lock: a virtual
+        // thread blocked on JDBC while holding that monitor would pin its carrier thread.
+        // Concurrent misses for the same user wait for this load instead of repeating it.
+        CompletableFuture<Optional<UserAuthState>> placeholder = new CompletableFuture<>();
+        CompletableFuture<Optional<UserAuthState>> state = cache.get(userId, (id, executor) -> placeholder);
+        if (state == placeholder) {
+            try {
+                placeholder.complete(userRepository.findAuthStateById(userId));
+            } catch (RuntimeException e) {
+                // Failed futures are dropped from the cache, so the next request retries
+                placeholder.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return state.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    /**
+     * Drop a user's cached state so the next request re-reads it
+     * @param userId the user's UUID
+     */
+    public void evict(UUID userId) {
+        cache.synchronous().invalidate(userId);
+    }
+
+    @TransactionalEventListener
+    public void onTokensRevoked(UserTokensRevokedEvent event) {
+        evict(event.userId());
+        log.debug("Evicted auth state of user {} after token revocation", event.userId());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "jwt.user-auth");
+    }
+}
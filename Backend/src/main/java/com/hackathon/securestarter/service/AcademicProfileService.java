@@ -4,11 +4,13 @@ import com.hackathon.securestarter.dto.request.AcademicProfileRequest;
 import com.hackathon.securestarter.dto.response.AcademicProfileResponse;
 import com.hackathon.securestarter.entity.AcademicProfile;
 import com.hackathon.securestarter.entity.User;
+import com.hackathon.securestarter.event.UserProfileChangedEvent;
 import com.hackathon.securestarter.exception.ResourceNotFoundException;
 import com.hackathon.securestarter.repository.AcademicProfileRepository;
 import com.hackathon.securestarter.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,6 +26,8 @@ public class AcademicProfileService {
 
     private final AcademicProfileRepository academicProfileRepository;
     private final UserRepository userRepository;
+    private final UserProfileStatsService userProfileStatsService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Get academic profile for a user
@@ -52,14 +56,15 @@ public class AcademicProfileService {
         AcademicProfile profile = academicProfileRepository.findByUserId(userId)
                 .orElse(AcademicProfile.builder().user(user).build());
 
-        // Update fields
-        profile.setEducationLevel(request.getEducationLevel());
-        profile.setCgpaPercentage(request.getCgpaPercentage());
-        profile.setFieldOfStudy(request.getFieldOfStudy());
-        profile.setInstitution(request.getInstitution());
+        applyAcademicProfileRequest(profile, request);
 
+        boolean created = profile.getId() == null;
         AcademicProfile savedProfile = academicProfileRepository.save(profile);
+        if (created) {
+            userProfileStatsService.setHasAcademicProfile(userId, true);
+        }
         log.info("Academic profile saved for user: {}", user.getEmail());
+        eventPublisher.publishEvent(new UserProfileChangedEvent(userId));
 
         return mapToResponse(savedProfile);
     }
@@ -83,26 +88,50 @@ public class AcademicProfileService {
                 .orElseThrow(() -> new ResourceNotFoundException("Academic profile not found"));
         
         academicProfileRepository.delete(profile);
+        userProfileStatsService.setHasAcademicProfile(userId, false);
         log.info("Academic profile deleted for userId: {}", userId);
+        eventPublisher.publishEvent(new UserProfileChangedEvent(userId));
     }
 
     /**
-     * Create academic profile from request (internal use for onboarding)
+     * Create or update academic profile from request (internal use for onboarding).
+     * An existing profile is updated in place rather than deleted and re-inserted.
      * @param user the user entity
      * @param request the profile request
      * @return saved AcademicProfile entity
      */
     @Transactional
-    public AcademicProfile createAcademicProfileEntity(User user, AcademicProfileRequest request) {
-        AcademicProfile profile = AcademicProfile.builder()
-                .user(user)
-                .educationLevel(request.getEducationLevel())
-                .cgpaPercentage(request.getCgpaPercentage())
-                .fieldOfStudy(request.getFieldOfStudy())
-                .institution(request.getInstitution())
-                .build();
+    public AcademicProfile saveAcademicProfileEntity(User user, AcademicProfileRequest request) {
+        AcademicProfile profile = academicProfileRepository.findByUserId(user.getId())
+                .orElseGet(() -> AcademicProfile.builder().user(user).build());
 
-        return academicProfileRepository.save(profile);
+        applyAcademicProfileRequest(profile, request);
+
+        boolean created = profile.getId() == null;
+        AcademicProfile savedProfile = academicProfileRepository.save(profile);
+        if (created) {
+            userProfileStatsService.setHasAcademicProfile(user.getId(), true);
+        }
+        return savedProfile;
+    }
+
+    /**
+     * Build an unsaved academic profile from request (internal use for bulk import of new users)
+     * @param user the user entity
+     * @param request the profile request
+     * @return new AcademicProfile entity, not yet persisted
+     */
+    public AcademicProfile buildAcademicProfileEntity(User user, AcademicProfileRequest request) {
+        AcademicProfile profile = AcademicProfile.builder().user(user).build();
+        applyAcademicProfileRequest(profile, request);
+        return profile;
+    }
+
+    private void applyAcademicProfileRequest(AcademicProfile profile, AcademicProfileRequest request) {
+        profile.setEducationLevel(request.getEducationLevel());
+        profile.setCgpaPercentage(request.getCgpaPercentage());
+        profile.setFieldOfStudy(request.getFieldOfStudy());
+        profile.setInstitution(request.getInstitution());
     }
 
     /**
@@ -4,6 +4,7 @@ import com.hackathon.securestarter.dto.response.CareerPathwayResponse;
 import com.hackathon.securestarter.dto.response.SkillGapAnalysisResponse;
 import com.hackathon.securestarter.entity.CareerProfile;
 import com.hackathon.securestarter.entity.SkillProfile;
+import com.hackathon.securestarter.enums.Skill;
 import com.hackathon.securestarter.exception.ResourceNotFoundException;
 import com.hackathon.securestarter.repository.CareerProfileRepository;
 import com.hackathon.securestarter.repository.SkillProfileRepository;
@@ -102,6 +103,17 @@ public class AnalyticsService {
         SkillProfile skillProfile = skillProfileRepository.findByUserId(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Skill profile not found. Please complete onboarding first."));
 
+        return analyzeSkillGaps(careerProfile, skillProfile);
+    }
+
+    /**
+     * Analyze skill gaps from already loaded profiles (internal use).
+     * Lets callers that need the analysis alongside other data avoid re-reading both profiles.
+     * @param careerProfile the user's career profile
+     * @param skillProfile the user's skill profile
+     * @return SkillGapAnalysisResponse with detailed analysis
+     */
+    public SkillGapAnalysisResponse analyzeSkillGaps(CareerProfile careerProfile, SkillProfile skillProfile) {
         String industrySector = careerProfile.getIndustrySector();
         String targetRole = careerProfile.getTargetJobRole();
 
@@ -188,6 +200,23 @@ public class AnalyticsService {
                 .build();
     }
 
+    /**
+     * Mask of the skills required for a role (internal use for cohort analytics)
+     * @param industrySector the industry sector
+     * @param targetRole the target job role
+     * @return mask of required skills, see Skill#bit
+     */
+    public long getRequiredSkillMask(String industrySector, String targetRole) {
+        long mask = 0L;
+        for (String name : getRequiredSkillsForRole(industrySector, targetRole)) {
+            Skill skill = Skill.fromDisplayName(name);
+            if (skill != null) {
+                mask |= skill.bit();
+            }
+        }
+        return mask;
+    }
+
     /**
      * Get required skills for a specific role
      */
@@ -11,21 +11,21 @@ import com.hackathon.securestarter.entity.User;
 import com.hackathon.securestarter.entity.VerificationToken;
 import com.hackathon.securestarter.enums.AuthProvider;
 import com.hackathon.securestarter.enums.Role;
+import com.hackathon.securestarter.event.UserTokensRevokedEvent;
 import com.hackathon.securestarter.exception.BadRequestException;
 import com.hackathon.securestarter.exception.ResourceNotFoundException;
 import com.hackathon.securestarter.repository.PasswordResetTokenRepository;
 import com.hackathon.securestarter.repository.UserRepository;
 import com.hackathon.securestarter.repository.VerificationTokenRepository;
 import com.hackathon.securestarter.security.JwtService;
+import com.hackathon.securestarter.security.PasswordHasher;
 import com.hackathon.securestarter.util.Constants;
 import com.hackathon.securestarter.util.TokenGenerator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -39,11 +39,12 @@ public class AuthService {
     private final UserRepository userRepository;
     private final VerificationTokenRepository verificationTokenRepository;
     private final PasswordResetTokenRepository passwordResetTokenRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final JwtService jwtService;
-    private final AuthenticationManager authenticationManager;
     private final TokenGenerator tokenGenerator;
     private final EmailService emailService;
+    private final UserProfileStatsService userProfileStatsService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Register new user
@@ -58,7 +59,7 @@ public class AuthService {
         // Create new user
         User user = User.builder()
                 .email(request.getEmail().toLowerCase())
-                .passwordHash(passwordEncoder.encode(request.getPassword()))
+                .passwordHash(passwordHasher.encode(request.getPassword()))
                 .firstName(request.getFirstName())
                 .lastName(request.getLastName())
                 .role(Role.USER)
@@ -67,6 +68,7 @@ public class AuthService {
                 .build();
 
         User savedUser = userRepository.save(user);
+        userProfileStatsService.createEmptyStats(savedUser.getId());
         log.info("New user registered: {}", savedUser.getEmail());
 
         // Create verification token
@@ -79,14 +81,16 @@ public class AuthService {
 
         verificationTokenRepository.save(verificationToken);
 
-        // Send verification email
+        // Queue verification email; it is sent once the signup commits
         emailService.sendVerificationEmail(savedUser.getEmail(), token);
 
         return MessageResponse.success(Constants.SIGNUP_SUCCESS);
     }
 
     /**
-     * Login user
+     * Login user.
+     * The user is read once; the password check runs on the bounded hashing pool, and a hash
+     * stored with an older algorithm or lower cost is replaced after a successful check.
      */
     public AuthResponse login(LoginRequest request) {
         // Find user first to check auth provider
@@ -101,19 +105,25 @@ public class AuthService {
             );
         }
 
-        // Proceed with normal authentication
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        request.getEmail().toLowerCase(),
-                        request.getPassword()
-                )
-        );
+        // Unverified accounts are refused before any hashing work
+        if (!user.isEnabled()) {
+            throw new DisabledException(Constants.ACCOUNT_NOT_VERIFIED);
+        }
 
-        SecurityContextHolder.getContext().setAuthentication(authentication);
+        // Check the password against the user already loaded
+        if (!passwordHasher.matches(request.getPassword(), user.getPasswordHash())) {
+            throw new BadCredentialsException(Constants.INVALID_CREDENTIALS);
+        }
 
-        // Check if account is verified
-        if (!user.getIsVerified()) {
-            throw new BadRequestException(Constants.ACCOUNT_NOT_VERIFIED);
+        if (passwordHasher.needsRehash(user.getPasswordHash())) {
+            // Conditional on the hash just checked: a password change committed while this
+            // login was hashing must not be overwritten with the old password
+            String newHash = passwordHasher.encode(request.getPassword());
+            if (userRepository.updatePasswordHash(user.getId(), user.getPasswordHash(), newHash) == 1) {
+                log.info("Password hash upgraded for user: {}", user.getEmail());
+            } else {
+                log.debug("Password hash upgrade skipped for user {}: password changed meanwhile", user.getEmail());
+            }
         }
 
         // Generate JWT token
@@ -161,7 +171,7 @@ public class AuthService {
 
         log.info("Email verified for user: {}", user.getEmail());
 
-        // Send welcome email
+        // Queue welcome email
         emailService.sendWelcomeEmail(user.getEmail(), user.getFirstName());
 
         return MessageResponse.success(Constants.VERIFICATION_SUCCESS);
@@ -185,7 +195,7 @@ public class AuthService {
 
         passwordResetTokenRepository.save(resetToken);
 
-        // Send reset email
+        // Queue reset email
         emailService.sendPasswordResetEmail(user.getEmail(), token);
 
         log.info("Password reset requested for user: {}", user.getEmail());
@@ -215,12 +225,15 @@ public class AuthService {
         User user = resetToken.getUser();
 
         // 🚫 NEW CHECK: old password cannot be reused
-        if (passwordEncoder.matches(request.getNewPassword(), user.getPasswordHash())) {
+        if (passwordHasher.matches(request.getNewPassword(), user.getPasswordHash())) {
             throw new BadRequestException(Constants.PASSWORD_CANNOT_BE_SAME_AS_OLD);
         }
 
-        user.setPasswordHash(passwordEncoder.encode(request.getNewPassword()));
+        user.setPasswordHash(passwordHasher.encode(request.getNewPassword()));
+        // Tokens issued before the reset (possibly to whoever knew the old password) stop working
+        user.setTokenVersion(user.getTokenVersion() + 1);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserTokensRevokedEvent(user.getId()));
 
         // Mark token as used
         resetToken.setIsUsed(true);
@@ -4,11 +4,13 @@ import com.hackathon.securestarter.dto.request.CareerProfileRequest;
 import com.hackathon.securestarter.dto.response.CareerProfileResponse;
 import com.hackathon.securestarter.entity.CareerProfile;
 import com.hackathon.securestarter.entity.User;
+import com.hackathon.securestarter.event.UserProfileChangedEvent;
 import com.hackathon.securestarter.exception.ResourceNotFoundException;
 import com.hackathon.securestarter.repository.CareerProfileRepository;
 import com.hackathon.securestarter.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,6 +26,8 @@ public class CareerProfileService {
 
     private final CareerProfileRepository careerProfileRepository;
     private final UserRepository userRepository;
+    private final UserProfileStatsService userProfileStatsService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Get career profile for a user
@@ -52,13 +56,15 @@ public class CareerProfileService {
         CareerProfile profile = careerProfileRepository.findByUserId(userId)
                 .orElse(CareerProfile.builder().user(user).build());
 
-        // Update fields
-        profile.setIndustrySector(request.getIndustrySector());
-        profile.setTargetJobRole(request.getTargetJobRole());
-        profile.setCareerGoals(request.getCareerGoals());
+        applyCareerProfileRequest(profile, request);
 
+        boolean created = profile.getId() == null;
         CareerProfile savedProfile = careerProfileRepository.save(profile);
+        if (created) {
+            userProfileStatsService.setHasCareerProfile(userId, true);
+        }
         log.info("Career profile saved for user: {}", user.getEmail());
+        eventPublisher.publishEvent(new UserProfileChangedEvent(userId));
 
         return mapToResponse(savedProfile);
     }
@@ -82,25 +88,43 @@ public class CareerProfileService {
                 .orElseThrow(() -> new ResourceNotFoundException("Career profile not found"));
         
         careerProfileRepository.delete(profile);
+        userProfileStatsService.setHasCareerProfile(userId, false);
         log.info("Career profile deleted for userId: {}", userId);
+        eventPublisher.publishEvent(new UserProfileChangedEvent(userId));
     }
 
     /**
-     * Create career profile from request (internal use for onboarding)
+     * Create or update career profile from request (internal use for onboarding).
+     * An existing profile is updated in place rather than deleted and re-inserted.
      * @param user the user entity
      * @param request the profile request
      * @return saved CareerProfile entity
      */
     @Transactional
-    public CareerProfile createCareerProfileEntity(User user, CareerProfileRequest request) {
-        CareerProfile profile = CareerProfile.builder()
-                .user(user)
-                .industrySector(request.getIndustrySector())
-                .targetJobRole(request.getTargetJobRole())
-                .careerGoals(request.getCareerGoals())
-                .build();
+    public CareerProfile saveCareerProfileEntity(User user, CareerProfileRequest request) {
+        CareerProfile profile = careerProfileRepository.findByUserId(user.getId())
+                .orElseGet(() -> CareerProfile.builder().user(user).build());
+
+        applyCareerProfileRequest(profile, request);
 
-        return careerProfileRepository.save(profile);
+        boolean created = profile.getId() == null;
+        CareerProfile savedProfile = careerProfileRepository.save(profile);
+        if (created) {
+            userProfileStatsService.setHasCareerProfile(user.getId(), true);
+        }
+        return savedProfile;
+    }
+
+    /**
+     * Build an unsaved career profile from request (internal use for bulk import of new users)
+     * @param user the user entity
+     * @param request the profile request
+     * @return new CareerProfile entity, not yet persisted
+     */
+    public CareerProfile buildCareerProfileEntity(User user, CareerProfileRequest request) {
+        CareerProfile profile = CareerProfile.builder().user(user).build();
+        applyCareerProfileRequest(profile, request);
+        return profile;
     }
 
     /**
@@ -112,6 +136,12 @@ public class CareerProfileService {
         return careerProfileRepository.findByUserId(userId).orElse(null);
     }
 
+    private void applyCareerProfileRequest(CareerProfile profile, CareerProfileRequest request) {
+        profile.setIndustrySector(request.getIndustrySector());
+        profile.setTargetJobRole(request.getTargetJobRole());
+        profile.setCareerGoals(request.getCareerGoals());
+    }
+
     /**
      * Map entity to response DTO
      */
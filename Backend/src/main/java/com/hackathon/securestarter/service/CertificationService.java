@@ -3,19 +3,26 @@ package com.hackathon.securestarter.service;
 import com.hackathon.securestarter.dto.request.CertificationRequest;
 import com.hackathon.securestarter.dto.response.CertificationListResponse;
 import com.hackathon.securestarter.dto.response.CertificationResponse;
+import com.hackathon.securestarter.dto.response.CursorPageResponse;
 import com.hackathon.securestarter.entity.Certification;
 import com.hackathon.securestarter.entity.User;
+import com.hackathon.securestarter.event.UserProfileChangedEvent;
 import com.hackathon.securestarter.exception.ResourceNotFoundException;
 import com.hackathon.securestarter.repository.CertificationRepository;
 import com.hackathon.securestarter.repository.UserRepository;
+import com.hackathon.securestarter.util.EntityDiff;
+import com.hackathon.securestarter.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -28,6 +35,8 @@ public class CertificationService {
 
     private final CertificationRepository certificationRepository;
     private final UserRepository userRepository;
+    private final UserProfileStatsService userProfileStatsService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Get all certifications for a user with statistics
@@ -48,6 +57,45 @@ public class CertificationService {
                 .build();
     }
 
+    /**
+     * Get one page of a user's certifications, newest first
+     * @param userId the user's UUID
+     * @param cursor nextCursor from the previous page, or null for the first page
+     * @param size page size (defaults to {@link KeysetCursor#DEFAULT_PAGE_SIZE})
+     * @return CursorPageResponse of CertificationResponse
+     */
+    public CursorPageResponse<CertificationResponse> getUserCertificationsPage(UUID userId, String cursor, Integer size) {
+        int pageSize = KeysetCursor.pageSize(size);
+        List<Certification> rows = findCertificationsPage(userId, KeysetCursor.decode(cursor), pageSize + 1);
+        return KeysetCursor.toPage(rows, pageSize, this::mapToResponse,
+                certification -> new KeysetCursor(certification.getCreatedAt(), certification.getId()));
+    }
+
+    /**
+     * Stream all of a user's certifications, newest first, one bounded page at a time
+     * @param userId the user's UUID
+     * @param sink receives each certification in order
+     */
+    public void exportUserCertifications(UUID userId, Consumer<? super CertificationResponse> sink) {
+        KeysetCursor after = null;
+        List<Certification> rows;
+        do {
+            rows = findCertificationsPage(userId, after, KeysetCursor.EXPORT_BATCH_SIZE);
+            rows.forEach(certification -> sink.accept(mapToResponse(certification)));
+            if (!rows.isEmpty()) {
+                Certification last = rows.get(rows.size() - 1);
+                after = new KeysetCursor(last.getCreatedAt(), last.getId());
+            }
+        } while (rows.size() == KeysetCursor.EXPORT_BATCH_SIZE);
+    }
+
+    private List<Certification> findCertificationsPage(UUID userId, KeysetCursor after, int limit) {
+        if (after == null) {
+            return certificationRepository.findFirstPageByUserId(userId, Limit.of(limit));
+        }
+        return certificationRepository.findPageByUserIdAfter(userId, after.createdAt(), after.id(), Limit.of(limit));
+    }
+
     /**
      * Add a new certification for a user
      * @param userId the user's UUID
@@ -65,7 +113,9 @@ public class CertificationService {
                 .build();
 
         Certification savedCertification = certificationRepository.save(certification);
+        userProfileStatsService.addCounts(userId, 0, 0, 1);
         log.info("Certification added for user: {} - {}", user.getEmail(), certification.getCertificationName());
+        eventPublisher.publishEvent(new UserProfileChangedEvent(userId));
 
         return mapToResponse(savedCertification);
     }
@@ -81,7 +131,9 @@ public class CertificationService {
                 .orElseThrow(() -> new ResourceNotFoundException("Certification not found or not owned by user"));
 
         certificationRepository.delete(certification);
+        userProfileStatsService.addCounts(userId, 0, 0, -1);
         log.info("Certification deleted: {}", certification.getCertificationName());
+        eventPublisher.publishEvent(new UserProfileChangedEvent(userId));
     }
 
     /**
@@ -110,25 +162,49 @@ public class CertificationService {
      */
     @Transactional
     public Certification createCertificationEntity(User user, CertificationRequest request) {
-        Certification certification = Certification.builder()
+        Certification savedCertification = certificationRepository.save(buildCertificationEntity(user, request));
+        userProfileStatsService.addCounts(user.getId(), 0, 0, 1);
+        return savedCertification;
+    }
+
+    /**
+     * Build an unsaved certification from request (internal use for onboarding and bulk import)
+     * @param user the user entity
+     * @param request the certification request
+     * @return new Certification entity, not yet persisted
+     */
+    public Certification buildCertificationEntity(User user, CertificationRequest request) {
+        return Certification.builder()
                 .user(user)
                 .certificationName(request.getCertificationName())
                 .build();
-
-        return certificationRepository.save(certification);
     }
 
     /**
-     * Create multiple certifications for onboarding
+     * Replace a user's certifications with a resubmitted list (onboarding).
+     * Rows are matched by name: matches are updated in place (only changed rows are written),
+     * new items are inserted and unmatched rows are removed with one bulk delete.
      * @param user the user entity
-     * @param requests list of certification requests
-     * @return list of saved certifications
+     * @param requests the full list of certifications the user should end up with
      */
     @Transactional
-    public List<Certification> createCertificationsForUser(User user, List<CertificationRequest> requests) {
-        return requests.stream()
-                .map(req -> createCertificationEntity(user, req))
-                .collect(Collectors.toList());
+    public void syncCertificationsForUser(User user, List<CertificationRequest> requests) {
+        EntityDiff<Certification, CertificationRequest> diff = EntityDiff.of(
+                certificationRepository.findByUserId(user.getId()), requests,
+                certification -> EntityDiff.nameKey(certification.getCertificationName()),
+                request -> EntityDiff.nameKey(request.getCertificationName()));
+
+        // Certifications only carry a name, so matched rows are already up to date
+        certificationRepository.saveAll(diff.added().stream()
+                .map(request -> buildCertificationEntity(user, request))
+                .toList());
+
+        if (!diff.removed().isEmpty()) {
+            certificationRepository.deleteAllByIdInBatch(diff.removed().stream().map(Certification::getId).toList());
+        }
+        userProfileStatsService.addCounts(user.getId(), 0, 0, diff.added().size() - diff.removed().size());
+        log.info("Synced certifications for user: {} ({} kept, {} added, {} removed)", user.getEmail(),
+                diff.matched().size(), diff.added().size(), diff.removed().size());
     }
 
     /**
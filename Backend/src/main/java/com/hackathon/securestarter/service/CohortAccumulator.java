@@ -0,0 +1,134 @@
+package com.hackathon.securestarter.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.ToLongBiFunction;
+
+/**
+ * Mergeable counters for cohort analytics.
+ * Memory is bounded by the number of distinct sectors and roles, not by the number of
+ * students, so partial results from parallel tasks can be combined cheaply.
+ * Not thread-safe: each task fills its own instance and results are merged afterwards.
+ */
+class CohortAccumulator {
+
+    static final String UNSPECIFIED_SECTOR = "Unspecified";
+
+    static final int GRADE_BUCKETS = 10;
+
+    final GroupStats overall = new GroupStats();
+    final Map<String, GroupStats> sectors = new HashMap<>();
+
+    // (industrySector, targetJobRole) -> mask of the role's required skills
+    private final ToLongBiFunction<String, String> requiredSkills;
+
+    CohortAccumulator(ToLongBiFunction<String, String> requiredSkills) {
+        this.requiredSkills = requiredSkills;
+    }
+
+    /**
+     * Counters for one group of students (overall or one sector).
+     */
+    static class GroupStats {
+        long students;
+        long withSkillProfile;
+        final long[] skillCounts = new long[Long.SIZE]; // indexed by Skill#getBitIndex
+        final long[] readinessCounts = new long[101]; // exact, readiness is an integer 0-100
+        final long[] gradeBuckets = new long[GRADE_BUCKETS];
+        final Map<String, RoleStats> roles = new HashMap<>();
+
+        void add(Long skillMask, int readiness, Double averageGrade) {
+            students++;
+            readinessCounts[Math.min(100, Math.max(0, readiness))]++;
+            if (skillMask != null) {
+                withSkillProfile++;
+                addSkills(skillCounts, skillMask);
+            }
+            if (averageGrade != null) {
+                gradeBuckets[Math.min(GRADE_BUCKETS - 1, Math.max(0, (int) (averageGrade / 10)))]++;
+            }
+        }
+
+        void merge(GroupStats other) {
+            students += other.students;
+            withSkillProfile += other.withSkillProfile;
+            addAll(skillCounts, other.skillCounts);
+            addAll(readinessCounts, other.readinessCounts);
+            addAll(gradeBuckets, other.gradeBuckets);
+            other.roles.forEach((role, stats) -> roles.merge(role, stats, RoleStats::merge));
+        }
+    }
+
+    /**
+     * Counters for students targeting one job role within a sector.
+     */
+    static class RoleStats {
+        final long requiredMask;
+        long students;
+        long withSkillProfile;
+        long withAllRequired;
+        long readinessSum;
+        final long[] skillCounts = new long[Long.SIZE]; // indexed by Skill#getBitIndex
+
+        RoleStats(long requiredMask) {
+            this.requiredMask = requiredMask;
+        }
+
+        void add(Long skillMask, int readiness) {
+            students++;
+            readinessSum += readiness;
+            if (skillMask != null) {
+                withSkillProfile++;
+                addSkills(skillCounts, skillMask);
+                if ((skillMask & requiredMask) == requiredMask) {
+                    withAllRequired++;
+                }
+            }
+        }
+
+        RoleStats merge(RoleStats other) {
+            students += other.students;
+            withSkillProfile += other.withSkillProfile;
+            withAllRequired += other.withAllRequired;
+            readinessSum += other.readinessSum;
+            addAll(skillCounts, other.skillCounts);
+            return this;
+        }
+    }
+
+    /**
+     * Count one student
+     */
+    void add(ProfileSnapshotService.ProfileSnapshot snapshot, int readiness) {
+        overall.add(snapshot.skillMask(), readiness, snapshot.averageGrade());
+
+        String sector = snapshot.industrySector() != null ? snapshot.industrySector() : UNSPECIFIED_SECTOR;
+        GroupStats sectorStats = sectors.computeIfAbsent(sector, s -> new GroupStats());
+        sectorStats.add(snapshot.skillMask(), readiness, snapshot.averageGrade());
+
+        // Roles are only meaningful within a known sector
+        if (snapshot.industrySector() != null && snapshot.targetJobRole() != null && !snapshot.targetJobRole().isBlank()) {
+            sectorStats.roles.computeIfAbsent(snapshot.targetJobRole().trim(),
+                            role -> new RoleStats(requiredSkills.applyAsLong(sector, role)))
+                    .add(snapshot.skillMask(), readiness);
+        }
+    }
+
+    CohortAccumulator merge(CohortAccumulator other) {
+        overall.merge(other.overall);
+        other.sectors.forEach((sector, stats) -> sectors.computeIfAbsent(sector, s -> new GroupStats()).merge(stats));
+        return this;
+    }
+
+    private static void addSkills(long[] skillCounts, long skillMask) {
+        for (long remaining = skillMask; remaining != 0; remaining &= remaining - 1) {
+            skillCounts[Long.numberOfTrailingZeros(remaining)]++;
+        }
+    }
+
+    private static void addAll(long[] target, long[] source) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] += source[i];
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package com.hackathon.securestarter.service;
+
+import com.hackathon.securestarter.dto.response.CohortAnalyticsResponse;
+import com.hackathon.securestarter.enums.Role;
+import com.hackathon.securestarter.enums.Skill;
+import com.hackathon.securestarter.enums.SkillCategory;
+import com.hackathon.securestarter.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Service for admin cohort analytics.
+ * Scans all students in keyset-ordered pages of user ids, loads each page as compact
+ * profile snapshots and aggregates it on a fork-join pool while the next page is read,
+ * so at most two pages are in memory regardless of cohort size. The result is cached
+ * and recomputed on a schedule; requests are served from the cache.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CohortAnalyticsService {
+
+    // Snapshots per fork-join leaf task
+    private static final int LEAF_SIZE = 256;
+
+    private static final long ALL_SKILLS = Skill.maskOf(EnumSet.allOf(Skill.class));
+
+    private final UserRepository userRepository;
+    private final ProfileSnapshotService profileSnapshotService;
+    private final DashboardService dashboardService;
+    private final AnalyticsService analyticsService;
+
+    private final ForkJoinPool aggregationPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    // Not synchronized: a virtual thread holding a monitor through the whole scan would pin its carrier
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private volatile CohortAnalyticsResponse cached;
+
+    @Value("${app.analytics.page-size:1000}")
+    private int pageSize;
+
+    /**
+     * Get the latest cohort analytics, computing them on first use
+     * @return CohortAnalyticsResponse
+     */
+    public CohortAnalyticsResponse getCohortAnalytics() {
+        CohortAnalyticsResponse current = cached;
+        if (current != null) {
+            return current;
+        }
+        refreshLock.lock();
+        try {
+            // Requests that queued behind the first computation use its result instead of scanning again
+            current = cached;
+            return current != null ? current : refresh();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Recompute cohort analytics and replace the cached result
+     * @return the fresh CohortAnalyticsResponse
+     */
+    @Scheduled(initialDelayString = "${app.analytics.initial-delay-ms:60000}",
+            fixedDelayString = "${app.analytics.refresh-interval-ms:900000}")
+    public CohortAnalyticsResponse refresh() {
+        refreshLock.lock();
+        try {
+            long start = System.currentTimeMillis();
+            CohortAccumulator totals = scan();
+            long elapsed = System.currentTimeMillis() - start;
+
+            cached = mapToResponse(totals, elapsed);
+            log.info("Cohort analytics refreshed for {} students in {} ms", totals.overall.students, elapsed);
+            return cached;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        aggregationPool.shutdownNow();
+    }
+
+    /**
+     * Page through students by id, aggregating each page while the next one loads
+     */
+    private CohortAccumulator scan() {
+        CohortAccumulator totals = newAccumulator();
+        ForkJoinTask<CohortAccumulator> inFlight = null;
+
+        UUID after = null;
+        List<UUID> userIds;
+        do {
+            userIds = userRepository.findIdsByRoleAfter(Role.USER, after, Limit.of(pageSize));
+            if (userIds.isEmpty()) {
+                break;
+            }
+            after = userIds.get(userIds.size() - 1);
+            List<ProfileSnapshotService.ProfileSnapshot> page = profileSnapshotService.loadSnapshots(userIds);
+
+            if (inFlight != null) {
+                totals.merge(inFlight.join());
+            }
+            inFlight = aggregationPool.submit(new AggregateTask(page, 0, page.size()));
+        } while (userIds.size() == pageSize);
+
+        if (inFlight != null) {
+            totals.merge(inFlight.join());
+        }
+        return totals;
+    }
+
+    private CohortAccumulator newAccumulator() {
+        return new CohortAccumulator(analyticsService::getRequiredSkillMask);
+    }
+
+    /**
+     * Splits a page of snapshots until slices are small enough to count directly
+     */
+    private class AggregateTask extends RecursiveTask<CohortAccumulator> {
+
+        private final List<ProfileSnapshotService.ProfileSnapshot> snapshots;
+        private final int from;
+        private final int to;
+
+        AggregateTask(List<ProfileSnapshotService.ProfileSnapshot> snapshots, int from, int to) {
+            this.snapshots = snapshots;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected CohortAccumulator compute() {
+            if (to - from <= LEAF_SIZE) {
+                CohortAccumulator accumulator = newAccumulator();
+                for (int i = from; i < to; i++) {
+                    ProfileSnapshotService.ProfileSnapshot snapshot = snapshots.get(i);
+                    accumulator.add(snapshot, dashboardService.calculateReadinessScore(snapshot));
+                }
+                return accumulator;
+            }
+            int mid = (from + to) >>> 1;
+            AggregateTask left = new AggregateTask(snapshots, from, mid);
+            left.fork();
+            CohortAccumulator right = new AggregateTask(snapshots, mid, to).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    private CohortAnalyticsResponse mapToResponse(CohortAccumulator totals, long elapsedMs) {
+        List<CohortAnalyticsResponse.CohortSummary> sectors = totals.sectors.entrySet().stream()
+                .sorted(Map.Entry.<String, CohortAccumulator.GroupStats>comparingByValue(
+                        Comparator.comparingLong(stats -> stats.students)).reversed())
+                .map(entry -> mapToCohortSummary(entry.getKey(), entry.getValue(), reportedSkills(entry.getKey())))
+                .toList();
+
+        return CohortAnalyticsResponse.builder()
+                .generatedAt(LocalDateTime.now())
+                .computeTimeMs(elapsedMs)
+                .overall(mapToCohortSummary("All Students", totals.overall, ALL_SKILLS))
+                .sectors(sectors)
+                .build();
+    }
+
+    /**
+     * Sector's domain and soft skills; every skill for sectors without a domain category
+     */
+    private static long reportedSkills(String industrySector) {
+        return SkillCategory.forSector(industrySector) != null ? Skill.relevantMask(industrySector) : ALL_SKILLS;
+    }
+
+    private CohortAnalyticsResponse.CohortSummary mapToCohortSummary(String name, CohortAccumulator.GroupStats stats,
+                                                                     long skillsToReport) {
+        List<CohortAnalyticsResponse.RoleSummary> roles = stats.roles.entrySet().stream()
+                .sorted(Map.Entry.<String, CohortAccumulator.RoleStats>comparingByValue(
+                        Comparator.comparingLong(role -> role.students)).reversed())
+                .map(entry -> mapToRoleSummary(entry.getKey(), entry.getValue()))
+                .toList();
+
+        return CohortAnalyticsResponse.CohortSummary.builder()
+                .name(name)
+                .studentCount(stats.students)
+                .studentsWithSkillProfile(stats.withSkillProfile)
+                .skillCoverage(mapToSkillCoverage(stats.skillCounts, stats.withSkillProfile, skillsToReport))
+                .readiness(mapToDistribution(stats.readinessCounts, stats.students))
+                .averageGradeHistogram(mapToGradeHistogram(stats.gradeBuckets))
+                .roles(roles)
+                .build();
+    }
+
+    private CohortAnalyticsResponse.RoleSummary mapToRoleSummary(String role, CohortAccumulator.RoleStats stats) {
+        return CohortAnalyticsResponse.RoleSummary.builder()
+                .targetJobRole(role)
+                .studentCount(stats.students)
+                .averageReadiness(stats.students == 0 ? null : round((double) stats.readinessSum / stats.students))
+                .studentsWithAllRequiredSkills(stats.withAllRequired)
+                .requiredSkillCoverage(mapToSkillCoverage(stats.skillCounts, stats.withSkillProfile, stats.requiredMask))
+                .build();
+    }
+
+    /**
+     * Coverage of each reported skill, lowest coverage (biggest gap) first
+     */
+    private List<CohortAnalyticsResponse.SkillCoverage> mapToSkillCoverage(long[] skillCounts, long population, long skills) {
+        List<CohortAnalyticsResponse.SkillCoverage> coverage = new ArrayList<>();
+        for (Skill skill : Skill.values()) {
+            if ((skills & skill.bit()) == 0) {
+                continue;
+            }
+            long count = skillCounts[skill.getBitIndex()];
+            double percentage = population == 0 ? 0.0 : round(count * 100.0 / population);
+            coverage.add(CohortAnalyticsResponse.SkillCoverage.builder()
+                    .skill(skill.getDisplayName())
+                    .studentsWithSkill(count)
+                    .coveragePercentage(percentage)
+                    .missingPercentage(population == 0 ? 0.0 : round(100.0 - percentage))
+                    .build());
+        }
+        coverage.sort(Comparator.comparingDouble(CohortAnalyticsResponse.SkillCoverage::getCoveragePercentage));
+        return coverage;
+    }
+
+    private CohortAnalyticsResponse.Distribution mapToDistribution(long[] readinessCounts, long population) {
+        long sum = 0;
+        for (int score = 0; score < readinessCounts.length; score++) {
+            sum += score * readinessCounts[score];
+        }
+
+        List<CohortAnalyticsResponse.HistogramBucket> histogram = new ArrayList<>();
+        for (int low = 0; low < 100; low += 10) {
+            int high = low == 90 ? 100 : low + 9;
+            long count = 0;
+            for (int score = low; score <= high; score++) {
+                count += readinessCounts[score];
+            }
+            histogram.add(new CohortAnalyticsResponse.HistogramBucket(low + "-" + high, count));
+        }
+
+        return CohortAnalyticsResponse.Distribution.builder()
+                .average(population == 0 ? null : round((double) sum / population))
+                .p25(percentile(readinessCounts, population, 0.25))
+                .median(percentile(readinessCounts, population, 0.50))
+                .p75(percentile(readinessCounts, population, 0.75))
+                .histogram(histogram)
+                .build();
+    }
+
+    private List<CohortAnalyticsResponse.HistogramBucket> mapToGradeHistogram(long[] gradeBuckets) {
+        List<CohortAnalyticsResponse.HistogramBucket> histogram = new ArrayList<>(gradeBuckets.length);
+        for (int i = 0; i < gradeBuckets.length; i++) {
+            int low = i * 10;
+            int high = i == gradeBuckets.length - 1 ? 100 : low + 9;
+            histogram.add(new CohortAnalyticsResponse.HistogramBucket(low + "-" + high, gradeBuckets[i]));
+        }
+        return histogram;
+    }
+
+    /**
+     * Nearest-rank percentile over an exact histogram of integer scores
+     */
+    private static Integer percentile(long[] counts, long population, double fraction) {
+        if (population == 0) {
+            return null;
+        }
+        long rank = Math.max(1, (long) Math.ceil(fraction * population));
+        long seen = 0;
+        for (int score = 0; score < counts.length; score++) {
+            seen += counts[score];
+            if (seen >= rank) {
+                return score;
+            }
+        }
+        return counts.length - 1;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
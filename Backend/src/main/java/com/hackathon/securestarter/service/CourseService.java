@@ -1,20 +1,28 @@
 package com.hackathon.securestarter.service;
 
+import com.hackathon.securestarter.dto.projection.CourseStats;
 import com.hackathon.securestarter.dto.request.CourseRequest;
 import com.hackathon.securestarter.dto.response.CourseListResponse;
 import com.hackathon.securestarter.dto.response.CourseResponse;
+import com.hackathon.securestarter.dto.response.CursorPageResponse;
 import com.hackathon.securestarter.entity.Course;
 import com.hackathon.securestarter.entity.User;
+import com.hackathon.securestarter.event.UserProfileChangedEvent;
 import com.hackathon.securestarter.exception.ResourceNotFoundException;
 import com.hackathon.securestarter.repository.CourseRepository;
 import com.hackathon.securestarter.repository.UserRepository;
+import com.hackathon.securestarter.util.EntityDiff;
+import com.hackathon.securestarter.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -27,6 +35,8 @@ public class CourseService {
 
     private final CourseRepository courseRepository;
     private final UserRepository userRepository;
+    private final UserProfileStatsService userProfileStatsService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Get all courses for a user with statistics
@@ -34,23 +44,59 @@ public class CourseService {
      * @return CourseListResponse with courses and stats
      */
     public CourseListResponse getUserCourses(UUID userId) {
-        List<Course> courses = courseRepository.findByUserIdOrderByCreatedAtDesc(userId);
-        List<CourseResponse> courseResponses = courses.stream()
+        List<CourseResponse> courseResponses = courseRepository.findByUserIdOrderByCreatedAtDesc(userId).stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
 
-        Double avgGrade = courseRepository.findAverageGradeByUserId(userId);
-        int highGradeCount = (int) courses.stream()
-                .filter(c -> c.getGrade() != null && c.getGrade() >= 90)
-                .count();
+        return buildCourseListResponse(courseResponses, courseRepository.findStatsByUserId(userId));
+    }
 
-        return CourseListResponse.builder()
-                .courses(courseResponses)
-                .totalCourses(courses.size())
-                .averageGrade(avgGrade != null ? Math.round(avgGrade * 100.0) / 100.0 : 0.0)
-                .highestGradeCourseCount(highGradeCount)
-                .performanceLevel(CourseListResponse.calculatePerformanceLevel(avgGrade))
-                .build();
+    /**
+     * Get course statistics for a user without loading the courses themselves
+     * @param userId the user's UUID
+     * @return CourseListResponse with stats and an empty course list
+     */
+    public CourseListResponse getCourseSummary(UUID userId) {
+        return buildCourseListResponse(List.of(), courseRepository.findStatsByUserId(userId));
+    }
+
+    /**
+     * Get one page of a user's courses, newest first
+     * @param userId the user's UUID
+     * @param cursor nextCursor from the previous page, or null for the first page
+     * @param size page size (defaults to {@link KeysetCursor#DEFAULT_PAGE_SIZE})
+     * @return CursorPageResponse of CourseResponse
+     */
+    public CursorPageResponse<CourseResponse> getUserCoursesPage(UUID userId, String cursor, Integer size) {
+        int pageSize = KeysetCursor.pageSize(size);
+        List<Course> rows = findCoursesPage(userId, KeysetCursor.decode(cursor), pageSize + 1);
+        return KeysetCursor.toPage(rows, pageSize, this::mapToResponse,
+                course -> new KeysetCursor(course.getCreatedAt(), course.getId()));
+    }
+
+    /**
+     * Stream all of a user's courses, newest first, one bounded page at a time
+     * @param userId the user's UUID
+     * @param sink receives each course in order
+     */
+    public void exportUserCourses(UUID userId, Consumer<? super CourseResponse> sink) {
+        KeysetCursor after = null;
+        List<Course> rows;
+        do {
+            rows = findCoursesPage(userId, after, KeysetCursor.EXPORT_BATCH_SIZE);
+            rows.forEach(course -> sink.accept(mapToResponse(course)));
+            if (!rows.isEmpty()) {
+                Course last = rows.get(rows.size() - 1);
+                after = new KeysetCursor(last.getCreatedAt(), last.getId());
+            }
+        } while (rows.size() == KeysetCursor.EXPORT_BATCH_SIZE);
+    }
+
+    private List<Course> findCoursesPage(UUID userId, KeysetCursor after, int limit) {
+        if (after == null) {
+            return courseRepository.findFirstPageByUserId(userId, Limit.of(limit));
+        }
+        return courseRepository.findPageByUserIdAfter(userId, after.createdAt(), after.id(), Limit.of(limit));
     }
 
     /**
@@ -73,7 +119,9 @@ public class CourseService {
                 .build();
 
         Course savedCourse = courseRepository.save(course);
+        userProfileStatsService.addCounts(userId, 1, 0, 0);
         log.info("Course added for user: {} - {}", user.getEmail(), course.getCourseName());
+        eventPublisher.publishEvent(new UserProfileChangedEvent(userId));
 
         return mapToResponse(savedCourse);
     }
@@ -90,13 +138,11 @@ public class CourseService {
         Course course = courseRepository.findByIdAndUserId(courseId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Course not found or not owned by user"));
 
-        course.setCourseName(request.getCourseName());
-        course.setGrade(request.getGrade());
-        course.setPlatform(request.getPlatform());
-        course.setCompletionDate(request.getCompletionDate());
+        applyCourseRequest(course, request);
 
         Course savedCourse = courseRepository.save(course);
         log.info("Course updated: {}", course.getCourseName());
+        eventPublisher.publishEvent(new UserProfileChangedEvent(userId));
 
         return mapToResponse(savedCourse);
     }
@@ -112,7 +158,9 @@ public class CourseService {
                 .orElseThrow(() -> new ResourceNotFoundException("Course not found or not owned by user"));
 
         courseRepository.delete(course);
+        userProfileStatsService.addCounts(userId, -1, 0, 0);
         log.info("Course deleted: {}", course.getCourseName());
+        eventPublisher.publishEvent(new UserProfileChangedEvent(userId));
     }
 
     /**
@@ -142,28 +190,77 @@ public class CourseService {
      */
     @Transactional
     public Course createCourseEntity(User user, CourseRequest request) {
-        Course course = Course.builder()
+        Course savedCourse = courseRepository.save(buildCourseEntity(user, request));
+        userProfileStatsService.addCounts(user.getId(), 1, 0, 0);
+        return savedCourse;
+    }
+
+    /**
+     * Build an unsaved course from request (internal use for onboarding and bulk import)
+     * @param user the user entity
+     * @param request the course request
+     * @return new Course entity, not yet persisted
+     */
+    public Course buildCourseEntity(User user, CourseRequest request) {
+        return Course.builder()
                 .user(user)
                 .courseName(request.getCourseName())
                 .grade(request.getGrade())
                 .platform(request.getPlatform())
                 .completionDate(request.getCompletionDate())
                 .build();
-
-        return courseRepository.save(course);
     }
 
     /**
-     * Create multiple courses for onboarding
+     * Replace a user's courses with a resubmitted list (onboarding).
+     * Rows are matched by name: matches are updated in place (only changed rows are written),
+     * new items are inserted and unmatched rows are removed with one bulk delete.
      * @param user the user entity
-     * @param requests list of course requests
-     * @return list of saved courses
+     * @param requests the full list of courses the user should end up with
      */
     @Transactional
-    public List<Course> createCoursesForUser(User user, List<CourseRequest> requests) {
-        return requests.stream()
-                .map(req -> createCourseEntity(user, req))
-                .collect(Collectors.toList());
+    public void syncCoursesForUser(User user, List<CourseRequest> requests) {
+        EntityDiff<Course, CourseRequest> diff = EntityDiff.of(
+                courseRepository.findByUserId(user.getId()), requests,
+                course -> EntityDiff.nameKey(course.getCourseName()),
+                request -> EntityDiff.nameKey(request.getCourseName()));
+
+        diff.matched().forEach(pair -> applyCourseRequest(pair.getKey(), pair.getValue()));
+
+        courseRepository.saveAll(diff.added().stream()
+                .map(request -> buildCourseEntity(user, request))
+                .toList());
+
+        if (!diff.removed().isEmpty()) {
+            courseRepository.deleteAllByIdInBatch(diff.removed().stream().map(Course::getId).toList());
+        }
+        userProfileStatsService.addCounts(user.getId(), diff.added().size() - diff.removed().size(), 0, 0);
+        log.info("Synced courses for user: {} ({} kept, {} added, {} removed)", user.getEmail(),
+                diff.matched().size(), diff.added().size(), diff.removed().size());
+    }
+
+    /**
+     * Combine course rows with their aggregate statistics
+     */
+    private CourseListResponse buildCourseListResponse(List<CourseResponse> courses, CourseStats stats) {
+        Double avgGrade = stats.averageGrade();
+        return CourseListResponse.builder()
+                .courses(courses)
+                .totalCourses((int) stats.courseCount())
+                .averageGrade(avgGrade != null ? Math.round(avgGrade * 100.0) / 100.0 : 0.0)
+                .highestGradeCourseCount((int) stats.highGradeCount())
+                .performanceLevel(CourseListResponse.calculatePerformanceLevel(avgGrade))
+                .build();
+    }
+
+    /**
+     * Copy request fields onto an existing course; dirty checking writes it only if something changed
+     */
+    private void applyCourseRequest(Course course, CourseRequest request) {
+        course.setCourseName(request.getCourseName());
+        course.setGrade(request.getGrade());
+        course.setPlatform(request.getPlatform());
+        course.setCompletionDate(request.getCompletionDate());
     }
 
     /**
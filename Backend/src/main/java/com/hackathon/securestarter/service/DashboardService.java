@@ -40,6 +40,7 @@ public class DashboardService {
     private final ProjectService projectService;
     private final CertificationService certificationService;
     private final ExternalApiService externalApiService;
+    private final UserProfileStatsService userProfileStatsService;
 
     /**
      * Get comprehensive dashboard summary for a user
@@ -195,11 +196,11 @@ public class DashboardService {
      * Build learning progress summary
      */
     private DashboardSummaryResponse.LearningProgressSummary buildLearningProgressSummary(UUID userId) {
-        CourseListResponse courseData = courseService.getUserCourses(userId);
-        ProjectListResponse projectData = projectService.getUserProjects(userId);
+        CourseListResponse courseData = courseService.getCourseSummary(userId);
+        ProjectListResponse projectData = projectService.getProjectSummary(userId);
         
-        long totalCerts = certificationService.getCertificationCount(userId);
-        long activeCerts = certificationService.getActiveCertificationCount(userId);
+        // Certifications carry no expiry, so every certification counts as active
+        int totalCerts = userProfileStatsService.getStats(userId).getCertificationsCount();
 
         return DashboardSummaryResponse.LearningProgressSummary.builder()
                 .totalCourses(courseData.getTotalCourses())
@@ -208,16 +209,45 @@ public class DashboardService {
                 .totalProjects(projectData.getTotalProjects())
                 .averageComplexity(projectData.getAverageComplexity())
                 .projectExperienceLevel(projectData.getExperienceLevel())
-                .totalCertifications((int) totalCerts)
-                .activeCertifications((int) activeCerts)
+                .totalCertifications(totalCerts)
+                .activeCertifications(totalCerts)
                 .build();
     }
 
+    /**
+     * Calculate readiness score from a batched profile snapshot (talent search, cohort analytics).
+     * Builds the same summaries the dashboard uses so both paths share one formula.
+     */
+    public int calculateReadinessScore(ProfileSnapshotService.ProfileSnapshot snapshot) {
+        DashboardSummaryResponse.AcademicSummary academic = snapshot.educationLevel() == null ? null
+                : DashboardSummaryResponse.AcademicSummary.builder()
+                        .educationLevel(AcademicProfileResponse.getEducationLevelDescription(snapshot.educationLevel()))
+                        .cgpaPercentage(snapshot.cgpaPercentage())
+                        .build();
+
+        DashboardSummaryResponse.SkillsSummary skills = snapshot.skillMask() == null ? null
+                : DashboardSummaryResponse.SkillsSummary.builder()
+                        .totalSkillsCount(Long.bitCount(snapshot.skillMask()))
+                        .build();
+
+        DashboardSummaryResponse.LearningProgressSummary learning = DashboardSummaryResponse.LearningProgressSummary.builder()
+                .totalCourses(snapshot.courseCount())
+                .averageGrade(snapshot.averageGrade() != null ? snapshot.averageGrade() : 0.0)
+                .totalProjects(snapshot.totalProjects())
+                .averageComplexity(snapshot.averageComplexity() != null ? snapshot.averageComplexity() : 0.0)
+                .totalCertifications(snapshot.certificationCount())
+                .activeCertifications(snapshot.certificationCount())
+                .build();
+
+        return calculateReadinessScore(academic, skills, learning, null);
+    }
+
     /**
      * Calculate overall readiness score (0-100)
-     * Formula considers education, skills, courses, projects, and certifications
+     * Formula considers education, skills, courses, projects, and certifications.
+     * Also used for batched snapshots, so it must stay free of repository access.
      */
-    private Integer calculateReadinessScore(
+    public Integer calculateReadinessScore(
             DashboardSummaryResponse.AcademicSummary academic,
             DashboardSummaryResponse.SkillsSummary skills,
             DashboardSummaryResponse.LearningProgressSummary learning,
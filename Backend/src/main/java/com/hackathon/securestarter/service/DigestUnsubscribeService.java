@@ -0,0 +1,96 @@
+package com.hackathon.securestarter.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Unsubscribe links of the weekly digest. A link names the user and carries an HMAC of their id,
+ * so it works without logging in (including one-click unsubscribe from the mail client, RFC 8058)
+ * but cannot be forged for another user. The key is derived from jwt.secret, shared by every instance.
+ */
+@Service
+@Slf4j
+public class DigestUnsubscribeService {
+
+    private final UserService userService;
+    private final String unsubscribeUrl;
+    private final SecretKeySpec key;
+
+    public DigestUnsubscribeService(UserService userService,
+                                    @Value("${jwt.secret}") String jwtSecret,
+                                    @Value("${app.email.unsubscribe-url:http://localhost:8080/api/email/unsubscribe}") String unsubscribeUrl) {
+        this.userService = userService;
+        this.unsubscribeUrl = unsubscribeUrl;
+        this.key = deriveKey(jwtSecret);
+    }
+
+    /**
+     * Unsubscribe link for a user's digest
+     * @param userId the user's UUID
+     * @return absolute URL accepting GET (confirmation page) and POST (unsubscribe)
+     */
+    public String unsubscribeUrl(UUID userId) {
+        return UriComponentsBuilder.fromUriString(unsubscribeUrl)
+                .queryParam("user", userId)
+                .queryParam("token", token(userId))
+                .toUriString();
+    }
+
+    /**
+     * Check an unsubscribe link's token
+     * @param userId user named in the link
+     * @param token token from the link
+     * @return true if the token was issued for that user
+     */
+    public boolean isValid(UUID userId, String token) {
+        return token != null && MessageDigest.isEqual(
+                token(userId).getBytes(StandardCharsets.US_ASCII), token.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Opt a user out of the weekly digest from an unsubscribe link
+     * @param userId user named in the link
+     * @param token token from the link
+     * @return false if the token does not match the user
+     */
+    public boolean unsubscribe(UUID userId, String token) {
+        if (!isValid(userId, token)) {
+            log.warn("Rejected digest unsubscribe with an invalid token for user {}", userId);
+            return false;
+        }
+        userService.setDigestOptOut(userId, true);
+        return true;
+    }
+
+    private String token(UUID userId) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            byte[] signature = mac.doFinal(userId.toString().getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+
+    private static SecretKeySpec deriveKey(String secret) {
+        try {
+            // Separate key from the JWT signing key, both coming from jwt.secret
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update("digest-unsubscribe:".getBytes(StandardCharsets.UTF_8));
+            return new SecretKeySpec(digest.digest(secret.getBytes(StandardCharsets.UTF_8)), "HmacSHA256");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,339 @@
+package com.hackathon.securestarter.service;
+
+import com.hackathon.securestarter.entity.EmailOutbox;
+import com.hackathon.securestarter.enums.EmailStatus;
+import com.hackathon.securestarter.enums.EmailType;
+import com.hackathon.securestarter.event.EmailQueuedEvent;
+import com.hackathon.securestarter.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.AddressException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.MailParseException;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers the email outbox.
+ * A drain runs right after a transaction that queued an email commits, and on a poll for
+ * retries and anything missed. Drains run one at a time per instance (at most one more waits
+ * behind the running one) and one at a time across instances through a JobLockService lease.
+ * Each batch of due emails is split over `connections` sender threads; a thread sends its share
+ * over a single SMTP session, and batches are paced to max-per-second to stay under the SMTP
+ * provider's sending limits. A failed email is retried with exponential backoff and jitter,
+ * and given up after max-attempts, or at once if the address is rejected. Sent rows are deleted
+ * after the retention period.
+ */
+@Service
+@Slf4j
+public class EmailOutboxDispatcher implements MeterBinder {
+
+    static final String JOB_NAME = "email-outbox";
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailService emailService;
+    private final JobLockService jobLockService;
+
+    private final ThreadPoolExecutor drainExecutor;
+    private final ThreadPoolExecutor senders;
+    private final int connections;
+
+    private final Map<EmailType, AtomicLong> sent = new EnumMap<>(EmailType.class);
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong pending = new AtomicLong(-1);
+    private volatile Timer deliveryDelay;
+
+    @Value("${app.email.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.email.outbox.max-per-second:10}")
+    private double maxPerSecond;
+
+    @Value("${app.email.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.email.outbox.initial-backoff-seconds:30}")
+    private long initialBackoffSeconds;
+
+    @Value("${app.email.outbox.max-backoff-minutes:60}")
+    private long maxBackoffMinutes;
+
+    @Value("${app.email.outbox.max-drain-seconds:120}")
+    private long maxDrainSeconds;
+
+    @Value("${app.email.outbox.sent-retention-days:7}")
+    private long sentRetentionDays;
+
+    public EmailOutboxDispatcher(EmailOutboxRepository emailOutboxRepository,
+                                 EmailService emailService,
+                                 JobLockService jobLockService,
+                                 @Value("${app.email.outbox.connections:2}") int connections) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.emailService = emailService;
+        this.jobLockService = jobLockService;
+        this.connections = Math.max(1, connections);
+
+        // One drain running, at most one queued behind it: a queued drain sees every row committed before it starts
+        this.drainExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1), namedThreads("email-outbox-"), new ThreadPoolExecutor.DiscardPolicy());
+        this.senders = new ThreadPoolExecutor(this.connections, this.connections, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), namedThreads("email-sender-"));
+        for (EmailType type : EmailType.values()) {
+            sent.put(type, new AtomicLong());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        drainExecutor.shutdownNow();
+        senders.shutdownNow();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmailQueued(EmailQueuedEvent event) {
+        requestDrain();
+    }
+
+    /**
+     * Poll for emails due for a retry, or queued on an instance that went down before sending
+     */
+    @Scheduled(initialDelayString = "${app.email.outbox.initial-delay-ms:10000}",
+            fixedDelayString = "${app.email.outbox.poll-interval-ms:15000}")
+    public void poll() {
+        requestDrain();
+    }
+
+    /**
+     * Start a drain in the background unless one is already waiting to run
+     */
+    public void requestDrain() {
+        drainExecutor.execute(this::drain);
+    }
+
+    /**
+     * Deliver every email that is due, in batches, if no other instance is doing so
+     * @return number of emails sent, or -1 if another instance holds the lease
+     */
+    public int drain() {
+        Duration maxDrain = Duration.ofSeconds(maxDrainSeconds);
+        if (!jobLockService.tryAcquire(JOB_NAME, maxDrain.multipliedBy(2))) {
+            return -1;
+        }
+
+        long deadline = System.nanoTime() + maxDrain.toNanos();
+        int delivered = 0;
+        try {
+            List<EmailOutbox> batch;
+            do {
+                batch = emailOutboxRepository.findDue(LocalDateTime.now(), Limit.of(batchSize));
+                if (!batch.isEmpty()) {
+                    long batchStart = System.nanoTime();
+                    delivered += deliverBatch(batch);
+                    if (!pace(batch.size(), batchStart)) {
+                        break;
+                    }
+                }
+            } while (batch.size() == batchSize && System.nanoTime() < deadline);
+            pending.set(emailOutboxRepository.countByStatus(EmailStatus.PENDING));
+        } catch (RuntimeException e) {
+            log.error("Email outbox drain failed", e);
+        } finally {
+            jobLockService.release(JOB_NAME);
+        }
+
+        if (delivered > 0) {
+            log.info("Email outbox delivered {} emails ({} pending)", delivered, pending.get());
+        }
+        return delivered;
+    }
+
+    /**
+     * Delete delivered emails older than the retention period
+     * @return number of rows deleted
+     */
+    @Scheduled(initialDelayString = "${app.email.outbox.cleanup-initial-delay-ms:600000}",
+            fixedDelayString = "${app.email.outbox.cleanup-interval-ms:3600000}")
+    public long purgeSent() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(sentRetentionDays);
+        long deleted = 0;
+        List<UUID> ids;
+        do {
+            ids = emailOutboxRepository.findIdsSentBefore(cutoff, Limit.of(500));
+            if (!ids.isEmpty()) {
+                deleted += emailOutboxRepository.deleteByIdIn(ids);
+            }
+        } while (ids.size() == 500);
+
+        if (deleted > 0) {
+            log.info("Deleted {} delivered emails older than {} days from the outbox", deleted, sentRetentionDays);
+        }
+        return deleted;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Map.Entry<EmailType, AtomicLong> entry : sent.entrySet()) {
+            FunctionCounter.builder("email.outbox.sent", entry.getValue(), AtomicLong::get)
+                    .description("Emails delivered to the SMTP server")
+                    .tag("type", entry.getKey().name().toLowerCase())
+                    .register(registry);
+        }
+        FunctionCounter.builder("email.outbox.retries", retried, AtomicLong::get)
+                .description("Failed delivery attempts scheduled for a retry")
+                .register(registry);
+        FunctionCounter.builder("email.outbox.failed", failed, AtomicLong::get)
+                .description("Emails given up on after a permanent error or max-attempts")
+                .register(registry);
+        Gauge.builder("email.outbox.pending", pending, AtomicLong::get)
+                .description("Emails waiting for delivery after the last drain (-1 before the first)")
+                .register(registry);
+        deliveryDelay = Timer.builder("email.outbox.delivery.delay")
+                .description("Time from queueing an email to its delivery")
+                .register(registry);
+    }
+
+    private int deliverBatch(List<EmailOutbox> batch) {
+        // Split the batch over the sender threads; each sends its share over one SMTP session
+        List<List<EmailOutbox>> shares = new ArrayList<>();
+        int shareSize = (batch.size() + connections - 1) / connections;
+        for (int from = 0; from < batch.size(); from += shareSize) {
+            shares.add(batch.subList(from, Math.min(batch.size(), from + shareSize)));
+        }
+
+        Map<UUID, Exception> failures = new HashMap<>();
+        List<Future<Map<UUID, Exception>>> results = new ArrayList<>();
+        for (List<EmailOutbox> share : shares) {
+            results.add(senders.submit(() -> emailService.deliver(share)));
+        }
+        for (int i = 0; i < results.size(); i++) {
+            try {
+                failures.putAll(results.get(i).get());
+            } catch (ExecutionException e) {
+                Exception error = e.getCause() instanceof Exception cause ? cause : e;
+                shares.get(i).forEach(email -> failures.put(email.getId(), error));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                // Not recorded as sent or failed: the rows stay due and are retried by the next drain
+                return 0;
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<UUID> sentIds = new ArrayList<>();
+        for (EmailOutbox email : batch) {
+            Exception error = failures.get(email.getId());
+            if (error == null) {
+                sentIds.add(email.getId());
+                sent.get(email.getType()).incrementAndGet();
+                Timer timer = deliveryDelay;
+                if (timer != null && email.getCreatedAt() != null) {
+                    timer.record(Duration.between(email.getCreatedAt(), now));
+                }
+            } else {
+                recordFailure(email, error, now);
+            }
+        }
+        if (!sentIds.isEmpty()) {
+            emailOutboxRepository.markSent(sentIds, now);
+        }
+        return sentIds.size();
+    }
+
+    /**
+     * Wait until a batch of this size fits within max-per-second
+     * @return false if interrupted while waiting
+     */
+    private boolean pace(int batchSize, long batchStartNanos) {
+        if (maxPerSecond <= 0) {
+            return true;
+        }
+        long minNanos = (long) (batchSize * 1_000_000_000L / maxPerSecond);
+        long remaining = minNanos - (System.nanoTime() - batchStartNanos);
+        if (remaining > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void recordFailure(EmailOutbox email, Exception error, LocalDateTime now) {
+        int attempts = email.getAttempts() + 1;
+        String message = truncate(String.valueOf(error.getMessage()));
+
+        if (isPermanent(error) || attempts >= maxAttempts) {
+            failed.incrementAndGet();
+            emailOutboxRepository.markAttemptFailed(email.getId(), EmailStatus.FAILED, attempts, now, message);
+            log.error("Giving up on {} email {} to {} after {} attempts: {}",
+                    email.getType(), email.getId(), email.getRecipient(), attempts, message);
+            return;
+        }
+
+        retried.incrementAndGet();
+        LocalDateTime nextAttemptAt = now.plus(backoff(attempts));
+        emailOutboxRepository.markAttemptFailed(email.getId(), EmailStatus.PENDING, attempts, nextAttemptAt, message);
+        log.warn("Delivery of {} email {} failed (attempt {}), retrying at {}: {}",
+                email.getType(), email.getId(), attempts, nextAttemptAt, message);
+    }
+
+    /**
+     * Exponential backoff with jitter: initial-backoff-seconds doubled per attempt, capped at
+     * max-backoff-minutes, then spread over 50-100% so retries after an outage do not all land at once
+     */
+    private Duration backoff(int attempts) {
+        long capMillis = TimeUnit.MINUTES.toMillis(maxBackoffMinutes);
+        long millis = Math.min(capMillis, TimeUnit.SECONDS.toMillis(initialBackoffSeconds) << Math.min(attempts - 1, 20));
+        return Duration.ofMillis(millis / 2 + ThreadLocalRandom.current().nextLong(millis / 2 + 1));
+    }
+
+    /**
+     * Errors retrying cannot fix: an invalid address or message, or a recipient the server rejected
+     */
+    private static boolean isPermanent(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof AddressException || t instanceof MailParseException || t instanceof MailPreparationException) {
+                return true;
+            }
+            if (t instanceof SendFailedException sendFailed
+                    && sendFailed.getInvalidAddresses() != null && sendFailed.getInvalidAddresses().length > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -1,20 +1,44 @@
 package com.hackathon.securestarter.service;
 
+import com.hackathon.securestarter.dto.projection.UserContact;
+import com.hackathon.securestarter.entity.EmailOutbox;
+import com.hackathon.securestarter.enums.EmailType;
+import com.hackathon.securestarter.event.EmailQueuedEvent;
+import com.hackathon.securestarter.repository.EmailOutboxRepository;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
+import org.springframework.web.util.HtmlUtils;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Renders transactional emails and queues them in the email outbox.
+ * The send* methods only write an outbox row, in the caller's transaction, so they never wait
+ * on SMTP; EmailOutboxDispatcher delivers the rows once committed.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class EmailService {
 
     private final JavaMailSender mailSender;
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DigestUnsubscribeService digestUnsubscribeService;
 
     @Value("${app.email.from:noreply@careersaarthi.com}")
     private String fromEmail;
@@ -23,60 +47,121 @@ public class EmailService {
     private String frontendUrl;
 
     /**
-     * Send verification email to new user
+     * Queue verification email to new user
      */
     public void sendVerificationEmail(String toEmail, String token) {
-        try {
-            String verificationUrl = frontendUrl + "/verify?token=" + token;
-            String subject = "Verify Your Email - Career Saarthi";
-            String body = buildVerificationEmailHtml(verificationUrl);
-            sendHtmlEmail(toEmail, subject, body);
-            log.info("Verification email sent to: {}", toEmail);
-        } catch (Exception e) {
-            log.error("Failed to send verification email to: {}", toEmail, e);
-        }
+        String verificationUrl = frontendUrl + "/verify?token=" + token;
+        String subject = "Verify Your Email - Career Saarthi";
+        String body = buildVerificationEmailHtml(verificationUrl);
+        enqueue(EmailType.VERIFICATION, toEmail, subject, body);
+        log.info("Verification email queued for: {}", toEmail);
     }
 
     /**
-     * Send password reset email
+     * Queue password reset email
      */
     public void sendPasswordResetEmail(String toEmail, String token) {
-        try {
-            String resetUrl = frontendUrl + "/reset-password?token=" + token;
-            String subject = "Reset Your Password - Career Saarthi";
-            String body = buildPasswordResetEmailHtml(resetUrl);
-            sendHtmlEmail(toEmail, subject, body);
-            log.info("Password reset email sent to: {}", toEmail);
-        } catch (Exception e) {
-            log.error("Failed to send password reset email to: {}", toEmail, e);
-        }
+        String resetUrl = frontendUrl + "/reset-password?token=" + token;
+        String subject = "Reset Your Password - Career Saarthi";
+        String body = buildPasswordResetEmailHtml(resetUrl);
+        enqueue(EmailType.PASSWORD_RESET, toEmail, subject, body);
+        log.info("Password reset email queued for: {}", toEmail);
     }
 
     /**
-     * Send welcome email after successful verification
+     * Queue welcome email after successful verification
      */
     public void sendWelcomeEmail(String toEmail, String firstName) {
+        String subject = "Welcome to Career Saarthi!";
+        String body = buildWelcomeEmailHtml(firstName);
+        enqueue(EmailType.WELCOME, toEmail, subject, body);
+        log.info("Welcome email queued for: {}", toEmail);
+    }
+
+    /**
+     * Render a weekly progress digest as an outbox row, for the caller to save in bulk
+     * @param user recipient
+     * @param digest digest content
+     * @return unsaved EmailOutbox with bulk priority and the user's unsubscribe link
+     */
+    public EmailOutbox buildWeeklyDigestEmail(UserContact user, WeeklyDigest digest) {
+        String unsubscribeUrl = digestUnsubscribeService.unsubscribeUrl(user.id());
+        return EmailOutbox.builder()
+                .type(EmailType.WEEKLY_DIGEST)
+                .priority(EmailOutbox.PRIORITY_BULK)
+                .recipient(user.email())
+                .subject("Your Weekly Progress - Career Saarthi")
+                .body(buildWeeklyDigestHtml(user.firstName(), digest, unsubscribeUrl))
+                .listUnsubscribe(unsubscribeUrl)
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * Send queued emails over a single SMTP connection
+     * @param emails outbox rows to deliver
+     * @return the delivery error of each email that was not sent, by outbox id (empty if all were sent)
+     */
+    public Map<UUID, Exception> deliver(List<EmailOutbox> emails) {
+        Map<UUID, Exception> failures = new HashMap<>();
+        Map<MimeMessage, UUID> messages = new LinkedHashMap<>();
+        for (EmailOutbox email : emails) {
+            try {
+                messages.put(createHtmlMessage(email), email.getId());
+            } catch (MessagingException | MailException e) {
+                failures.put(email.getId(), e);
+            }
+        }
+        if (messages.isEmpty()) {
+            return failures;
+        }
+
         try {
-            String subject = "Welcome to Career Saarthi!";
-            String body = buildWelcomeEmailHtml(firstName);
-            sendHtmlEmail(toEmail, subject, body);
-            log.info("Welcome email sent to: {}", toEmail);
-        } catch (Exception e) {
-            log.error("Failed to send welcome email to: {}", toEmail, e);
+            // JavaMailSender sends an array of messages in one session: connect once, send all, close
+            mailSender.send(messages.keySet().toArray(MimeMessage[]::new));
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                // Every message went out and only closing the connection failed
+                log.warn("SMTP connection did not close cleanly after sending: {}", e.getMessage());
+            }
+            e.getFailedMessages().forEach((message, error) -> failures.put(messages.get(message), error));
+        } catch (MailException e) {
+            // Connection or authentication failure before anything was sent
+            messages.values().forEach(id -> failures.put(id, e));
         }
+        return failures;
     }
 
     /**
-     * Send HTML email
+     * Write an email to the outbox and signal the dispatcher once the transaction commits
      */
-    private void sendHtmlEmail(String to, String subject, String htmlBody) throws MessagingException {
+    private void enqueue(EmailType type, String to, String subject, String htmlBody) {
+        EmailOutbox email = emailOutboxRepository.save(EmailOutbox.builder()
+                .type(type)
+                .recipient(to)
+                .subject(subject)
+                .body(htmlBody)
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+        eventPublisher.publishEvent(new EmailQueuedEvent(email.getId()));
+    }
+
+    /**
+     * Build HTML email
+     */
+    private MimeMessage createHtmlMessage(EmailOutbox email) throws MessagingException {
         MimeMessage message = mailSender.createMimeMessage();
         MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
         helper.setFrom(fromEmail);
-        helper.setTo(to);
-        helper.setSubject(subject);
-        helper.setText(htmlBody, true);
-        mailSender.send(message);
+        helper.setTo(email.getRecipient());
+        helper.setSubject(email.getSubject());
+        helper.setText(email.getBody(), true);
+        if (email.getListUnsubscribe() != null) {
+            // One-click unsubscribe (RFC 8058): the mail client POSTs to the URL
+            message.setHeader("List-Unsubscribe", "<" + email.getListUnsubscribe() + ">");
+            message.setHeader("List-Unsubscribe-Post", "List-Unsubscribe=One-Click");
+        }
+        return message;
     }
 
     /**
@@ -233,4 +318,67 @@ public class EmailService {
             """.formatted(name, frontendUrl);
         return wrapInTemplate(content);
     }
-}
\ No newline at end of file
+
+    /**
+     * Build weekly digest email HTML
+     */
+    private String buildWeeklyDigestHtml(String firstName, WeeklyDigest digest, String unsubscribeUrl) {
+        String name = firstName != null && !firstName.isEmpty() ? HtmlUtils.htmlEscape(firstName) : "there";
+
+        String change;
+        if (digest.previousReadinessScore() == null) {
+            change = "This is your first weekly digest.";
+        } else {
+            int delta = digest.readinessScore() - digest.previousReadinessScore();
+            change = delta == 0 ? "Unchanged since last week."
+                    : (delta > 0 ? "Up " + delta : "Down " + -delta) + " points since last week.";
+        }
+
+        StringBuilder gaps = new StringBuilder();
+        for (String skill : digest.topSkillGaps()) {
+            gaps.append("<li>").append(HtmlUtils.htmlEscape(skill)).append("</li>");
+        }
+        if (gaps.isEmpty()) {
+            gaps.append("<li>None - you have every skill your target role asks for.</li>");
+        }
+
+        StringBuilder recommendations = new StringBuilder();
+        for (WeeklyDigest.Recommendation recommendation : digest.recommendations()) {
+            recommendations.append("<li>")
+                    .append(HtmlUtils.htmlEscape(recommendation.kind())).append(": ")
+                    .append(HtmlUtils.htmlEscape(recommendation.title()))
+                    .append(recommendation.isNew() ? " <strong style=\"color: #22c55e;\">New</strong>" : "")
+                    .append("</li>");
+        }
+
+        String content = """
+            <h2 style="margin: 0 0 20px; font-size: 24px; font-weight: 600; color: #ffffff;">Your Weekly Progress</h2>
+            <p style="margin: 0 0 20px; font-size: 16px; color: #cbd5e1; line-height: 1.6;">
+                Hi %s, here is where you stand this week.
+            </p>
+            <div style="background-color: rgba(59, 130, 246, 0.1); border-radius: 12px; padding: 24px; margin: 20px 0; text-align: center;">
+                <p style="margin: 0; font-size: 14px; color: #94a3b8;">Career readiness</p>
+                <p style="margin: 8px 0; font-size: 40px; font-weight: 700; color: #3b82f6;">%d/100</p>
+                <p style="margin: 0; font-size: 14px; color: #cbd5e1;">%s Skill match for your target role: %.0f%%.</p>
+            </div>
+            <h3 style="margin: 0 0 12px; font-size: 18px; font-weight: 600; color: #ffffff;">Top skills to build</h3>
+            <ul style="margin: 0 0 20px; padding-left: 20px; color: #cbd5e1; line-height: 1.8;">%s</ul>
+            <h3 style="margin: 0 0 12px; font-size: 18px; font-weight: 600; color: #ffffff;">Recommended for you</h3>
+            <ul style="margin: 0 0 20px; padding-left: 20px; color: #cbd5e1; line-height: 1.8;">%s</ul>
+            <table role="presentation" style="width: 100%%; border-collapse: collapse;">
+                <tr>
+                    <td align="center" style="padding: 10px 0;">
+                        <a href="%s/dashboard" style="display: inline-block; background: linear-gradient(135deg, #3b82f6, #6366f1); color: #ffffff; text-decoration: none; padding: 14px 32px; border-radius: 8px; font-size: 16px; font-weight: 600;">
+                            Open Dashboard
+                        </a>
+                    </td>
+                </tr>
+            </table>
+            <p style="margin: 20px 0 0; font-size: 12px; color: #64748b; text-align: center;">
+                You get this email every week. <a href="%s" style="color: #64748b;">Unsubscribe</a>
+            </p>
+            """.formatted(name, digest.readinessScore(), change, digest.skillMatchPercentage(),
+                gaps, recommendations, frontendUrl, HtmlUtils.htmlEscape(unsubscribeUrl));
+        return wrapInTemplate(content);
+    }
+}
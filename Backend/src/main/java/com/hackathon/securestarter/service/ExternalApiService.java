@@ -5,6 +5,10 @@ import com.hackathon.securestarter.dto.request.SkillPredictRequest;
 import com.hackathon.securestarter.dto.response.*;
 import com.hackathon.securestarter.entity.*;
 import com.hackathon.securestarter.repository.*;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
@@ -16,15 +20,23 @@ import org.springframework.web.util.UriComponentsBuilder;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 /**
  * Service for making external API calls.
  * Handles ML Recommendations, Skill Predictions, and YouTube video enrichment.
+ * Calls run concurrently on the external API executor (virtual threads when enabled), and each
+ * upstream has its own concurrency limit so a burst of dashboard requests cannot flood a slow service.
  */
 @Service
 @Slf4j
-public class ExternalApiService {
+public class ExternalApiService implements MeterBinder {
 
     private final RestClient mlRecommendationsRestClient;
     private final RestClient skillPredictRestClient;
@@ -37,6 +49,13 @@ public class ExternalApiService {
     private final CourseRepository courseRepository;
     private final ProjectRepository projectRepository;
     private final CertificationRepository certificationRepository;
+    private final RoleNormalizer roleNormalizer;
+    private final Executor externalApiExecutor;
+
+    private final int maxConcurrentCalls;
+    private final Upstream mlRecommendations;
+    private final Upstream skillPredict;
+    private final Upstream youtube;
 
     @Value("${external.api.youtube.api-key:}")
     private String youtubeApiKey;
@@ -54,7 +73,11 @@ public class ExternalApiService {
             SkillProfileRepository skillProfileRepository,
             CourseRepository courseRepository,
             ProjectRepository projectRepository,
-            CertificationRepository certificationRepository) {
+            CertificationRepository certificationRepository,
+            RoleNormalizer roleNormalizer,
+            @Qualifier("externalApiExecutor") Executor externalApiExecutor,
+            @Value("${external.api.max-concurrent-calls:50}") int maxConcurrentCalls,
+            @Value("${external.api.acquire-timeout-ms:200}") long acquireTimeoutMs) {
         this.mlRecommendationsRestClient = mlRecommendationsRestClient;
         this.skillPredictRestClient = skillPredictRestClient;
         this.youtubeRestClient = youtubeRestClient;
@@ -65,10 +88,18 @@ public class ExternalApiService {
         this.courseRepository = courseRepository;
         this.projectRepository = projectRepository;
         this.certificationRepository = certificationRepository;
+        this.roleNormalizer = roleNormalizer;
+        this.externalApiExecutor = externalApiExecutor;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.mlRecommendations = new Upstream("ml-recommendations", maxConcurrentCalls, acquireTimeoutMs);
+        this.skillPredict = new Upstream("skill-predict", maxConcurrentCalls, acquireTimeoutMs);
+        this.youtube = new Upstream("youtube", maxConcurrentCalls, acquireTimeoutMs);
     }
 
     /**
-     * Get external API data for the dashboard
+     * Get external API data for the dashboard.
+     * Both requests are built on the calling thread (and its persistence context); only the HTTP
+     * calls run on the external API executor, concurrently, so they never hold a database connection.
      */
     public ExternalApiResponse getExternalApiData(UUID userId) {
         log.info("Fetching external API data for user: {}", userId);
@@ -80,13 +111,21 @@ public class ExternalApiService {
         SkillPredictResponse skillPrediction = null;
         boolean youtubeSuccess = false;
 
+        MLRecommendationRequest recommendationRequest = buildMLRecommendationRequest(userId);
+        SkillPredictRequest skillPredictRequest = buildSkillPredictRequest(userId);
+
+        CompletableFuture<MLRecommendationResponse> recommendationsCall = CompletableFuture.supplyAsync(
+                () -> callMLRecommendationsApi(userId, recommendationRequest), externalApiExecutor);
+        CompletableFuture<SkillPredictResponse> skillPredictCall = CompletableFuture.supplyAsync(
+                () -> callSkillPredictApi(userId, skillPredictRequest), externalApiExecutor);
+
         try {
             // Call ML Recommendations API
-            recommendations = callMLRecommendationsApi(userId);
+            recommendations = recommendationsCall.join();
             statusBuilder.recommendationsSuccess(recommendations != null);
 
             if (recommendations != null) {
-                // Enrich with YouTube links
+                // Enrich with YouTube links (while the skill prediction may still be in flight)
                 youtubeSuccess = enrichWithYoutubeLinks(recommendations);
             }
         } catch (Exception e) {
@@ -96,7 +135,7 @@ public class ExternalApiService {
 
         try {
             // Call Skill Predict API
-            skillPrediction = callSkillPredictApi(userId);
+            skillPrediction = skillPredictCall.join();
             statusBuilder.skillPredictSuccess(skillPrediction != null);
         } catch (Exception e) {
             log.error("Error calling Skill Predict API: {}", e.getMessage(), e);
@@ -112,28 +151,45 @@ public class ExternalApiService {
                 .build();
     }
 
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Upstream upstream : List.of(mlRecommendations, skillPredict, youtube)) {
+            Gauge.builder("external.api.inflight", upstream,
+                            u -> maxConcurrentCalls - u.permits().availablePermits())
+                    .tag("api", upstream.name())
+                    .description("External API calls in progress")
+                    .register(registry);
+            FunctionCounter.builder("external.api.rejected", upstream.rejected(), AtomicLong::get)
+                    .tag("api", upstream.name())
+                    .description("External API calls skipped because the concurrency limit was reached")
+                    .register(registry);
+        }
+    }
+
     /**
      * Call ML Recommendations API
      */
-    private MLRecommendationResponse callMLRecommendationsApi(UUID userId) {
+    private MLRecommendationResponse callMLRecommendationsApi(UUID userId, MLRecommendationRequest request) {
         log.info("Calling ML Recommendations API for user: {}", userId);
 
-        // Build request from user data
-        MLRecommendationRequest request = buildMLRecommendationRequest(userId);
-        
         if (request == null) {
             log.warn("Unable to build ML recommendation request for user: {}", userId);
             return null;
         }
 
         try {
-            MLRecommendationResponse response = mlRecommendationsRestClient.post()
+            MLRecommendationResponse response = mlRecommendations.call(() -> mlRecommendationsRestClient.post()
                     .uri("/recommendations")
                     .contentType(MediaType.APPLICATION_JSON)
                     .body(request)
                     .retrieve()
-                    .body(MLRecommendationResponse.class);
+                    .body(MLRecommendationResponse.class));
 
+            if (response == null) {
+                // Skipped at the concurrency limit, or an empty body
+                log.warn("No ML Recommendations API response for user: {}", userId);
+                return null;
+            }
             log.info("ML Recommendations API response received for user: {}", userId);
             return response;
         } catch (Exception e) {
@@ -145,25 +201,27 @@ public class ExternalApiService {
     /**
      * Call Skill Predict API
      */
-    private SkillPredictResponse callSkillPredictApi(UUID userId) {
+    private SkillPredictResponse callSkillPredictApi(UUID userId, SkillPredictRequest request) {
         log.info("Calling Skill Predict API for user: {}", userId);
 
-        // Build request from user data
-        SkillPredictRequest request = buildSkillPredictRequest(userId);
-        
         if (request == null) {
             log.warn("Unable to build skill predict request for user: {}", userId);
             return null;
         }
 
         try {
-            SkillPredictResponse response = skillPredictRestClient.post()
+            SkillPredictResponse response = skillPredict.call(() -> skillPredictRestClient.post()
                     .uri("/skillPredict")
                     .contentType(MediaType.APPLICATION_JSON)
                     .body(request)
                     .retrieve()
-                    .body(SkillPredictResponse.class);
+                    .body(SkillPredictResponse.class));
 
+            if (response == null) {
+                // Skipped at the concurrency limit, or an empty body
+                log.warn("No Skill Predict API response for user: {}", userId);
+                return null;
+            }
             log.info("Skill Predict API response received for user: {}", userId);
             return response;
         } catch (Exception e) {
@@ -183,11 +241,24 @@ public class ExternalApiService {
 
         boolean success = true;
 
+        // Look up all titles concurrently (bounded by the YouTube concurrency limit)
+        Map<String, CompletableFuture<String>> lookups = new LinkedHashMap<>();
+        if (recommendations.getRecommendedCourses() != null) {
+            for (MLRecommendationResponse.RecommendedCourse course : recommendations.getRecommendedCourses()) {
+                lookups.computeIfAbsent(course.getTitle(), this::fetchYoutubeLinkAsync);
+            }
+        }
+        if (recommendations.getRecommendedProjects() != null) {
+            for (MLRecommendationResponse.RecommendedProject project : recommendations.getRecommendedProjects()) {
+                lookups.computeIfAbsent(project.getTitle(), this::fetchYoutubeLinkAsync);
+            }
+        }
+
         // Enrich courses
         if (recommendations.getRecommendedCourses() != null) {
             for (MLRecommendationResponse.RecommendedCourse course : recommendations.getRecommendedCourses()) {
                 try {
-                    String youtubeLink = fetchYoutubeLink(course.getTitle());
+                    String youtubeLink = lookups.get(course.getTitle()).join();
                     course.setYoutubeLink(youtubeLink);
                 } catch (Exception e) {
                     log.warn("Failed to fetch YouTube link for course '{}': {}", 
@@ -202,7 +273,7 @@ public class ExternalApiService {
         if (recommendations.getRecommendedProjects() != null) {
             for (MLRecommendationResponse.RecommendedProject project : recommendations.getRecommendedProjects()) {
                 try {
-                    String youtubeLink = fetchYoutubeLink(project.getTitle());
+                    String youtubeLink = lookups.get(project.getTitle()).join();
                     project.setYoutubeLink(youtubeLink);
                 } catch (Exception e) {
                     log.warn("Failed to fetch YouTube link for project '{}': {}", 
@@ -216,6 +287,10 @@ public class ExternalApiService {
         return success;
     }
 
+    private CompletableFuture<String> fetchYoutubeLinkAsync(String title) {
+        return CompletableFuture.supplyAsync(() -> fetchYoutubeLink(title), externalApiExecutor);
+    }
+
     /**
      * Fetch YouTube video link for a given title
      */
@@ -249,10 +324,10 @@ public class ExternalApiService {
                     .build()
                     .toUriString();
 
-            YouTubeSearchResponse response = youtubeRestClient.get()
+            YouTubeSearchResponse response = youtube.call(() -> youtubeRestClient.get()
                     .uri(uri)
                     .retrieve()
-                    .body(YouTubeSearchResponse.class);
+                    .body(YouTubeSearchResponse.class));
 
             if (response != null && response.getItems() != null && !response.getItems().isEmpty()) {
                 YouTubeSearchResponse.SearchItem firstItem = response.getItems().get(0);
@@ -275,9 +350,9 @@ public class ExternalApiService {
     }
 
     /**
-     * Build ML Recommendation request from user data
+     * Build ML Recommendation request from user data (package-private for the benchmarks module)
      */
-    private MLRecommendationRequest buildMLRecommendationRequest(UUID userId) {
+    MLRecommendationRequest buildMLRecommendationRequest(UUID userId) {
         User user = userRepository.findById(userId).orElse(null);
         if (user == null) {
             return null;
@@ -333,7 +408,7 @@ public class ExternalApiService {
         // Add career profile data
         if (career != null) {
             builder.targetSector(convertSectorToApiFormat(career.getIndustrySector()))
-                    .targetRole(convertRoleToApiFormat(career.getTargetJobRole()));
+                    .targetRole(roleNormalizer.toRoleId(career.getTargetJobRole()));
         }
 
         // Add skill profile data
@@ -406,7 +481,7 @@ public class ExternalApiService {
         // Add career profile data
         if (career != null) {
             builder.targetSector(encodeSector(career.getIndustrySector()))
-                    .targetRole(encodeRole(career.getTargetJobRole()));
+                    .targetRole(roleNormalizer.toRoleCode(career.getTargetJobRole()));
         }
 
         // Add skill profile data (as integers 0/1)
@@ -458,103 +533,6 @@ public class ExternalApiService {
         };
     }
 
-    private String convertRoleToApiFormat(String role) {
-        if (role == null) return "health_data_analyst";
-        
-        // Map frontend role names to Model 2's expected role IDs
-        String lowerRole = role.toLowerCase().trim();
-        
-        // Healthcare roles mapping
-        if (lowerRole.contains("health data analyst") || lowerRole.contains("healthcare data analyst")) {
-            return "health_data_analyst";
-        }
-        if (lowerRole.contains("medical ai") || lowerRole.contains("healthcare ml") || lowerRole.contains("biomedical data")) {
-            return "healthcare_ml_engineer";
-        }
-        if (lowerRole.contains("healthcare it") || lowerRole.contains("health systems")) {
-            return "healthcare_it_manager";
-        }
-        if (lowerRole.contains("clinical informatics")) {
-            return "clinical_informatics_specialist";
-        }
-        if (lowerRole.contains("telemedicine") || lowerRole.contains("telehealth")) {
-            return "telemedicine_systems_engineer";
-        }
-        if (lowerRole.contains("digital health product") || lowerRole.contains("health product manager")) {
-            return "healthcare_it_manager";
-        }
-        if (lowerRole.contains("medical imaging")) {
-            return "medical_imaging_specialist";
-        }
-        if (lowerRole.contains("healthcare security") || lowerRole.contains("health security")) {
-            return "healthcare_security_analyst";
-        }
-        if (lowerRole.contains("clinical data")) {
-            return "clinical_data_specialist";
-        }
-        if (lowerRole.contains("population health")) {
-            return "population_health_analyst";
-        }
-        
-        // Agriculture roles mapping
-        if (lowerRole.contains("agritech") || lowerRole.contains("agri tech") || lowerRole.contains("agri-tech")) {
-            return "agritech_product_manager";
-        }
-        if (lowerRole.contains("precision farm") || lowerRole.contains("precision agriculture")) {
-            return "precision_agriculture_specialist";
-        }
-        if (lowerRole.contains("agricultural data") || lowerRole.contains("agri data")) {
-            return "agricultural_data_scientist";
-        }
-        if (lowerRole.contains("drone") || lowerRole.contains("uav")) {
-            return "farm_automation_engineer";
-        }
-        if (lowerRole.contains("smart farm") || lowerRole.contains("farm automation")) {
-            return "farm_automation_engineer";
-        }
-        if (lowerRole.contains("iot agriculture") || lowerRole.contains("agricultural iot")) {
-            return "agricultural_iot_specialist";
-        }
-        if (lowerRole.contains("crop analytics") || lowerRole.contains("crop analysis")) {
-            return "crop_analytics_specialist";
-        }
-        if (lowerRole.contains("sustainable agriculture") || lowerRole.contains("soil")) {
-            return "soil_health_data_analyst";
-        }
-        if (lowerRole.contains("irrigation") || lowerRole.contains("water")) {
-            return "smart_irrigation_engineer";
-        }
-        if (lowerRole.contains("agricultural robot") || lowerRole.contains("agri robot")) {
-            return "agricultural_robotics_engineer";
-        }
-        
-        // Urban/Smart City roles mapping
-        if (lowerRole.contains("smart city architect") || lowerRole.contains("city solutions")) {
-            return "smart_city_solutions_architect";
-        }
-        if (lowerRole.contains("iot solutions") || lowerRole.contains("iot infrastructure")) {
-            return "iot_infrastructure_engineer";
-        }
-        if (lowerRole.contains("urban systems") || lowerRole.contains("urban data") || lowerRole.contains("urban analyst")) {
-            return "urban_data_analyst";
-        }
-        if (lowerRole.contains("smart grid") || lowerRole.contains("energy")) {
-            return "smart_grid_engineer";
-        }
-        if (lowerRole.contains("traffic")) {
-            return "traffic_management_systems_engineer";
-        }
-        if (lowerRole.contains("gis analyst") || lowerRole.contains("geospatial")) {
-            return "urban_gis_specialist";
-        }
-        if (lowerRole.contains("building automation") || lowerRole.contains("smart building")) {
-            return "building_automation_engineer";
-        }
-        
-        // Default fallback based on sector context (if no specific match)
-        return lowerRole.replace(" ", "_");
-    }
-
     private Integer encodeFieldOfStudy(String fieldOfStudy) {
         if (fieldOfStudy == null) return 0;
         return switch (fieldOfStudy.toLowerCase()) {
@@ -578,12 +556,6 @@ public class ExternalApiService {
         };
     }
 
-    private Integer encodeRole(String role) {
-        if (role == null) return 0;
-        // Simple hash-based encoding for roles
-        return Math.abs(role.toLowerCase().hashCode() % 10) + 1;
-    }
-
     private Integer boolToInt(Boolean value) {
         return value != null && value ? 1 : 0;
     }
@@ -613,4 +585,34 @@ public class ExternalApiService {
                 .average()
                 .orElse(1.0);
     }
+
+    /**
+     * Concurrency limit for one external API. A call beyond the limit waits up to acquire-timeout-ms
+     * for a slot and is then skipped (returns null, like a failed call) instead of queueing behind a
+     * slow upstream.
+     */
+    private record Upstream(String name, Semaphore permits, AtomicLong rejected, long acquireTimeoutMs) {
+
+        Upstream(String name, int maxConcurrentCalls, long acquireTimeoutMs) {
+            this(name, new Semaphore(maxConcurrentCalls), new AtomicLong(), acquireTimeoutMs);
+        }
+
+        <T> T call(Supplier<T> request) {
+            try {
+                if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                    rejected.incrementAndGet();
+                    log.warn("Skipping {} call: concurrency limit reached", name);
+                    return null;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            try {
+                return request.get();
+            } finally {
+                permits.release();
+            }
+        }
+    }
 }
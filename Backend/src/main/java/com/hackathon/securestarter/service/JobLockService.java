@@ -0,0 +1,78 @@
+package com.hackathon.securestarter.service;
+
+import com.hackathon.securestarter.repository.JobLockRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Cluster-wide leases for scheduled jobs, stored in the job_locks table.
+ * Every instance runs the same @Scheduled methods; a job that must run on one node at a time
+ * takes the lease first and skips its run when another instance holds it. A lease expires on
+ * its own, so a node that dies mid-run blocks the job for at most the lease duration.
+ * Lease times come from each node's clock, so keep leases well above any expected clock skew.
+ */
+@Service
+@Slf4j
+public class JobLockService {
+
+    private final JobLockRepository jobLockRepository;
+    private final String owner;
+
+    public JobLockService(JobLockRepository jobLockRepository) {
+        this.jobLockRepository = jobLockRepository;
+        this.owner = hostName() + "/" + UUID.randomUUID();
+    }
+
+    /**
+     * Try to take the lease on a job
+     * @param name job name
+     * @param leaseTime how long the lease is held unless released earlier
+     * @return true if this instance now holds the lease
+     */
+    public boolean tryAcquire(String name, Duration leaseTime) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.plus(leaseTime);
+
+        if (jobLockRepository.acquireExpired(name, owner, now, until) == 1) {
+            return true;
+        }
+        if (jobLockRepository.existsById(name)) {
+            log.debug("Job {} is locked by another instance", name);
+            return false;
+        }
+
+        // First run of this job anywhere: create the row; losing the race means another node has it
+        try {
+            jobLockRepository.insert(name, owner, now, until);
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Job {} was locked concurrently by another instance", name);
+            return false;
+        }
+    }
+
+    /**
+     * Release a lease held by this instance, so the next scheduled run on any node can take it
+     * @param name job name
+     */
+    public void release(String name) {
+        if (jobLockRepository.release(name, owner, LocalDateTime.now()) == 0) {
+            log.warn("Lease on job {} expired before the run finished", name);
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown-host";
+        }
+    }
+}
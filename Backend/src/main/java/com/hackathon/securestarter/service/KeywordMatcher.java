@@ -0,0 +1,148 @@
+package com.hackathon.securestarter.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * Aho-Corasick automaton over groups of lowercase ASCII keywords, compiled to a dense transition
+ * table. A single pass over the text finds the first group (by index) with a keyword occurring
+ * anywhere in it, ignoring case - the same answer as trying each group's contains() checks in order,
+ * without rescanning the text once per keyword.
+ */
+final class KeywordMatcher {
+
+    static final int NO_MATCH = -1;
+
+    private static final int ASCII = 128;
+
+    /**
+     * The one non-ASCII character String.toLowerCase() turns into an ASCII letter
+     * and another character ('i' and a combining dot), unlike Character.toLowerCase()
+     */
+    private static final char CAPITAL_I_WITH_DOT = '\u0130';
+
+    /**
+     * Character class of each ASCII character; 0 for characters no keyword contains
+     */
+    private final byte[] classes;
+    private final int width;
+
+    /**
+     * transitions[state * width + class]: next state, failure links already folded in
+     */
+    private final int[] transitions;
+
+    /**
+     * Lowest group index among the keywords ending at each state or its failure chain
+     */
+    private final int[] groups;
+
+    private KeywordMatcher(byte[] classes, int width, int[] transitions, int[] groups) {
+        this.classes = classes;
+        this.width = width;
+        this.transitions = transitions;
+        this.groups = groups;
+    }
+
+    /**
+     * Compile keyword groups into a matcher
+     * @param keywordGroups keywords of each group, lowercase ASCII; the group index is its priority
+     * @return the matcher
+     */
+    static KeywordMatcher compile(List<? extends Collection<String>> keywordGroups) {
+        byte[] classes = new byte[ASCII];
+        int width = 1;
+        for (Collection<String> keywords : keywordGroups) {
+            for (String keyword : keywords) {
+                if (keyword.isEmpty()) {
+                    throw new IllegalArgumentException("Empty keyword");
+                }
+                for (char c : keyword.toCharArray()) {
+                    if (c >= ASCII || Character.isUpperCase(c)) {
+                        throw new IllegalArgumentException("Keyword is not lowercase ASCII: " + keyword);
+                    }
+                    if (classes[c] == 0) {
+                        classes[c] = (byte) width++;
+                    }
+                }
+            }
+        }
+
+        // Trie of all keywords; -1 marks a missing edge
+        List<int[]> trie = new ArrayList<>();
+        List<Integer> trieGroups = new ArrayList<>();
+        trie.add(newRow(width));
+        trieGroups.add(Integer.MAX_VALUE);
+        for (int group = 0; group < keywordGroups.size(); group++) {
+            for (String keyword : keywordGroups.get(group)) {
+                int state = 0;
+                for (char c : keyword.toCharArray()) {
+                    int next = trie.get(state)[classes[c]];
+                    if (next < 0) {
+                        next = trie.size();
+                        trie.get(state)[classes[c]] = next;
+                        trie.add(newRow(width));
+                        trieGroups.add(Integer.MAX_VALUE);
+                    }
+                    state = next;
+                }
+                trieGroups.set(state, Math.min(trieGroups.get(state), group));
+            }
+        }
+
+        // Breadth-first, so a state's failure target is complete before the state itself
+        int states = trie.size();
+        int[] transitions = new int[states * width];
+        int[] groups = trieGroups.stream().mapToInt(Integer::intValue).toArray();
+        int[] failure = new int[states];
+        Queue<Integer> queue = new ArrayDeque<>();
+        queue.add(0);
+        while (!queue.isEmpty()) {
+            int state = queue.remove();
+            int[] edges = trie.get(state);
+            for (int c = 0; c < width; c++) {
+                int fallback = state == 0 ? 0 : transitions[failure[state] * width + c];
+                int next = edges[c];
+                if (next < 0) {
+                    transitions[state * width + c] = fallback;
+                } else {
+                    transitions[state * width + c] = next;
+                    failure[next] = fallback;
+                    groups[next] = Math.min(groups[next], groups[fallback]);
+                    queue.add(next);
+                }
+            }
+        }
+        return new KeywordMatcher(classes, width, transitions, groups);
+    }
+
+    /**
+     * First group with a keyword occurring in the text
+     * @param text text to search, in any case
+     * @return index of that group, NO_MATCH if none
+     */
+    int match(CharSequence text) {
+        int state = 0;
+        int best = Integer.MAX_VALUE;
+        for (int i = 0; i < text.length() && best > 0; i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            state = transitions[state * width + (c < ASCII ? classes[c] : 0)];
+            best = Math.min(best, groups[state]);
+            if (text.charAt(i) == CAPITAL_I_WITH_DOT) {
+                // The combining dot after the 'i' ends any keyword, as it does in the lowercased string
+                state = 0;
+            }
+        }
+        return best == Integer.MAX_VALUE ? NO_MATCH : best;
+    }
+
+    private static int[] newRow(int width) {
+        int[] row = new int[width];
+        Arrays.fill(row, -1);
+        return row;
+    }
+}
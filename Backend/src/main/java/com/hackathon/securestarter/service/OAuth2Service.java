@@ -17,6 +17,7 @@ import java.util.Optional;
 public class OAuth2Service {
 
     private final UserRepository userRepository;
+    private final UserProfileStatsService userProfileStatsService;
 
     /**
      * Process OAuth2 user (create if new, update if existing)
@@ -64,6 +65,7 @@ public class OAuth2Service {
                 .build();
 
         User savedUser = userRepository.save(newUser);
+        userProfileStatsService.createEmptyStats(savedUser.getId());
         log.info("Created new Google user: {}", email);
 
         return savedUser;
@@ -1,18 +1,23 @@
 package com.hackathon.securestarter.service;
 
+import com.hackathon.securestarter.dto.projection.OnboardingState;
 import com.hackathon.securestarter.dto.request.OnboardingSubmitRequest;
 import com.hackathon.securestarter.dto.response.MessageResponse;
 import com.hackathon.securestarter.dto.response.OnboardingStatusResponse;
 import com.hackathon.securestarter.entity.User;
+import com.hackathon.securestarter.entity.UserProfileStats;
+import com.hackathon.securestarter.event.UserProfileChangedEvent;
 import com.hackathon.securestarter.exception.BadRequestException;
 import com.hackathon.securestarter.exception.ResourceNotFoundException;
 import com.hackathon.securestarter.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -25,12 +30,7 @@ import java.util.UUID;
 public class OnboardingService {
 
     private final UserRepository userRepository;
-    private final AcademicProfileRepository academicProfileRepository;
-    private final CareerProfileRepository careerProfileRepository;
-    private final SkillProfileRepository skillProfileRepository;
-    private final CourseRepository courseRepository;
-    private final ProjectRepository projectRepository;
-    private final CertificationRepository certificationRepository;
+    private final UserProfileStatsRepository userProfileStatsRepository;
     
     private final AcademicProfileService academicProfileService;
     private final CareerProfileService careerProfileService;
@@ -38,6 +38,8 @@ public class OnboardingService {
     private final CourseService courseService;
     private final ProjectService projectService;
     private final CertificationService certificationService;
+    private final UserProfileStatsService userProfileStatsService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Get onboarding status for a user
@@ -45,24 +47,25 @@ public class OnboardingService {
      * @return OnboardingStatusResponse
      */
     public OnboardingStatusResponse getOnboardingStatus(UUID userId) {
-        User user = userRepository.findById(userId)
+        OnboardingState state = userProfileStatsRepository.findOnboardingState(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        UserProfileStats stats = state.stats() != null ? state.stats() : userProfileStatsService.getStats(userId);
 
         return OnboardingStatusResponse.builder()
-                .onboardingCompleted(user.getOnboardingCompleted())
-                .completedAt(user.getOnboardingCompletedAt())
-                .hasAcademicProfile(academicProfileRepository.existsByUserId(userId))
-                .hasCareerProfile(careerProfileRepository.existsByUserId(userId))
-                .hasSkillProfile(skillProfileRepository.existsByUserId(userId))
-                .coursesCount((int) courseRepository.countByUserId(userId))
-                .projectsCount((int) projectRepository.countByUserId(userId))
-                .certificationsCount((int) certificationRepository.countByUserId(userId))
+                .onboardingCompleted(state.onboardingCompleted())
+                .completedAt(state.onboardingCompletedAt())
+                .hasAcademicProfile(stats.isHasAcademicProfile())
+                .hasCareerProfile(stats.isHasCareerProfile())
+                .hasSkillProfile(stats.isHasSkillProfile())
+                .coursesCount(stats.getCoursesCount())
+                .projectsCount(stats.getProjectsCount())
+                .certificationsCount(stats.getCertificationsCount())
                 .build();
     }
 
     /**
      * Submit complete onboarding data
-     * Creates all profile entities and marks onboarding as complete
+     * Creates or updates all profile entities and marks onboarding as complete
      * @param userId the user's UUID
      * @param request the complete onboarding data
      * @return MessageResponse
@@ -72,50 +75,17 @@ public class OnboardingService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
-        // Check if already onboarded (optional - can allow re-onboarding)
+        // Re-onboarding replaces the previous submission: rows are diffed against the request
+        // so only changed profiles, new items and dropped items are written
         if (Boolean.TRUE.equals(user.getOnboardingCompleted())) {
             log.info("User {} is re-submitting onboarding data", user.getEmail());
-            // Delete existing data if re-onboarding
-            deleteExistingOnboardingData(userId);
         }
 
         try {
-            // 1. Create Academic Profile
-            log.info("Creating academic profile for user: {}", user.getEmail());
-            academicProfileService.createAcademicProfileEntity(user, request.getAcademicProfile());
-
-            // 2. Create Career Profile
-            log.info("Creating career profile for user: {}", user.getEmail());
-            careerProfileService.createCareerProfileEntity(user, request.getCareerProfile());
-
-            // 3. Create Skill Profile
-            log.info("Creating skill profile for user: {}", user.getEmail());
-            skillProfileService.createSkillProfileEntity(user, request.getSkillProfile());
-
-            // 4. Create Courses (if any)
-            if (request.getCourses() != null && !request.getCourses().isEmpty()) {
-                log.info("Creating {} courses for user: {}", request.getCourses().size(), user.getEmail());
-                courseService.createCoursesForUser(user, request.getCourses());
-            }
-
-            // 5. Create Projects (if any)
-            if (request.getProjects() != null && !request.getProjects().isEmpty()) {
-                log.info("Creating {} projects for user: {}", request.getProjects().size(), user.getEmail());
-                projectService.createProjectsForUser(user, request.getProjects());
-            }
-
-            // 6. Create Certifications (if any)
-            if (request.getCertifications() != null && !request.getCertifications().isEmpty()) {
-                log.info("Creating {} certifications for user: {}", request.getCertifications().size(), user.getEmail());
-                certificationService.createCertificationsForUser(user, request.getCertifications());
-            }
-
-            // 7. Mark onboarding as complete
-            user.setOnboardingCompleted(true);
-            user.setOnboardingCompletedAt(LocalDateTime.now());
-            userRepository.save(user);
+            applyOnboarding(user, request);
 
             log.info("Onboarding completed successfully for user: {}", user.getEmail());
+            eventPublisher.publishEvent(new UserProfileChangedEvent(userId));
             return MessageResponse.success("Onboarding completed successfully! Your profile has been created.");
 
         } catch (Exception e) {
@@ -125,21 +95,34 @@ public class OnboardingService {
     }
 
     /**
-     * Delete existing onboarding data for re-onboarding
-     * @param userId the user's UUID
+     * Save all onboarding data for a user and mark onboarding as complete.
+     * Joins the caller's transaction (internal use for onboarding and bulk import)
+     * @param user the user entity
+     * @param request the complete onboarding data
      */
     @Transactional
-    public void deleteExistingOnboardingData(UUID userId) {
-        // Delete in reverse order of dependencies
-        certificationRepository.deleteByUserId(userId);
-        projectRepository.deleteByUserId(userId);
-        courseRepository.deleteByUserId(userId);
-        
-        skillProfileRepository.findByUserId(userId).ifPresent(skillProfileRepository::delete);
-        careerProfileRepository.findByUserId(userId).ifPresent(careerProfileRepository::delete);
-        academicProfileRepository.findByUserId(userId).ifPresent(academicProfileRepository::delete);
-        
-        log.info("Deleted existing onboarding data for userId: {}", userId);
+    public void applyOnboarding(User user, OnboardingSubmitRequest request) {
+        // 1. Academic Profile
+        log.info("Saving academic profile for user: {}", user.getEmail());
+        academicProfileService.saveAcademicProfileEntity(user, request.getAcademicProfile());
+
+        // 2. Career Profile
+        log.info("Saving career profile for user: {}", user.getEmail());
+        careerProfileService.saveCareerProfileEntity(user, request.getCareerProfile());
+
+        // 3. Skill Profile
+        log.info("Saving skill profile for user: {}", user.getEmail());
+        skillProfileService.saveSkillProfileEntity(user, request.getSkillProfile());
+
+        // 4-6. Courses, Projects, Certifications (missing lists mean none)
+        courseService.syncCoursesForUser(user, orEmpty(request.getCourses()));
+        projectService.syncProjectsForUser(user, orEmpty(request.getProjects()));
+        certificationService.syncCertificationsForUser(user, orEmpty(request.getCertifications()));
+
+        // 7. Mark onboarding as complete
+        user.setOnboardingCompleted(true);
+        user.setOnboardingCompletedAt(LocalDateTime.now());
+        userRepository.save(user);
     }
 
     /**
@@ -152,4 +135,8 @@ public class OnboardingService {
                 .map(User::getOnboardingCompleted)
                 .orElse(false);
     }
+
+    private static <T> List<T> orEmpty(List<T> items) {
+        return items != null ? items : List.of();
+    }
 }
@@ -0,0 +1,109 @@
+package com.hackathon.securestarter.service;
+
+import com.hackathon.securestarter.dto.projection.UserAcademicSnapshot;
+import com.hackathon.securestarter.dto.projection.UserCareerSnapshot;
+import com.hackathon.securestarter.dto.projection.UserCount;
+import com.hackathon.securestarter.dto.projection.UserCourseStats;
+import com.hackathon.securestarter.dto.projection.UserProjectComplexityCount;
+import com.hackathon.securestarter.dto.projection.UserSkillMask;
+import com.hackathon.securestarter.repository.*;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Loads compact per-user profile snapshots in batches for the in-memory indexes
+ * and cohort analytics. One grouped query per table per batch, no entities are materialised.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProfileSnapshotService {
+
+    private final AcademicProfileRepository academicProfileRepository;
+    private final CareerProfileRepository careerProfileRepository;
+    private final SkillProfileRepository skillProfileRepository;
+    private final CourseRepository courseRepository;
+    private final ProjectRepository projectRepository;
+    private final CertificationRepository certificationRepository;
+
+    /**
+     * Flattened view of everything the indexes need about one user.
+     * @param skillMask null when the user has no skill profile
+     * @param projectsByComplexity project counts indexed by complexity level 1-3 (index 0 unused)
+     */
+    public record ProfileSnapshot(UUID userId, String industrySector, String targetJobRole,
+                                  Integer educationLevel, Float cgpaPercentage, Long skillMask, int courseCount, Double averageGrade,
+                                  int[] projectsByComplexity, int certificationCount) {
+
+        public int projectCount(int complexityLevel) {
+            return projectsByComplexity[complexityLevel];
+        }
+
+        public int totalProjects() {
+            return projectsByComplexity[1] + projectsByComplexity[2] + projectsByComplexity[3];
+        }
+
+        /**
+         * Average project complexity, or null when the user has no projects
+         */
+        public Double averageComplexity() {
+            int total = totalProjects();
+            if (total == 0) {
+                return null;
+            }
+            return (projectsByComplexity[1] + 2.0 * projectsByComplexity[2] + 3.0 * projectsByComplexity[3]) / total;
+        }
+    }
+
+    /**
+     * Load snapshots for a batch of users
+     * @param userIds the users' UUIDs
+     * @return one snapshot per requested user, in the same order
+     */
+    public List<ProfileSnapshot> loadSnapshots(List<UUID> userIds) {
+        Map<UUID, UserAcademicSnapshot> academics = academicProfileRepository.findSnapshotsByUserIdIn(userIds)
+                .stream().collect(Collectors.toMap(UserAcademicSnapshot::getUserId, Function.identity()));
+        Map<UUID, UserCareerSnapshot> careers = careerProfileRepository.findSnapshotsByUserIdIn(userIds)
+                .stream().collect(Collectors.toMap(UserCareerSnapshot::getUserId, Function.identity()));
+        Map<UUID, Long> skillMasks = skillProfileRepository.findSkillMasksByUserIdIn(userIds)
+                .stream().collect(Collectors.toMap(UserSkillMask::getUserId, UserSkillMask::getSkillMask));
+        Map<UUID, UserCourseStats> courses = courseRepository.findCourseStatsByUserIdIn(userIds)
+                .stream().collect(Collectors.toMap(UserCourseStats::getUserId, Function.identity()));
+        Map<UUID, Long> certifications = certificationRepository.countByUserIdIn(userIds)
+                .stream().collect(Collectors.toMap(UserCount::getUserId, UserCount::getCount));
+        Map<UUID, int[]> projects = new HashMap<>();
+        for (UserProjectComplexityCount row : projectRepository.countByComplexityForUserIdIn(userIds)) {
+            Integer level = row.getComplexityLevel();
+            if (level != null && level >= 1 && level <= 3) {
+                projects.computeIfAbsent(row.getUserId(), k -> new int[4])[level] = (int) row.getProjectCount();
+            }
+        }
+
+        List<ProfileSnapshot> snapshots = new ArrayList<>(userIds.size());
+        for (UUID userId : userIds) {
+            UserAcademicSnapshot academic = academics.get(userId);
+            UserCareerSnapshot career = careers.get(userId);
+            UserCourseStats courseStats = courses.get(userId);
+            snapshots.add(new ProfileSnapshot(
+                    userId,
+                    career != null ? career.getIndustrySector() : null,
+                    career != null ? career.getTargetJobRole() : null,
+                    academic != null ? academic.getEducationLevel() : null,
+                    academic != null ? academic.getCgpaPercentage() : null,
+                    skillMasks.get(userId),
+                    courseStats != null ? (int) courseStats.getCourseCount() : 0,
+                    courseStats != null ? courseStats.getAverageGrade() : null,
+                    projects.getOrDefault(userId, new int[4]),
+                    certifications.getOrDefault(userId, 0L).intValue()
+            ));
+        }
+        return snapshots;
+    }
+}
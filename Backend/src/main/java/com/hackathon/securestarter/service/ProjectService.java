@@ -1,20 +1,28 @@
 package com.hackathon.securestarter.service;
 
+import com.hackathon.securestarter.dto.projection.ProjectStats;
 import com.hackathon.securestarter.dto.request.ProjectRequest;
+import com.hackathon.securestarter.dto.response.CursorPageResponse;
 import com.hackathon.securestarter.dto.response.ProjectListResponse;
 import com.hackathon.securestarter.dto.response.ProjectResponse;
 import com.hackathon.securestarter.entity.Project;
 import com.hackathon.securestarter.entity.User;
+import com.hackathon.securestarter.event.UserProfileChangedEvent;
 import com.hackathon.securestarter.exception.ResourceNotFoundException;
 import com.hackathon.securestarter.repository.ProjectRepository;
 import com.hackathon.securestarter.repository.UserRepository;
+import com.hackathon.securestarter.util.EntityDiff;
+import com.hackathon.securestarter.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -27,6 +35,8 @@ public class ProjectService {
 
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
+    private final UserProfileStatsService userProfileStatsService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Get all projects for a user with statistics
@@ -34,32 +44,59 @@ public class ProjectService {
      * @return ProjectListResponse with projects and stats
      */
     public ProjectListResponse getUserProjects(UUID userId) {
-        List<Project> projects = projectRepository.findByUserIdOrderByCreatedAtDesc(userId);
-        List<ProjectResponse> projectResponses = projects.stream()
+        List<ProjectResponse> projectResponses = projectRepository.findByUserIdOrderByCreatedAtDesc(userId).stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
 
-        Double avgComplexity = projectRepository.findAverageComplexityByUserId(userId);
-        
-        int beginnerCount = (int) projects.stream()
-                .filter(p -> p.getComplexityLevel() != null && p.getComplexityLevel() == 1)
-                .count();
-        int intermediateCount = (int) projects.stream()
-                .filter(p -> p.getComplexityLevel() != null && p.getComplexityLevel() == 2)
-                .count();
-        int advancedCount = (int) projects.stream()
-                .filter(p -> p.getComplexityLevel() != null && p.getComplexityLevel() == 3)
-                .count();
+        return buildProjectListResponse(projectResponses, projectRepository.findStatsByUserId(userId));
+    }
 
-        return ProjectListResponse.builder()
-                .projects(projectResponses)
-                .totalProjects(projects.size())
-                .averageComplexity(avgComplexity != null ? Math.round(avgComplexity * 100.0) / 100.0 : 0.0)
-                .beginnerProjects(beginnerCount)
-                .intermediateProjects(intermediateCount)
-                .advancedProjects(advancedCount)
-                .experienceLevel(ProjectListResponse.calculateExperienceLevel(avgComplexity))
-                .build();
+    /**
+     * Get project statistics for a user without loading the projects themselves
+     * @param userId the user's UUID
+     * @return ProjectListResponse with stats and an empty project list
+     */
+    public ProjectListResponse getProjectSummary(UUID userId) {
+        return buildProjectListResponse(List.of(), projectRepository.findStatsByUserId(userId));
+    }
+
+    /**
+     * Get one page of a user's projects, newest first
+     * @param userId the user's UUID
+     * @param cursor nextCursor from the previous page, or null for the first page
+     * @param size page size (defaults to {@link KeysetCursor#DEFAULT_PAGE_SIZE})
+     * @return CursorPageResponse of ProjectResponse
+     */
+    public CursorPageResponse<ProjectResponse> getUserProjectsPage(UUID userId, String cursor, Integer size) {
+        int pageSize = KeysetCursor.pageSize(size);
+        List<Project> rows = findProjectsPage(userId, KeysetCursor.decode(cursor), pageSize + 1);
+        return KeysetCursor.toPage(rows, pageSize, this::mapToResponse,
+                project -> new KeysetCursor(project.getCreatedAt(), project.getId()));
+    }
+
+    /**
+     * Stream all of a user's projects, newest first, one bounded page at a time
+     * @param userId the user's UUID
+     * @param sink receives each project in order
+     */
+    public void exportUserProjects(UUID userId, Consumer<? super ProjectResponse> sink) {
+        KeysetCursor after = null;
+        List<Project> rows;
+        do {
+            rows = findProjectsPage(userId, after, KeysetCursor.EXPORT_BATCH_SIZE);
+            rows.forEach(project -> sink.accept(mapToResponse(project)));
+            if (!rows.isEmpty()) {
+                Project last = rows.get(rows.size() - 1);
+                after = new KeysetCursor(last.getCreatedAt(), last.getId());
+            }
+        } while (rows.size() == KeysetCursor.EXPORT_BATCH_SIZE);
+    }
+
+    private List<Project> findProjectsPage(UUID userId, KeysetCursor after, int limit) {
+        if (after == null) {
+            return projectRepository.findFirstPageByUserId(userId, Limit.of(limit));
+        }
+        return projectRepository.findPageByUserIdAfter(userId, after.createdAt(), after.id(), Limit.of(limit));
     }
 
     /**
@@ -84,7 +121,9 @@ public class ProjectService {
                 .build();
 
         Project savedProject = projectRepository.save(project);
+        userProfileStatsService.addCounts(userId, 0, 1, 0);
         log.info("Project added for user: {} - {}", user.getEmail(), project.getProjectTitle());
+        eventPublisher.publishEvent(new UserProfileChangedEvent(userId));
 
         return mapToResponse(savedProject);
     }
@@ -101,15 +140,11 @@ public class ProjectService {
         Project project = projectRepository.findByIdAndUserId(projectId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Project not found or not owned by user"));
 
-        project.setProjectTitle(request.getProjectTitle());
-        project.setDomainSkills(request.getDomainSkills());
-        project.setComplexityLevel(request.getComplexityLevel());
-        project.setDescription(request.getDescription());
-        project.setGithubUrl(request.getGithubUrl());
-        project.setDemoUrl(request.getDemoUrl());
+        applyProjectRequest(project, request);
 
         Project savedProject = projectRepository.save(project);
         log.info("Project updated: {}", project.getProjectTitle());
+        eventPublisher.publishEvent(new UserProfileChangedEvent(userId));
 
         return mapToResponse(savedProject);
     }
@@ -125,7 +160,9 @@ public class ProjectService {
                 .orElseThrow(() -> new ResourceNotFoundException("Project not found or not owned by user"));
 
         projectRepository.delete(project);
+        userProfileStatsService.addCounts(userId, 0, -1, 0);
         log.info("Project deleted: {}", project.getProjectTitle());
+        eventPublisher.publishEvent(new UserProfileChangedEvent(userId));
     }
 
     /**
@@ -155,7 +192,19 @@ public class ProjectService {
      */
     @Transactional
     public Project createProjectEntity(User user, ProjectRequest request) {
-        Project project = Project.builder()
+        Project savedProject = projectRepository.save(buildProjectEntity(user, request));
+        userProfileStatsService.addCounts(user.getId(), 0, 1, 0);
+        return savedProject;
+    }
+
+    /**
+     * Build an unsaved project from request (internal use for onboarding and bulk import)
+     * @param user the user entity
+     * @param request the project request
+     * @return new Project entity, not yet persisted
+     */
+    public Project buildProjectEntity(User user, ProjectRequest request) {
+        return Project.builder()
                 .user(user)
                 .projectTitle(request.getProjectTitle())
                 .domainSkills(request.getDomainSkills())
@@ -164,21 +213,62 @@ public class ProjectService {
                 .githubUrl(request.getGithubUrl())
                 .demoUrl(request.getDemoUrl())
                 .build();
-
-        return projectRepository.save(project);
     }
 
     /**
-     * Create multiple projects for onboarding
+     * Replace a user's projects with a resubmitted list (onboarding).
+     * Rows are matched by name: matches are updated in place (only changed rows are written),
+     * new items are inserted and unmatched rows are removed with one bulk delete.
      * @param user the user entity
-     * @param requests list of project requests
-     * @return list of saved projects
+     * @param requests the full list of projects the user should end up with
      */
     @Transactional
-    public List<Project> createProjectsForUser(User user, List<ProjectRequest> requests) {
-        return requests.stream()
-                .map(req -> createProjectEntity(user, req))
-                .collect(Collectors.toList());
+    public void syncProjectsForUser(User user, List<ProjectRequest> requests) {
+        EntityDiff<Project, ProjectRequest> diff = EntityDiff.of(
+                projectRepository.findByUserId(user.getId()), requests,
+                project -> EntityDiff.nameKey(project.getProjectTitle()),
+                request -> EntityDiff.nameKey(request.getProjectTitle()));
+
+        diff.matched().forEach(pair -> applyProjectRequest(pair.getKey(), pair.getValue()));
+
+        projectRepository.saveAll(diff.added().stream()
+                .map(request -> buildProjectEntity(user, request))
+                .toList());
+
+        if (!diff.removed().isEmpty()) {
+            projectRepository.deleteAllByIdInBatch(diff.removed().stream().map(Project::getId).toList());
+        }
+        userProfileStatsService.addCounts(user.getId(), 0, diff.added().size() - diff.removed().size(), 0);
+        log.info("Synced projects for user: {} ({} kept, {} added, {} removed)", user.getEmail(),
+                diff.matched().size(), diff.added().size(), diff.removed().size());
+    }
+
+    /**
+     * Combine project rows with their aggregate statistics
+     */
+    private ProjectListResponse buildProjectListResponse(List<ProjectResponse> projects, ProjectStats stats) {
+        Double avgComplexity = stats.averageComplexity();
+        return ProjectListResponse.builder()
+                .projects(projects)
+                .totalProjects((int) stats.projectCount())
+                .averageComplexity(avgComplexity != null ? Math.round(avgComplexity * 100.0) / 100.0 : 0.0)
+                .beginnerProjects((int) stats.beginnerCount())
+                .intermediateProjects((int) stats.intermediateCount())
+                .advancedProjects((int) stats.advancedCount())
+                .experienceLevel(ProjectListResponse.calculateExperienceLevel(avgComplexity))
+                .build();
+    }
+
+    /**
+     * Copy request fields onto an existing project; dirty checking writes it only if something changed
+     */
+    private void applyProjectRequest(Project project, ProjectRequest request) {
+        project.setProjectTitle(request.getProjectTitle());
+        project.setDomainSkills(request.getDomainSkills());
+        project.setComplexityLevel(request.getComplexityLevel());
+        project.setDescription(request.getDescription());
+        project.setGithubUrl(request.getGithubUrl());
+        project.setDemoUrl(request.getDemoUrl());
     }
 
     /**
@@ -1,5 +1,6 @@
 package com.hackathon.securestarter.service;
 
+import com.hackathon.securestarter.dto.response.AllRecommendationsResponse;
 import com.hackathon.securestarter.dto.response.CourseRecommendationResponse;
 import com.hackathon.securestarter.dto.response.ProjectRecommendationResponse;
 import com.hackathon.securestarter.dto.response.SkillGapAnalysisResponse;
@@ -25,7 +26,6 @@ public class RecommendationService {
 
     private final CareerProfileRepository careerProfileRepository;
     private final SkillProfileRepository skillProfileRepository;
-    private final SkillProfileService skillProfileService;
     private final AnalyticsService analyticsService;
 
     // Course recommendations database
@@ -310,18 +310,42 @@ public class RecommendationService {
      * @return CourseRecommendationResponse
      */
     public CourseRecommendationResponse getCourseRecommendations(UUID userId) {
-        CareerProfile careerProfile = careerProfileRepository.findByUserId(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("Career profile not found. Please complete onboarding first."));
+        return buildCourseRecommendations(loadSkillGapAnalysis(userId));
+    }
 
-        SkillProfile skillProfile = skillProfileRepository.findByUserId(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("Skill profile not found. Please complete onboarding first."));
+    /**
+     * Get personalized project recommendations for a user
+     * @param userId the user's UUID
+     * @return ProjectRecommendationResponse
+     */
+    public ProjectRecommendationResponse getProjectRecommendations(UUID userId) {
+        return buildProjectRecommendations(loadSkillGapAnalysis(userId));
+    }
+
+    /**
+     * Get course recommendations, project recommendations and skill gap analysis in one call.
+     * Both profiles are read once and the gap analysis is computed once and shared.
+     * @param userId the user's UUID
+     * @return AllRecommendationsResponse
+     */
+    public AllRecommendationsResponse getAllRecommendations(UUID userId) {
+        SkillGapAnalysisResponse skillGaps = loadSkillGapAnalysis(userId);
 
-        String industrySector = careerProfile.getIndustrySector();
-        String targetRole = careerProfile.getTargetJobRole();
-        List<String> currentSkills = skillProfileService.getAllCurrentSkills(skillProfile);
+        return AllRecommendationsResponse.builder()
+                .courseRecommendations(buildCourseRecommendations(skillGaps))
+                .projectRecommendations(buildProjectRecommendations(skillGaps))
+                .skillGapAnalysis(skillGaps)
+                .build();
+    }
 
-        // Get skill gap analysis
-        SkillGapAnalysisResponse skillGaps = analyticsService.analyzeSkillGaps(userId);
+    /**
+     * Build course recommendations from a precomputed skill gap analysis (internal use)
+     * @param skillGaps the user's skill gap analysis
+     * @return CourseRecommendationResponse
+     */
+    public CourseRecommendationResponse buildCourseRecommendations(SkillGapAnalysisResponse skillGaps) {
+        String industrySector = skillGaps.getIndustrySector();
+        String targetRole = skillGaps.getTargetJobRole();
         List<String> missingSkills = skillGaps.getMissingSkills();
 
         // Get courses for the industry
@@ -357,23 +381,13 @@ public class RecommendationService {
     }
 
     /**
-     * Get personalized project recommendations for a user
-     * @param userId the user's UUID
+     * Build project recommendations from a precomputed skill gap analysis (internal use)
+     * @param skillGaps the user's skill gap analysis
      * @return ProjectRecommendationResponse
      */
-    public ProjectRecommendationResponse getProjectRecommendations(UUID userId) {
-        CareerProfile careerProfile = careerProfileRepository.findByUserId(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("Career profile not found. Please complete onboarding first."));
-
-        SkillProfile skillProfile = skillProfileRepository.findByUserId(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("Skill profile not found. Please complete onboarding first."));
-
-        String industrySector = careerProfile.getIndustrySector();
-        String targetRole = careerProfile.getTargetJobRole();
-        List<String> currentSkills = skillProfileService.getAllCurrentSkills(skillProfile);
-
-        // Get skill gap analysis to determine appropriate complexity
-        SkillGapAnalysisResponse skillGaps = analyticsService.analyzeSkillGaps(userId);
+    public ProjectRecommendationResponse buildProjectRecommendations(SkillGapAnalysisResponse skillGaps) {
+        String industrySector = skillGaps.getIndustrySector();
+        String targetRole = skillGaps.getTargetJobRole();
         double matchPercentage = skillGaps.getSkillMatchPercentage();
 
         // Determine recommended complexity based on current skills
@@ -408,4 +422,17 @@ public class RecommendationService {
                 .totalRecommendations(recommendedProjects.size())
                 .build();
     }
+
+    /**
+     * Load career and skill profiles once and run the skill gap analysis on them
+     */
+    private SkillGapAnalysisResponse loadSkillGapAnalysis(UUID userId) {
+        CareerProfile careerProfile = careerProfileRepository.findByUserId(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Career profile not found. Please complete onboarding first."));
+
+        SkillProfile skillProfile = skillProfileRepository.findByUserId(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Skill profile not found. Please complete onboarding first."));
+
+        return analyticsService.analyzeSkillGaps(careerProfile, skillProfile);
+    }
 }
@@ -0,0 +1,211 @@
+package com.hackathon.securestarter.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps free-text target roles from career profiles to the role ids of the ML services.
+ * Roles are matched against a synonym table compiled into a KeywordMatcher, so resolving a role is
+ * one pass over it; resolved roles are cached (bounded by max-entries), since the same few roles
+ * come back on every dashboard request. Each role id also has a dense, stable integer code for the
+ * skill prediction request, which takes the role as a number; until that model is retrained on these
+ * codes, external.api.role-encoding=legacy keeps sending the hash bucket it was trained on.
+ */
+@Component
+public class RoleNormalizer implements MeterBinder {
+
+    /**
+     * Role id for a career profile without a target role
+     */
+    static final String DEFAULT_ROLE_ID = "health_data_analyst";
+
+    /**
+     * Code of roles outside ROLE_IDS (and of a missing role)
+     */
+    static final int UNKNOWN_ROLE_CODE = 0;
+
+    /**
+     * Role ids in code order: a role's code is its position plus one. The skill prediction model
+     * is trained on these codes, so new roles are appended and existing ones are never reordered.
+     */
+    private static final List<String> ROLE_IDS = List.of(
+            // Healthcare
+            "health_data_analyst",
+            "healthcare_ml_engineer",
+            "healthcare_it_manager",
+            "clinical_informatics_specialist",
+            "telemedicine_systems_engineer",
+            "medical_imaging_specialist",
+            "healthcare_security_analyst",
+            "clinical_data_specialist",
+            "population_health_analyst",
+            // Agriculture
+            "agritech_product_manager",
+            "precision_agriculture_specialist",
+            "agricultural_data_scientist",
+            "farm_automation_engineer",
+            "agricultural_iot_specialist",
+            "crop_analytics_specialist",
+            "soil_health_data_analyst",
+            "smart_irrigation_engineer",
+            "agricultural_robotics_engineer",
+            // Urban / Smart City
+            "smart_city_solutions_architect",
+            "iot_infrastructure_engineer",
+            "urban_data_analyst",
+            "smart_grid_engineer",
+            "traffic_management_systems_engineer",
+            "urban_gis_specialist",
+            "building_automation_engineer"
+    );
+
+    /**
+     * Phrases identifying each role id, matched anywhere in the lowercased role. When phrases of
+     * several entries occur in a role, the first entry wins (e.g. "agricultural data" before "drone").
+     */
+    private static final List<Synonyms> SYNONYMS = List.of(
+            // Healthcare roles
+            new Synonyms("health_data_analyst", "health data analyst", "healthcare data analyst"),
+            new Synonyms("healthcare_ml_engineer", "medical ai", "healthcare ml", "biomedical data"),
+            new Synonyms("healthcare_it_manager", "healthcare it", "health systems"),
+            new Synonyms("clinical_informatics_specialist", "clinical informatics"),
+            new Synonyms("telemedicine_systems_engineer", "telemedicine", "telehealth"),
+            new Synonyms("healthcare_it_manager", "digital health product", "health product manager"),
+            new Synonyms("medical_imaging_specialist", "medical imaging"),
+            new Synonyms("healthcare_security_analyst", "healthcare security", "health security"),
+            new Synonyms("clinical_data_specialist", "clinical data"),
+            new Synonyms("population_health_analyst", "population health"),
+            // Agriculture roles
+            new Synonyms("agritech_product_manager", "agritech", "agri tech", "agri-tech"),
+            new Synonyms("precision_agriculture_specialist", "precision farm", "precision agriculture"),
+            new Synonyms("agricultural_data_scientist", "agricultural data", "agri data"),
+            new Synonyms("farm_automation_engineer", "drone", "uav", "smart farm", "farm automation"),
+            new Synonyms("agricultural_iot_specialist", "iot agriculture", "agricultural iot"),
+            new Synonyms("crop_analytics_specialist", "crop analytics", "crop analysis"),
+            new Synonyms("soil_health_data_analyst", "sustainable agriculture", "soil"),
+            new Synonyms("smart_irrigation_engineer", "irrigation", "water"),
+            new Synonyms("agricultural_robotics_engineer", "agricultural robot", "agri robot"),
+            // Urban / Smart City roles
+            new Synonyms("smart_city_solutions_architect", "smart city architect", "city solutions"),
+            new Synonyms("iot_infrastructure_engineer", "iot solutions", "iot infrastructure"),
+            new Synonyms("urban_data_analyst", "urban systems", "urban data", "urban analyst"),
+            new Synonyms("smart_grid_engineer", "smart grid", "energy"),
+            new Synonyms("traffic_management_systems_engineer", "traffic"),
+            new Synonyms("urban_gis_specialist", "gis analyst", "geospatial"),
+            new Synonyms("building_automation_engineer", "building automation", "smart building")
+    );
+
+    private static final KeywordMatcher MATCHER = KeywordMatcher.compile(
+            SYNONYMS.stream().map(Synonyms::phrases).toList());
+
+    private static final Map<String, Integer> ROLE_CODES = new HashMap<>();
+
+    static {
+        for (int i = 0; i < ROLE_IDS.size(); i++) {
+            ROLE_CODES.put(ROLE_IDS.get(i), i + 1);
+        }
+        for (Synonyms synonyms : SYNONYMS) {
+            if (!ROLE_CODES.containsKey(synonyms.roleId())) {
+                throw new IllegalStateException("Role id without a code: " + synonyms.roleId());
+            }
+        }
+    }
+
+    private record Synonyms(String roleId, List<String> phrases) {
+
+        Synonyms(String roleId, String... phrases) {
+            this(roleId, List.of(phrases));
+        }
+    }
+
+    /**
+     * A resolved role
+     * @param id role id of the ML services
+     * @param code dense code of the role id, UNKNOWN_ROLE_CODE if it has none
+     */
+    record NormalizedRole(String id, int code) {
+    }
+
+    /**
+     * How toRoleCode numbers roles for the skill prediction model
+     */
+    public enum RoleEncoding {
+        /**
+         * Code of the matching role id, 1 to ROLE_IDS.size()
+         */
+        DENSE,
+        /**
+         * Hash of the lowercased free-text role into 1 to 10, which the current model was trained on
+         * (unrelated roles share codes)
+         */
+        LEGACY
+    }
+
+    private final Cache<String, NormalizedRole> cache;
+    private final RoleEncoding encoding;
+
+    public RoleNormalizer(@Value("${external.api.role-cache.max-entries:10000}") long maxEntries,
+                          @Value("${external.api.role-encoding:legacy}") RoleEncoding encoding) {
+        this.encoding = encoding;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Role id of a target role, for the ML recommendation request
+     * @param role free-text target role, may be null
+     * @return matching role id; the role itself in snake case if no synonym matches
+     */
+    public String toRoleId(String role) {
+        return role == null ? DEFAULT_ROLE_ID : cache.get(role, RoleNormalizer::resolve).id();
+    }
+
+    /**
+     * Code of a target role, for the skill prediction request
+     * @param role free-text target role, may be null
+     * @return with DENSE, the code of the matching role id (1 and up) or UNKNOWN_ROLE_CODE if there is
+     * none; with LEGACY, the role's hash bucket (1 to 10). UNKNOWN_ROLE_CODE for a missing role.
+     */
+    public int toRoleCode(String role) {
+        if (role == null) {
+            return UNKNOWN_ROLE_CODE;
+        }
+        return encoding == RoleEncoding.LEGACY
+                ? legacyCode(role)
+                : cache.get(role, RoleNormalizer::resolve).code();
+    }
+
+    /**
+     * Resolve a role without the cache (package-private for the benchmarks module)
+     */
+    static NormalizedRole resolve(String role) {
+        int match = MATCHER.match(role);
+        String id = match != KeywordMatcher.NO_MATCH
+                ? SYNONYMS.get(match).roleId()
+                : role.toLowerCase().trim().replace(" ", "_");
+        return new NormalizedRole(id, ROLE_CODES.getOrDefault(id, UNKNOWN_ROLE_CODE));
+    }
+
+    /**
+     * Role code the skill prediction model was first trained on
+     */
+    static int legacyCode(String role) {
+        return Math.abs(role.toLowerCase().hashCode() % 10) + 1;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "external.api.role-normalizer");
+    }
+}
@@ -0,0 +1,183 @@
+package com.hackathon.securestarter.service;
+
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Multi-index hashing over 32-bit profile codes for Hamming-distance nearest neighbours.
+ * Users with the same code share one entry, so the tables only hold distinct codes.
+ * Each code is split into four 8-bit substrings with one 256-bucket table per substring;
+ * by the pigeonhole principle any code within distance 4s+3 of the query matches the
+ * query within distance s on at least one substring, so probing substring radius
+ * s = 0, 1, 2... finds neighbours in order and stops as soon as k are confirmed.
+ */
+class SimilarStudentsIndex {
+
+    private static final int SUBSTRINGS = 4;
+    private static final int SUBSTRING_BITS = 8;
+    private static final int BUCKETS = 1 << SUBSTRING_BITS;
+    private static final int CODE_BITS = SUBSTRINGS * SUBSTRING_BITS;
+
+    // All 8-bit flip masks grouped by how many bits they flip
+    private static final int[][] MASKS_BY_WEIGHT = new int[SUBSTRING_BITS + 1][];
+
+    static {
+        List<List<Integer>> grouped = new ArrayList<>();
+        for (int weight = 0; weight <= SUBSTRING_BITS; weight++) {
+            grouped.add(new ArrayList<>());
+        }
+        for (int mask = 0; mask < BUCKETS; mask++) {
+            grouped.get(Integer.bitCount(mask)).add(mask);
+        }
+        for (int weight = 0; weight <= SUBSTRING_BITS; weight++) {
+            MASKS_BY_WEIGHT[weight] = grouped.get(weight).stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    /**
+     * A neighbouring user and its Hamming distance from the query code.
+     */
+    record Neighbour(UUID userId, int code, int distance) {
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<UUID, Integer> codeByUser = new HashMap<>();
+    private final Map<Integer, Set<UUID>> usersByCode = new HashMap<>();
+    private final RoaringBitmap[][] tables = new RoaringBitmap[SUBSTRINGS][BUCKETS];
+
+    /**
+     * Insert, move or (when code is null) remove users.
+     */
+    void update(Map<UUID, Integer> codes) {
+        lock.writeLock().lock();
+        try {
+            codes.forEach((userId, code) -> {
+                Integer previous = code != null ? codeByUser.put(userId, code) : codeByUser.remove(userId);
+                if (previous != null) {
+                    detach(userId, previous);
+                }
+                if (code != null) {
+                    attach(userId, code);
+                }
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return codeByUser.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find up to k users closest to the code, nearest first.
+     * @param self user to leave out of the result (may be null)
+     */
+    List<Neighbour> nearest(UUID self, int code, int k) {
+        lock.readLock().lock();
+        try {
+            List<List<Integer>> codesByDistance = new ArrayList<>(CODE_BITS + 1);
+            for (int d = 0; d <= CODE_BITS; d++) {
+                codesByDistance.add(new ArrayList<>());
+            }
+            RoaringBitmap seen = new RoaringBitmap();
+
+            for (int radius = 0; radius <= SUBSTRING_BITS; radius++) {
+                for (int table = 0; table < SUBSTRINGS; table++) {
+                    int substring = substring(code, table);
+                    for (int mask : MASKS_BY_WEIGHT[radius]) {
+                        RoaringBitmap bucket = tables[table][substring ^ mask];
+                        if (bucket == null) {
+                            continue;
+                        }
+                        IntIterator it = bucket.getIntIterator();
+                        while (it.hasNext()) {
+                            int candidate = it.next();
+                            if (seen.checkedAdd(candidate)) {
+                                codesByDistance.get(Integer.bitCount(code ^ candidate)).add(candidate);
+                            }
+                        }
+                    }
+                }
+                // Every code within this distance has now been seen
+                int complete = Math.min(CODE_BITS, SUBSTRINGS * radius + SUBSTRINGS - 1);
+                if (countUsers(codesByDistance, complete, self) >= k) {
+                    break;
+                }
+            }
+
+            List<Neighbour> neighbours = new ArrayList<>(k);
+            for (int d = 0; d <= CODE_BITS && neighbours.size() < k; d++) {
+                for (int candidate : codesByDistance.get(d)) {
+                    for (UUID userId : usersByCode.get(candidate)) {
+                        if (userId.equals(self)) {
+                            continue;
+                        }
+                        neighbours.add(new Neighbour(userId, candidate, d));
+                        if (neighbours.size() == k) {
+                            return neighbours;
+                        }
+                    }
+                }
+            }
+            return neighbours;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int countUsers(List<List<Integer>> codesByDistance, int maxDistance, UUID self) {
+        int count = 0;
+        for (int d = 0; d <= maxDistance; d++) {
+            for (int candidate : codesByDistance.get(d)) {
+                Set<UUID> users = usersByCode.get(candidate);
+                count += users.contains(self) ? users.size() - 1 : users.size();
+            }
+        }
+        return count;
+    }
+
+    private void attach(UUID userId, int code) {
+        Set<UUID> users = usersByCode.computeIfAbsent(code, c -> new LinkedHashSet<>());
+        if (users.isEmpty()) {
+            for (int table = 0; table < SUBSTRINGS; table++) {
+                int substring = substring(code, table);
+                if (tables[table][substring] == null) {
+                    tables[table][substring] = new RoaringBitmap();
+                }
+                tables[table][substring].add(code);
+            }
+        }
+        users.add(userId);
+    }
+
+    private void detach(UUID userId, int code) {
+        Set<UUID> users = usersByCode.get(code);
+        if (users == null || !users.remove(userId) || !users.isEmpty()) {
+            return;
+        }
+        usersByCode.remove(code);
+        for (int table = 0; table < SUBSTRINGS; table++) {
+            tables[table][substring(code, table)].remove(code);
+        }
+    }
+
+    private static int substring(int code, int table) {
+        return (code >>> (table * SUBSTRING_BITS)) & (BUCKETS - 1);
+    }
+}
@@ -0,0 +1,237 @@
+package com.hackathon.securestarter.service;
+
+import com.hackathon.securestarter.dto.projection.NameCount;
+import com.hackathon.securestarter.dto.response.SimilarStudentsResponse;
+import com.hackathon.securestarter.enums.Role;
+import com.hackathon.securestarter.enums.Skill;
+import com.hackathon.securestarter.event.UserProfileChangedEvent;
+import com.hackathon.securestarter.exception.ResourceNotFoundException;
+import com.hackathon.securestarter.exception.ServiceUnavailableException;
+import com.hackathon.securestarter.repository.CertificationRepository;
+import com.hackathon.securestarter.repository.CourseRepository;
+import com.hackathon.securestarter.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service for "students like you".
+ * Each student with a skill profile is reduced to a 32-bit profile code: one bit per skill,
+ * followed by thermometer-coded education level, average grade and project complexity, so the
+ * Hamming distance between two codes counts differing skills plus how many levels apart the
+ * rest is. Nearest neighbours come from a SimilarStudentsIndex kept current the same way as
+ * the talent search index; the peers' courses and certifications are then aggregated in SQL.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SimilarStudentsService {
+
+    private static final int DEFAULT_PEERS = 20;
+    private static final int MAX_PEERS = 100;
+    private static final int POPULAR_LIMIT = 10;
+
+    // Code layout: bits 0-18 skills, 19-21 education, 22-24 average grade, 25-27 projects
+    private static final int SKILL_BITS = 19;
+    private static final long SKILL_MASK = (1L << SKILL_BITS) - 1;
+    private static final int EDUCATION_SHIFT = SKILL_BITS;
+    private static final int GRADE_SHIFT = EDUCATION_SHIFT + 3;
+    private static final int PROJECT_SHIFT = GRADE_SHIFT + 3;
+
+    static {
+        if (Skill.values().length > SKILL_BITS) {
+            throw new IllegalStateException("Profile code layout has room for " + SKILL_BITS + " skills");
+        }
+    }
+
+    private final UserRepository userRepository;
+    private final CourseRepository courseRepository;
+    private final CertificationRepository certificationRepository;
+    private final ProfileSnapshotService profileSnapshotService;
+
+    private final Set<UUID> dirtyUsers = ConcurrentHashMap.newKeySet();
+
+    private volatile SimilarStudentsIndex index;
+
+    @Value("${app.similar-students.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Build the index from the database once the application is up
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndex() {
+        long start = System.currentTimeMillis();
+        SimilarStudentsIndex fresh = new SimilarStudentsIndex();
+
+        UUID after = null;
+        List<UUID> userIds;
+        do {
+            userIds = userRepository.findIdsByRoleAfter(Role.USER, after, Limit.of(batchSize));
+            if (!userIds.isEmpty()) {
+                fresh.update(loadCodes(userIds));
+                after = userIds.get(userIds.size() - 1);
+            }
+        } while (userIds.size() == batchSize);
+
+        index = fresh;
+        log.info("Similar students index built with {} users in {} ms", fresh.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Queue a user for re-indexing once their change has committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProfileChanged(UserProfileChangedEvent event) {
+        dirtyUsers.add(event.userId());
+    }
+
+    /**
+     * Re-read queued users and apply them to the index
+     */
+    @Scheduled(fixedDelayString = "${app.similar-students.refresh-interval-ms:5000}")
+    public void refreshChangedUsers() {
+        SimilarStudentsIndex current = index;
+        if (current == null || dirtyUsers.isEmpty()) {
+            return;
+        }
+
+        List<UUID> batch = new ArrayList<>(batchSize);
+        Iterator<UUID> it = dirtyUsers.iterator();
+        while (it.hasNext()) {
+            batch.add(it.next());
+            it.remove();
+            if (batch.size() == batchSize || !it.hasNext()) {
+                try {
+                    current.update(loadCodes(batch));
+                } catch (RuntimeException e) {
+                    // Ids leave the queue before loading so a change committed meanwhile queues them again;
+                    // a failed batch goes back for the next run
+                    dirtyUsers.addAll(batch);
+                    throw e;
+                }
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+    }
+
+    /**
+     * Find the students most similar to a user and what they studied
+     * @param userId the user's UUID
+     * @param limit number of peers to consider (defaults to 20, capped at 100)
+     * @return SimilarStudentsResponse with peers and their most common courses/certifications
+     */
+    public SimilarStudentsResponse getSimilarStudents(UUID userId, Integer limit) {
+        SimilarStudentsIndex current = index;
+        if (current == null) {
+            throw new ServiceUnavailableException("Similar students index is still being built, please try again shortly");
+        }
+
+        ProfileSnapshotService.ProfileSnapshot snapshot = profileSnapshotService.loadSnapshots(List.of(userId)).get(0);
+        if (snapshot.skillMask() == null) {
+            throw new ResourceNotFoundException("Skill profile not found. Please complete onboarding first.");
+        }
+
+        int k = limit != null ? Math.min(Math.max(limit, 1), MAX_PEERS) : DEFAULT_PEERS;
+        int code = encode(snapshot);
+        List<SimilarStudentsIndex.Neighbour> neighbours = current.nearest(userId, code, k);
+
+        if (neighbours.isEmpty()) {
+            return SimilarStudentsResponse.builder()
+                    .peerCount(0)
+                    .similarStudents(List.of())
+                    .popularCourses(List.of())
+                    .popularCertifications(List.of())
+                    .build();
+        }
+
+        List<UUID> peerIds = neighbours.stream().map(SimilarStudentsIndex.Neighbour::userId).toList();
+        List<NameCount> courses = courseRepository.findPopularAmongPeers(userId, peerIds, Limit.of(POPULAR_LIMIT));
+        List<NameCount> certifications = certificationRepository.findPopularAmongPeers(userId, peerIds, Limit.of(POPULAR_LIMIT));
+
+        return SimilarStudentsResponse.builder()
+                .peerCount(neighbours.size())
+                .similarStudents(neighbours.stream().map(n -> mapToSimilarStudent(code, n)).toList())
+                .popularCourses(mapToPopularItems(courses, neighbours.size()))
+                .popularCertifications(mapToPopularItems(certifications, neighbours.size()))
+                .build();
+    }
+
+    /**
+     * Encode a profile snapshot as a 32-bit code (see class comment for the layout)
+     */
+    static int encode(ProfileSnapshotService.ProfileSnapshot snapshot) {
+        int code = snapshot.skillMask() != null ? (int) (snapshot.skillMask() & SKILL_MASK) : 0;
+
+        Integer education = snapshot.educationLevel();
+        if (education != null) {
+            code |= thermometer(Math.min(Math.max(education - 1, 0), 3)) << EDUCATION_SHIFT;
+        }
+
+        Double grade = snapshot.averageGrade();
+        if (grade != null) {
+            int level = grade >= 90 ? 3 : grade >= 75 ? 2 : grade >= 60 ? 1 : 0;
+            code |= thermometer(level) << GRADE_SHIFT;
+        }
+
+        Double complexity = snapshot.averageComplexity();
+        if (complexity != null) {
+            int level = complexity >= 2.5 ? 3 : complexity >= 1.5 ? 2 : 1;
+            code |= thermometer(level) << PROJECT_SHIFT;
+        }
+        return code;
+    }
+
+    /**
+     * Codes for a batch of users; users without a skill profile map to null (not indexed)
+     */
+    private Map<UUID, Integer> loadCodes(List<UUID> userIds) {
+        Map<UUID, Integer> codes = new HashMap<>();
+        for (ProfileSnapshotService.ProfileSnapshot snapshot : profileSnapshotService.loadSnapshots(userIds)) {
+            codes.put(snapshot.userId(), snapshot.skillMask() != null ? encode(snapshot) : null);
+        }
+        return codes;
+    }
+
+    private SimilarStudentsResponse.SimilarStudent mapToSimilarStudent(int code, SimilarStudentsIndex.Neighbour neighbour) {
+        long mine = code & SKILL_MASK;
+        long theirs = neighbour.code() & SKILL_MASK;
+        int union = Long.bitCount(mine | theirs);
+        double jaccard = union == 0 ? 1.0 : (double) Long.bitCount(mine & theirs) / union;
+
+        return SimilarStudentsResponse.SimilarStudent.builder()
+                .profileDistance(neighbour.distance())
+                .skillSimilarity(Math.round(jaccard * 100.0) / 100.0)
+                .sharedSkills(Skill.displayNames(mine & theirs))
+                .build();
+    }
+
+    private List<SimilarStudentsResponse.PopularItem> mapToPopularItems(List<NameCount> rows, int peerCount) {
+        return rows.stream()
+                .map(row -> SimilarStudentsResponse.PopularItem.builder()
+                        .name(row.getName())
+                        .peerCount((int) row.getCount())
+                        .peerPercentage(Math.round(row.getCount() * 1000.0 / peerCount) / 10.0)
+                        .build())
+                .toList();
+    }
+
+    private static int thermometer(int level) {
+        return (1 << level) - 1;
+    }
+}
@@ -4,15 +4,18 @@ import com.hackathon.securestarter.dto.request.SkillProfileRequest;
 import com.hackathon.securestarter.dto.response.SkillProfileResponse;
 import com.hackathon.securestarter.entity.SkillProfile;
 import com.hackathon.securestarter.entity.User;
+import com.hackathon.securestarter.enums.Skill;
+import com.hackathon.securestarter.enums.SkillCategory;
+import com.hackathon.securestarter.event.UserProfileChangedEvent;
 import com.hackathon.securestarter.exception.ResourceNotFoundException;
 import com.hackathon.securestarter.repository.SkillProfileRepository;
 import com.hackathon.securestarter.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -26,6 +29,8 @@ public class SkillProfileService {
 
     private final SkillProfileRepository skillProfileRepository;
     private final UserRepository userRepository;
+    private final UserProfileStatsService userProfileStatsService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Get skill profile for a user
@@ -54,35 +59,15 @@ public class SkillProfileService {
         SkillProfile profile = skillProfileRepository.findByUserId(userId)
                 .orElse(SkillProfile.builder().user(user).build());
 
-        // Update Healthcare skills
-        profile.setHasEhr(request.getHasEhr() != null ? request.getHasEhr() : false);
-        profile.setHasHl7Fhir(request.getHasHl7Fhir() != null ? request.getHasHl7Fhir() : false);
-        profile.setHasMedicalImaging(request.getHasMedicalImaging() != null ? request.getHasMedicalImaging() : false);
-        profile.setHasHealthcareSecurity(request.getHasHealthcareSecurity() != null ? request.getHasHealthcareSecurity() : false);
-        profile.setHasTelemedicine(request.getHasTelemedicine() != null ? request.getHasTelemedicine() : false);
-
-        // Update Agriculture skills
-        profile.setHasIotSensors(request.getHasIotSensors() != null ? request.getHasIotSensors() : false);
-        profile.setHasDroneOps(request.getHasDroneOps() != null ? request.getHasDroneOps() : false);
-        profile.setHasPrecisionAg(request.getHasPrecisionAg() != null ? request.getHasPrecisionAg() : false);
-        profile.setHasCropModeling(request.getHasCropModeling() != null ? request.getHasCropModeling() : false);
-        profile.setHasSoilAnalysis(request.getHasSoilAnalysis() != null ? request.getHasSoilAnalysis() : false);
-
-        // Update Urban/Smart City skills
-        profile.setHasGis(request.getHasGis() != null ? request.getHasGis() : false);
-        profile.setHasSmartGrid(request.getHasSmartGrid() != null ? request.getHasSmartGrid() : false);
-        profile.setHasTrafficMgmt(request.getHasTrafficMgmt() != null ? request.getHasTrafficMgmt() : false);
-        profile.setHasUrbanIot(request.getHasUrbanIot() != null ? request.getHasUrbanIot() : false);
-        profile.setHasBuildingAuto(request.getHasBuildingAuto() != null ? request.getHasBuildingAuto() : false);
-
-        // Update Soft skills
-        profile.setHasCommunication(request.getHasCommunication() != null ? request.getHasCommunication() : false);
-        profile.setHasTeamwork(request.getHasTeamwork() != null ? request.getHasTeamwork() : false);
-        profile.setHasProblemSolving(request.getHasProblemSolving() != null ? request.getHasProblemSolving() : false);
-        profile.setHasLeadership(request.getHasLeadership() != null ? request.getHasLeadership() : false);
+        applySkillProfileRequest(profile, request);
 
+        boolean created = profile.getId() == null;
         SkillProfile savedProfile = skillProfileRepository.save(profile);
+        if (created) {
+            userProfileStatsService.setHasSkillProfile(userId, true);
+        }
         log.info("Skill profile saved for user: {}", user.getEmail());
+        eventPublisher.publishEvent(new UserProfileChangedEvent(userId));
 
         return mapToResponse(savedProfile);
     }
@@ -97,41 +82,37 @@ public class SkillProfileService {
     }
 
     /**
-     * Create skill profile from request (internal use for onboarding)
+     * Create or update skill profile from request (internal use for onboarding).
+     * An existing profile is updated in place rather than deleted and re-inserted.
      * @param user the user entity
      * @param request the profile request
      * @return saved SkillProfile entity
      */
     @Transactional
-    public SkillProfile createSkillProfileEntity(User user, SkillProfileRequest request) {
-        SkillProfile profile = SkillProfile.builder()
-                .user(user)
-                // Healthcare
-                .hasEhr(request.getHasEhr() != null ? request.getHasEhr() : false)
-                .hasHl7Fhir(request.getHasHl7Fhir() != null ? request.getHasHl7Fhir() : false)
-                .hasMedicalImaging(request.getHasMedicalImaging() != null ? request.getHasMedicalImaging() : false)
-                .hasHealthcareSecurity(request.getHasHealthcareSecurity() != null ? request.getHasHealthcareSecurity() : false)
-                .hasTelemedicine(request.getHasTelemedicine() != null ? request.getHasTelemedicine() : false)
-                // Agriculture
-                .hasIotSensors(request.getHasIotSensors() != null ? request.getHasIotSensors() : false)
-                .hasDroneOps(request.getHasDroneOps() != null ? request.getHasDroneOps() : false)
-                .hasPrecisionAg(request.getHasPrecisionAg() != null ? request.getHasPrecisionAg() : false)
-                .hasCropModeling(request.getHasCropModeling() != null ? request.getHasCropModeling() : false)
-                .hasSoilAnalysis(request.getHasSoilAnalysis() != null ? request.getHasSoilAnalysis() : false)
-                // Urban
-                .hasGis(request.getHasGis() != null ? request.getHasGis() : false)
-                .hasSmartGrid(request.getHasSmartGrid() != null ? request.getHasSmartGrid() : false)
-                .hasTrafficMgmt(request.getHasTrafficMgmt() != null ? request.getHasTrafficMgmt() : false)
-                .hasUrbanIot(request.getHasUrbanIot() != null ? request.getHasUrbanIot() : false)
-                .hasBuildingAuto(request.getHasBuildingAuto() != null ? request.getHasBuildingAuto() : false)
-                // Soft Skills
-                .hasCommunication(request.getHasCommunication() != null ? request.getHasCommunication() : false)
-                .hasTeamwork(request.getHasTeamwork() != null ? request.getHasTeamwork() : false)
-                .hasProblemSolving(request.getHasProblemSolving() != null ? request.getHasProblemSolving() : false)
-                .hasLeadership(request.getHasLeadership() != null ? request.getHasLeadership() : false)
-                .build();
+    public SkillProfile saveSkillProfileEntity(User user, SkillProfileRequest request) {
+        SkillProfile profile = skillProfileRepository.findByUserId(user.getId())
+                .orElseGet(() -> SkillProfile.builder().user(user).build());
+
+        applySkillProfileRequest(profile, request);
 
-        return skillProfileRepository.save(profile);
+        boolean created = profile.getId() == null;
+        SkillProfile savedProfile = skillProfileRepository.save(profile);
+        if (created) {
+            userProfileStatsService.setHasSkillProfile(user.getId(), true);
+        }
+        return savedProfile;
+    }
+
+    /**
+     * Build an unsaved skill profile from request (internal use for bulk import of new users)
+     * @param user the user entity
+     * @param request the profile request
+     * @return new SkillProfile entity, not yet persisted
+     */
+    public SkillProfile buildSkillProfileEntity(User user, SkillProfileRequest request) {
+        SkillProfile profile = SkillProfile.builder().user(user).build();
+        applySkillProfileRequest(profile, request);
+        return profile;
     }
 
     /**
@@ -150,21 +131,8 @@ public class SkillProfileService {
      * @return list of skill names
      */
     public List<String> getCurrentSkillsList(SkillProfile profile, String industrySector) {
-        List<String> skills = new ArrayList<>();
-
-        // Add relevant domain skills based on sector
-        if (industrySector != null) {
-            switch (industrySector) {
-                case "Healthcare" -> addHealthcareSkills(profile, skills);
-                case "Agriculture" -> addAgricultureSkills(profile, skills);
-                case "Urban" -> addUrbanSkills(profile, skills);
-            }
-        }
-
-        // Add soft skills
-        addSoftSkills(profile, skills);
-
-        return skills;
+        // Relevant domain skills for the sector, then soft skills
+        return Skill.displayNames(profile.getSkillMask() & Skill.relevantMask(industrySector));
     }
 
     /**
@@ -173,85 +141,66 @@ public class SkillProfileService {
      * @return list of all skill names
      */
     public List<String> getAllCurrentSkills(SkillProfile profile) {
-        List<String> skills = new ArrayList<>();
-        addHealthcareSkills(profile, skills);
-        addAgricultureSkills(profile, skills);
-        addUrbanSkills(profile, skills);
-        addSoftSkills(profile, skills);
-        return skills;
+        return Skill.displayNames(profile.getSkillMask());
     }
 
-    private void addHealthcareSkills(SkillProfile profile, List<String> skills) {
-        if (Boolean.TRUE.equals(profile.getHasEhr())) skills.add("Electronic Health Records (EHR)");
-        if (Boolean.TRUE.equals(profile.getHasHl7Fhir())) skills.add("HL7/FHIR Standards");
-        if (Boolean.TRUE.equals(profile.getHasMedicalImaging())) skills.add("Medical Imaging");
-        if (Boolean.TRUE.equals(profile.getHasHealthcareSecurity())) skills.add("Healthcare Security (HIPAA)");
-        if (Boolean.TRUE.equals(profile.getHasTelemedicine())) skills.add("Telemedicine");
+    /**
+     * Count skills by category
+     */
+    public int countHealthcareSkills(SkillProfile profile) {
+        return profile.countSkills(SkillCategory.HEALTHCARE);
     }
 
-    private void addAgricultureSkills(SkillProfile profile, List<String> skills) {
-        if (Boolean.TRUE.equals(profile.getHasIotSensors())) skills.add("IoT Sensors");
-        if (Boolean.TRUE.equals(profile.getHasDroneOps())) skills.add("Drone Operations");
-        if (Boolean.TRUE.equals(profile.getHasPrecisionAg())) skills.add("Precision Agriculture");
-        if (Boolean.TRUE.equals(profile.getHasCropModeling())) skills.add("Crop Modeling");
-        if (Boolean.TRUE.equals(profile.getHasSoilAnalysis())) skills.add("Soil Analysis");
+    public int countAgricultureSkills(SkillProfile profile) {
+        return profile.countSkills(SkillCategory.AGRICULTURE);
     }
 
-    private void addUrbanSkills(SkillProfile profile, List<String> skills) {
-        if (Boolean.TRUE.equals(profile.getHasGis())) skills.add("Geographic Information Systems (GIS)");
-        if (Boolean.TRUE.equals(profile.getHasSmartGrid())) skills.add("Smart Grid");
-        if (Boolean.TRUE.equals(profile.getHasTrafficMgmt())) skills.add("Traffic Management");
-        if (Boolean.TRUE.equals(profile.getHasUrbanIot())) skills.add("Urban IoT");
-        if (Boolean.TRUE.equals(profile.getHasBuildingAuto())) skills.add("Building Automation");
+    public int countUrbanSkills(SkillProfile profile) {
+        return profile.countSkills(SkillCategory.URBAN);
     }
 
-    private void addSoftSkills(SkillProfile profile, List<String> skills) {
-        if (Boolean.TRUE.equals(profile.getHasCommunication())) skills.add("Communication");
-        if (Boolean.TRUE.equals(profile.getHasTeamwork())) skills.add("Teamwork");
-        if (Boolean.TRUE.equals(profile.getHasProblemSolving())) skills.add("Problem Solving");
-        if (Boolean.TRUE.equals(profile.getHasLeadership())) skills.add("Leadership");
+    public int countSoftSkills(SkillProfile profile) {
+        return profile.countSkills(SkillCategory.SOFT);
     }
 
     /**
-     * Count skills by category
+     * Convert a skill profile request into a skill mask.
+     * Skills left null in the request are treated as not owned.
+     * @param request the profile request
+     * @return mask with one bit set per owned skill
      */
-    public int countHealthcareSkills(SkillProfile profile) {
-        int count = 0;
-        if (Boolean.TRUE.equals(profile.getHasEhr())) count++;
-        if (Boolean.TRUE.equals(profile.getHasHl7Fhir())) count++;
-        if (Boolean.TRUE.equals(profile.getHasMedicalImaging())) count++;
-        if (Boolean.TRUE.equals(profile.getHasHealthcareSecurity())) count++;
-        if (Boolean.TRUE.equals(profile.getHasTelemedicine())) count++;
-        return count;
-    }
-
-    public int countAgricultureSkills(SkillProfile profile) {
-        int count = 0;
-        if (Boolean.TRUE.equals(profile.getHasIotSensors())) count++;
-        if (Boolean.TRUE.equals(profile.getHasDroneOps())) count++;
-        if (Boolean.TRUE.equals(profile.getHasPrecisionAg())) count++;
-        if (Boolean.TRUE.equals(profile.getHasCropModeling())) count++;
-        if (Boolean.TRUE.equals(profile.getHasSoilAnalysis())) count++;
-        return count;
+    public long toSkillMask(SkillProfileRequest request) {
+        // Healthcare
+        return bitIf(request.getHasEhr(), Skill.EHR)
+                | bitIf(request.getHasHl7Fhir(), Skill.HL7_FHIR)
+                | bitIf(request.getHasMedicalImaging(), Skill.MEDICAL_IMAGING)
+                | bitIf(request.getHasHealthcareSecurity(), Skill.HEALTHCARE_SECURITY)
+                | bitIf(request.getHasTelemedicine(), Skill.TELEMEDICINE)
+                // Agriculture
+                | bitIf(request.getHasIotSensors(), Skill.IOT_SENSORS)
+                | bitIf(request.getHasDroneOps(), Skill.DRONE_OPS)
+                | bitIf(request.getHasPrecisionAg(), Skill.PRECISION_AG)
+                | bitIf(request.getHasCropModeling(), Skill.CROP_MODELING)
+                | bitIf(request.getHasSoilAnalysis(), Skill.SOIL_ANALYSIS)
+                // Urban
+                | bitIf(request.getHasGis(), Skill.GIS)
+                | bitIf(request.getHasSmartGrid(), Skill.SMART_GRID)
+                | bitIf(request.getHasTrafficMgmt(), Skill.TRAFFIC_MGMT)
+                | bitIf(request.getHasUrbanIot(), Skill.URBAN_IOT)
+                | bitIf(request.getHasBuildingAuto(), Skill.BUILDING_AUTO)
+                // Soft Skills
+                | bitIf(request.getHasCommunication(), Skill.COMMUNICATION)
+                | bitIf(request.getHasTeamwork(), Skill.TEAMWORK)
+                | bitIf(request.getHasProblemSolving(), Skill.PROBLEM_SOLVING)
+                | bitIf(request.getHasLeadership(), Skill.LEADERSHIP);
     }
 
-    public int countUrbanSkills(SkillProfile profile) {
-        int count = 0;
-        if (Boolean.TRUE.equals(profile.getHasGis())) count++;
-        if (Boolean.TRUE.equals(profile.getHasSmartGrid())) count++;
-        if (Boolean.TRUE.equals(profile.getHasTrafficMgmt())) count++;
-        if (Boolean.TRUE.equals(profile.getHasUrbanIot())) count++;
-        if (Boolean.TRUE.equals(profile.getHasBuildingAuto())) count++;
-        return count;
+    private static long bitIf(Boolean owned, Skill skill) {
+        return Boolean.TRUE.equals(owned) ? skill.bit() : 0L;
     }
 
-    public int countSoftSkills(SkillProfile profile) {
-        int count = 0;
-        if (Boolean.TRUE.equals(profile.getHasCommunication())) count++;
-        if (Boolean.TRUE.equals(profile.getHasTeamwork())) count++;
-        if (Boolean.TRUE.equals(profile.getHasProblemSolving())) count++;
-        if (Boolean.TRUE.equals(profile.getHasLeadership())) count++;
-        return count;
+    private void applySkillProfileRequest(SkillProfile profile, SkillProfileRequest request) {
+        profile.setSkillMask(toSkillMask(request));
     }
 
     /**
@@ -0,0 +1,193 @@
+package com.hackathon.securestarter.service;
+
+import com.hackathon.securestarter.dto.request.*;
+import com.hackathon.securestarter.enums.Skill;
+import com.hackathon.securestarter.util.CsvLines;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+/**
+ * Maps CSV lines of a student import file to StudentImportRow, using the header line to locate columns.
+ * Columns: email, firstName, lastName, educationLevel, cgpaPercentage, fieldOfStudy, institution,
+ * industrySector, targetJobRole, careerGoals, skills, courses, projects, certifications.
+ * List columns hold ';'-separated items whose parts are '|'-separated:
+ * skills are enum or display names, courses are name|grade|platform|completionDate,
+ * projects are title|complexity|domainSkills|githubUrl and certifications are plain names.
+ * Only email is mandatory in the header; value validation is left to the bean validator.
+ */
+class StudentImportCsvMapper {
+
+    private static final String ITEM_SEPARATOR = ";";
+    private static final String PART_SEPARATOR = "\\|";
+
+    private final Map<String, Integer> columns = new HashMap<>();
+
+    StudentImportCsvMapper(String headerLine) {
+        List<String> header = CsvLines.split(stripBom(headerLine));
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("email")) {
+            throw new IllegalArgumentException("CSV header must contain an email column");
+        }
+    }
+
+    /**
+     * Map one data line
+     * @throws IllegalArgumentException if a value cannot be parsed
+     */
+    StudentImportRow map(String line) {
+        List<String> fields = CsvLines.split(line);
+
+        OnboardingSubmitRequest onboarding = OnboardingSubmitRequest.builder()
+                .academicProfile(AcademicProfileRequest.builder()
+                        .educationLevel(parseInteger(get(fields, "educationLevel"), "educationLevel"))
+                        .cgpaPercentage(parseFloat(get(fields, "cgpaPercentage"), "cgpaPercentage"))
+                        .fieldOfStudy(get(fields, "fieldOfStudy"))
+                        .institution(get(fields, "institution"))
+                        .build())
+                .careerProfile(CareerProfileRequest.builder()
+                        .industrySector(get(fields, "industrySector"))
+                        .targetJobRole(get(fields, "targetJobRole"))
+                        .careerGoals(get(fields, "careerGoals"))
+                        .build())
+                .skillProfile(toSkillProfileRequest(parseSkills(get(fields, "skills"))))
+                .courses(items(get(fields, "courses")).stream().map(this::parseCourse).toList())
+                .projects(items(get(fields, "projects")).stream().map(this::parseProject).toList())
+                .certifications(items(get(fields, "certifications")).stream()
+                        .map(name -> CertificationRequest.builder().certificationName(name).build())
+                        .toList())
+                .build();
+
+        return StudentImportRow.builder()
+                .email(get(fields, "email"))
+                .firstName(get(fields, "firstName"))
+                .lastName(get(fields, "lastName"))
+                .onboarding(onboarding)
+                .build();
+    }
+
+    private String get(List<String> fields, String column) {
+        Integer index = columns.get(column.toLowerCase(Locale.ROOT));
+        if (index == null || index >= fields.size() || fields.get(index).isEmpty()) {
+            return null;
+        }
+        return fields.get(index);
+    }
+
+    private CourseRequest parseCourse(String item) {
+        String[] parts = item.split(PART_SEPARATOR, -1);
+        return CourseRequest.builder()
+                .courseName(part(parts, 0))
+                .grade(parseFloat(part(parts, 1), "course grade"))
+                .platform(part(parts, 2))
+                .completionDate(parseDate(part(parts, 3)))
+                .build();
+    }
+
+    private ProjectRequest parseProject(String item) {
+        String[] parts = item.split(PART_SEPARATOR, -1);
+        return ProjectRequest.builder()
+                .projectTitle(part(parts, 0))
+                .complexityLevel(parseInteger(part(parts, 1), "project complexity"))
+                .domainSkills(part(parts, 2))
+                .githubUrl(part(parts, 3))
+                .build();
+    }
+
+    private static Set<Skill> parseSkills(String value) {
+        Set<Skill> skills = EnumSet.noneOf(Skill.class);
+        for (String name : items(value)) {
+            Skill skill = Skill.fromDisplayName(name);
+            if (skill == null) {
+                try {
+                    skill = Skill.valueOf(name.toUpperCase(Locale.ROOT).replace(' ', '_'));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Unknown skill: " + name);
+                }
+            }
+            skills.add(skill);
+        }
+        return skills;
+    }
+
+    private static SkillProfileRequest toSkillProfileRequest(Set<Skill> skills) {
+        return SkillProfileRequest.builder()
+                .hasEhr(skills.contains(Skill.EHR))
+                .hasHl7Fhir(skills.contains(Skill.HL7_FHIR))
+                .hasMedicalImaging(skills.contains(Skill.MEDICAL_IMAGING))
+                .hasHealthcareSecurity(skills.contains(Skill.HEALTHCARE_SECURITY))
+                .hasTelemedicine(skills.contains(Skill.TELEMEDICINE))
+                .hasIotSensors(skills.contains(Skill.IOT_SENSORS))
+                .hasDroneOps(skills.contains(Skill.DRONE_OPS))
+                .hasPrecisionAg(skills.contains(Skill.PRECISION_AG))
+                .hasCropModeling(skills.contains(Skill.CROP_MODELING))
+                .hasSoilAnalysis(skills.contains(Skill.SOIL_ANALYSIS))
+                .hasGis(skills.contains(Skill.GIS))
+                .hasSmartGrid(skills.contains(Skill.SMART_GRID))
+                .hasTrafficMgmt(skills.contains(Skill.TRAFFIC_MGMT))
+                .hasUrbanIot(skills.contains(Skill.URBAN_IOT))
+                .hasBuildingAuto(skills.contains(Skill.BUILDING_AUTO))
+                .hasCommunication(skills.contains(Skill.COMMUNICATION))
+                .hasTeamwork(skills.contains(Skill.TEAMWORK))
+                .hasProblemSolving(skills.contains(Skill.PROBLEM_SOLVING))
+                .hasLeadership(skills.contains(Skill.LEADERSHIP))
+                .build();
+    }
+
+    private static List<String> items(String value) {
+        if (value == null) {
+            return List.of();
+        }
+        return Arrays.stream(value.split(ITEM_SEPARATOR))
+                .map(String::trim)
+                .filter(item -> !item.isEmpty())
+                .toList();
+    }
+
+    private static String part(String[] parts, int index) {
+        if (index >= parts.length || parts[index].isBlank()) {
+            return null;
+        }
+        return parts[index].trim();
+    }
+
+    private static Integer parseInteger(String value, String name) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+
+    private static Float parseFloat(String value, String name) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Float.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+
+    private static LocalDate parseDate(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid completion date (expected yyyy-MM-dd): " + value);
+        }
+    }
+
+    private static String stripBom(String line) {
+        return !line.isEmpty() && line.charAt(0) == '\uFEFF' ? line.substring(1) : line;
+    }
+}
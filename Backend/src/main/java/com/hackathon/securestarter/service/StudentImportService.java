@@ -0,0 +1,372 @@
+package com.hackathon.securestarter.service;
+
+import com.hackathon.securestarter.dto.request.StudentImportRow;
+import com.hackathon.securestarter.dto.response.StudentImportStatusResponse;
+import com.hackathon.securestarter.exception.BadRequestException;
+import com.hackathon.securestarter.exception.ResourceNotFoundException;
+import com.hackathon.securestarter.exception.ServiceUnavailableException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service for bulk importing students from institution files (CSV or NDJSON).
+ * The upload is spooled to a temp file and processed as a background job: lines are read
+ * sequentially, parsed and validated in parallel one chunk at a time, and each chunk is written
+ * in its own transaction. A failing chunk is retried row by row, so one bad row never aborts
+ * the import; per-row errors and progress counters are available by polling the job.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StudentImportService {
+
+    private static final String FORMAT_CSV = "csv";
+    private static final String FORMAT_NDJSON = "ndjson";
+
+    private final StudentImportWriter studentImportWriter;
+    private final Validator validator;
+    private final JsonMapper jsonMapper;
+
+    private final Map<UUID, ImportJob> jobs = new ConcurrentHashMap<>();
+    private final ForkJoinPool validationPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    private ThreadPoolExecutor jobExecutor;
+
+    @Value("${app.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.import.max-concurrent-jobs:2}")
+    private int maxConcurrentJobs;
+
+    @Value("${app.import.max-queued-jobs:10}")
+    private int maxQueuedJobs;
+
+    @Value("${app.import.max-errors:1000}")
+    private int maxErrors;
+
+    @Value("${app.import.retention-minutes:1440}")
+    private long retentionMinutes;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        jobExecutor = new ThreadPoolExecutor(maxConcurrentJobs, maxConcurrentJobs, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxQueuedJobs),
+                runnable -> new Thread(runnable, "student-import-" + threadCount.incrementAndGet()));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        jobExecutor.shutdownNow();
+        validationPool.shutdownNow();
+    }
+
+    /**
+     * Start importing students from an uploaded file
+     * @param file CSV (with header line) or NDJSON upload
+     * @param format "csv" or "ndjson"; inferred from the file name when null
+     * @param updateExisting whether rows for existing students replace their onboarding data
+     * @return StudentImportStatusResponse of the queued job
+     */
+    public StudentImportStatusResponse startImport(MultipartFile file, String format, boolean updateExisting) {
+        if (file == null || file.isEmpty()) {
+            throw new BadRequestException("Import file is empty");
+        }
+        String resolvedFormat = resolveFormat(format, file.getOriginalFilename());
+
+        Path spool;
+        try {
+            spool = Files.createTempFile("student-import-", "." + resolvedFormat);
+            file.transferTo(spool);
+        } catch (IOException e) {
+            throw new BadRequestException("Failed to read import file", e);
+        }
+
+        ImportJob job = new ImportJob(UUID.randomUUID(), file.getOriginalFilename(), resolvedFormat, updateExisting);
+        jobs.put(job.id, job);
+        try {
+            jobExecutor.execute(() -> run(job, spool));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            deleteQuietly(spool);
+            throw new ServiceUnavailableException("Too many imports in progress, please try again later");
+        }
+
+        log.info("Student import {} queued for file {} ({})", job.id, job.fileName, resolvedFormat);
+        return mapToResponse(job);
+    }
+
+    /**
+     * Get progress and errors of an import job
+     * @param jobId the job's UUID
+     * @return StudentImportStatusResponse
+     */
+    public StudentImportStatusResponse getImportStatus(UUID jobId) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Import job not found");
+        }
+        return mapToResponse(job);
+    }
+
+    /**
+     * Forget finished jobs after the retention period
+     */
+    @Scheduled(fixedDelayString = "${app.import.cleanup-interval-ms:600000}")
+    public void evictFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(retentionMinutes);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    private void run(ImportJob job, Path spool) {
+        job.status = ImportStatus.RUNNING;
+        job.startedAt = LocalDateTime.now();
+
+        try (BufferedReader reader = Files.newBufferedReader(spool, StandardCharsets.UTF_8)) {
+            Function<String, StudentImportRow> parser;
+            if (FORMAT_CSV.equals(job.format)) {
+                String header = reader.readLine();
+                if (header == null) {
+                    throw new IllegalArgumentException("CSV file has no header line");
+                }
+                parser = new StudentImportCsvMapper(header)::map;
+            } else {
+                parser = line -> jsonMapper.readValue(line, StudentImportRow.class);
+            }
+
+            List<RawLine> chunk = new ArrayList<>(chunkSize);
+            long rowNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                rowNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                chunk.add(new RawLine(rowNumber, line));
+                if (chunk.size() == chunkSize) {
+                    processChunk(job, chunk, parser);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                processChunk(job, chunk, parser);
+            }
+
+            job.status = ImportStatus.COMPLETED;
+            log.info("Student import {} completed: {} rows, {} imported, {} updated, {} failed",
+                    job.id, job.rowsRead.get(), job.imported.get(), job.updated.get(), job.failed.get());
+        } catch (Exception e) {
+            job.status = ImportStatus.FAILED;
+            job.failureReason = e.getMessage();
+            log.error("Student import {} failed after {} rows: {}", job.id, job.rowsRead.get(), e.getMessage());
+        } finally {
+            job.finishedAt = LocalDateTime.now();
+            deleteQuietly(spool);
+        }
+    }
+
+    private void processChunk(ImportJob job, List<RawLine> lines, Function<String, StudentImportRow> parser) {
+        job.rowsRead.addAndGet(lines.size());
+
+        // Parse and validate on the dedicated pool; the list keeps file order
+        List<ParsedLine> parsed = validationPool.submit(() -> lines.parallelStream()
+                .map(line -> parse(line, parser))
+                .toList()).join();
+
+        List<StudentImportWriter.ImportRow> valid = new ArrayList<>(parsed.size());
+        for (ParsedLine line : parsed) {
+            if (line.error() != null) {
+                job.recordError(line.rowNumber(), line.row() != null ? line.row().getEmail() : null, line.error(), maxErrors);
+            } else if (!job.emails.add(line.row().getEmail())) {
+                job.recordError(line.rowNumber(), line.row().getEmail(), "Duplicate email in import file", maxErrors);
+            } else {
+                valid.add(new StudentImportWriter.ImportRow(line.rowNumber(), line.row()));
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        try {
+            applyResult(job, valid, studentImportWriter.writeChunk(valid, job.updateExisting));
+        } catch (Exception e) {
+            // Isolate the failing rows: retry the chunk one row per transaction
+            log.warn("Student import {} chunk failed ({}), retrying {} rows individually", job.id, e.getMessage(), valid.size());
+            for (StudentImportWriter.ImportRow row : valid) {
+                try {
+                    applyResult(job, List.of(row), studentImportWriter.writeChunk(List.of(row), job.updateExisting));
+                } catch (Exception rowError) {
+                    job.recordError(row.rowNumber(), row.data().getEmail(), rootMessage(rowError), maxErrors);
+                }
+            }
+        }
+    }
+
+    private ParsedLine parse(RawLine line, Function<String, StudentImportRow> parser) {
+        StudentImportRow row;
+        try {
+            row = parser.apply(line.text());
+        } catch (Exception e) {
+            return new ParsedLine(line.rowNumber(), null, "Unreadable row: " + rootMessage(e));
+        }
+        if (row == null) {
+            return new ParsedLine(line.rowNumber(), null, "Unreadable row");
+        }
+        if (row.getEmail() != null) {
+            row.setEmail(row.getEmail().trim().toLowerCase(Locale.ROOT));
+        }
+
+        Set<ConstraintViolation<StudentImportRow>> violations = validator.validate(row);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            return new ParsedLine(line.rowNumber(), row, message);
+        }
+        return new ParsedLine(line.rowNumber(), row, null);
+    }
+
+    private void applyResult(ImportJob job, List<StudentImportWriter.ImportRow> rows, StudentImportWriter.ChunkResult result) {
+        job.imported.addAndGet(result.imported());
+        job.updated.addAndGet(result.updated());
+        if (result.rejected().isEmpty()) {
+            return;
+        }
+        for (StudentImportWriter.ImportRow row : rows) {
+            String message = result.rejected().get(row.rowNumber());
+            if (message != null) {
+                job.recordError(row.rowNumber(), row.data().getEmail(), message, maxErrors);
+            }
+        }
+    }
+
+    private static String resolveFormat(String format, String fileName) {
+        String candidate = format;
+        if (candidate == null || candidate.isBlank()) {
+            String name = fileName != null ? fileName.toLowerCase(Locale.ROOT) : "";
+            candidate = name.endsWith(".ndjson") || name.endsWith(".jsonl") ? FORMAT_NDJSON : FORMAT_CSV;
+        }
+        candidate = candidate.trim().toLowerCase(Locale.ROOT);
+        if (!FORMAT_CSV.equals(candidate) && !FORMAT_NDJSON.equals(candidate)) {
+            throw new BadRequestException("Unsupported import format: " + format + " (expected csv or ndjson)");
+        }
+        return candidate;
+    }
+
+    private static String rootMessage(Throwable error) {
+        Throwable root = error;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage() != null ? root.getMessage() : root.getClass().getSimpleName();
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete import spool file {}: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * Map job state to response DTO
+     */
+    private StudentImportStatusResponse mapToResponse(ImportJob job) {
+        List<StudentImportStatusResponse.RowError> errors;
+        synchronized (job.errors) {
+            errors = List.copyOf(job.errors);
+        }
+        return StudentImportStatusResponse.builder()
+                .jobId(job.id)
+                .status(job.status.name())
+                .fileName(job.fileName)
+                .format(job.format)
+                .updateExisting(job.updateExisting)
+                .rowsRead(job.rowsRead.get())
+                .imported(job.imported.get())
+                .updated(job.updated.get())
+                .failed(job.failed.get())
+                .errors(errors)
+                .errorsTruncated(job.failed.get() > errors.size())
+                .failureReason(job.failureReason)
+                .startedAt(job.startedAt)
+                .finishedAt(job.finishedAt)
+                .build();
+    }
+
+    private enum ImportStatus {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    private record RawLine(long rowNumber, String text) {
+    }
+
+    private record ParsedLine(long rowNumber, StudentImportRow row, String error) {
+    }
+
+    /**
+     * Mutable progress of one import; written by its job thread, read by status requests
+     */
+    private static final class ImportJob {
+        private final UUID id;
+        private final String fileName;
+        private final String format;
+        private final boolean updateExisting;
+
+        private final AtomicLong rowsRead = new AtomicLong();
+        private final AtomicLong imported = new AtomicLong();
+        private final AtomicLong updated = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final List<StudentImportStatusResponse.RowError> errors = new ArrayList<>();
+        // Emails of the valid rows so far, so a repeat in a later chunk is a duplicate, not an existing user
+        private final Set<String> emails = new HashSet<>();
+
+        private volatile ImportStatus status = ImportStatus.QUEUED;
+        private volatile String failureReason;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+
+        private ImportJob(UUID id, String fileName, String format, boolean updateExisting) {
+            this.id = id;
+            this.fileName = fileName;
+            this.format = format;
+            this.updateExisting = updateExisting;
+        }
+
+        private void recordError(long rowNumber, String email, String message, int maxErrors) {
+            failed.incrementAndGet();
+            synchronized (errors) {
+                if (errors.size() < maxErrors) {
+                    errors.add(StudentImportStatusResponse.RowError.builder()
+                            .row(rowNumber)
+                            .email(email)
+                            .message(message)
+                            .build());
+                }
+            }
+        }
+    }
+}
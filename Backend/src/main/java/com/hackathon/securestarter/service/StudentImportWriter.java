@@ -0,0 +1,178 @@
+package com.hackathon.securestarter.service;
+
+import com.hackathon.securestarter.dto.request.OnboardingSubmitRequest;
+import com.hackathon.securestarter.dto.request.StudentImportRow;
+import com.hackathon.securestarter.entity.*;
+import com.hackathon.securestarter.enums.AuthProvider;
+import com.hackathon.securestarter.enums.Role;
+import com.hackathon.securestarter.event.UserProfileChangedEvent;
+import com.hackathon.securestarter.repository.*;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Writes one chunk of validated import rows in a single transaction.
+ * New students are inserted table by table so Hibernate can send large JDBC batches;
+ * existing students are either updated through the normal onboarding path or rejected.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StudentImportWriter {
+
+    private final UserRepository userRepository;
+    private final AcademicProfileRepository academicProfileRepository;
+    private final CareerProfileRepository careerProfileRepository;
+    private final SkillProfileRepository skillProfileRepository;
+    private final CourseRepository courseRepository;
+    private final ProjectRepository projectRepository;
+    private final CertificationRepository certificationRepository;
+
+    private final AcademicProfileService academicProfileService;
+    private final CareerProfileService careerProfileService;
+    private final SkillProfileService skillProfileService;
+    private final CourseService courseService;
+    private final ProjectService projectService;
+    private final CertificationService certificationService;
+    private final OnboardingService onboardingService;
+    private final UserProfileStatsService userProfileStatsService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.import.jdbc-batch-size:500}")
+    private int jdbcBatchSize;
+
+    /**
+     * A validated row with its position in the import file
+     */
+    public record ImportRow(long rowNumber, StudentImportRow data) {
+    }
+
+    /**
+     * Outcome of a chunk: counts of written rows and the rows rejected, keyed by row number
+     */
+    public record ChunkResult(int imported, int updated, Map<Long, String> rejected) {
+    }
+
+    /**
+     * Write a chunk of rows; any exception rolls back the whole chunk
+     * @param rows validated rows with lower-case, unique emails
+     * @param updateExisting whether rows for existing students replace their onboarding data
+     * @return ChunkResult
+     */
+    @Transactional
+    public ChunkResult writeChunk(List<ImportRow> rows, boolean updateExisting) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+
+        Map<String, User> existingUsers = new HashMap<>();
+        for (User user : userRepository.findByEmailIn(rows.stream().map(row -> row.data().getEmail()).toList())) {
+            existingUsers.put(user.getEmail(), user);
+        }
+
+        List<User> newUsers = new ArrayList<>();
+        List<OnboardingSubmitRequest> newOnboardings = new ArrayList<>();
+        List<AcademicProfile> academicProfiles = new ArrayList<>();
+        List<CareerProfile> careerProfiles = new ArrayList<>();
+        List<SkillProfile> skillProfiles = new ArrayList<>();
+        List<Course> courses = new ArrayList<>();
+        List<Project> projects = new ArrayList<>();
+        List<Certification> certifications = new ArrayList<>();
+
+        List<User> updatedUsers = new ArrayList<>();
+        Map<Long, String> rejected = new LinkedHashMap<>();
+
+        for (ImportRow row : rows) {
+            StudentImportRow data = row.data();
+            OnboardingSubmitRequest onboarding = data.getOnboarding();
+            User existing = existingUsers.get(data.getEmail());
+
+            if (existing != null) {
+                if (existing.getRole() != Role.USER) {
+                    rejected.put(row.rowNumber(), "Email belongs to a non-student account");
+                } else if (!updateExisting) {
+                    rejected.put(row.rowNumber(), "User already exists");
+                } else {
+                    onboardingService.applyOnboarding(existing, onboarding);
+                    updatedUsers.add(existing);
+                }
+                continue;
+            }
+
+            // No password: imported students sign in with Google or set one via forgot-password
+            User user = User.builder()
+                    .email(data.getEmail())
+                    .firstName(data.getFirstName())
+                    .lastName(data.getLastName())
+                    .role(Role.USER)
+                    .authProvider(AuthProvider.MANUAL)
+                    .isVerified(true)
+                    .onboardingCompleted(true)
+                    .onboardingCompletedAt(LocalDateTime.now())
+                    .build();
+            newUsers.add(user);
+            newOnboardings.add(onboarding);
+
+            academicProfiles.add(academicProfileService.buildAcademicProfileEntity(user, onboarding.getAcademicProfile()));
+            careerProfiles.add(careerProfileService.buildCareerProfileEntity(user, onboarding.getCareerProfile()));
+            skillProfiles.add(skillProfileService.buildSkillProfileEntity(user, onboarding.getSkillProfile()));
+            orEmpty(onboarding.getCourses()).forEach(request -> courses.add(courseService.buildCourseEntity(user, request)));
+            orEmpty(onboarding.getProjects()).forEach(request -> projects.add(projectService.buildProjectEntity(user, request)));
+            orEmpty(onboarding.getCertifications()).forEach(request ->
+                    certifications.add(certificationService.buildCertificationEntity(user, request)));
+        }
+
+        // Parents first; with ordered inserts each table goes out as a few large batches
+        userRepository.saveAll(newUsers);
+        academicProfileRepository.saveAll(academicProfiles);
+        careerProfileRepository.saveAll(careerProfiles);
+        skillProfileRepository.saveAll(skillProfiles);
+        courseRepository.saveAll(courses);
+        projectRepository.saveAll(projects);
+        certificationRepository.saveAll(certifications);
+        userProfileStatsService.createStats(buildStats(newUsers, newOnboardings));
+        entityManager.flush();
+        entityManager.clear();
+
+        newUsers.forEach(user -> eventPublisher.publishEvent(new UserProfileChangedEvent(user.getId())));
+        updatedUsers.forEach(user -> eventPublisher.publishEvent(new UserProfileChangedEvent(user.getId())));
+
+        log.debug("Import chunk written: {} new, {} updated, {} rejected", newUsers.size(), updatedUsers.size(), rejected.size());
+        return new ChunkResult(newUsers.size(), updatedUsers.size(), rejected);
+    }
+
+    /**
+     * Stats rows for new users: all three profiles and every submitted item were just inserted
+     */
+    private static List<UserProfileStats> buildStats(List<User> users, List<OnboardingSubmitRequest> onboardings) {
+        List<UserProfileStats> stats = new ArrayList<>(users.size());
+        for (int i = 0; i < users.size(); i++) {
+            OnboardingSubmitRequest onboarding = onboardings.get(i);
+            stats.add(UserProfileStats.builder()
+                    .userId(users.get(i).getId())
+                    .hasAcademicProfile(true)
+                    .hasCareerProfile(true)
+                    .hasSkillProfile(true)
+                    .coursesCount(orEmpty(onboarding.getCourses()).size())
+                    .projectsCount(orEmpty(onboarding.getProjects()).size())
+                    .certificationsCount(orEmpty(onboarding.getCertifications()).size())
+                    .build());
+        }
+        return stats;
+    }
+
+    private static <T> List<T> orEmpty(List<T> items) {
+        return items != null ? items : List.of();
+    }
+}
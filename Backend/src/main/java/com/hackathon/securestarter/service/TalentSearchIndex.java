@@ -0,0 +1,353 @@
+package com.hackathon.securestarter.service;
+
+import com.hackathon.securestarter.enums.Skill;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory inverted index over student profiles for the admin talent search.
+ * Each indexed user gets a dense document id; every filterable attribute (skill, sector,
+ * education level, project count per complexity level) maps to a compressed bitmap of
+ * document ids, so a conjunctive query is a handful of bitmap intersections. Documents are
+ * additionally kept in a readiness-descending array, which gives both the readiness range
+ * filter (binary search) and the result ordering.
+ */
+class TalentSearchIndex {
+
+    /**
+     * Project counts above this share the top "at least N" bucket; larger minimums
+     * are checked against the entry's exact count.
+     */
+    static final int MAX_PROJECT_BUCKET = 5;
+
+    private static final int MAX_COMPLEXITY = 3;
+    private static final int MAX_EDUCATION_LEVEL = 4;
+
+    /**
+     * Indexed snapshot of one user.
+     * @param projectsByComplexity project counts indexed by complexity level (index 0 unused)
+     */
+    record Entry(UUID userId, String industrySector, Integer educationLevel, long skillMask,
+                 int readinessScore, int[] projectsByComplexity) {
+
+        int projectCount(int complexityLevel) {
+            return projectsByComplexity[complexityLevel];
+        }
+    }
+
+    /**
+     * Filters for a search. Null / zero values mean "no filter".
+     */
+    record Criteria(String industrySector, long requiredSkillMask, Integer educationLevel,
+                    int minReadiness, int maxReadiness, Integer projectComplexity, int minProjects) {
+    }
+
+    /**
+     * One page of matches, in readiness order.
+     */
+    record Result(List<Entry> entries, int totalMatches, int indexedUsers) {
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<UUID, Integer> docIds = new HashMap<>();
+    private final List<Entry> entries = new ArrayList<>();
+
+    private final Map<Skill, RoaringBitmap> skillBitmaps = new EnumMap<>(Skill.class);
+    private final Map<String, RoaringBitmap> sectorBitmaps = new HashMap<>();
+    private final RoaringBitmap[] educationBitmaps = newBitmaps(MAX_EDUCATION_LEVEL + 1);
+    // projectBitmaps[level][n] = users with at least n projects at that complexity level
+    private final RoaringBitmap[][] projectBitmaps = new RoaringBitmap[MAX_COMPLEXITY + 1][];
+
+    // Document ids ordered by readiness descending (ties by doc id), with the parallel scores
+    private int[] docsByReadiness = new int[0];
+    private int[] readinessDescending = new int[0];
+
+    TalentSearchIndex() {
+        for (Skill skill : Skill.values()) {
+            skillBitmaps.put(skill, new RoaringBitmap());
+        }
+        for (int level = 1; level <= MAX_COMPLEXITY; level++) {
+            projectBitmaps[level] = newBitmaps(MAX_PROJECT_BUCKET + 1);
+        }
+    }
+
+    /**
+     * Insert or replace the given users' entries and refresh the readiness order.
+     */
+    void upsert(Collection<Entry> updates) {
+        lock.writeLock().lock();
+        try {
+            apply(updates);
+            rebuildReadinessOrder();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add a batch of a bulk load. The readiness order is left for optimize() to build once,
+     * so the index must not be searched until then.
+     */
+    void load(Collection<Entry> batch) {
+        lock.writeLock().lock();
+        try {
+            apply(batch);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finish a bulk load: build the readiness order and compact bitmap containers.
+     */
+    void optimize() {
+        lock.writeLock().lock();
+        try {
+            rebuildReadinessOrder();
+            skillBitmaps.values().forEach(RoaringBitmap::runOptimize);
+            sectorBitmaps.values().forEach(RoaringBitmap::runOptimize);
+            Arrays.stream(educationBitmaps).forEach(RoaringBitmap::runOptimize);
+            for (int level = 1; level <= MAX_COMPLEXITY; level++) {
+                Arrays.stream(projectBitmaps[level]).forEach(RoaringBitmap::runOptimize);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Run a conjunctive search and return the requested page ordered by readiness.
+     */
+    Result search(Criteria criteria, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap candidates = intersectFilters(criteria);
+            if (candidates != null && candidates.isEmpty()) {
+                return new Result(List.of(), 0, entries.size());
+            }
+
+            // Readiness range as a slice of the descending array
+            int from = firstBelow(criteria.maxReadiness() + 1);
+            int to = firstBelow(criteria.minReadiness());
+
+            int[] ordered;
+            if (candidates != null && candidates.getCardinality() < (to - from) / 8) {
+                // Few candidates: sort them rather than walking the whole readiness slice
+                ordered = orderCandidates(candidates, criteria);
+            } else {
+                ordered = Arrays.copyOfRange(docsByReadiness, from, to);
+            }
+
+            boolean exactProjectCheck = criteria.projectComplexity() != null
+                    && criteria.minProjects() > MAX_PROJECT_BUCKET;
+
+            List<Entry> page = new ArrayList<>(Math.min(limit, ordered.length));
+            int matches = 0;
+            for (int docId : ordered) {
+                if (candidates != null && !candidates.contains(docId)) {
+                    continue;
+                }
+                Entry entry = entries.get(docId);
+                if (exactProjectCheck && entry.projectCount(criteria.projectComplexity()) < criteria.minProjects()) {
+                    continue;
+                }
+                if (matches >= offset && page.size() < limit) {
+                    page.add(entry);
+                }
+                matches++;
+            }
+            return new Result(page, matches, entries.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Intersect every bitmap the criteria select, smallest first.
+     * @return the intersection, or null when no bitmap filter applies
+     */
+    private RoaringBitmap intersectFilters(Criteria criteria) {
+        List<RoaringBitmap> filters = new ArrayList<>();
+
+        if (criteria.industrySector() != null) {
+            RoaringBitmap sector = sectorBitmaps.get(sectorKey(criteria.industrySector()));
+            if (sector == null) {
+                return new RoaringBitmap();
+            }
+            filters.add(sector);
+        }
+        for (Skill skill : Skill.values()) {
+            if ((criteria.requiredSkillMask() & skill.bit()) != 0) {
+                filters.add(skillBitmaps.get(skill));
+            }
+        }
+        if (criteria.educationLevel() != null) {
+            filters.add(educationBitmaps[criteria.educationLevel()]);
+        }
+        if (criteria.projectComplexity() != null) {
+            int bucket = Math.min(Math.max(criteria.minProjects(), 1), MAX_PROJECT_BUCKET);
+            filters.add(projectBitmaps[criteria.projectComplexity()][bucket]);
+        }
+
+        if (filters.isEmpty()) {
+            return null;
+        }
+        filters.sort(Comparator.comparingInt(RoaringBitmap::getCardinality));
+        RoaringBitmap result = filters.get(0).clone();
+        for (int i = 1; i < filters.size() && !result.isEmpty(); i++) {
+            result.and(filters.get(i));
+        }
+        return result;
+    }
+
+    private int[] orderCandidates(RoaringBitmap candidates, Criteria criteria) {
+        List<Integer> docs = new ArrayList<>(candidates.getCardinality());
+        IntIterator it = candidates.getIntIterator();
+        while (it.hasNext()) {
+            int docId = it.next();
+            int readiness = entries.get(docId).readinessScore();
+            if (readiness >= criteria.minReadiness() && readiness <= criteria.maxReadiness()) {
+                docs.add(docId);
+            }
+        }
+        docs.sort(readinessOrder());
+        return docs.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private void apply(Collection<Entry> updates) {
+        for (Entry entry : updates) {
+            Integer docId = docIds.get(entry.userId());
+            if (docId == null) {
+                docId = entries.size();
+                docIds.put(entry.userId(), docId);
+                entries.add(entry);
+            } else {
+                unindex(docId, entries.get(docId));
+                entries.set(docId, entry);
+            }
+            index(docId, entry);
+        }
+    }
+
+    private void index(int docId, Entry entry) {
+        forEachSkill(entry.skillMask(), skill -> skillBitmaps.get(skill).add(docId));
+        if (entry.industrySector() != null) {
+            sectorBitmaps.computeIfAbsent(sectorKey(entry.industrySector()), k -> new RoaringBitmap()).add(docId);
+        }
+        if (isValidEducationLevel(entry.educationLevel())) {
+            educationBitmaps[entry.educationLevel()].add(docId);
+        }
+        for (int level = 1; level <= MAX_COMPLEXITY; level++) {
+            int buckets = Math.min(entry.projectCount(level), MAX_PROJECT_BUCKET);
+            for (int n = 1; n <= buckets; n++) {
+                projectBitmaps[level][n].add(docId);
+            }
+        }
+    }
+
+    private void unindex(int docId, Entry entry) {
+        forEachSkill(entry.skillMask(), skill -> skillBitmaps.get(skill).remove(docId));
+        if (entry.industrySector() != null) {
+            RoaringBitmap sector = sectorBitmaps.get(sectorKey(entry.industrySector()));
+            if (sector != null) {
+                sector.remove(docId);
+            }
+        }
+        if (isValidEducationLevel(entry.educationLevel())) {
+            educationBitmaps[entry.educationLevel()].remove(docId);
+        }
+        for (int level = 1; level <= MAX_COMPLEXITY; level++) {
+            for (int n = 1; n <= MAX_PROJECT_BUCKET; n++) {
+                projectBitmaps[level][n].remove(docId);
+            }
+        }
+    }
+
+    private void rebuildReadinessOrder() {
+        // Sort keys: negated readiness in the high half, doc id in the low half (readinessOrder without boxing)
+        long[] keys = new long[entries.size()];
+        for (int docId = 0; docId < keys.length; docId++) {
+            keys[docId] = ((long) -entries.get(docId).readinessScore() << 32) | docId;
+        }
+        Arrays.sort(keys);
+
+        int[] docs = new int[keys.length];
+        int[] scores = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            docs[i] = (int) keys[i];
+            scores[i] = entries.get(docs[i]).readinessScore();
+        }
+        docsByReadiness = docs;
+        readinessDescending = scores;
+    }
+
+    private Comparator<Integer> readinessOrder() {
+        return Comparator.<Integer>comparingInt(docId -> entries.get(docId).readinessScore())
+                .reversed()
+                .thenComparingInt(Integer::intValue);
+    }
+
+    /**
+     * Index of the first position whose readiness is strictly below the threshold.
+     */
+    private int firstBelow(int threshold) {
+        int low = 0;
+        int high = readinessDescending.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (readinessDescending[mid] >= threshold) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static void forEachSkill(long mask, Consumer<Skill> action) {
+        for (Skill skill : Skill.values()) {
+            if ((mask & skill.bit()) != 0) {
+                action.accept(skill);
+            }
+        }
+    }
+
+    private static boolean isValidEducationLevel(Integer level) {
+        return level != null && level >= 1 && level <= MAX_EDUCATION_LEVEL;
+    }
+
+    private static String sectorKey(String sector) {
+        return sector.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static RoaringBitmap[] newBitmaps(int count) {
+        RoaringBitmap[] bitmaps = new RoaringBitmap[count];
+        for (int i = 0; i < count; i++) {
+            bitmaps[i] = new RoaringBitmap();
+        }
+        return bitmaps;
+    }
+}
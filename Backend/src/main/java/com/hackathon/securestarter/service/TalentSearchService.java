@@ -0,0 +1,225 @@
+package com.hackathon.securestarter.service;
+
+import com.hackathon.securestarter.dto.projection.UserContact;
+import com.hackathon.securestarter.dto.request.TalentSearchRequest;
+import com.hackathon.securestarter.dto.response.AcademicProfileResponse;
+import com.hackathon.securestarter.dto.response.TalentSearchResponse;
+import com.hackathon.securestarter.enums.Role;
+import com.hackathon.securestarter.enums.Skill;
+import com.hackathon.securestarter.event.UserProfileChangedEvent;
+import com.hackathon.securestarter.exception.BadRequestException;
+import com.hackathon.securestarter.exception.ServiceUnavailableException;
+import com.hackathon.securestarter.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service behind the admin talent search.
+ * Builds a TalentSearchIndex of all students at startup and keeps it current from
+ * UserProfileChangedEvents: changed users are queued and re-read in batches by a
+ * scheduled refresh, so writes never wait on the index.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TalentSearchService {
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
+    private final UserRepository userRepository;
+    private final ProfileSnapshotService profileSnapshotService;
+    private final DashboardService dashboardService;
+
+    private final Set<UUID> dirtyUsers = ConcurrentHashMap.newKeySet();
+
+    private volatile TalentSearchIndex index;
+
+    @Value("${app.talent-search.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Build the index from the database once the application is up
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndex() {
+        long start = System.currentTimeMillis();
+        TalentSearchIndex fresh = new TalentSearchIndex();
+
+        UUID after = null;
+        List<UUID> userIds;
+        do {
+            userIds = userRepository.findIdsByRoleAfter(Role.USER, after, Limit.of(batchSize));
+            if (!userIds.isEmpty()) {
+                fresh.load(loadEntries(userIds));
+                after = userIds.get(userIds.size() - 1);
+            }
+        } while (userIds.size() == batchSize);
+
+        fresh.optimize();
+        index = fresh;
+        log.info("Talent search index built with {} users in {} ms", fresh.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Queue a user for re-indexing once their change has committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProfileChanged(UserProfileChangedEvent event) {
+        dirtyUsers.add(event.userId());
+    }
+
+    /**
+     * Re-read queued users and apply them to the index
+     */
+    @Scheduled(fixedDelayString = "${app.talent-search.refresh-interval-ms:5000}")
+    public void refreshChangedUsers() {
+        TalentSearchIndex current = index;
+        if (current == null || dirtyUsers.isEmpty()) {
+            return;
+        }
+
+        List<UUID> batch = new ArrayList<>(batchSize);
+        Iterator<UUID> it = dirtyUsers.iterator();
+        while (it.hasNext()) {
+            batch.add(it.next());
+            it.remove();
+            if (batch.size() == batchSize || !it.hasNext()) {
+                try {
+                    current.upsert(loadEntries(batch));
+                } catch (RuntimeException e) {
+                    // Ids leave the queue before loading so a change committed meanwhile queues them again;
+                    // a failed batch goes back for the next run
+                    dirtyUsers.addAll(batch);
+                    throw e;
+                }
+                log.debug("Talent search index refreshed {} users", batch.size());
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+    }
+
+    /**
+     * Search students by skills, sector, education, readiness and project experience
+     * @param request the search filters and page
+     * @return TalentSearchResponse ordered by readiness score descending
+     */
+    public TalentSearchResponse search(TalentSearchRequest request) {
+        TalentSearchIndex current = index;
+        if (current == null) {
+            throw new ServiceUnavailableException("Talent search index is still being built, please try again shortly");
+        }
+
+        int page = request.getPage() != null ? request.getPage() : 0;
+        int size = request.getSize() != null ? request.getSize() : DEFAULT_PAGE_SIZE;
+        TalentSearchIndex.Criteria criteria = toCriteria(request);
+
+        long start = System.nanoTime();
+        TalentSearchIndex.Result result = current.search(criteria, page * size, size);
+        long queryTimeMicros = (System.nanoTime() - start) / 1_000;
+
+        Map<UUID, UserContact> users = userRepository.findContactsByIdIn(
+                        result.entries().stream().map(TalentSearchIndex.Entry::userId).toList())
+                .stream()
+                .collect(Collectors.toMap(UserContact::id, Function.identity()));
+
+        List<TalentSearchResponse.TalentMatch> matches = result.entries().stream()
+                .filter(entry -> users.containsKey(entry.userId()))
+                .map(entry -> mapToTalentMatch(entry, users.get(entry.userId())))
+                .toList();
+
+        return TalentSearchResponse.builder()
+                .results(matches)
+                .page(page)
+                .size(size)
+                .totalMatches(result.totalMatches())
+                .totalPages((result.totalMatches() + size - 1) / size)
+                .indexedUsers(result.indexedUsers())
+                .queryTimeMicros(queryTimeMicros)
+                .build();
+    }
+
+    private TalentSearchIndex.Criteria toCriteria(TalentSearchRequest request) {
+        long requiredSkills = 0L;
+        if (request.getSkills() != null) {
+            for (String name : request.getSkills()) {
+                requiredSkills |= parseSkill(name).bit();
+            }
+        }
+
+        int minReadiness = request.getMinReadiness() != null ? request.getMinReadiness() : 0;
+        int maxReadiness = request.getMaxReadiness() != null ? request.getMaxReadiness() : 100;
+        if (minReadiness > maxReadiness) {
+            throw new BadRequestException("Minimum readiness cannot exceed maximum readiness");
+        }
+        if (request.getMinProjects() != null && request.getProjectComplexity() == null) {
+            throw new BadRequestException("Minimum projects requires a project complexity");
+        }
+
+        String sector = request.getSector() != null && !request.getSector().isBlank() ? request.getSector() : null;
+        int minProjects = request.getMinProjects() != null ? request.getMinProjects() : 1;
+
+        return new TalentSearchIndex.Criteria(sector, requiredSkills, request.getEducationLevel(),
+                minReadiness, maxReadiness, request.getProjectComplexity(), minProjects);
+    }
+
+    private Skill parseSkill(String name) {
+        try {
+            return Skill.valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unknown skill: " + name);
+        }
+    }
+
+    /**
+     * Load index entries for a batch of users
+     */
+    private List<TalentSearchIndex.Entry> loadEntries(List<UUID> userIds) {
+        return profileSnapshotService.loadSnapshots(userIds).stream()
+                .map(snapshot -> new TalentSearchIndex.Entry(
+                        snapshot.userId(),
+                        snapshot.industrySector(),
+                        snapshot.educationLevel(),
+                        snapshot.skillMask() != null ? snapshot.skillMask() : 0L,
+                        dashboardService.calculateReadinessScore(snapshot),
+                        snapshot.projectsByComplexity()))
+                .toList();
+    }
+
+    private TalentSearchResponse.TalentMatch mapToTalentMatch(TalentSearchIndex.Entry entry, UserContact user) {
+        return TalentSearchResponse.TalentMatch.builder()
+                .userId(entry.userId())
+                .firstName(user.firstName())
+                .lastName(user.lastName())
+                .email(user.email())
+                .industrySector(entry.industrySector())
+                .educationLevel(describeEducationLevel(entry.educationLevel()))
+                .readinessScore(entry.readinessScore())
+                .skills(Skill.displayNames(entry.skillMask()))
+                .beginnerProjects(entry.projectCount(1))
+                .intermediateProjects(entry.projectCount(2))
+                .advancedProjects(entry.projectCount(3))
+                .build();
+    }
+
+    private static String describeEducationLevel(Integer level) {
+        return level != null ? AcademicProfileResponse.getEducationLevelDescription(level) : null;
+    }
+}
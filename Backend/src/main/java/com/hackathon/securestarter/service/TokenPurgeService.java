@@ -0,0 +1,192 @@
+package com.hackathon.securestarter.service;
+
+import com.hackathon.securestarter.repository.PasswordResetTokenRepository;
+import com.hackathon.securestarter.repository.VerificationTokenRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Scheduled purge of expired and used email verification and password reset tokens.
+ * Rows are deleted by id in small chunks, each its own short transaction, with a pause in
+ * between so the purge never holds locks long enough to stall signups or resets. Runs on one
+ * instance at a time through a JobLockService lease; a run stops early once its time budget is
+ * spent and the next run picks up the rest.
+ * Used tokens are kept for a while so a second click on a link still gets "already used".
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TokenPurgeService implements MeterBinder {
+
+    static final String JOB_NAME = "token-purge";
+
+    private final VerificationTokenRepository verificationTokenRepository;
+    private final PasswordResetTokenRepository passwordResetTokenRepository;
+    private final JobLockService jobLockService;
+
+    private final TokenTable verificationTokens = new TokenTable("verification_tokens");
+    private final TokenTable passwordResetTokens = new TokenTable("password_reset_tokens");
+    private final AtomicLong completedRuns = new AtomicLong();
+    private final AtomicLong skippedRuns = new AtomicLong();
+
+    @Value("${app.token-purge.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.token-purge.pause-ms:200}")
+    private long pauseMs;
+
+    @Value("${app.token-purge.used-retention-hours:24}")
+    private long usedRetentionHours;
+
+    @Value("${app.token-purge.max-run-minutes:10}")
+    private long maxRunMinutes;
+
+    /**
+     * Rows purged and remaining, per token table
+     */
+    private static final class TokenTable {
+        final String name;
+        final AtomicLong purgedExpired = new AtomicLong();
+        final AtomicLong purgedUsed = new AtomicLong();
+        final AtomicLong rows = new AtomicLong(-1);
+
+        TokenTable(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * Purge expired and used tokens from both token tables, if no other instance is doing so
+     * @return number of rows deleted, or -1 if another instance holds the lease
+     */
+    @Scheduled(initialDelayString = "${app.token-purge.initial-delay-ms:300000}",
+            fixedDelayString = "${app.token-purge.interval-ms:3600000}")
+    public long purgeTokens() {
+        Duration maxRun = Duration.ofMinutes(maxRunMinutes);
+        // Lease outlives the run budget, so a slow final chunk cannot overlap the next node's run
+        if (!jobLockService.tryAcquire(JOB_NAME, maxRun.multipliedBy(2))) {
+            skippedRuns.incrementAndGet();
+            return -1;
+        }
+
+        long start = System.currentTimeMillis();
+        long deadline = start + maxRun.toMillis();
+        long deleted = 0;
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime usedCutoff = now.minusHours(usedRetentionHours);
+
+            deleted += purgeTable(verificationTokens, now, usedCutoff, deadline,
+                    verificationTokenRepository::findIdsExpiredBefore,
+                    verificationTokenRepository::findIdsUsedBefore,
+                    verificationTokenRepository::deleteByIdIn,
+                    verificationTokenRepository::count);
+            deleted += purgeTable(passwordResetTokens, now, usedCutoff, deadline,
+                    passwordResetTokenRepository::findIdsExpiredBefore,
+                    passwordResetTokenRepository::findIdsUsedBefore,
+                    passwordResetTokenRepository::deleteByIdIn,
+                    passwordResetTokenRepository::count);
+            completedRuns.incrementAndGet();
+        } finally {
+            jobLockService.release(JOB_NAME);
+        }
+
+        log.info("Token purge deleted {} rows in {} ms ({} verification, {} password reset tokens left)",
+                deleted, System.currentTimeMillis() - start, verificationTokens.rows.get(), passwordResetTokens.rows.get());
+        return deleted;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (TokenTable table : List.of(verificationTokens, passwordResetTokens)) {
+            FunctionCounter.builder("tokens.purged", table.purgedExpired, AtomicLong::get)
+                    .description("Token rows deleted by the scheduled purge")
+                    .tag("table", table.name)
+                    .tag("reason", "expired")
+                    .register(registry);
+            FunctionCounter.builder("tokens.purged", table.purgedUsed, AtomicLong::get)
+                    .description("Token rows deleted by the scheduled purge")
+                    .tag("table", table.name)
+                    .tag("reason", "used")
+                    .register(registry);
+            Gauge.builder("tokens.table.rows", table.rows, AtomicLong::get)
+                    .description("Rows in the token table after the last purge (-1 before the first)")
+                    .tag("table", table.name)
+                    .register(registry);
+        }
+        FunctionCounter.builder("tokens.purge.runs", completedRuns, AtomicLong::get)
+                .tag("result", "completed")
+                .register(registry);
+        FunctionCounter.builder("tokens.purge.runs", skippedRuns, AtomicLong::get)
+                .tag("result", "locked")
+                .register(registry);
+    }
+
+    private long purgeTable(TokenTable table, LocalDateTime now, LocalDateTime usedCutoff, long deadline,
+                            BiFunction<LocalDateTime, Limit, List<UUID>> expiredIds,
+                            BiFunction<LocalDateTime, Limit, List<UUID>> usedIds,
+                            ToIntFunction<Collection<UUID>> deleter,
+                            LongSupplier rowCount) {
+        long expired = purgeChunks(limit -> expiredIds.apply(now, limit), deleter, table.purgedExpired, deadline);
+        long used = purgeChunks(limit -> usedIds.apply(usedCutoff, limit), deleter, table.purgedUsed, deadline);
+        table.rows.set(rowCount.getAsLong());
+
+        if (expired + used > 0) {
+            log.debug("Purged {} expired and {} used rows from {}", expired, used, table.name);
+        }
+        return expired + used;
+    }
+
+    /**
+     * Delete chunk after chunk until nothing is left, the deadline passes or the thread is interrupted
+     */
+    private long purgeChunks(Function<Limit, List<UUID>> nextIds,
+                             ToIntFunction<Collection<UUID>> deleter, AtomicLong counter, long deadline) {
+        long deleted = 0;
+        while (System.currentTimeMillis() < deadline) {
+            List<UUID> ids = nextIds.apply(Limit.of(chunkSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            int count = deleter.applyAsInt(ids);
+            counter.addAndGet(count);
+            deleted += count;
+            if (ids.size() < chunkSize || !pause()) {
+                break;
+            }
+        }
+        return deleted;
+    }
+
+    private boolean pause() {
+        if (pauseMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
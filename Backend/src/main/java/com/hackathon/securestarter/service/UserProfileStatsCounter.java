@@ -0,0 +1,45 @@
+package com.hackathon.securestarter.service;
+
+import com.hackathon.securestarter.repository.*;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+/**
+ * Builds user_profile_stats rows from COUNT queries, for users created before the table existed.
+ * Kept apart from UserProfileStatsService so calls from there go through the transactional proxy.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserProfileStatsCounter {
+
+    private final UserProfileStatsRepository userProfileStatsRepository;
+    private final AcademicProfileRepository academicProfileRepository;
+    private final CareerProfileRepository careerProfileRepository;
+    private final SkillProfileRepository skillProfileRepository;
+    private final CourseRepository courseRepository;
+    private final ProjectRepository projectRepository;
+    private final CertificationRepository certificationRepository;
+
+    /**
+     * Insert a user's stats row built from COUNT queries, unless a row exists by then.
+     * Counter changes the calling transaction has made but not yet applied to the row are left out
+     * of the inserted counts, so the caller can apply them with its UPDATE whichever insert won.
+     * @param userId the user's UUID
+     * @param pendingCourses course count change still to be applied by the caller
+     * @param pendingProjects project count change still to be applied by the caller
+     * @param pendingCertifications certification count change still to be applied by the caller
+     */
+    @Transactional
+    public void insertIfAbsent(UUID userId, int pendingCourses, int pendingProjects, int pendingCertifications) {
+        userProfileStatsRepository.insertIfAbsent(userId,
+                academicProfileRepository.existsByUserId(userId),
+                careerProfileRepository.existsByUserId(userId),
+                skillProfileRepository.existsByUserId(userId),
+                (int) courseRepository.countByUserId(userId) - pendingCourses,
+                (int) projectRepository.countByUserId(userId) - pendingProjects,
+                (int) certificationRepository.countByUserId(userId) - pendingCertifications);
+    }
+}
@@ -0,0 +1,109 @@
+package com.hackathon.securestarter.service;
+
+import com.hackathon.securestarter.entity.UserProfileStats;
+import com.hackathon.securestarter.repository.UserProfileStatsRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Service maintaining the denormalized per-user counters in user_profile_stats.
+ * Write paths adjust the counters in their own transaction with a single UPDATE, so the
+ * counters commit or roll back together with the rows they count. Users created before the
+ * table existed have no row; it is built from COUNT queries the first time their stats are read
+ * or adjusted. An adjustment that finds no row inserts it (or lets a concurrent insert win) and
+ * then applies itself, so a change committed while a read builds the row is never lost.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserProfileStatsService {
+
+    private final UserProfileStatsRepository userProfileStatsRepository;
+    private final UserProfileStatsCounter userProfileStatsCounter;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Get a user's stats, building the row on first use
+     * @param userId the user's UUID
+     * @return UserProfileStats
+     */
+    public UserProfileStats getStats(UUID userId) {
+        return userProfileStatsRepository.findById(userId).orElseGet(() -> backfill(userId));
+    }
+
+    /**
+     * Insert stats rows for newly created users (no lookup first, so they batch with the user inserts)
+     * @param stats rows for users that have none yet
+     */
+    @Transactional
+    public void createStats(Collection<UserProfileStats> stats) {
+        stats.forEach(entityManager::persist);
+    }
+
+    /**
+     * Insert an empty stats row for a newly created user
+     * @param userId the new user's UUID
+     */
+    @Transactional
+    public void createEmptyStats(UUID userId) {
+        entityManager.persist(UserProfileStats.empty(userId));
+    }
+
+    /**
+     * Adjust a user's item counters
+     * @param userId the user's UUID
+     * @param courses change in course count
+     * @param projects change in project count
+     * @param certifications change in certification count
+     */
+    @Transactional
+    public void addCounts(UUID userId, int courses, int projects, int certifications) {
+        if (courses == 0 && projects == 0 && certifications == 0) {
+            return;
+        }
+        if (userProfileStatsRepository.addCounts(userId, courses, projects, certifications) == 0) {
+            userProfileStatsCounter.insertIfAbsent(userId, courses, projects, certifications);
+            userProfileStatsRepository.addCounts(userId, courses, projects, certifications);
+        }
+    }
+
+    @Transactional
+    public void setHasAcademicProfile(UUID userId, boolean present) {
+        if (userProfileStatsRepository.setHasAcademicProfile(userId, present) == 0) {
+            userProfileStatsCounter.insertIfAbsent(userId, 0, 0, 0);
+            userProfileStatsRepository.setHasAcademicProfile(userId, present);
+        }
+    }
+
+    @Transactional
+    public void setHasCareerProfile(UUID userId, boolean present) {
+        if (userProfileStatsRepository.setHasCareerProfile(userId, present) == 0) {
+            userProfileStatsCounter.insertIfAbsent(userId, 0, 0, 0);
+            userProfileStatsRepository.setHasCareerProfile(userId, present);
+        }
+    }
+
+    @Transactional
+    public void setHasSkillProfile(UUID userId, boolean present) {
+        if (userProfileStatsRepository.setHasSkillProfile(userId, present) == 0) {
+            userProfileStatsCounter.insertIfAbsent(userId, 0, 0, 0);
+            userProfileStatsRepository.setHasSkillProfile(userId, present);
+        }
+    }
+
+    private UserProfileStats backfill(UUID userId) {
+        // Commits on its own, so the row read back is this insert or a concurrent one
+        userProfileStatsCounter.insertIfAbsent(userId, 0, 0, 0);
+        log.debug("Built profile stats for user {}", userId);
+        return userProfileStatsRepository.findById(userId).orElseThrow();
+    }
+}
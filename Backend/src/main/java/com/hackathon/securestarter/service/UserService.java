@@ -7,14 +7,16 @@ import com.hackathon.securestarter.dto.response.MessageResponse;
 import com.hackathon.securestarter.dto.response.UserResponse;
 import com.hackathon.securestarter.entity.User;
 import com.hackathon.securestarter.enums.AuthProvider;
+import com.hackathon.securestarter.event.UserTokensRevokedEvent;
 import com.hackathon.securestarter.exception.BadRequestException;
 import com.hackathon.securestarter.exception.ResourceNotFoundException;
 import com.hackathon.securestarter.repository.UserRepository;
+import com.hackathon.securestarter.security.PasswordHasher;
 import com.hackathon.securestarter.util.Constants;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,8 +28,9 @@ import java.util.UUID;
 public class UserService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final ModelMapper modelMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Get user by ID
@@ -84,14 +87,14 @@ public class UserService {
     }
 
     /**
-     * Change user password
+     * Change user password. Signs the user out everywhere: tokens issued before stop working.
      */
     @Transactional
     public void changePassword(UUID userId, ChangePasswordRequest request) {
         User user = getUserById(userId);
 
         // Verify current password
-        if (!passwordEncoder.matches(request.getCurrentPassword(), user.getPasswordHash())) {
+        if (!passwordHasher.matches(request.getCurrentPassword(), user.getPasswordHash())) {
             throw new BadRequestException(Constants.PASSWORD_MISMATCH);
         }
 
@@ -101,12 +104,42 @@ public class UserService {
         }
 
         // Update password
-        user.setPasswordHash(passwordEncoder.encode(request.getNewPassword()));
+        user.setPasswordHash(passwordHasher.encode(request.getNewPassword()));
+        user.setTokenVersion(user.getTokenVersion() + 1);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserTokensRevokedEvent(userId));
 
         log.info("Password changed for user: {}", user.getEmail());
     }
 
+    /**
+     * Revoke all JWTs issued to a user so far (sign out on every device)
+     * @param userId the user's UUID
+     */
+    @Transactional
+    public void revokeTokens(UUID userId) {
+        User user = getUserById(userId);
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        userRepository.save(user);
+        eventPublisher.publishEvent(new UserTokensRevokedEvent(userId));
+
+        log.info("All tokens revoked for user: {}", user.getEmail());
+    }
+
+    /**
+     * Opt a user out of (or back into) the weekly progress digest
+     * @param userId the user's UUID
+     * @param optOut true to stop the digest
+     */
+    @Transactional
+    public void setDigestOptOut(UUID userId, boolean optOut) {
+        User user = getUserById(userId);
+        user.setDigestOptOut(optOut);
+        userRepository.save(user);
+
+        log.info("Weekly digest {} for user: {}", optOut ? "disabled" : "enabled", user.getEmail());
+    }
+
     /**
      * Set password for Google users (enable manual login)
      * Only allows Google users without existing password to set one
@@ -125,7 +158,7 @@ public class UserService {
         }
 
         // Set password (no need to check confirmPassword - frontend handles that)
-        user.setPasswordHash(passwordEncoder.encode(request.getPassword()));
+        user.setPasswordHash(passwordHasher.encode(request.getPassword()));
         userRepository.save(user);
 
         log.info("Password set for Google user: {}", user.getEmail());
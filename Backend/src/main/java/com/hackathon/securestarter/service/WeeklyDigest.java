@@ -0,0 +1,20 @@
+package com.hackathon.securestarter.service;
+
+import java.util.List;
+
+/**
+ * Content of one user's weekly progress digest
+ * @param previousReadinessScore score in the last digest, null for a user's first digest
+ * @param topSkillGaps highest-priority missing skills for the target role
+ */
+public record WeeklyDigest(int readinessScore, Integer previousReadinessScore, double skillMatchPercentage,
+                           List<String> topSkillGaps, List<Recommendation> recommendations) {
+
+    /**
+     * A recommended course or project
+     * @param kind "Course" or "Project"
+     * @param isNew not part of the user's previous digest
+     */
+    public record Recommendation(String title, String kind, boolean isNew) {
+    }
+}
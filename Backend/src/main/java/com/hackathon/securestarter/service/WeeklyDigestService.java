@@ -0,0 +1,323 @@
+package com.hackathon.securestarter.service;
+
+import com.hackathon.securestarter.dto.projection.UserContact;
+import com.hackathon.securestarter.dto.response.CourseRecommendationResponse;
+import com.hackathon.securestarter.dto.response.ProjectRecommendationResponse;
+import com.hackathon.securestarter.dto.response.SkillGapAnalysisResponse;
+import com.hackathon.securestarter.entity.CareerProfile;
+import com.hackathon.securestarter.entity.DigestRun;
+import com.hackathon.securestarter.entity.SkillProfile;
+import com.hackathon.securestarter.entity.UserDigest;
+import com.hackathon.securestarter.enums.Role;
+import com.hackathon.securestarter.repository.UserDigestRepository;
+import com.hackathon.securestarter.repository.UserRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.IsoFields;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Weekly progress digest: each onboarded student gets their readiness score and its change since
+ * the last digest, their top skill gaps and recommended courses and projects (new ones marked).
+ * Students are read in id-ordered pages, each page's profiles loaded in one batch and its emails
+ * rendered in parallel, so memory stays at one page however many users there are. Each page is
+ * queued in the email outbox in one transaction with the run's cursor (WeeklyDigestWriter), and
+ * the outbox dispatcher paces delivery to the SMTP provider's limits.
+ * The job checks periodically whether this week's digest is due; a run stopped by a crash or
+ * its time budget continues from the cursor at the next check. One instance at a time runs it,
+ * through a JobLockService lease.
+ */
+@Service
+@Slf4j
+public class WeeklyDigestService implements MeterBinder {
+
+    static final String JOB_NAME = "weekly-digest";
+
+    private static final int TOP_SKILL_GAPS = 3;
+    private static final int RECOMMENDED_COURSES = 3;
+    private static final int RECOMMENDED_PROJECTS = 2;
+
+    private final UserRepository userRepository;
+    private final UserDigestRepository userDigestRepository;
+    private final ProfileSnapshotService profileSnapshotService;
+    private final DashboardService dashboardService;
+    private final AnalyticsService analyticsService;
+    private final RecommendationService recommendationService;
+    private final EmailService emailService;
+    private final WeeklyDigestWriter weeklyDigestWriter;
+    private final EmailOutboxDispatcher emailOutboxDispatcher;
+    private final JobLockService jobLockService;
+
+    private final ThreadPoolExecutor renderPool;
+    private final int renderThreads;
+
+    private final AtomicLong queued = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong completedRuns = new AtomicLong();
+    private final AtomicLong pausedRuns = new AtomicLong();
+
+    @Value("${app.digest.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.digest.day-of-week:MONDAY}")
+    private DayOfWeek dayOfWeek;
+
+    @Value("${app.digest.hour:9}")
+    private int hour;
+
+    @Value("${app.digest.page-size:500}")
+    private int pageSize;
+
+    @Value("${app.digest.max-run-minutes:30}")
+    private long maxRunMinutes;
+
+    public WeeklyDigestService(UserRepository userRepository,
+                               UserDigestRepository userDigestRepository,
+                               ProfileSnapshotService profileSnapshotService,
+                               DashboardService dashboardService,
+                               AnalyticsService analyticsService,
+                               RecommendationService recommendationService,
+                               EmailService emailService,
+                               WeeklyDigestWriter weeklyDigestWriter,
+                               EmailOutboxDispatcher emailOutboxDispatcher,
+                               JobLockService jobLockService,
+                               @Value("${app.digest.render-threads:0}") int renderThreads) {
+        this.userRepository = userRepository;
+        this.userDigestRepository = userDigestRepository;
+        this.profileSnapshotService = profileSnapshotService;
+        this.dashboardService = dashboardService;
+        this.analyticsService = analyticsService;
+        this.recommendationService = recommendationService;
+        this.emailService = emailService;
+        this.weeklyDigestWriter = weeklyDigestWriter;
+        this.emailOutboxDispatcher = emailOutboxDispatcher;
+        this.jobLockService = jobLockService;
+
+        this.renderThreads = renderThreads > 0 ? renderThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.renderPool = new ThreadPoolExecutor(this.renderThreads, this.renderThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "digest-render-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        renderPool.shutdownNow();
+    }
+
+    /**
+     * Run (or continue) this week's digest once its send time has passed
+     */
+    @Scheduled(initialDelayString = "${app.digest.initial-delay-ms:60000}",
+            fixedDelayString = "${app.digest.check-interval-ms:600000}")
+    public void runIfDue() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime sendAt = now.toLocalDate()
+                .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+                .with(TemporalAdjusters.nextOrSame(dayOfWeek))
+                .atTime(hour, 0);
+        if (enabled && !now.isBefore(sendAt)) {
+            runDigest(period(now));
+        }
+    }
+
+    /**
+     * Queue digests for a period, continuing its run if one was started
+     * @param period ISO week, e.g. 2026-W42
+     * @return digests queued by this call, or -1 if another instance holds the lease
+     */
+    public int runDigest(String period) {
+        Duration maxRun = Duration.ofMinutes(maxRunMinutes);
+        if (!jobLockService.tryAcquire(JOB_NAME, maxRun.multipliedBy(2))) {
+            return -1;
+        }
+
+        long start = System.currentTimeMillis();
+        long deadline = start + maxRun.toMillis();
+        int queuedNow = 0;
+        try {
+            DigestRun run = weeklyDigestWriter.startRun(period);
+            if (run.getCompletedAt() != null) {
+                return 0;
+            }
+
+            UUID after = run.getLastUserId();
+            List<UserContact> users;
+            do {
+                users = userRepository.findOnboardedContactsAfter(Role.USER, after, Limit.of(pageSize));
+                if (users.isEmpty()) {
+                    break;
+                }
+                after = users.get(users.size() - 1).id();
+                queuedNow += weeklyDigestWriter.writePage(period, renderPage(period, users), after);
+                emailOutboxDispatcher.requestDrain();
+            } while (users.size() == pageSize && System.currentTimeMillis() < deadline);
+
+            if (users.size() < pageSize) {
+                weeklyDigestWriter.completeRun(period);
+                completedRuns.incrementAndGet();
+            } else {
+                pausedRuns.incrementAndGet();
+                log.info("Weekly digest {} paused after its time budget; it continues at the next check", period);
+            }
+        } finally {
+            jobLockService.release(JOB_NAME);
+            queued.addAndGet(queuedNow);
+        }
+
+        log.info("Weekly digest {} queued {} emails in {} ms", period, queuedNow, System.currentTimeMillis() - start);
+        return queuedNow;
+    }
+
+    /**
+     * ISO week of a date, e.g. 2026-W42
+     */
+    public static String period(LocalDateTime time) {
+        return "%d-W%02d".formatted(time.get(IsoFields.WEEK_BASED_YEAR), time.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("digest.queued", queued, AtomicLong::get)
+                .description("Weekly digest emails queued in the outbox")
+                .register(registry);
+        FunctionCounter.builder("digest.skipped", skipped, AtomicLong::get)
+                .description("Users who get no digest: no career or skill profile, or rendering failed")
+                .register(registry);
+        FunctionCounter.builder("digest.runs", completedRuns, AtomicLong::get)
+                .tag("result", "completed")
+                .register(registry);
+        FunctionCounter.builder("digest.runs", pausedRuns, AtomicLong::get)
+                .tag("result", "paused")
+                .register(registry);
+    }
+
+    /**
+     * Load a page's profiles and previous digests in batches, then render its emails in parallel
+     */
+    private List<WeeklyDigestWriter.RenderedDigest> renderPage(String period, List<UserContact> users) {
+        List<UUID> userIds = users.stream().map(UserContact::id).toList();
+        List<ProfileSnapshotService.ProfileSnapshot> snapshots = profileSnapshotService.loadSnapshots(userIds);
+        Map<UUID, UserDigest> previous = userDigestRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(UserDigest::getUserId, Function.identity()));
+
+        int sliceSize = (users.size() + renderThreads - 1) / renderThreads;
+        List<Future<List<WeeklyDigestWriter.RenderedDigest>>> slices = new ArrayList<>();
+        for (int from = 0; from < users.size(); from += sliceSize) {
+            int sliceFrom = from;
+            int sliceTo = Math.min(users.size(), from + sliceSize);
+            slices.add(renderPool.submit(() -> {
+                List<WeeklyDigestWriter.RenderedDigest> rendered = new ArrayList<>(sliceTo - sliceFrom);
+                for (int i = sliceFrom; i < sliceTo; i++) {
+                    UserDigest last = previous.get(users.get(i).id());
+                    // Already queued this week, e.g. by a run that was restarted by hand
+                    if (last != null && period.equals(last.getLastPeriod())) {
+                        continue;
+                    }
+                    WeeklyDigestWriter.RenderedDigest digest;
+                    try {
+                        digest = render(users.get(i), snapshots.get(i), last);
+                    } catch (RuntimeException e) {
+                        // One bad profile must not fail the page: its cursor would never move past the user
+                        log.warn("Weekly digest {} skipped for user {}: rendering failed", period, users.get(i).id(), e);
+                        digest = null;
+                    }
+                    if (digest != null) {
+                        rendered.add(digest);
+                    } else {
+                        skipped.incrementAndGet();
+                    }
+                }
+                return rendered;
+            }));
+        }
+
+        List<WeeklyDigestWriter.RenderedDigest> page = new ArrayList<>(users.size());
+        try {
+            for (Future<List<WeeklyDigestWriter.RenderedDigest>> slice : slices) {
+                page.addAll(slice.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while rendering weekly digests", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Rendering weekly digests failed", e.getCause());
+        }
+        return page;
+    }
+
+    /**
+     * Build one user's digest from their snapshot, or null when the profile is incomplete
+     */
+    private WeeklyDigestWriter.RenderedDigest render(UserContact user, ProfileSnapshotService.ProfileSnapshot snapshot,
+                                                     UserDigest last) {
+        if (snapshot.industrySector() == null || snapshot.skillMask() == null) {
+            return null;
+        }
+
+        int readinessScore = dashboardService.calculateReadinessScore(snapshot);
+        SkillGapAnalysisResponse skillGaps = analyticsService.analyzeSkillGaps(
+                CareerProfile.builder()
+                        .industrySector(snapshot.industrySector())
+                        .targetJobRole(snapshot.targetJobRole())
+                        .build(),
+                SkillProfile.builder().skillMask(snapshot.skillMask()).build());
+
+        List<String> topSkillGaps = skillGaps.getPrioritySkillsToLearn().stream()
+                .limit(TOP_SKILL_GAPS)
+                .map(SkillGapAnalysisResponse.SkillPriority::getSkillName)
+                .toList();
+
+        List<String> titles = new ArrayList<>();
+        List<String> kinds = new ArrayList<>();
+        recommendationService.buildCourseRecommendations(skillGaps).getRecommendedCourses().stream()
+                .limit(RECOMMENDED_COURSES)
+                .map(CourseRecommendationResponse.RecommendedCourse::getCourseName)
+                .forEach(title -> {
+                    titles.add(title);
+                    kinds.add("Course");
+                });
+        recommendationService.buildProjectRecommendations(skillGaps).getRecommendedProjects().stream()
+                .limit(RECOMMENDED_PROJECTS)
+                .map(ProjectRecommendationResponse.RecommendedProject::getProjectTitle)
+                .forEach(title -> {
+                    titles.add(title);
+                    kinds.add("Project");
+                });
+
+        // On a first digest nothing is marked new
+        Set<String> lastTitles = last == null || last.getLastRecommendations() == null
+                ? null : new HashSet<>(Arrays.asList(last.getLastRecommendations().split("\n")));
+        List<WeeklyDigest.Recommendation> recommendations = new ArrayList<>(titles.size());
+        for (int i = 0; i < titles.size(); i++) {
+            recommendations.add(new WeeklyDigest.Recommendation(titles.get(i), kinds.get(i),
+                    lastTitles != null && !lastTitles.contains(titles.get(i))));
+        }
+
+        WeeklyDigest digest = new WeeklyDigest(readinessScore, last != null ? last.getLastReadinessScore() : null,
+                skillGaps.getSkillMatchPercentage(), topSkillGaps, recommendations);
+        return new WeeklyDigestWriter.RenderedDigest(user.id(), emailService.buildWeeklyDigestEmail(user, digest),
+                readinessScore, String.join("\n", titles));
+    }
+}
@@ -0,0 +1,113 @@
+package com.hackathon.securestarter.service;
+
+import com.hackathon.securestarter.entity.DigestRun;
+import com.hackathon.securestarter.entity.EmailOutbox;
+import com.hackathon.securestarter.entity.UserDigest;
+import com.hackathon.securestarter.repository.DigestRunRepository;
+import com.hackathon.securestarter.repository.EmailOutboxRepository;
+import com.hackathon.securestarter.repository.UserDigestRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Writes one page of rendered weekly digests in a single transaction: the outbox rows, each
+ * user's digest state and the run's cursor commit together, so after a crash the run resumes
+ * exactly after the last committed page and no user gets a digest twice.
+ */
+@Service
+@RequiredArgsConstructor
+public class WeeklyDigestWriter {
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final UserDigestRepository userDigestRepository;
+    private final DigestRunRepository digestRunRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * A user's digest, rendered and ready to queue
+     * @param recommendations recommendation titles, newline separated, remembered for next week
+     */
+    public record RenderedDigest(UUID userId, EmailOutbox email, int readinessScore, String recommendations) {
+    }
+
+    /**
+     * Start a run for a period, or return the unfinished one
+     * @param period ISO week
+     * @return the period's run
+     */
+    @Transactional
+    public DigestRun startRun(String period) {
+        return digestRunRepository.findById(period).orElseGet(() -> {
+            DigestRun run = DigestRun.builder()
+                    .period(period)
+                    .startedAt(LocalDateTime.now())
+                    .build();
+            entityManager.persist(run);
+            return run;
+        });
+    }
+
+    /**
+     * Queue a page of digests and move the run's cursor past it
+     * @param period ISO week
+     * @param digests rendered digests of the page
+     * @param lastUserId last user id of the page, including users without a digest
+     * @return number of digests queued (users who already got this period's digest are skipped)
+     */
+    @Transactional
+    public int writePage(String period, List<RenderedDigest> digests, UUID lastUserId) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<UUID, UserDigest> states = userDigestRepository
+                .findAllById(digests.stream().map(RenderedDigest::userId).toList())
+                .stream().collect(Collectors.toMap(UserDigest::getUserId, Function.identity()));
+
+        List<EmailOutbox> emails = new ArrayList<>(digests.size());
+        for (RenderedDigest digest : digests) {
+            UserDigest state = states.get(digest.userId());
+            if (state != null && period.equals(state.getLastPeriod())) {
+                continue;
+            }
+            if (state == null) {
+                state = UserDigest.builder().userId(digest.userId()).build();
+                updateState(state, period, digest, now);
+                entityManager.persist(state);
+            } else {
+                updateState(state, period, digest, now);
+            }
+            emails.add(digest.email());
+        }
+        emailOutboxRepository.saveAll(emails);
+
+        DigestRun run = digestRunRepository.findById(period)
+                .orElseThrow(() -> new IllegalStateException("No digest run for " + period));
+        run.setLastUserId(lastUserId);
+        run.setQueuedCount(run.getQueuedCount() + emails.size());
+        return emails.size();
+    }
+
+    /**
+     * Mark a run as finished
+     * @param period ISO week
+     */
+    @Transactional
+    public void completeRun(String period) {
+        digestRunRepository.findById(period).ifPresent(run -> run.setCompletedAt(LocalDateTime.now()));
+    }
+
+    private static void updateState(UserDigest state, String period, RenderedDigest digest, LocalDateTime now) {
+        state.setLastPeriod(period);
+        state.setLastReadinessScore(digest.readinessScore());
+        state.setLastRecommendations(digest.recommendations());
+        state.setLastQueuedAt(now);
+    }
+}
@@ -20,6 +20,8 @@ public class Constants {
     public static final String ACCOUNT_NOT_VERIFIED = "Account is not verified. Please check your email.";
     public static final String PASSWORD_MISMATCH = "Current password is incorrect";
     public static final String PASSWORD_CANNOT_BE_SAME_AS_OLD = "New password cannot be the same as the old password";
+    public static final String SERVER_BUSY = "Server is busy. Please try again shortly.";
+    public static final String TOO_MANY_REQUESTS = "Too many requests. Please slow down and try again shortly.";
 
 
     // Success Messages (used in Services)
@@ -0,0 +1,53 @@
+package com.hackathon.securestarter.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 field splitter for one CSV line.
+ * Fields may be double-quoted to contain commas, with "" for a literal quote;
+ * quoted line breaks are not supported since input is read line by line.
+ */
+public final class CsvLines {
+
+    private CsvLines() {
+    }
+
+    /**
+     * Split a CSV line into trimmed fields
+     * @param line the raw line, without its line terminator
+     * @return the fields, empty strings for empty fields
+     * @throws IllegalArgumentException if a quoted field is not closed
+     */
+    public static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+}
@@ -0,0 +1,52 @@
+package com.hackathon.securestarter.util;
+
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Difference between a user's existing rows and a resubmitted list, matched by a key.
+ * Duplicate keys pair up in order, so each existing row is matched at most once.
+ * @param matched existing rows paired with the request that replaces them (update in place)
+ * @param added requests with no existing row (insert)
+ * @param removed existing rows with no request (delete)
+ */
+public record EntityDiff<E, R>(List<Map.Entry<E, R>> matched, List<R> added, List<E> removed) {
+
+    public static <E, R> EntityDiff<E, R> of(List<E> existing, List<R> requested,
+                                             Function<E, String> existingKey, Function<R, String> requestedKey) {
+        Map<String, Deque<E>> unmatched = new HashMap<>();
+        for (E row : existing) {
+            unmatched.computeIfAbsent(existingKey.apply(row), k -> new ArrayDeque<>()).add(row);
+        }
+
+        List<Map.Entry<E, R>> matched = new ArrayList<>();
+        List<R> added = new ArrayList<>();
+        for (R request : requested) {
+            Deque<E> candidates = unmatched.get(requestedKey.apply(request));
+            E row = candidates != null ? candidates.poll() : null;
+            if (row != null) {
+                matched.add(new AbstractMap.SimpleImmutableEntry<>(row, request));
+            } else {
+                added.add(request);
+            }
+        }
+
+        List<E> removed = new ArrayList<>();
+        unmatched.values().forEach(removed::addAll);
+        return new EntityDiff<>(matched, added, removed);
+    }
+
+    /**
+     * Case- and whitespace-insensitive key for matching names
+     */
+    public static String nameKey(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+}
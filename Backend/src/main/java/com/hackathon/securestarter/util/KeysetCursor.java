@@ -0,0 +1,75 @@
+package com.hackathon.securestarter.util;
+
+import com.hackathon.securestarter.dto.response.CursorPageResponse;
+import com.hackathon.securestarter.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Position in a list ordered by (created_at DESC, id DESC), for keyset pagination.
+ * Clients only see it as an opaque URL-safe token; the next page starts strictly after it.
+ */
+public record KeysetCursor(LocalDateTime createdAt, UUID id) {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    // Rows per query when streaming a whole list
+    public static final int EXPORT_BATCH_SIZE = 500;
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor token
+     * @param token token from a previous page, or null/blank for the first page
+     * @return the cursor, or null for the first page
+     */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new KeysetCursor(LocalDateTime.parse(raw.substring(0, separator)), UUID.fromString(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Clamp a requested page size to 1..MAX_PAGE_SIZE, defaulting when absent
+     */
+    public static int pageSize(Integer requested) {
+        if (requested == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(Math.max(requested, 1), MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Build a page from rows fetched with limit pageSize + 1; the extra row only signals that more exist
+     */
+    public static <E, R> CursorPageResponse<R> toPage(List<E> rows, int pageSize, Function<E, R> mapper,
+                                                      Function<E, KeysetCursor> position) {
+        boolean hasMore = rows.size() > pageSize;
+        List<E> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        return CursorPageResponse.<R>builder()
+                .items(page.stream().map(mapper).toList())
+                .size(page.size())
+                .hasMore(hasMore)
+                .nextCursor(hasMore ? position.apply(page.get(page.size() - 1)).encode() : null)
+                .build();
+    }
+}
@@ -0,0 +1,51 @@
+package com.hackathon.securestarter.util;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Helpers for streaming newline-delimited JSON (one object per line) downloads.
+ */
+public final class NdjsonStreams {
+
+    private NdjsonStreams() {
+    }
+
+    /**
+     * Stream items as an NDJSON attachment. Items are written as the producer emits them,
+     * so the full list is never held in memory.
+     * @param jsonMapper mapper used to serialise each item
+     * @param filename download file name
+     * @param producer emits every item to the given sink
+     */
+    public static ResponseEntity<StreamingResponseBody> attachment(JsonMapper jsonMapper, String filename,
+                                                                   Consumer<Consumer<Object>> producer) {
+        StreamingResponseBody body = out -> {
+            try {
+                producer.accept(item -> {
+                    try {
+                        out.write(jsonMapper.writeValueAsBytes(item));
+                        out.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            out.flush();
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+}
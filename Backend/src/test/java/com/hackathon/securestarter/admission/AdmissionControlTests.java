@@ -0,0 +1,193 @@
+package com.hackathon.securestarter.admission;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Admission control building blocks, without a Spring context: the adaptive limit's increase and
+ * decrease rules and wait queue, the per-user token bucket and Retry-After, and tier matching.
+ */
+class AdmissionControlTests {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long SLOW = TimeUnit.SECONDS.toNanos(10);
+
+    @Test
+    void limitGrowsWhileFastAndInUse() throws Exception {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(4, 1, 6, 1_000, 0);
+        for (int round = 0; round < 100; round++) {
+            int acquired = 0;
+            while (limit.tryAcquire(0)) {
+                acquired++;
+            }
+            assertThat(acquired).isEqualTo(limit.getLimit());
+            for (int i = 0; i < acquired; i++) {
+                limit.release(FAST, false);
+            }
+        }
+        assertThat(limit.getLimit()).isEqualTo(6);
+        assertThat(limit.getInFlight()).isZero();
+    }
+
+    @Test
+    void limitDoesNotGrowWhenMostlyIdle() throws Exception {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 100, 1_000, 0);
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(limit.tryAcquire(0)).isTrue();
+            limit.release(FAST, false);
+        }
+        assertThat(limit.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void slowOrFailedCompletionCutsTheLimitOncePerLatencyTarget() throws Exception {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 1, 100, 5_000, 0);
+        limit.tryAcquire(0);
+        limit.release(SLOW, false);
+        assertThat(limit.getLimit()).isEqualTo(18);
+
+        // Same burst of slow responses: counted once
+        limit.tryAcquire(0);
+        limit.release(SLOW, false);
+        assertThat(limit.getLimit()).isEqualTo(18);
+
+        AdaptiveConcurrencyLimit failing = new AdaptiveConcurrencyLimit(20, 1, 100, 5_000, 0);
+        failing.tryAcquire(0);
+        failing.release(FAST, true);
+        assertThat(failing.getLimit()).isEqualTo(18);
+    }
+
+    @Test
+    void limitNeverDropsBelowTheMinimum() throws Exception {
+        // A zero latency target allows a decrease on every slow completion
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(5, 2, 10, 0, 0);
+        for (int i = 0; i < 50; i++) {
+            limit.tryAcquire(0);
+            limit.release(SLOW, false);
+        }
+        assertThat(limit.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    void requestsAtTheLimitWaitInABoundedQueue() throws Exception {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 1, 1, 1_000, 1);
+        assertThat(limit.tryAcquire(0)).isTrue();
+
+        // No wait allowed, then a wait that times out
+        assertThat(limit.tryAcquire(0)).isFalse();
+        long start = System.nanoTime();
+        assertThat(limit.tryAcquire(TimeUnit.MILLISECONDS.toNanos(20))).isFalse();
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(20));
+        assertThat(limit.getQueued()).isZero();
+
+        // One waiter fills the queue; the next request is refused without waiting
+        CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(() -> {
+            try {
+                return limit.tryAcquire(TimeUnit.SECONDS.toNanos(10));
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (limit.getQueued() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(limit.getQueued()).isEqualTo(1);
+        start = System.nanoTime();
+        assertThat(limit.tryAcquire(TimeUnit.SECONDS.toNanos(10))).isFalse();
+        assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(1));
+
+        // A release hands the slot to the waiter
+        limit.release(FAST, false);
+        assertThat(waiter.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(limit.getInFlight()).isEqualTo(1);
+        assertThat(limit.getQueued()).isZero();
+    }
+
+    @Test
+    void tokenBucketAllowsABurstThenWaitsForRefill() throws Exception {
+        TokenBucket bucket = new TokenBucket(3, 100);
+        for (int i = 0; i < 3; i++) {
+            assertThat(bucket.tryConsume()).isZero();
+        }
+        long wait = bucket.tryConsume();
+        // One token every 10 ms
+        assertThat(wait).isPositive().isLessThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(10));
+
+        TimeUnit.NANOSECONDS.sleep(wait + TimeUnit.MILLISECONDS.toNanos(2));
+        assertThat(bucket.tryConsume()).isZero();
+    }
+
+    @Test
+    void tokenBucketRefillsOnlyUpToCapacity() throws Exception {
+        // Idle for five refills' worth: still only two tokens
+        TokenBucket bucket = new TokenBucket(2, 10);
+        Thread.sleep(500);
+        assertThat(bucket.tryConsume()).isZero();
+        assertThat(bucket.tryConsume()).isZero();
+        assertThat(bucket.tryConsume()).isPositive();
+    }
+
+    @Test
+    void throttledUserGetsRetryAfterRoundedUpToWholeSeconds() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("app.admission.heavy.user-burst", "2")
+                .withProperty("app.admission.heavy.user-rate-per-second", "0.4");
+        AdmissionControl admissionControl = new AdmissionControl(environment, true, 1);
+        UUID userId = UUID.randomUUID();
+
+        for (int i = 0; i < 2; i++) {
+            AdmissionControl.Decision decision = admissionControl.admit(EndpointTier.HEAVY, userId);
+            assertThat(decision.admitted()).isTrue();
+            admissionControl.complete(decision, FAST, false);
+        }
+
+        // Next token in 2.5 seconds
+        AdmissionControl.Decision throttled = admissionControl.admit(EndpointTier.HEAVY, userId);
+        assertThat(throttled.rejectedWith()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(throttled.retryAfterSeconds()).isEqualTo(3);
+
+        // Other users and tiers without a user burst are not affected
+        assertThat(admissionControl.admit(EndpointTier.HEAVY, UUID.randomUUID()).admitted()).isTrue();
+        assertThat(admissionControl.admit(EndpointTier.LIGHT, userId).admitted()).isTrue();
+    }
+
+    @Test
+    void requestsOverTheTierLimitGet503() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("app.admission.admin.initial-limit", "1")
+                .withProperty("app.admission.admin.min-limit", "1")
+                .withProperty("app.admission.admin.max-wait-ms", "0");
+        AdmissionControl admissionControl = new AdmissionControl(environment, true, 2);
+
+        AdmissionControl.Decision first = admissionControl.admit(EndpointTier.ADMIN, null);
+        assertThat(first.admitted()).isTrue();
+        AdmissionControl.Decision second = admissionControl.admit(EndpointTier.ADMIN, null);
+        assertThat(second.rejectedWith()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(second.retryAfterSeconds()).isEqualTo(2);
+
+        admissionControl.complete(first, FAST, false);
+        assertThat(admissionControl.admit(EndpointTier.ADMIN, null).admitted()).isTrue();
+    }
+
+    @Test
+    void pathsMapToTheirTier() {
+        assertThat(EndpointTier.of("/api/auth/login")).isEqualTo(EndpointTier.AUTH);
+        assertThat(EndpointTier.of("/oauth2/authorization/google")).isEqualTo(EndpointTier.AUTH);
+        assertThat(EndpointTier.of("/api/career/pathway")).isEqualTo(EndpointTier.HEAVY);
+        assertThat(EndpointTier.of("/api/dashboard/summary")).isEqualTo(EndpointTier.HEAVY);
+        assertThat(EndpointTier.of("/api/admin/talent-search")).isEqualTo(EndpointTier.ADMIN);
+        assertThat(EndpointTier.of("/api/career/me")).isEqualTo(EndpointTier.LIGHT);
+        assertThat(EndpointTier.of("/api/courses/me/export")).isEqualTo(EndpointTier.LIGHT);
+        assertThat(EndpointTier.of("/actuator")).isNull();
+        assertThat(EndpointTier.of("/actuator/health")).isNull();
+        assertThat(EndpointTier.of("/swagger-ui/index.html")).isNull();
+    }
+}
@@ -0,0 +1,255 @@
+package com.hackathon.securestarter.benchmark;
+
+import com.hackathon.securestarter.SecureStarterApplication;
+import com.hackathon.securestarter.entity.User;
+import com.hackathon.securestarter.enums.AuthProvider;
+import com.hackathon.securestarter.enums.Role;
+import com.hackathon.securestarter.repository.UserRepository;
+import com.hackathon.securestarter.security.JwtService;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Highest request rate GET /api/dashboard/summary sustains with platform request threads versus
+ * virtual threads (spring.threads.virtual.enabled), with the ML and YouTube services stubbed by a
+ * local server that answers after a fixed latency. The app runs in-process on H2 with admission
+ * control off, so the thread model is what limits throughput.
+ * Requests are sent open-loop at a fixed rate (latency measured from the scheduled send time); a rate
+ * is sustainable when p99 stays within the upstream latency plus 1.5 s and under 1% of requests fail.
+ * The rate doubles until it is not, then is narrowed down by bisection.
+ * Platform threads top out near tomcat-max-threads / request latency; on a machine with few cores
+ * the CPU may become the limit first, which a lower tomcat-max-threads (or higher latency) avoids.
+ * Not a JMH benchmark: this measures a whole server under load rather than a method. Run with:
+ *   mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt -Dmdep.includeScope=test
+ *   java -cp "target/test-classes:target/classes:$(cat target/cp.txt)" \
+ *     com.hackathon.securestarter.benchmark.DashboardThroughputBenchmark \
+ *     [platform|virtual|both] [upstream-latency-ms, default 300] [tomcat-max-threads, default 200]
+ */
+public final class DashboardThroughputBenchmark {
+
+    private static final int USERS = 100;
+    private static final Duration STEP = Duration.ofSeconds(10);
+    private static final Duration SLO_MARGIN = Duration.ofMillis(1500);
+    private static final double MAX_ERROR_RATE = 0.01;
+    private static final int START_RATE = 25;
+    private static final int BISECTION_STEPS = 3;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final int tomcatMaxThreads;
+    private final Duration sloP99;
+
+    private DashboardThroughputBenchmark(long upstreamLatencyMs, int tomcatMaxThreads) {
+        this.tomcatMaxThreads = tomcatMaxThreads;
+        this.sloP99 = Duration.ofMillis(upstreamLatencyMs).plus(SLO_MARGIN);
+    }
+
+    public static void main(String[] args) throws Exception {
+        String modes = args.length > 0 ? args[0] : "both";
+        long upstreamLatencyMs = args.length > 1 ? Long.parseLong(args[1]) : 300;
+        int tomcatMaxThreads = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+        // devtools is on the test classpath; its restarter would re-run this main method
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        HttpServer upstream = startUpstreamStub(upstreamLatencyMs);
+        DashboardThroughputBenchmark benchmark = new DashboardThroughputBenchmark(upstreamLatencyMs, tomcatMaxThreads);
+        Map<String, Integer> results = new LinkedHashMap<>();
+        try {
+            for (String mode : modes.equals("both") ? List.of("platform", "virtual") : List.of(modes)) {
+                results.put(mode, benchmark.run(mode.equals("virtual"), upstream));
+            }
+        } finally {
+            upstream.stop(0);
+        }
+
+        System.out.printf("%nMax sustainable rate, upstream latency %d ms, %d Tomcat threads, p99 SLO %d ms:%n",
+                upstreamLatencyMs, tomcatMaxThreads, benchmark.sloP99.toMillis());
+        results.forEach((mode, rate) -> System.out.printf("  %-8s %6d req/s%n", mode, rate));
+        System.exit(0);
+    }
+
+    private int run(boolean virtualThreads, HttpServer upstream) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        try (ConfigurableApplicationContext app = startApp(mode, virtualThreads, upstream, tomcatMaxThreads)) {
+            URI uri = URI.create("http://127.0.0.1:" + app.getEnvironment().getProperty("local.server.port")
+                    + "/api/dashboard/summary");
+            List<String> tokens = seedUsers(app);
+
+            // Warm up (JIT, connection pools, YouTube link cache)
+            System.out.printf("%s threads, warm-up:%n", mode);
+            step(uri, tokens, START_RATE);
+            System.out.printf("%s threads:%n", mode);
+
+            int passed = 0;
+            int failed = 0;
+            for (int rate = START_RATE; failed == 0; rate *= 2) {
+                if (step(uri, tokens, rate).sustainable()) {
+                    passed = rate;
+                } else {
+                    failed = rate;
+                }
+            }
+            for (int i = 0; i < BISECTION_STEPS && failed - passed > 1; i++) {
+                int rate = (passed + failed) / 2;
+                if (step(uri, tokens, rate).sustainable()) {
+                    passed = rate;
+                } else {
+                    failed = rate;
+                }
+            }
+            System.out.printf("%s threads: %d req/s sustained%n", mode, passed);
+            return passed;
+        }
+    }
+
+    private StepResult step(URI uri, List<String> tokens, int rate) throws InterruptedException {
+        int total = (int) (rate * STEP.toSeconds());
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        AtomicInteger errors = new AtomicInteger();
+        List<CompletableFuture<?>> inFlight = new ArrayList<>(total);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < total; i++) {
+            long scheduled = start + i * intervalNanos;
+            LockSupport.parkNanos(scheduled - System.nanoTime());
+
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .header("Authorization", "Bearer " + tokens.get(i % tokens.size()))
+                    .timeout(Duration.ofSeconds(30))
+                    .build();
+            inFlight.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        latencies.add(System.nanoTime() - scheduled);
+                        if (error != null || response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                    }));
+        }
+        try {
+            CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).get(60, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            // Failures are counted per request
+        }
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        long p50 = sorted.length > 0 ? sorted[sorted.length / 2] : Long.MAX_VALUE;
+        long p99 = sorted.length > 0 ? sorted[Math.min(sorted.length - 1, (int) (sorted.length * 0.99))] : Long.MAX_VALUE;
+        int failures = errors.get() + (total - sorted.length);
+        StepResult result = new StepResult(rate, p50, p99, (double) failures / total, sloP99);
+        System.out.printf("  %5d req/s: p50 %5d ms, p99 %5d ms, errors %.1f%% -> %s%n", rate,
+                TimeUnit.NANOSECONDS.toMillis(p50), TimeUnit.NANOSECONDS.toMillis(p99),
+                result.errorRate() * 100, result.sustainable() ? "ok" : "over");
+        return result;
+    }
+
+    private record StepResult(int rate, long p50Nanos, long p99Nanos, double errorRate, Duration sloP99) {
+
+        boolean sustainable() {
+            return p99Nanos <= sloP99.toNanos() && errorRate <= MAX_ERROR_RATE;
+        }
+    }
+
+    private static ConfigurableApplicationContext startApp(String mode, boolean virtualThreads, HttpServer upstream,
+                                                           int tomcatMaxThreads) {
+        String upstreamUrl = "http://127.0.0.1:" + upstream.getAddress().getPort();
+        return new SpringApplicationBuilder(SecureStarterApplication.class).run(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--server.tomcat.threads.max=" + tomcatMaxThreads,
+                // Two concurrent upstream calls per request, so the platform call pool is not the limit
+                "--external.api.async-threads=" + 2 * tomcatMaxThreads,
+                "--spring.datasource.url=jdbc:h2:mem:dashboard-" + mode + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.hikari.maximum-pool-size=20",
+                "--external.api.ml-recommendations.base-url=" + upstreamUrl,
+                "--external.api.skill-predict.base-url=" + upstreamUrl,
+                "--external.api.youtube.base-url=" + upstreamUrl,
+                "--external.api.youtube.api-key=benchmark",
+                "--external.api.timeout-seconds=10",
+                // Upstream capacity is not what is measured here
+                "--external.api.max-concurrent-calls=5000",
+                "--app.admission.enabled=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.hackathon.securestarter=WARN");
+    }
+
+    private static List<String> seedUsers(ConfigurableApplicationContext app) {
+        UserRepository userRepository = app.getBean(UserRepository.class);
+        JwtService jwtService = app.getBean(JwtService.class);
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            User user = userRepository.save(User.builder()
+                    .email("load-" + i + "@example.com")
+                    .firstName("Load")
+                    .lastName("User " + i)
+                    .role(Role.USER)
+                    .authProvider(AuthProvider.MANUAL)
+                    .isVerified(true)
+                    .build());
+            tokens.add(jwtService.generateToken(user));
+        }
+        return tokens;
+    }
+
+    /**
+     * ML recommendations, skill prediction and YouTube search, each answering after a fixed delay
+     */
+    private static HttpServer startUpstreamStub(long latencyMs) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 4096);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/recommendations", exchange -> respond(exchange, latencyMs, """
+                {"user_id": "u", "target_role": "health_data_analyst", "target_sector": "healthcare_technology",
+                 "recommended_courses": [{"course_id": "c1", "title": "FHIR Fundamentals"},
+                                         {"course_id": "c2", "title": "Clinical Data Analytics"}],
+                 "recommended_projects": [{"project_id": "p1", "title": "Patient Readmission Model"}],
+                 "reasoning": "stub"}
+                """));
+        server.createContext("/skillPredict", exchange -> respond(exchange, latencyMs, """
+                {"skill_gap_score": 0.4, "time_to_ready_months": 6.0, "recommended_skills": [], "status": "ok"}
+                """));
+        server.createContext("/search", exchange -> respond(exchange, latencyMs, """
+                {"items": [{"id": {"videoId": "stub-video"}}]}
+                """));
+        server.start();
+        return server;
+    }
+
+    private static void respond(HttpExchange exchange, long latencyMs, String json) throws IOException {
+        try {
+            exchange.getRequestBody().readAllBytes();
+            Thread.sleep(latencyMs);
+            byte[] body = json.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+}
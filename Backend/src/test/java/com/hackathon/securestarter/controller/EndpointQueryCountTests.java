@@ -0,0 +1,298 @@
+package com.hackathon.securestarter.controller;
+
+import com.hackathon.securestarter.entity.*;
+import com.hackathon.securestarter.enums.AuthProvider;
+import com.hackathon.securestarter.enums.Role;
+import com.hackathon.securestarter.enums.Skill;
+import com.hackathon.securestarter.repository.*;
+import com.hackathon.securestarter.security.JwtService;
+import com.hackathon.securestarter.security.UserAuthCache;
+import com.hackathon.securestarter.service.SimilarStudentsService;
+import com.hackathon.securestarter.service.TalentSearchService;
+import com.hackathon.securestarter.service.UserProfileStatsService;
+import com.hackathon.securestarter.support.QueryCounts;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Data-access budgets per endpoint. Each request runs against seeded data with a cold
+ * second-level cache, and the SQL statements, entity loads and lazy initializations it
+ * causes (from Hibernate statistics) must stay within the budget. An extra repository call
+ * or a new N+1 shows up here as a failing build; lower a budget when an endpoint gets cheaper.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EndpointQueryCountTests {
+
+    private static final int OTHER_STUDENTS = 40;
+    private static final int COURSES = 12;
+    private static final int PROJECTS = 8;
+    private static final int CERTIFICATIONS = 6;
+
+    private static final String ONBOARDING_JSON = """
+            {
+              "academicProfile": {"educationLevel": 2, "cgpaPercentage": 82.5, "fieldOfStudy": "Computer Science", "institution": "State University"},
+              "careerProfile": {"industrySector": "Healthcare", "targetJobRole": "Health Data Analyst", "careerGoals": "Build clinical analytics"},
+              "skillProfile": {"hasEhr": true, "hasHl7Fhir": true, "hasCommunication": true, "hasTeamwork": true},
+              "courses": [
+                {"courseName": "Course 0", "grade": 70, "platform": "Coursera", "completionDate": "2024-01-01"},
+                {"courseName": "Course 1", "grade": 71, "platform": "Coursera", "completionDate": "2024-01-02"},
+                {"courseName": "New Course", "grade": 95, "platform": "Udemy", "completionDate": "2024-06-01"}
+              ],
+              "projects": [
+                {"projectTitle": "Project 0", "domainSkills": "Python,SQL", "complexityLevel": 1},
+                {"projectTitle": "New Project", "domainSkills": "FHIR", "complexityLevel": 3}
+              ],
+              "certifications": [
+                {"certificationName": "Certification 0"},
+                {"certificationName": "New Certification"}
+              ]
+            }
+            """;
+
+    private static final String ACADEMIC_JSON = """
+            {"educationLevel": 3, "cgpaPercentage": 88.0, "fieldOfStudy": "Health Informatics", "institution": "State University"}
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserAuthCache userAuthCache;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AcademicProfileRepository academicProfileRepository;
+
+    @Autowired
+    private CareerProfileRepository careerProfileRepository;
+
+    @Autowired
+    private SkillProfileRepository skillProfileRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private CertificationRepository certificationRepository;
+
+    @Autowired
+    private TalentSearchService talentSearchService;
+
+    @Autowired
+    private SimilarStudentsService similarStudentsService;
+
+    @Autowired
+    private UserProfileStatsService userProfileStatsService;
+
+    private String studentToken;
+    private String adminToken;
+
+    /**
+     * Budget for one endpoint
+     */
+    record Endpoint(String name, HttpMethod method, String path, String body, boolean admin, QueryCounts budget) {
+
+        static Endpoint get(String path, long statements, long entityLoads, long lazyInitializations) {
+            return new Endpoint("GET " + path, HttpMethod.GET, path, null, false,
+                    new QueryCounts(statements, entityLoads, lazyInitializations));
+        }
+
+        static Endpoint admin(String path, long statements, long entityLoads, long lazyInitializations) {
+            return new Endpoint("GET " + path, HttpMethod.GET, path, null, true,
+                    new QueryCounts(statements, entityLoads, lazyInitializations));
+        }
+
+        static Endpoint write(HttpMethod method, String path, String body,
+                              long statements, long entityLoads, long lazyInitializations) {
+            return new Endpoint(method + " " + path, method, path, body, false,
+                    new QueryCounts(statements, entityLoads, lazyInitializations));
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    /**
+     * Budgets as (statements, entity loads, lazy initializations). Authentication is served from
+     * the warm user auth cache, so every statement counted here comes from the endpoint itself.
+     */
+    static Stream<Endpoint> endpoints() {
+        return Stream.of(
+                Endpoint.get("/api/users/me", 2, 4, 0),
+                Endpoint.get("/api/onboarding/status", 1, 1, 0),
+                Endpoint.get("/api/academics/me", 1, 1, 0),
+                Endpoint.get("/api/career/me", 1, 1, 0),
+                Endpoint.get("/api/skills/me", 1, 1, 0),
+                Endpoint.get("/api/courses/me", 2, 12, 0),
+                Endpoint.get("/api/courses/me/page?size=5", 1, 6, 0),
+                Endpoint.get("/api/projects/me", 2, 8, 0),
+                Endpoint.get("/api/projects/me/page?size=5", 1, 6, 0),
+                Endpoint.get("/api/certifications/me", 1, 6, 0),
+                Endpoint.get("/api/certifications/me/page?size=5", 1, 6, 0),
+                Endpoint.get("/api/dashboard/summary", 10, 31, 0),
+                Endpoint.get("/api/analytics/skill-gaps", 2, 2, 0),
+                Endpoint.get("/api/career/pathway", 2, 2, 0),
+                Endpoint.get("/api/recommendations/all", 2, 2, 0),
+                Endpoint.get("/api/recommendations/similar-students", 8, 0, 0),
+                Endpoint.admin("/api/admin/talent-search?sector=Healthcare", 2, 0, 0),
+                Endpoint.admin("/api/admin/analytics", 7, 0, 0),
+                Endpoint.write(HttpMethod.PUT, "/api/academics/me", ACADEMIC_JSON, 2, 4, 0),
+                Endpoint.write(HttpMethod.POST, "/api/onboarding/submit", ONBOARDING_JSON, 17, 30, 0)
+        );
+    }
+
+    @BeforeAll
+    void seed() {
+        User admin = userRepository.save(newUser("admin@example.com", Role.ADMIN));
+        adminToken = jwtService.generateToken(admin);
+
+        User student = seedStudent("student@example.com", "Healthcare", 0, COURSES, PROJECTS, CERTIFICATIONS);
+        studentToken = jwtService.generateToken(student);
+
+        String[] sectors = {"Healthcare", "Agriculture", "Urban"};
+        for (int i = 0; i < OTHER_STUDENTS; i++) {
+            seedStudent("student" + i + "@example.com", sectors[i % sectors.length], i, 3, 2, 1);
+        }
+
+        talentSearchService.rebuildIndex();
+        similarStudentsService.rebuildIndex();
+
+        // The steady state: a signed-in user's auth state is already cached
+        userAuthCache.get(admin.getId());
+        userAuthCache.get(student.getId());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("endpoints")
+    void staysWithinQueryBudget(Endpoint endpoint) throws Exception {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        Statistics statistics = sessionFactory.getStatistics();
+        statistics.clear();
+
+        MockHttpServletRequestBuilder request = request(endpoint.method(), endpoint.path())
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + (endpoint.admin() ? adminToken : studentToken));
+        if (endpoint.body() != null) {
+            request.contentType(MediaType.APPLICATION_JSON).content(endpoint.body());
+        }
+        mockMvc.perform(request).andExpect(status().is2xxSuccessful());
+
+        QueryCounts actual = QueryCounts.of(statistics);
+        assertThat(actual.within(endpoint.budget()))
+                .as("%s used %s, budget %s", endpoint.name(), actual, endpoint.budget())
+                .isTrue();
+    }
+
+    private User seedStudent(String email, String sector, int seed, int courses, int projects, int certifications) {
+        User user = userRepository.save(newUser(email, Role.USER));
+
+        academicProfileRepository.save(AcademicProfile.builder()
+                .user(user)
+                .educationLevel(1 + seed % 4)
+                .cgpaPercentage(60f + seed % 40)
+                .fieldOfStudy("Computer Science")
+                .institution("State University")
+                .build());
+        careerProfileRepository.save(CareerProfile.builder()
+                .user(user)
+                .industrySector(sector)
+                .targetJobRole("Data Analyst")
+                .careerGoals("Work on " + sector + " systems")
+                .build());
+
+        List<Skill> skills = new ArrayList<>(EnumSet.allOf(Skill.class));
+        long skillMask = 0L;
+        for (int i = 0; i < skills.size(); i++) {
+            if ((i + seed) % 3 == 0) {
+                skillMask |= skills.get(i).bit();
+            }
+        }
+        skillProfileRepository.save(SkillProfile.builder().user(user).skillMask(skillMask).build());
+
+        List<Course> courseRows = new ArrayList<>();
+        for (int i = 0; i < courses; i++) {
+            courseRows.add(Course.builder()
+                    .user(user)
+                    .courseName("Course " + i)
+                    .grade(70f + i)
+                    .platform("Coursera")
+                    .completionDate(LocalDate.of(2024, 1, 1).plusDays(i))
+                    .build());
+        }
+        courseRepository.saveAll(courseRows);
+
+        List<Project> projectRows = new ArrayList<>();
+        for (int i = 0; i < projects; i++) {
+            projectRows.add(Project.builder()
+                    .user(user)
+                    .projectTitle("Project " + i)
+                    .domainSkills("Python,SQL")
+                    .complexityLevel(1 + i % 3)
+                    .build());
+        }
+        projectRepository.saveAll(projectRows);
+
+        List<Certification> certificationRows = new ArrayList<>();
+        for (int i = 0; i < certifications; i++) {
+            certificationRows.add(Certification.builder()
+                    .user(user)
+                    .certificationName("Certification " + i)
+                    .build());
+        }
+        certificationRepository.saveAll(certificationRows);
+        // No stats row yet: the first read builds it from the rows above
+        userProfileStatsService.getStats(user.getId());
+
+        return user;
+    }
+
+    private static User newUser(String email, Role role) {
+        return User.builder()
+                .email(email)
+                .firstName("Test")
+                .lastName("User")
+                .role(role)
+                .authProvider(AuthProvider.MANUAL)
+                .isVerified(true)
+                .onboardingCompleted(role == Role.USER)
+                .build();
+    }
+}
@@ -0,0 +1,188 @@
+package com.hackathon.securestarter.datasource;
+
+import com.hackathon.securestarter.config.ReplicaDataSourceConfig;
+import com.hackathon.securestarter.enums.Role;
+import com.hackathon.securestarter.security.AuthenticatedUser;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Read/write routing over two separate in-memory databases, wired as ReplicaDataSourceConfig
+ * does, without a Spring context. Each database names itself in a one-row table, so a query
+ * shows which one served the transaction.
+ */
+class ReplicaRoutingTests {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private String primaryUrl;
+    private String replicaUrl;
+    private DataSourcePools pools;
+    private ReplicaLagMonitor monitor;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writes;
+    private TransactionTemplate reads;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString();
+        primaryUrl = "jdbc:h2:mem:routing-primary-" + suffix + ";DB_CLOSE_DELAY=-1";
+        replicaUrl = "jdbc:h2:mem:routing-replica-" + suffix + ";DB_CLOSE_DELAY=-1";
+        seed(primaryUrl, "primary");
+        seed(replicaUrl, "replica");
+        direct(replicaUrl).execute("CREATE TABLE replica_lag (seconds DOUBLE)");
+        direct(replicaUrl).update("INSERT INTO replica_lag VALUES (0)");
+
+        HikariDataSource replica = pool("replica-1", replicaUrl);
+        replica.setReadOnly(true);
+        pools = new DataSourcePools(pool("primary", primaryUrl), List.of(new ReplicaPool("replica-1", replica)));
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofMinutes(1));
+        monitor = new ReplicaLagMonitor(pools.replicas(), "SELECT seconds FROM replica_lag", 5);
+
+        DataSource dataSource = new ReplicaDataSourceConfig().dataSource(pools, tracker, registry);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        writes = new TransactionTemplate(transactionManager);
+        reads = new TransactionTemplate(transactionManager);
+        reads.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        pools.close();
+        direct(primaryUrl).execute("SHUTDOWN");
+        direct(replicaUrl).execute("SHUTDOWN");
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplicaAndWritesToThePrimary() {
+        assertThat(read()).isEqualTo("replica");
+        assertThat(write()).isEqualTo("primary");
+        assertThat(direct(primaryUrl).queryForObject("SELECT writes FROM db_name", Integer.class)).isEqualTo(1);
+        assertThat(direct(replicaUrl).queryForObject("SELECT writes FROM db_name", Integer.class)).isZero();
+
+        // Anonymous work is not tracked: the next read goes back to the replica
+        assertThat(read()).isEqualTo("replica");
+    }
+
+    @Test
+    void readsStayOnThePrimaryAfterTheUsersOwnWrite() {
+        UUID writer = UUID.randomUUID();
+        authenticate(writer);
+        assertThat(read()).isEqualTo("replica");
+
+        assertThat(write()).isEqualTo("primary");
+        assertThat(read()).isEqualTo("primary");
+        assertThat(read()).isEqualTo("primary");
+        assertThat(registry.get("datasource.routing.reads").tag("reason", "read-your-writes").counter().count())
+                .isEqualTo(2);
+
+        // Other users still read from the replica
+        authenticate(UUID.randomUUID());
+        assertThat(read()).isEqualTo("replica");
+        authenticate(writer);
+        assertThat(read()).isEqualTo("primary");
+
+        // A rolled back transaction is not a write
+        UUID rolledBack = UUID.randomUUID();
+        authenticate(rolledBack);
+        writes.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE db_name SET writes = writes + 1");
+            status.setRollbackOnly();
+        });
+        assertThat(read()).isEqualTo("replica");
+    }
+
+    @Test
+    void laggingReplicaLeavesRotationUntilItCatchesUp() {
+        direct(replicaUrl).update("UPDATE replica_lag SET seconds = 60");
+        monitor.checkReplicas();
+        assertThat(pools.replicas().get(0).isAvailable()).isFalse();
+        assertThat(pools.replicas().get(0).getLagSeconds()).isEqualTo(60);
+        assertThat(read()).isEqualTo("primary");
+
+        // Stopped replication reports no lag at all
+        direct(replicaUrl).update("UPDATE replica_lag SET seconds = NULL");
+        monitor.checkReplicas();
+        assertThat(read()).isEqualTo("primary");
+
+        direct(replicaUrl).update("UPDATE replica_lag SET seconds = 1");
+        monitor.checkReplicas();
+        assertThat(pools.replicas().get(0).isAvailable()).isTrue();
+        assertThat(read()).isEqualTo("replica");
+    }
+
+    @Test
+    void unreachableReplicaFallsBackToThePrimaryAndLeavesRotation() {
+        assertThat(read()).isEqualTo("replica");
+        pools.replicas().get(0).getDataSource().close();
+
+        // Before the next check, each read tries the replica and falls back
+        assertThat(read()).isEqualTo("primary");
+        assertThat(pools.replicas().get(0).isAvailable()).isTrue();
+
+        monitor.checkReplicas();
+        assertThat(pools.replicas().get(0).isAvailable()).isFalse();
+        assertThat(pools.replicas().get(0).getLagSeconds()).isInfinite();
+        assertThat(read()).isEqualTo("primary");
+        assertThat(registry.get("datasource.routing.reads").tag("reason", "no-replica").counter().count())
+                .isEqualTo(2);
+    }
+
+    private String read() {
+        return reads.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM db_name", String.class));
+    }
+
+    private String write() {
+        return writes.execute(status -> {
+            jdbcTemplate.update("UPDATE db_name SET writes = writes + 1");
+            return jdbcTemplate.queryForObject("SELECT name FROM db_name", String.class);
+        });
+    }
+
+    private static void authenticate(UUID userId) {
+        AuthenticatedUser principal = new AuthenticatedUser(userId, userId + "@example.com", Role.USER);
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(principal, null, List.of()));
+    }
+
+    private static void seed(String url, String name) {
+        JdbcTemplate database = direct(url);
+        database.execute("CREATE TABLE db_name (name VARCHAR(16), writes INT)");
+        database.update("INSERT INTO db_name VALUES (?, 0)", name);
+    }
+
+    /**
+     * Connections straight to one database, bypassing the routing
+     */
+    private static JdbcTemplate direct(String url) {
+        return new JdbcTemplate(new DriverManagerDataSource(url, "sa", ""));
+    }
+
+    private static HikariDataSource pool(String name, String url) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(name);
+        pool.setJdbcUrl(url);
+        pool.setUsername("sa");
+        pool.setPassword("");
+        pool.setMaximumPoolSize(2);
+        return pool;
+    }
+}
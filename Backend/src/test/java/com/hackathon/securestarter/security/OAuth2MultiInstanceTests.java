@@ -0,0 +1,157 @@
+package com.hackathon.securestarter.security;
+
+import com.hackathon.securestarter.SecureStarterApplication;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Google login across two independently started instances, as behind a round-robin load balancer:
+ * the authorization redirect is issued by one node and the callback is completed by the other.
+ * Google's token and user info endpoints are served by a stub HTTP server.
+ */
+class OAuth2MultiInstanceTests {
+
+    private static final String PUBLIC_HOST = "careersaarthi.example";
+
+    private static HttpServer google;
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .build();
+
+    @BeforeAll
+    static void startNodes() throws IOException {
+        google = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        google.createContext("/token", exchange -> respond(exchange, """
+                {"access_token": "stub-access-token", "token_type": "Bearer", "expires_in": 3600,
+                 "scope": "profile email"}
+                """));
+        google.createContext("/userinfo", exchange -> respond(exchange, """
+                {"sub": "google-1234", "email": "scaled.student@example.com",
+                 "given_name": "Scaled", "family_name": "Student"}
+                """));
+        google.start();
+
+        nodeA = startNode("nodea");
+        nodeB = startNode("nodeb");
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (nodeA != null) {
+            nodeA.close();
+        }
+        if (nodeB != null) {
+            nodeB.close();
+        }
+        if (google != null) {
+            google.stop(0);
+        }
+    }
+
+    @Test
+    void callbackCompletesOnDifferentNode() throws Exception {
+        HttpResponse<String> authorization = send(nodeA, "/oauth2/authorization/google", null);
+
+        assertThat(authorization.statusCode()).isEqualTo(302);
+        assertThat(authorization.headers().allValues("Set-Cookie"))
+                .noneMatch(cookie -> cookie.startsWith("JSESSIONID"));
+        String cookie = authorizationCookie(authorization);
+        String state = queryParam(authorization.headers().firstValue("Location").orElseThrow(), "state");
+
+        HttpResponse<String> callback = send(nodeB, "/oauth2/callback/google?code=stub-code&state=" + state, cookie);
+
+        assertThat(callback.statusCode()).isEqualTo(302);
+        String location = callback.headers().firstValue("Location").orElseThrow();
+        assertThat(location).startsWith("http://localhost:5173/oauth2/redirect");
+        assertThat(queryParam(location, "token")).isNotBlank();
+        assertThat(queryParam(location, "email")).isEqualTo("scaled.student@example.com");
+        // The authorization request is single use: node B expires the cookie
+        assertThat(callback.headers().allValues("Set-Cookie"))
+                .anyMatch(header -> header.startsWith(HttpCookieOAuth2AuthorizationRequestRepository.COOKIE_NAME + "=;")
+                        && header.contains("Max-Age=0"));
+    }
+
+    @Test
+    void tamperedCookieIsRejected() throws Exception {
+        HttpResponse<String> authorization = send(nodeA, "/oauth2/authorization/google", null);
+        String cookie = authorizationCookie(authorization);
+        String state = queryParam(authorization.headers().firstValue("Location").orElseThrow(), "state");
+
+        char last = cookie.charAt(cookie.length() - 1);
+        String tampered = cookie.substring(0, cookie.length() - 1) + (last == 'A' ? 'B' : 'A');
+        HttpResponse<String> callback = send(nodeB, "/oauth2/callback/google?code=stub-code&state=" + state, tampered);
+
+        String location = callback.headers().firstValue("Location").orElseThrow();
+        assertThat(queryParam(location, "error")).isNotBlank();
+        assertThat(queryParam(location, "token")).isNull();
+    }
+
+    private static ConfigurableApplicationContext startNode(String name) {
+        String googleUrl = "http://127.0.0.1:" + google.getAddress().getPort();
+        // Command line arguments take precedence over the test application.properties
+        return new SpringApplicationBuilder(SecureStarterApplication.class).run(
+                "--server.port=0",
+                "--server.forward-headers-strategy=framework",
+                "--spring.datasource.url=jdbc:h2:mem:" + name + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.security.oauth2.client.provider.google.authorization-uri=" + googleUrl + "/authorize",
+                "--spring.security.oauth2.client.provider.google.token-uri=" + googleUrl + "/token",
+                "--spring.security.oauth2.client.provider.google.user-info-uri=" + googleUrl + "/userinfo");
+    }
+
+    private HttpResponse<String> send(ConfigurableApplicationContext node, String path, String cookie) throws Exception {
+        String port = node.getEnvironment().getProperty("local.server.port");
+        // Headers a TLS-terminating load balancer would add, so both nodes see the same public URL
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + path))
+                .header("X-Forwarded-Proto", "https")
+                .header("X-Forwarded-Host", PUBLIC_HOST)
+                .header("X-Forwarded-Port", "443");
+        if (cookie != null) {
+            request.header("Cookie", HttpCookieOAuth2AuthorizationRequestRepository.COOKIE_NAME + "=" + cookie);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static String authorizationCookie(HttpResponse<String> response) {
+        String prefix = HttpCookieOAuth2AuthorizationRequestRepository.COOKIE_NAME + "=";
+        String header = response.headers().allValues("Set-Cookie").stream()
+                .filter(value -> value.startsWith(prefix))
+                .findFirst()
+                .orElseThrow();
+        assertThat(header).contains("HttpOnly", "Secure", "SameSite=Lax");
+        return header.substring(prefix.length(), header.indexOf(';'));
+    }
+
+    private static String queryParam(String uri, String name) {
+        Map<String, List<String>> params = UriComponentsBuilder.fromUriString(uri).build().getQueryParams();
+        return params.containsKey(name) ? params.get(name).getFirst() : null;
+    }
+
+    private static void respond(HttpExchange exchange, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+}
@@ -0,0 +1,124 @@
+package com.hackathon.securestarter.service;
+
+import com.hackathon.securestarter.entity.EmailOutbox;
+import com.hackathon.securestarter.enums.EmailStatus;
+import com.hackathon.securestarter.enums.EmailType;
+import com.hackathon.securestarter.repository.EmailOutboxRepository;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetup;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Email outbox delivery against an in-process SMTP server on the port from the test
+ * properties (spring.mail.port).
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class EmailOutboxTests {
+
+    @RegisterExtension
+    static final GreenMailExtension smtp = new GreenMailExtension(new ServerSetup(2525, null, ServerSetup.PROTOCOL_SMTP));
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private EmailOutboxDispatcher emailOutboxDispatcher;
+
+    @Test
+    void signupEmailIsQueuedAndDeliveredAfterCommit() throws Exception {
+        mockMvc.perform(post("/api/auth/signup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"email": "new.student@example.com", "password": "Secret123!@",
+                                 "firstName": "New", "lastName": "Student"}
+                                """))
+                .andExpect(status().is2xxSuccessful());
+
+        assertThat(smtp.waitForIncomingEmail(10_000, 1)).isTrue();
+        MimeMessage message = smtp.getReceivedMessages()[0];
+        assertThat(message.getAllRecipients()[0].toString()).isEqualTo("new.student@example.com");
+        assertThat(message.getSubject()).isEqualTo("Verify Your Email - Career Saarthi");
+        assertThat(GreenMailUtil.getBody(message)).contains("/verify?token=");
+
+        EmailOutbox email = awaitEmail(e -> e.getRecipient().equals("new.student@example.com")
+                && e.getStatus() == EmailStatus.SENT);
+        assertThat(email.getType()).isEqualTo(EmailType.VERIFICATION);
+        assertThat(email.getAttempts()).isEqualTo(1);
+        assertThat(email.getSentAt()).isNotNull();
+    }
+
+    @Test
+    void failedDeliveryIsRetriedWithBackoffThenGivenUp() throws Exception {
+        smtp.stop();
+        UUID id = emailOutboxRepository.save(EmailOutbox.builder()
+                .type(EmailType.WELCOME)
+                .recipient("offline@example.com")
+                .subject("Welcome")
+                .body("<p>Hi</p>")
+                .nextAttemptAt(LocalDateTime.now())
+                .build()).getId();
+
+        drain();
+        EmailOutbox email = emailOutboxRepository.findById(id).orElseThrow();
+        assertThat(email.getStatus()).isEqualTo(EmailStatus.PENDING);
+        assertThat(email.getAttempts()).isEqualTo(1);
+        assertThat(email.getNextAttemptAt()).isAfter(LocalDateTime.now());
+        assertThat(email.getLastError()).isNotBlank();
+
+        // Not due yet: a drain leaves it alone
+        drain();
+        assertThat(emailOutboxRepository.findById(id).orElseThrow().getAttempts()).isEqualTo(1);
+
+        // Last allowed attempt fails too
+        email.setAttempts(7);
+        email.setNextAttemptAt(LocalDateTime.now());
+        emailOutboxRepository.save(email);
+        drain();
+        email = emailOutboxRepository.findById(id).orElseThrow();
+        assertThat(email.getStatus()).isEqualTo(EmailStatus.FAILED);
+        assertThat(email.getAttempts()).isEqualTo(8);
+    }
+
+    /**
+     * Run a drain, waiting out one started in the background by an earlier commit
+     */
+    private void drain() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (emailOutboxDispatcher.drain() < 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+    }
+
+    private EmailOutbox awaitEmail(Predicate<EmailOutbox> condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            for (EmailOutbox email : emailOutboxRepository.findAll()) {
+                if (condition.test(email)) {
+                    return email;
+                }
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("No outbox row matched within 10 seconds");
+    }
+}
@@ -0,0 +1,154 @@
+package com.hackathon.securestarter.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * RoleNormalizer and its KeywordMatcher against the contains() chain they replaced, kept here
+ * as the oracle: every role must resolve to the role id the chain returned.
+ */
+class RoleNormalizerTests {
+
+    // The replaced contains() chain: {role id, phrases...} entries tried in order
+    private static final String[][] CONTAINS_CHAIN = {
+            {"health_data_analyst", "health data analyst", "healthcare data analyst"},
+            {"healthcare_ml_engineer", "medical ai", "healthcare ml", "biomedical data"},
+            {"healthcare_it_manager", "healthcare it", "health systems"},
+            {"clinical_informatics_specialist", "clinical informatics"},
+            {"telemedicine_systems_engineer", "telemedicine", "telehealth"},
+            {"healthcare_it_manager", "digital health product", "health product manager"},
+            {"medical_imaging_specialist", "medical imaging"},
+            {"healthcare_security_analyst", "healthcare security", "health security"},
+            {"clinical_data_specialist", "clinical data"},
+            {"population_health_analyst", "population health"},
+            {"agritech_product_manager", "agritech", "agri tech", "agri-tech"},
+            {"precision_agriculture_specialist", "precision farm", "precision agriculture"},
+            {"agricultural_data_scientist", "agricultural data", "agri data"},
+            {"farm_automation_engineer", "drone", "uav", "smart farm", "farm automation"},
+            {"agricultural_iot_specialist", "iot agriculture", "agricultural iot"},
+            {"crop_analytics_specialist", "crop analytics", "crop analysis"},
+            {"soil_health_data_analyst", "sustainable agriculture", "soil"},
+            {"smart_irrigation_engineer", "irrigation", "water"},
+            {"agricultural_robotics_engineer", "agricultural robot", "agri robot"},
+            {"smart_city_solutions_architect", "smart city architect", "city solutions"},
+            {"iot_infrastructure_engineer", "iot solutions", "iot infrastructure"},
+            {"urban_data_analyst", "urban systems", "urban data", "urban analyst"},
+            {"smart_grid_engineer", "smart grid", "energy"},
+            {"traffic_management_systems_engineer", "traffic"},
+            {"urban_gis_specialist", "gis analyst", "geospatial"},
+            {"building_automation_engineer", "building automation", "smart building"}
+    };
+
+    private static String containsChain(String role) {
+        String lowerRole = role.toLowerCase().trim();
+        for (String[] entry : CONTAINS_CHAIN) {
+            for (int i = 1; i < entry.length; i++) {
+                if (lowerRole.contains(entry[i])) {
+                    return entry[0];
+                }
+            }
+        }
+        return lowerRole.replace(" ", "_");
+    }
+
+    private static void assertSameAsChain(String role) {
+        assertThat(RoleNormalizer.resolve(role).id()).as("role \"%s\"", role).isEqualTo(containsChain(role));
+    }
+
+    @Test
+    void everySynonymResolvesLikeTheChain() {
+        for (String[] entry : CONTAINS_CHAIN) {
+            for (int i = 1; i < entry.length; i++) {
+                String phrase = entry[i];
+                assertSameAsChain(phrase);
+                assertSameAsChain(phrase.toUpperCase());
+                assertSameAsChain("Senior " + phrase + " Lead");
+                assertSameAsChain("  " + phrase + "  ");
+                assertSameAsChain(phrase.substring(0, phrase.length() - 1));
+            }
+        }
+    }
+
+    @Test
+    void overlappingPhrasesResolveToTheFirstEntry() {
+        assertThat(RoleNormalizer.resolve("agricultural data drone").id()).isEqualTo("agricultural_data_scientist");
+        assertThat(RoleNormalizer.resolve("Drone pilot for agricultural data").id()).isEqualTo("agricultural_data_scientist");
+        assertThat(RoleNormalizer.resolve("Healthcare IT for health security").id()).isEqualTo("healthcare_it_manager");
+        assertThat(RoleNormalizer.resolve("Soil and water").id()).isEqualTo("soil_health_data_analyst");
+        for (String role : List.of("agricultural data drone", "smart farm irrigation", "urban data traffic energy",
+                "clinical data population health", "agri robotics agritech", "health data analystic")) {
+            assertSameAsChain(role);
+        }
+    }
+
+    @Test
+    void mixedCaseAndNonAsciiRolesResolveLikeTheChain() {
+        for (String role : List.of("HeAlTh DaTa AnAlYsT", "TELEHEALTH", "Smart GRID engineer",
+                "Ingeniero de Energía", "Médical Imaging", "Spécialiste irrigation", "Drohnen-Pilot (UAV)",
+                "Ünternehmens GIS Analyst", "数据 analyst", "Health Data Analyst 🚜", "İrrigation", "medical aİ",
+                "Quantum Farming Consultant", "", "   ")) {
+            assertSameAsChain(role);
+        }
+    }
+
+    @Test
+    void randomRolesResolveLikeTheChain() {
+        // Fragments of the phrases, so random roles often contain whole and partial phrases
+        List<String> fragments = List.of("health", "data", "analyst", "care", "medical", "ai", "it", "clinical",
+                "agri", "tech", "-", "culture", "agricultural", "drone", "uav", "smart", "farm", "iot",
+                "crop", "soil", "water", "irrigation", "robot", "city", "urban", "grid", "energy", "traffic",
+                "gis", "geo", "spatial", "building", "automation", "systems", "product", "manager",
+                " ", "  ", "É", "é", "İ", "ß", "数", "x", "A", "Z");
+        Random random = new Random(42);
+        for (int n = 0; n < 100_000; n++) {
+            StringBuilder role = new StringBuilder();
+            int parts = random.nextInt(8);
+            for (int i = 0; i < parts; i++) {
+                String fragment = fragments.get(random.nextInt(fragments.size()));
+                role.append(random.nextBoolean() ? fragment : fragment.toUpperCase());
+                if (random.nextInt(3) == 0) {
+                    role.append(' ');
+                }
+            }
+            assertSameAsChain(role.toString());
+        }
+    }
+
+    @Test
+    void denseCodesNumberTheKnownRoleIds() {
+        RoleNormalizer normalizer = new RoleNormalizer(100, RoleNormalizer.RoleEncoding.DENSE);
+        assertThat(normalizer.toRoleCode("Health Data Analyst")).isEqualTo(1);
+        assertThat(normalizer.toRoleCode("Smart Building Engineer")).isEqualTo(25);
+        assertThat(normalizer.toRoleCode("Quantum Farming Consultant")).isEqualTo(RoleNormalizer.UNKNOWN_ROLE_CODE);
+        assertThat(normalizer.toRoleCode(null)).isEqualTo(RoleNormalizer.UNKNOWN_ROLE_CODE);
+        assertThat(normalizer.toRoleId(null)).isEqualTo(RoleNormalizer.DEFAULT_ROLE_ID);
+    }
+
+    @Test
+    void legacyCodesHashTheRole() {
+        RoleNormalizer normalizer = new RoleNormalizer(100, RoleNormalizer.RoleEncoding.LEGACY);
+        for (String role : List.of("Health Data Analyst", "Smart Building Engineer", "Quantum Farming Consultant")) {
+            assertThat(normalizer.toRoleCode(role)).isEqualTo(Math.abs(role.toLowerCase().hashCode() % 10) + 1);
+        }
+        assertThat(normalizer.toRoleCode(null)).isZero();
+        // Role ids do not depend on the encoding
+        assertThat(normalizer.toRoleId("Telehealth Engineer")).isEqualTo("telemedicine_systems_engineer");
+    }
+
+    @Test
+    void matcherRejectsKeywordsItCannotMatch() {
+        assertThatThrownBy(() -> KeywordMatcher.compile(List.of(List.of("Drone"))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeywordMatcher.compile(List.of(List.of("énergie"))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeywordMatcher.compile(List.of(List.of(""))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(KeywordMatcher.compile(List.of(List.of("b"), List.of("ab"))).match("xAB")).isZero();
+        assertThat(KeywordMatcher.compile(List.of(List.of("b"))).match("none")).isEqualTo(KeywordMatcher.NO_MATCH);
+    }
+}
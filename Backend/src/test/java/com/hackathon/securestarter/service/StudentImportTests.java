@@ -0,0 +1,223 @@
+package com.hackathon.securestarter.service;
+
+import com.hackathon.securestarter.dto.response.StudentImportStatusResponse;
+import com.hackathon.securestarter.entity.User;
+import com.hackathon.securestarter.enums.AuthProvider;
+import com.hackathon.securestarter.enums.Role;
+import com.hackathon.securestarter.enums.Skill;
+import com.hackathon.securestarter.exception.ServiceUnavailableException;
+import com.hackathon.securestarter.repository.CareerProfileRepository;
+import com.hackathon.securestarter.repository.SkillProfileRepository;
+import com.hackathon.securestarter.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Bulk student imports with the chunk size and job queue from the test properties
+ * (app.import.chunk-size=3, one running and one queued job). Each test uses its own
+ * email prefix, so students from other tests in the shared database are not involved.
+ */
+@SpringBootTest
+class StudentImportTests {
+
+    private static final String HEADER =
+            "email,firstName,lastName,educationLevel,cgpaPercentage,fieldOfStudy,industrySector,targetJobRole,skills";
+
+    @MockitoSpyBean
+    private StudentImportWriter studentImportWriter;
+
+    @Autowired
+    private StudentImportService studentImportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CareerProfileRepository careerProfileRepository;
+
+    @Autowired
+    private SkillProfileRepository skillProfileRepository;
+
+    @Test
+    void rowsAreWrittenInChunksAndInvalidRowsReported() throws Exception {
+        StudentImportStatusResponse status = runImport(false,
+                row("chunks-a@example.com", "Health Data Analyst"),
+                row("chunks-b@example.com", "Health Data Analyst"),
+                row("chunks-c@example.com", "Health Data Analyst"),
+                // Second chunk: bad email, a new student and a repeat within the chunk
+                row("not-an-email", "Health Data Analyst"),
+                row("Chunks-D@Example.com", "Health Data Analyst"),
+                row("chunks-d@example.com", "Health Data Analyst"),
+                // Third chunk: a repeat of the first chunk and an unreadable skill
+                row("chunks-a@example.com", "Health Data Analyst"),
+                "chunks-e@example.com,E,Student,2,8.0,Computer Science,Healthcare,Analyst,Juggling");
+
+        assertThat(status.getStatus()).isEqualTo("COMPLETED");
+        assertThat(status.getRowsRead()).isEqualTo(8);
+        assertThat(status.getImported()).isEqualTo(4);
+        assertThat(status.getUpdated()).isZero();
+        assertThat(status.getFailed()).isEqualTo(4);
+        assertThat(status.getErrors())
+                .extracting(StudentImportStatusResponse.RowError::getRow, StudentImportStatusResponse.RowError::getMessage)
+                .containsExactly(
+                        tuple(4L, "email: Email should be valid"),
+                        tuple(6L, "Duplicate email in import file"),
+                        tuple(7L, "Duplicate email in import file"),
+                        tuple(8L, "Unreadable row: Unknown skill: Juggling"));
+
+        // One transaction per chunk with its valid rows
+        ArgumentCaptor<List<StudentImportWriter.ImportRow>> chunks = ArgumentCaptor.captor();
+        verify(studentImportWriter, atLeastOnce()).writeChunk(chunks.capture(), eq(false));
+        assertThat(chunks.getAllValues()).extracting(StudentImportTests::rowNumbers)
+                .containsExactly(List.of(1L, 2L, 3L), List.of(5L));
+
+        User student = userRepository.findByEmail("chunks-d@example.com").orElseThrow();
+        assertThat(student.getRole()).isEqualTo(Role.USER);
+        assertThat(student.getOnboardingCompleted()).isTrue();
+        assertThat(careerProfileRepository.findByUserId(student.getId()).orElseThrow().getTargetJobRole())
+                .isEqualTo("Health Data Analyst");
+        assertThat(skillProfileRepository.findByUserId(student.getId()).orElseThrow().hasSkill(Skill.EHR)).isTrue();
+    }
+
+    @Test
+    void failingChunkIsRetriedRowByRow() throws Exception {
+        // A row the database refuses, failing whichever transaction it is in
+        doAnswer(invocation -> {
+            List<StudentImportWriter.ImportRow> rows = invocation.getArgument(0);
+            if (rows.stream().anyMatch(row -> row.data().getEmail().equals("retry-poison@example.com"))) {
+                throw new DataIntegrityViolationException("Simulated constraint violation");
+            }
+            return invocation.callRealMethod();
+        }).when(studentImportWriter).writeChunk(anyList(), anyBoolean());
+
+        StudentImportStatusResponse status = runImport(false,
+                row("retry-a@example.com", "Health Data Analyst"),
+                row("retry-poison@example.com", "Health Data Analyst"),
+                row("retry-c@example.com", "Health Data Analyst"),
+                row("retry-d@example.com", "Health Data Analyst"));
+
+        assertThat(status.getStatus()).isEqualTo("COMPLETED");
+        assertThat(status.getImported()).isEqualTo(3);
+        assertThat(status.getFailed()).isEqualTo(1);
+        assertThat(status.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getRow()).isEqualTo(2);
+            assertThat(error.getEmail()).isEqualTo("retry-poison@example.com");
+            assertThat(error.getMessage()).isEqualTo("Simulated constraint violation");
+        });
+
+        ArgumentCaptor<List<StudentImportWriter.ImportRow>> chunks = ArgumentCaptor.captor();
+        verify(studentImportWriter, atLeastOnce()).writeChunk(chunks.capture(), eq(false));
+        assertThat(chunks.getAllValues()).extracting(StudentImportTests::rowNumbers)
+                .containsExactly(List.of(1L, 2L, 3L), List.of(1L), List.of(2L), List.of(3L), List.of(4L));
+        assertThat(userRepository.findByEmail("retry-a@example.com")).isPresent();
+        assertThat(userRepository.findByEmail("retry-poison@example.com")).isEmpty();
+    }
+
+    @Test
+    void existingStudentsAreRejectedUnlessUpdateExisting() throws Exception {
+        runImport(false, row("existing-a@example.com", "Health Data Analyst"));
+        userRepository.save(User.builder()
+                .email("existing-admin@example.com")
+                .firstName("Existing")
+                .lastName("Admin")
+                .role(Role.ADMIN)
+                .authProvider(AuthProvider.MANUAL)
+                .isVerified(true)
+                .build());
+
+        StudentImportStatusResponse rejected = runImport(false,
+                row("existing-a@example.com", "Telemedicine Systems Engineer"),
+                row("existing-admin@example.com", "Telemedicine Systems Engineer"));
+        assertThat(rejected.getImported()).isZero();
+        assertThat(rejected.getUpdated()).isZero();
+        assertThat(rejected.getErrors()).extracting(StudentImportStatusResponse.RowError::getMessage)
+                .containsExactly("User already exists", "Email belongs to a non-student account");
+
+        StudentImportStatusResponse updated = runImport(true,
+                row("existing-a@example.com", "Telemedicine Systems Engineer"),
+                row("existing-admin@example.com", "Telemedicine Systems Engineer"),
+                row("existing-b@example.com", "Telemedicine Systems Engineer"));
+        assertThat(updated.getImported()).isEqualTo(1);
+        assertThat(updated.getUpdated()).isEqualTo(1);
+        assertThat(updated.getErrors()).extracting(StudentImportStatusResponse.RowError::getMessage)
+                .containsExactly("Email belongs to a non-student account");
+
+        User student = userRepository.findByEmail("existing-a@example.com").orElseThrow();
+        assertThat(careerProfileRepository.findByUserId(student.getId()).orElseThrow().getTargetJobRole())
+                .isEqualTo("Telemedicine Systems Engineer");
+    }
+
+    @Test
+    void importsBeyondTheQueueAreRefusedWith503() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return invocation.callRealMethod();
+        }).when(studentImportWriter).writeChunk(anyList(), anyBoolean());
+
+        try {
+            // One job running (held in its first chunk) and one queued
+            UUID running = studentImportService.startImport(csv(row("queue-a@example.com", "Analyst")), null, false).getJobId();
+            UUID queued = studentImportService.startImport(csv(row("queue-b@example.com", "Analyst")), null, false).getJobId();
+            assertThatThrownBy(() -> studentImportService.startImport(csv(row("queue-c@example.com", "Analyst")), null, false))
+                    .isInstanceOf(ServiceUnavailableException.class);
+
+            release.countDown();
+            assertThat(awaitFinished(running).getImported()).isEqualTo(1);
+            assertThat(awaitFinished(queued).getImported()).isEqualTo(1);
+        } finally {
+            release.countDown();
+        }
+        assertThat(userRepository.findByEmail("queue-c@example.com")).isEmpty();
+    }
+
+    private StudentImportStatusResponse runImport(boolean updateExisting, String... rows) throws InterruptedException {
+        return awaitFinished(studentImportService.startImport(csv(rows), null, updateExisting).getJobId());
+    }
+
+    private StudentImportStatusResponse awaitFinished(UUID jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            StudentImportStatusResponse status = studentImportService.getImportStatus(jobId);
+            if (status.getFinishedAt() != null) {
+                return status;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Import " + jobId + " did not finish within 10 seconds");
+    }
+
+    private static MockMultipartFile csv(String... rows) {
+        String content = HEADER + "\n" + String.join("\n", rows) + "\n";
+        return new MockMultipartFile("file", "students.csv", "text/csv", content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<Long> rowNumbers(List<StudentImportWriter.ImportRow> chunk) {
+        return chunk.stream().map(StudentImportWriter.ImportRow::rowNumber).toList();
+    }
+
+    private static String row(String email, String targetJobRole) {
+        return email + ",Import,Student,2,8.5,Computer Science,Healthcare," + targetJobRole + ",EHR;GIS";
+    }
+}
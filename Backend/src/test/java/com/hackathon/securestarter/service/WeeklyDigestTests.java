@@ -0,0 +1,183 @@
+package com.hackathon.securestarter.service;
+
+import com.hackathon.securestarter.entity.CareerProfile;
+import com.hackathon.securestarter.entity.EmailOutbox;
+import com.hackathon.securestarter.entity.SkillProfile;
+import com.hackathon.securestarter.entity.User;
+import com.hackathon.securestarter.enums.AuthProvider;
+import com.hackathon.securestarter.enums.EmailType;
+import com.hackathon.securestarter.enums.Role;
+import com.hackathon.securestarter.enums.Skill;
+import com.hackathon.securestarter.repository.CareerProfileRepository;
+import com.hackathon.securestarter.repository.DigestRunRepository;
+import com.hackathon.securestarter.repository.EmailOutboxRepository;
+import com.hackathon.securestarter.repository.SkillProfileRepository;
+import com.hackathon.securestarter.repository.UserDigestRepository;
+import com.hackathon.securestarter.repository.UserRepository;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetup;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Weekly digest runs: resuming from the run's cursor, reruns and the unsubscribe link. Each test
+ * uses its own period and starts the run's cursor just before its own users, so students seeded
+ * by other tests in the shared database are not part of it.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class WeeklyDigestTests {
+
+    @RegisterExtension
+    static final GreenMailExtension smtp = new GreenMailExtension(new ServerSetup(2525, null, ServerSetup.PROTOCOL_SMTP));
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WeeklyDigestService weeklyDigestService;
+
+    @Autowired
+    private WeeklyDigestWriter weeklyDigestWriter;
+
+    @Autowired
+    private DigestUnsubscribeService digestUnsubscribeService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CareerProfileRepository careerProfileRepository;
+
+    @Autowired
+    private SkillProfileRepository skillProfileRepository;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private UserDigestRepository userDigestRepository;
+
+    @Autowired
+    private DigestRunRepository digestRunRepository;
+
+    @Test
+    void resumedRunQueuesTheRestAndRerunsQueueNothing() throws Exception {
+        String period = "2001-W01";
+        // In id order: sent before the crash, two due, one opted out, one without profiles
+        List<User> users = seedUsers("resume", 5);
+        User sentBeforeCrash = users.get(0);
+        completeProfile(sentBeforeCrash);
+        completeProfile(users.get(1));
+        completeProfile(users.get(2));
+        completeProfile(users.get(3));
+        users.get(3).setDigestOptOut(true);
+        userRepository.save(users.get(3));
+
+        // A run that crashed after committing the page ending at the first user
+        weeklyDigestWriter.startRun(period);
+        weeklyDigestWriter.writePage(period, List.of(), sentBeforeCrash.getId());
+
+        assertThat(weeklyDigestService.runDigest(period)).isEqualTo(2);
+        assertThat(digestRecipients()).containsExactlyInAnyOrder(users.get(1).getEmail(), users.get(2).getEmail());
+        assertThat(userDigestRepository.findById(users.get(1).getId()).orElseThrow().getLastPeriod()).isEqualTo(period);
+        assertThat(userDigestRepository.findById(sentBeforeCrash.getId())).isEmpty();
+        assertThat(digestRunRepository.findById(period).orElseThrow().getCompletedAt()).isNotNull();
+
+        // The run is complete: nothing to do
+        assertThat(weeklyDigestService.runDigest(period)).isZero();
+
+        // Restarted by hand from the same cursor: everyone already has this period's digest
+        digestRunRepository.deleteById(period);
+        weeklyDigestWriter.startRun(period);
+        weeklyDigestWriter.writePage(period, List.of(), sentBeforeCrash.getId());
+        assertThat(weeklyDigestService.runDigest(period)).isZero();
+        assertThat(digestRecipients()).hasSize(2);
+
+        // Delivered with the one-click unsubscribe headers
+        assertThat(smtp.waitForIncomingEmail(10_000, 2)).isTrue();
+        MimeMessage message = smtp.getReceivedMessages()[0];
+        assertThat(message.getHeader("List-Unsubscribe", null)).startsWith("<http://").contains("token=");
+        assertThat(message.getHeader("List-Unsubscribe-Post", null)).isEqualTo("List-Unsubscribe=One-Click");
+    }
+
+    @Test
+    void unsubscribeLinkOptsTheUserOut() throws Exception {
+        String period = "2001-W02";
+        List<User> users = seedUsers("unsubscribe", 2);
+        completeProfile(users.get(0));
+        completeProfile(users.get(1));
+        User student = users.get(1);
+
+        // A token issued for another user
+        String otherToken = digestUnsubscribeService.unsubscribeUrl(users.get(0).getId()).replaceAll(".*token=", "");
+        mockMvc.perform(post("/api/email/unsubscribe")
+                        .param("user", student.getId().toString())
+                        .param("token", otherToken))
+                .andExpect(status().isBadRequest());
+        assertThat(userRepository.findById(student.getId()).orElseThrow().getDigestOptOut()).isFalse();
+
+        String url = digestUnsubscribeService.unsubscribeUrl(student.getId());
+        mockMvc.perform(post(url))
+                .andExpect(status().isOk());
+        assertThat(userRepository.findById(student.getId()).orElseThrow().getDigestOptOut()).isTrue();
+
+        weeklyDigestWriter.startRun(period);
+        weeklyDigestWriter.writePage(period, List.of(), users.get(0).getId());
+        assertThat(weeklyDigestService.runDigest(period)).isZero();
+    }
+
+    /**
+     * Verified, onboarded students sorted by id
+     */
+    private List<User> seedUsers(String prefix, int count) {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            users.add(userRepository.save(User.builder()
+                    .email(prefix + i + "@example.com")
+                    .firstName("Digest")
+                    .lastName("Student")
+                    .role(Role.USER)
+                    .authProvider(AuthProvider.MANUAL)
+                    .isVerified(true)
+                    .onboardingCompleted(true)
+                    .build()));
+        }
+        users.sort(Comparator.comparing(User::getId));
+        return users;
+    }
+
+    private void completeProfile(User user) {
+        careerProfileRepository.save(CareerProfile.builder()
+                .user(user)
+                .industrySector("Healthcare")
+                .targetJobRole("Health Data Analyst")
+                .careerGoals("Build clinical analytics")
+                .build());
+        skillProfileRepository.save(SkillProfile.builder()
+                .user(user)
+                .skillMask(Skill.values()[0].bit())
+                .build());
+    }
+
+    private List<String> digestRecipients() {
+        return emailOutboxRepository.findAll().stream()
+                .filter(email -> email.getType() == EmailType.WEEKLY_DIGEST)
+                .filter(email -> email.getRecipient().startsWith("resume"))
+                .map(EmailOutbox::getRecipient)
+                .toList();
+    }
+}
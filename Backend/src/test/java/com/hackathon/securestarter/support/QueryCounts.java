@@ -0,0 +1,28 @@
+package com.hackathon.securestarter.support;
+
+import org.hibernate.stat.Statistics;
+
+/**
+ * Data access done while handling one request, read from Hibernate statistics.
+ * @param statements JDBC statements prepared (every SQL query, insert, update and delete)
+ * @param entityLoads entities loaded from the database
+ * @param lazyInitializations lazy proxies and collections initialized on access
+ */
+public record QueryCounts(long statements, long entityLoads, long lazyInitializations) {
+
+    public static QueryCounts of(Statistics statistics) {
+        return new QueryCounts(
+                statistics.getPrepareStatementCount(),
+                statistics.getEntityLoadCount(),
+                statistics.getEntityFetchCount() + statistics.getCollectionFetchCount());
+    }
+
+    /**
+     * Whether every count is within the given budget
+     */
+    public boolean within(QueryCounts budget) {
+        return statements <= budget.statements
+                && entityLoads <= budget.entityLoads
+                && lazyInitializations <= budget.lazyInitializations;
+    }
+}
@@ -41,6 +41,28 @@ const dashboardService = {
     return response.data;
   },
 
+  /**
+   * Get course recommendations, project recommendations and skill gap analysis
+   * in one request (the backend computes the gap analysis once for all three)
+   * @returns {Promise} - AllRecommendationsResponse
+   */
+  getAllRecommendations: async () => {
+    const response = await api.get('/api/recommendations/all');
+    return response.data;
+  },
+
+  /**
+   * Get students with similar profiles and the courses/certifications they took
+   * @param {number} limit - number of peers to consider (optional, max 100)
+   * @returns {Promise} - SimilarStudentsResponse
+   */
+  getSimilarStudents: async (limit) => {
+    const response = await api.get('/api/recommendations/similar-students', {
+      params: limit ? { limit } : undefined,
+    });
+    return response.data;
+  },
+
   /**
    * Get skill gap analysis
    * @returns {Promise} - SkillGapAnalysisResponse